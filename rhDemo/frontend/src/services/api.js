@@ -77,13 +77,19 @@ export function createEmploye(employe) {
   return api.post('/employes', data);
 }
 
-export function updateEmploye(id, employe) {
+// etag : en-tête ETag reçu par getEmploye (response.headers.etag). Envoyé en If-Match, il fait refuser
+// la requête (412) si l'employé a été modifié depuis sa lecture, au lieu d'écraser la modification.
+function ifMatch(etag) {
+  return etag ? { headers: { 'If-Match': etag } } : undefined;
+}
+
+export function updateEmploye(id, employe, etag = null) {
   const { id: _, ...data } = employe;
-  return api.put(`/employes/${id}`, data);
+  return api.put(`/employes/${id}`, data, ifMatch(etag));
 }
 
-export function deleteEmploye(id) {
-  return api.delete(`/employes/${id}`);
+export function deleteEmploye(id, etag = null) {
+  return api.delete(`/employes/${id}`, ifMatch(etag));
 }
 
 export function getUserInfo() {
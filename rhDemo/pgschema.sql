@@ -3,6 +3,10 @@
 -- DDL (Data Definition Language) - Définition des structures
 -- ═══════════════════════════════════════════════════════════════
 
+-- Extension trigrammes : index GIN capables de servir LIKE '%terme%' (filtres de recherche)
+-- Extension "trusted" depuis PostgreSQL 13 : le propriétaire de la base peut la créer
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 DROP TABLE IF EXISTS employes;
 
 CREATE TABLE employes (
@@ -10,9 +14,29 @@ CREATE TABLE employes (
   prenom VARCHAR(250) NOT NULL,
   nom VARCHAR(250) NOT NULL,
   mail VARCHAR(250) NOT NULL,
-  adresse VARCHAR(500)
+  adresse VARCHAR(500),
+  -- Version de verrouillage optimiste (Employe @Version), incrémentée à chaque UPDATE par l'application
+  -- et exposée comme ETag. DEFAULT 0 : les INSERT SQL directs (pgdata.sql) n'ont pas à la renseigner
+  version BIGINT NOT NULL DEFAULT 0,
+  -- Document de recherche plein texte (GET /api/employes/search), calculé par PostgreSQL
+  -- Poids : nom/prénom (A) > mail (B) > adresse (C) pour le classement ts_rank
+  -- Configuration 'simple' : pas de racinisation ni de mots vides (noms propres, adresses)
+  -- Le mail est découpé sur @ . _ - pour que "martin" trouve "laurent.martin@example.com"
+  -- Colonne non mappée par l'entité Employe (jamais écrite par l'application)
+  recherche tsvector GENERATED ALWAYS AS (
+      setweight(to_tsvector('simple', coalesce(nom, '')), 'A') ||
+      setweight(to_tsvector('simple', coalesce(prenom, '')), 'A') ||
+      setweight(to_tsvector('simple', translate(coalesce(mail, ''), '@._-', '    ')), 'B') ||
+      setweight(to_tsvector('simple', coalesce(adresse, '')), 'C')
+  ) STORED
 );
 
+-- Séquence du BIGSERIAL utilisée par Hibernate par blocs de 50 (optimiseur "pooled", Employe.ID_ALLOCATION_SIZE) :
+-- les ids sont pré-alloués, ce qui permet d'envoyer les INSERT en batch JDBC (POST /api/employes/batch).
+-- L'incrément doit rester égal à allocationSize (vérifié par Hibernate au démarrage).
+-- Les INSERT SQL directs (DEFAULT nextval) restent possibles : ils consomment un bloc entier.
+ALTER SEQUENCE employes_id_seq INCREMENT BY 50;
+
 -- Création des index pour optimiser les performances
 -- Index sur le mail pour les recherches rapides et l'unicité
 CREATE UNIQUE INDEX idx_employes_mail ON employes(mail);
@@ -29,3 +53,28 @@ CREATE INDEX idx_employes_nom_prenom ON employes(nom, prenom);
 -- Index partiel sur l'adresse (seulement pour les adresses non-nulles)
 -- Utile si beaucoup de recherches par ville/localisation
 CREATE INDEX idx_employes_adresse ON employes(adresse) WHERE adresse IS NOT NULL;
+
+-- Index pour la pagination par curseur (keyset) triée par adresse
+-- Reproduit l'ordre "adresse NULLS FIRST, id" utilisé par EmployeCursor : la page suivante
+-- est lue par un parcours d'index borné, quelle que soit sa profondeur.
+CREATE INDEX idx_employes_adresse_keyset ON employes(adresse NULLS FIRST, id);
+
+-- Index keyset pour nom, prénom et mail (colonnes NOT NULL, tri dans l'ordre par défaut) :
+-- l'ordre "(col, id)" ASC ou DESC est lu directement dans l'index, sans tri.
+CREATE INDEX idx_employes_nom_keyset ON employes(nom, id);
+CREATE INDEX idx_employes_prenom_keyset ON employes(prenom, id);
+CREATE INDEX idx_employes_mail_keyset ON employes(mail, id);
+
+-- Index trigrammes pour les filtres de recherche partielle (EmployeSpecification.withFilters)
+-- Les filtres génèrent "lower(col) LIKE '%terme%'" : aucun index B-tree ne peut servir un motif
+-- commençant par '%'. Ces index GIN sur l'expression lower(col) le peuvent (termes de 3 caractères
+-- et plus), sans changer la requête ni ses résultats. L'expression doit rester identique à celle
+-- générée par JPA : lower(col).
+CREATE INDEX idx_employes_prenom_trgm ON employes USING gin (lower(prenom) gin_trgm_ops);
+CREATE INDEX idx_employes_nom_trgm ON employes USING gin (lower(nom) gin_trgm_ops);
+CREATE INDEX idx_employes_mail_trgm ON employes USING gin (lower(mail) gin_trgm_ops);
+CREATE INDEX idx_employes_adresse_trgm ON employes USING gin (lower(adresse) gin_trgm_ops);
+
+-- Index GIN sur le document de recherche plein texte (EmployeRepositoryCustomImpl.fullTextSearch)
+-- Sert "recherche @@ to_tsquery(...)" ; le classement ts_rank est calculé sur les seules lignes trouvées
+CREATE INDEX idx_employes_recherche ON employes USING gin (recherche);
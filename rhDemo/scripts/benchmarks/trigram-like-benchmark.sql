@@ -0,0 +1,134 @@
+-- ═══════════════════════════════════════════════════════════════
+-- Benchmark : filtres LIKE '%terme%' sans / avec index trigrammes (pg_trgm)
+-- ═══════════════════════════════════════════════════════════════
+--
+-- Compare, sur 1 000 000 de lignes, les deux chemins d'exécution des filtres
+-- générés par EmployeSpecification.withFilters ("lower(col) LIKE '%terme%'") :
+--   1. parcours séquentiel (index B-tree seuls, schéma d'origine)
+--   2. index GIN trigrammes sur lower(col) (pgschema.sql, idx_employes_*_trgm)
+-- puis vérifie que les deux chemins renvoient exactement les mêmes lignes.
+--
+-- Travaille dans un schéma dédié "bench_trgm" (supprimé en fin de script) :
+-- la table employes de l'application n'est pas touchée.
+--
+-- Usage (base de développement, cf. infra/dev) :
+--   docker exec -i rhdemo-dev-db psql -U dbrhdemo -d dbrhdemo < scripts/benchmarks/trigram-like-benchmark.sql
+--
+-- Lecture des résultats : comparer les "Execution Time" des sections [SEQSCAN] et [TRGM].
+-- Les termes de moins de 3 caractères ne produisent aucun trigramme : le planificateur
+-- revient au parcours séquentiel, ce cas est inclus pour le montrer.
+-- ═══════════════════════════════════════════════════════════════
+
+\set ON_ERROR_STOP on
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+DROP SCHEMA IF EXISTS bench_trgm CASCADE;
+CREATE SCHEMA bench_trgm;
+SET search_path = bench_trgm, public;
+
+-- Même structure et mêmes index B-tree que pgschema.sql
+CREATE TABLE employes (
+  id BIGSERIAL PRIMARY KEY,
+  prenom VARCHAR(250) NOT NULL,
+  nom VARCHAR(250) NOT NULL,
+  mail VARCHAR(250) NOT NULL,
+  adresse VARCHAR(500)
+);
+
+-- 1M lignes : combinaisons prénom/nom/ville réalistes, mail unique, 5 % d'adresses NULL
+INSERT INTO employes (prenom, nom, mail, adresse)
+SELECT p.prenom,
+       n.nom,
+       lower(p.prenom) || '.' || lower(n.nom) || '.' || g || '@mail.com',
+       CASE WHEN g % 20 = 0 THEN NULL
+            ELSE (g % 999 + 1) || ' ' || v.voie || ', ' || v.ville END
+FROM generate_series(1, 1000000) AS g
+CROSS JOIN LATERAL (SELECT (ARRAY['Laurent','Sophie','Pierre','Marie','Thomas','Camille','Nicolas','Julie',
+        'Antoine','Emma','Lucas','Chloé','Hugo','Léa','Louis','Manon','Arthur','Inès','Jules','Sarah'])[1 + (g * 7) % 20] AS prenom) p
+CROSS JOIN LATERAL (SELECT (ARRAY['MARTIN','BERNARD','DUBOIS','THOMAS','ROBERT','RICHARD','PETIT','DURAND',
+        'LEROY','MOREAU','SIMON','LAURENT','LEFEBVRE','MICHEL','GARCIA','DAVID','BERTRAND','ROUX','VINCENT',
+        'FOURNIER','MOREL','GIRARD','ANDRE','MERCIER','DUPONT','LAMBERT','BONNET','FRANCOIS','MARTINEZ','LEGRAND'])[1 + (g * 13) % 30] AS nom) n
+CROSS JOIN LATERAL (SELECT (ARRAY['Rue de la Paix','Avenue des Champs','Boulevard Victor Hugo','Place de la République',
+        'Impasse du Centre','Chemin Notre-Dame','Route de Verdun'])[1 + g % 7] AS voie,
+        (ARRAY['75001 Paris','69000 Lyon','13000 Marseille','31000 Toulouse','33000 Bordeaux','44000 Nantes',
+        '67000 Strasbourg','35000 Rennes','59000 Lille','06000 Nice'])[1 + (g * 3) % 10] AS ville) v;
+
+CREATE UNIQUE INDEX idx_employes_mail ON employes(mail);
+CREATE INDEX idx_employes_nom ON employes(nom);
+CREATE INDEX idx_employes_prenom ON employes(prenom);
+CREATE INDEX idx_employes_nom_prenom ON employes(nom, prenom);
+CREATE INDEX idx_employes_adresse ON employes(adresse) WHERE adresse IS NOT NULL;
+VACUUM ANALYZE employes;
+
+-- Requêtes identiques à celles de Hibernate pour /api/employes/page (page + count)
+PREPARE q_nom(text) AS
+  SELECT id, prenom, nom, mail, adresse FROM employes WHERE lower(nom) LIKE $1 ESCAPE '\' ORDER BY nom, id LIMIT 20;
+PREPARE q_mail(text) AS
+  SELECT id, prenom, nom, mail, adresse FROM employes WHERE lower(mail) LIKE $1 ESCAPE '\' LIMIT 20;
+PREPARE q_count_adresse(text) AS
+  SELECT count(*) FROM employes WHERE lower(adresse) LIKE $1 ESCAPE '\';
+PREPARE q_combined(text, text) AS
+  SELECT count(*) FROM employes WHERE lower(prenom) LIKE $1 ESCAPE '\' AND lower(nom) LIKE $2 ESCAPE '\';
+
+-- ───────────────────────────────────────────────────────────────
+\echo '[SEQSCAN] Chemin actuel : index B-tree uniquement'
+-- ───────────────────────────────────────────────────────────────
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE q_nom('%fournier%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE q_mail('%.123456@%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE q_count_adresse('%strasbourg%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE q_combined('%chlo%', '%lambert%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE q_count_adresse('%du%');
+
+CREATE TEMP TABLE seqscan_results AS
+  SELECT 'nom' AS filtre, id FROM employes WHERE lower(nom) LIKE '%fournier%' ESCAPE '\'
+  UNION ALL SELECT 'mail', id FROM employes WHERE lower(mail) LIKE '%.123456@%' ESCAPE '\'
+  UNION ALL SELECT 'adresse', id FROM employes WHERE lower(adresse) LIKE '%strasbourg%' ESCAPE '\'
+  UNION ALL SELECT 'combine', id FROM employes WHERE lower(prenom) LIKE '%chlo%' ESCAPE '\' AND lower(nom) LIKE '%lambert%' ESCAPE '\';
+
+-- ───────────────────────────────────────────────────────────────
+\echo '[TRGM] Création des index trigrammes (pgschema.sql)'
+-- ───────────────────────────────────────────────────────────────
+CREATE INDEX idx_employes_prenom_trgm ON employes USING gin (lower(prenom) gin_trgm_ops);
+CREATE INDEX idx_employes_nom_trgm ON employes USING gin (lower(nom) gin_trgm_ops);
+CREATE INDEX idx_employes_mail_trgm ON employes USING gin (lower(mail) gin_trgm_ops);
+CREATE INDEX idx_employes_adresse_trgm ON employes USING gin (lower(adresse) gin_trgm_ops);
+ANALYZE employes;
+SELECT relname, pg_size_pretty(pg_relation_size(oid)) AS taille
+FROM pg_class WHERE relname LIKE 'idx_employes_%_trgm' AND relnamespace = 'bench_trgm'::regnamespace;
+
+\echo '[TRGM] Chemin trigrammes : mêmes requêtes'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE q_nom('%fournier%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE q_mail('%.123456@%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE q_count_adresse('%strasbourg%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE q_combined('%chlo%', '%lambert%');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE q_count_adresse('%du%');
+
+-- ───────────────────────────────────────────────────────────────
+\echo '[CHECK] Résultats identiques entre les deux chemins'
+-- ───────────────────────────────────────────────────────────────
+CREATE TEMP TABLE trgm_results AS
+  SELECT 'nom' AS filtre, id FROM employes WHERE lower(nom) LIKE '%fournier%' ESCAPE '\'
+  UNION ALL SELECT 'mail', id FROM employes WHERE lower(mail) LIKE '%.123456@%' ESCAPE '\'
+  UNION ALL SELECT 'adresse', id FROM employes WHERE lower(adresse) LIKE '%strasbourg%' ESCAPE '\'
+  UNION ALL SELECT 'combine', id FROM employes WHERE lower(prenom) LIKE '%chlo%' ESCAPE '\' AND lower(nom) LIKE '%lambert%' ESCAPE '\';
+
+DO $$
+DECLARE
+  ecarts bigint;
+BEGIN
+  SELECT count(*) INTO ecarts FROM (
+    (TABLE seqscan_results EXCEPT ALL TABLE trgm_results)
+    UNION ALL
+    (TABLE trgm_results EXCEPT ALL TABLE seqscan_results)
+  ) d;
+  IF ecarts > 0 THEN
+    RAISE EXCEPTION 'Résultats différents entre parcours séquentiel et index trigrammes : % écarts', ecarts;
+  END IF;
+  RAISE NOTICE 'OK : résultats identiques (% lignes comparées)', (SELECT count(*) FROM trgm_results);
+END $$;
+
+DEALLOCATE ALL;
+RESET search_path;
+DROP SCHEMA bench_trgm CASCADE;
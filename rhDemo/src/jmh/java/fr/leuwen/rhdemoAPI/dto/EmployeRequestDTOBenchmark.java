@@ -0,0 +1,63 @@
+package fr.leuwen.rhdemoAPI.dto;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Validation Bean Validation de EmployeRequestDTO (POST / PUT, import CSV) : DTO valide, et DTO violant
+ * toutes les contraintes (interpolation des messages comprise).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeRequestDTOBenchmark {
+
+    private final EmployeRequestDTO valid = new EmployeRequestDTO("Sophie", "Dubois", "sophie.dubois@example.com",
+            "12 rue de la République, 69002 Lyon");
+    private final EmployeRequestDTO invalid = new EmployeRequestDTO("S", " ", "pas-un-email", "x".repeat(201));
+
+    private ValidatorFactory factory;
+    private Validator validator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeRequestDTO>> validateValid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeRequestDTO>> validateInvalid() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,72 @@
+package fr.leuwen.rhdemoAPI.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+
+import fr.leuwen.rhdemoAPI.model.Employe;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Réponse de /api/employes/page à taille maximale (200 éléments) : conversion entité → DTO, puis sérialisation
+ * Jackson de l'enveloppe PagedModel (PageSerializationMode.VIA_DTO, voir RhdemoApplication).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeResponseDTOBenchmark {
+
+    private static final int PAGE_SIZE = 200;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private List<Employe> employes;
+    private PagedModel<EmployeResponseDTO> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employes = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            Employe employe = new Employe();
+            employe.setId(id);
+            employe.setPrenom("Prénom" + id);
+            employe.setNom("Nom" + id);
+            employe.setMail("prenom" + id + ".nom" + id + "@example.com");
+            employe.setAdresse(id + " rue de la République, 69002 Lyon");
+            employes.add(employe);
+        }
+        page = new PagedModel<>(new PageImpl<>(from(), PageRequest.of(0, PAGE_SIZE), 10_000));
+    }
+
+    @Benchmark
+    public List<EmployeResponseDTO> from() {
+        List<EmployeResponseDTO> content = new ArrayList<>(employes.size());
+        for (Employe employe : employes) {
+            content.add(EmployeResponseDTO.from(employe));
+        }
+        return content;
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
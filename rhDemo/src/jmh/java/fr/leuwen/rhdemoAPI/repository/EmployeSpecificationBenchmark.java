@@ -0,0 +1,88 @@
+package fr.leuwen.rhdemoAPI.repository;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernatePersistenceConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.leuwen.rhdemoAPI.model.Employe;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Construction des prédicats de /api/employes/page (EmployeSpecification.withFilters) et échappement LIKE.
+ *
+ * Criteria Hibernate réel (EntityManagerFactory sur H2 en mémoire, sans cache de second niveau) : seule la
+ * construction de l'arbre de prédicats est mesurée, aucune requête SQL n'est exécutée.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeSpecificationBenchmark {
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private CriteriaBuilder cb;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entityManagerFactory = new HibernatePersistenceConfiguration("benchmark")
+                .managedClass(Employe.class)
+                .jdbcUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1")
+                .property(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+                .createEntityManagerFactory();
+        entityManager = entityManagerFactory.createEntityManager();
+        cb = entityManager.getCriteriaBuilder();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    private Predicate toPredicate(String prenom, String nom, String mail, String adresse) {
+        CriteriaQuery<Employe> query = cb.createQuery(Employe.class);
+        Root<Employe> root = query.from(Employe.class);
+        return EmployeSpecification.withFilters(prenom, nom, mail, adresse).toPredicate(root, query, cb);
+    }
+
+    @Benchmark
+    public Predicate withFiltersOne() {
+        return toPredicate(null, "Dubo", null, null);
+    }
+
+    @Benchmark
+    public Predicate withFiltersAll() {
+        return toPredicate("So", "Dubo", "sophie.dubois@", "rue de la");
+    }
+
+    @Benchmark
+    public String escapeLikePlain() {
+        return EmployeSpecification.escapeLike("dubois");
+    }
+
+    @Benchmark
+    public String escapeLikeSpecial() {
+        return EmployeSpecification.escapeLike("100%_sur\\mesure");
+    }
+}
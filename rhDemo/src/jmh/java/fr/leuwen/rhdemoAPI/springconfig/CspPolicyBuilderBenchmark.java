@@ -0,0 +1,39 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Construction de la politique CSP, avec et sans URI Keycloak (extraction de l'URL de base comprise).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CspPolicyBuilderBenchmark {
+
+    private final CspPolicyBuilder withKeycloak = new CspPolicyBuilder(
+            "https://keycloak.ephemere.local:58443/realms/RHDemo/protocol/openid-connect/auth", true);
+    private final CspPolicyBuilder withoutKeycloak = new CspPolicyBuilder("", false);
+
+    @Benchmark
+    public String buildCspDirectivesWithKeycloak() {
+        return withKeycloak.buildCspDirectives();
+    }
+
+    @Benchmark
+    public String buildCspDirectivesWithoutKeycloak() {
+        return withoutKeycloak.buildCspDirectives();
+    }
+}
@@ -0,0 +1,72 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+
+/**
+ * Mapping des rôles Keycloak à la connexion OIDC, sur les claims d'un ID token du realm RHDemo
+ * (realm_access, resource_access de plusieurs clients, rôles hors préfixe ROLE_).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrantedAuthoritiesKeyCloakMapperBenchmark {
+
+    private static final String CLIENT_ID = "RHDemo";
+
+    private final GrantedAuthoritiesKeyCloakMapper mapper = new GrantedAuthoritiesKeyCloakMapper(CLIENT_ID);
+    private Collection<GrantedAuthority> authorities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Instant now = Instant.now();
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", "https://keycloak-stagingkub.intra.leuwen-lc.fr/realms/RHDemo");
+        claims.put("sub", "0b6c1f3e-6a8e-4f4b-9a52-3c1d2e7f8a90");
+        claims.put("aud", List.of(CLIENT_ID));
+        claims.put("azp", CLIENT_ID);
+        claims.put("typ", "ID");
+        claims.put("sid", "5d4f0c2a-1b7e-4c39-8f62-9e0a3b1c7d45");
+        claims.put("nonce", "q3Vd9kLx2Zr8Yp1Wm4Tn");
+        claims.put("acr", "1");
+        claims.put("email_verified", true);
+        claims.put("name", "Sophie Dubois");
+        claims.put("preferred_username", "sdubois");
+        claims.put("given_name", "Sophie");
+        claims.put("family_name", "Dubois");
+        claims.put("email", "sophie.dubois@example.com");
+        claims.put("realm_access", Map.of("roles", List.of("default-roles-rhdemo", "offline_access", "uma_authorization")));
+        claims.put("resource_access", Map.of(
+                CLIENT_ID, Map.of("roles", List.of("ROLE_consult", "ROLE_MAJ", "ROLE_admin", "gestionnaire")),
+                "account", Map.of("roles", List.of("manage-account", "manage-account-links", "view-profile"))));
+        OidcIdToken idToken = new OidcIdToken("id-token", now, now.plusSeconds(300), claims);
+        authorities = List.of(new OidcUserAuthority(idToken));
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> mapAuthorities() {
+        return mapper.mapAuthorities(authorities);
+    }
+}
@@ -0,0 +1,52 @@
+package fr.leuwen.rhdemoAPI;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import fr.leuwen.rhdemoAPI.dto.EmployeImportReportDTO;
+import fr.leuwen.rhdemoAPI.service.EmployeImportService;
+
+/**
+ * Import CSV en ligne de commande, sans passer par l'API (fichiers volumineux, reprise de données) :
+ * java -jar rhdemo.jar --spring.main.web-application-type=none --fr.leuwen.rhdemoAPI.import.file=extract.csv
+ * Fichier lu en UTF-8, même traitement et même rapport que POST /api/employes/import.
+ */
+@Component
+@ConditionalOnProperty("fr.leuwen.rhdemoAPI.import.file")
+public class RunCommandImportEmployes implements CommandLineRunner {
+
+	@Value("${fr.leuwen.rhdemoAPI.import.file}")
+	private String file;
+	private final EmployeImportService importService;
+	private static final Logger logger = LoggerFactory.getLogger(RunCommandImportEmployes.class);
+
+	public RunCommandImportEmployes(EmployeImportService importService) {
+		this.importService = importService;
+	}
+
+	@Override
+	public void run(String... args) throws Exception {
+		logger.info("Import CSV du fichier {}", file);
+		EmployeImportReportDTO report;
+		try (Reader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+			report = importService.importCsv(reader);
+		}
+		logger.info("Import terminé : {} ligne(s) lue(s), {} employé(s) créé(s), {} ligne(s) écartée(s)",
+				report.read(), report.imported(), report.rejected());
+		report.errors().forEach(error -> logger.warn("Ligne {} {}: {}", error.line(),
+				error.field() != null ? "[" + error.field() + "] " : "", error.message()));
+		if (report.errorsTruncated()) {
+			logger.warn("Liste des erreurs tronquée");
+		}
+	}
+
+}
@@ -1,32 +1,74 @@
 package fr.leuwen.rhdemoAPI.controller;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.server.ResponseStatusException;
 
+import fr.leuwen.rhdemoAPI.dto.EmployeBulkPatchDTO;
+import fr.leuwen.rhdemoAPI.dto.EmployeBulkResultDTO;
+import fr.leuwen.rhdemoAPI.dto.EmployeCursorPageDTO;
+import fr.leuwen.rhdemoAPI.dto.EmployeImportReportDTO;
 import fr.leuwen.rhdemoAPI.dto.EmployeRequestDTO;
 import fr.leuwen.rhdemoAPI.dto.EmployeResponseDTO;
+import fr.leuwen.rhdemoAPI.dto.EmployeSlicePageDTO;
+import fr.leuwen.rhdemoAPI.dto.EmployeUpsertResultDTO;
+import fr.leuwen.rhdemoAPI.exception.EmployeBatchValidationException;
+import fr.leuwen.rhdemoAPI.model.Employe;
+import fr.leuwen.rhdemoAPI.repository.EmployeCursor;
+import fr.leuwen.rhdemoAPI.service.EmployeImportService;
 import fr.leuwen.rhdemoAPI.service.EmployeService;
+import fr.leuwen.rhdemoAPI.springconfig.ExportConfig;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
 
 @RestController
 public class EmployeController {
@@ -34,23 +76,133 @@ public class EmployeController {
     private static final Logger logger = LoggerFactory.getLogger(EmployeController.class);
     private static final Set<String> SORT_ALLOWED_FIELDS = Set.of("prenom", "nom", "mail", "adresse");
     private static final int PAGE_SIZE_MAX = 200;
+    private static final int BATCH_SIZE_MAX = 1000;
+    // mail exclu : unique, une même valeur ne peut pas être affectée à plusieurs employés
+    private static final Set<String> BULK_PATCH_ALLOWED_FIELDS = Set.of("prenom", "nom", "adresse");
+    private static final Set<String> PATCH_ALLOWED_FIELDS = Set.of("prenom", "nom", "mail", "adresse");
+    private static final String APPLICATION_MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final String TOTAL_EXACT = "exact";
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    // Un export volumineux dépasse largement le délai asynchrone par défaut du conteneur (30 s sur Tomcat)
+    private static final long EXPORT_TIMEOUT_MS = 30 * 60 * 1000L;
 
 	private final EmployeService employeservice;
+	private final EmployeImportService importService;
+	private final ObjectWriter employeWriter;
+	private final ObjectWriter employeNdjsonWriter;
+	private final Validator validator;
+	private final AsyncTaskExecutor exportExecutor;
 
 	//Autowired par défaut avec Spring Boot
-	public EmployeController(EmployeService employeservice) {
+	public EmployeController(EmployeService employeservice, EmployeImportService importService,
+			ObjectMapper objectMapper, Validator validator,
+			@Qualifier(ExportConfig.EXPORT_EXECUTOR) AsyncTaskExecutor exportExecutor) {
 		this.employeservice = employeservice;
+		this.importService = importService;
+		this.exportExecutor = exportExecutor;
+		this.validator = validator;
+		this.employeWriter = objectMapper.writerFor(EmployeResponseDTO.class);
+		// NDJSON : objets racine successifs, séparés uniquement par le saut de ligne écrit après chacun
+		this.employeNdjsonWriter = employeWriter.withRootValueSeparator("");
 	}
 	
 	
+	/**
+	 * Liste complète des employés, écrite en flux : chaque ligne lue en base (curseur, fetch size borné)
+	 * est sérialisée directement dans la réponse par le générateur Jackson. La mémoire utilisée ne dépend
+	 * pas du nombre d'employés.
+	 *
+	 * Format selon l'en-tête Accept :
+	 * - application/json (par défaut) : tableau JSON, identique à l'ancienne réponse
+	 * - application/x-ndjson : un objet JSON par ligne (traitement ligne à ligne côté client)
+	 */
 	@GetMapping("/api/employes")
 	@PreAuthorize("hasRole('consult')")
-	public List<EmployeResponseDTO> getEmployes() {
-		return StreamSupport.stream(employeservice.getEmployes().spliterator(), false)
-				.map(EmployeResponseDTO::from)
-				.toList();
+	public void getEmployes(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+			HttpServletResponse response) throws IOException {
+		boolean ndjson = acceptsNdjson(accept);
+		response.setContentType(ndjson ? APPLICATION_NDJSON.toString() : MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+		ObjectWriter writer = ndjson ? employeNdjsonWriter : employeWriter;
+		try (JsonGenerator generator = writer.createGenerator(response.getOutputStream())) {
+			if (!ndjson) {
+				generator.writeStartArray();
+			}
+			employeservice.streamEmployes(employe -> {
+				writer.writeValue(generator, employe);
+				if (ndjson) {
+					generator.writeRaw('\n');
+				}
+			});
+			if (!ndjson) {
+				generator.writeEndArray();
+			}
+		}
 	}
 	
+	/**
+	 * Export des employés filtrés et triés, écrit en flux depuis un curseur base : pas de limite de taille,
+	 * mémoire constante. L'écriture bloque quand le client lit moins vite, ce qui suspend la lecture du curseur.
+	 *
+	 * L'export s'exécute sur l'exécuteur borné employeExportExecutor (voir ExportConfig) et non sur le thread
+	 * de la requête : au-delà des exports simultanés autorisés, les demandes attendent dans sa file sans
+	 * connexion, puis sont refusées (503) quand la file est pleine.
+	 *
+	 * @param format csv (par défaut ; séparateur ";", BOM UTF-8, colonnes relues par /api/employes/import) ou ndjson
+	 * @param sort, order, filterXxx Mêmes règles que /api/employes/page ; l'id départage les égalités
+	 *
+	 * Exemple d'utilisation :
+	 * - GET /api/employes/export?filterAdresse=Lyon&sort=nom        → CSV des employés lyonnais triés par nom
+	 * - GET /api/employes/export?format=ndjson                       → Tous les employés, un objet JSON par ligne
+	 */
+	@GetMapping("/api/employes/export")
+	@PreAuthorize("hasRole('consult')")
+	public WebAsyncTask<Void> exportEmployes(
+			@RequestParam(defaultValue = "csv") String format,
+			@RequestParam(required = false) String sort,
+			@RequestParam(defaultValue = "ASC") String order,
+			@RequestParam(required = false) String filterPrenom,
+			@RequestParam(required = false) String filterNom,
+			@RequestParam(required = false) String filterMail,
+			@RequestParam(required = false) String filterAdresse,
+			HttpServletResponse response) {
+
+		boolean csv = "csv".equals(format);
+		if (!csv && !"ndjson".equals(format)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Format d'export invalide. Valeurs acceptées : csv, ndjson");
+		}
+		Sort exportSort = isSorted(sort) ? Sort.by(resolveDirection(order), sort).and(Sort.by("id")) : Sort.by("id");
+
+		return new WebAsyncTask<>(EXPORT_TIMEOUT_MS, exportExecutor, () -> {
+			long start = System.nanoTime();
+			long[] count = new long[1];
+			response.setContentType(csv ? TEXT_CSV.toString() : APPLICATION_NDJSON.toString());
+			response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+			response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employes." + format + "\"");
+			if (csv) {
+				try (Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8))) {
+					writer.write("\uFEFFid;prenom;nom;mail;adresse\r\n");
+					employeservice.streamEmployes(filterPrenom, filterNom, filterMail, filterAdresse, exportSort, employe -> {
+						writeCsvLine(writer, employe);
+						count[0]++;
+					});
+				}
+			} else {
+				try (JsonGenerator generator = employeNdjsonWriter.createGenerator(response.getOutputStream())) {
+					employeservice.streamEmployes(filterPrenom, filterNom, filterMail, filterAdresse, exportSort, employe -> {
+						employeNdjsonWriter.writeValue(generator, employe);
+						generator.writeRaw('\n');
+						count[0]++;
+					});
+				}
+			}
+			logger.info("Export {} terminé - {} employé(s) en {} ms", format, count[0], (System.nanoTime() - start) / 1_000_000);
+			return null;
+		});
+	}
+
 	/**
 	 * Récupère une page d'employés avec pagination, tri optionnel et filtres optionnels.
 	 *
@@ -62,6 +214,7 @@ public class EmployeController {
 	 * @param filterNom Filtre sur le nom (recherche partielle insensible à la casse). Optionnel.
 	 * @param filterMail Filtre sur l'email (recherche partielle insensible à la casse). Optionnel.
 	 * @param filterAdresse Filtre sur l'adresse (recherche partielle insensible à la casse). Optionnel.
+	 * @param total Calcul du total : exact (count(*), par défaut), estimate ou none. Optionnel.
 	 * @return Page<EmployeResponseDTO> Objet contenant la liste des employés de la page demandée ainsi que
 	 *         les métadonnées de pagination (totalElements, totalPages, etc.)
 	 *
@@ -73,10 +226,39 @@ public class EmployeController {
 	 * - GET /api/employes/page?sort=prenom&order=DESC    → Première page triée par prénom descendant
 	 * - GET /api/employes/page?filterNom=Martin          → Employés dont le nom contient "Martin"
 	 * - GET /api/employes/page?filterPrenom=So&filterNom=Du → Filtres combinés (AND)
+	 * - GET /api/employes/page?filterNom=Du&total=none   → Sans count(*), page.hasNext au lieu du total
 	 */
 	@GetMapping("/api/employes/page")
 	@PreAuthorize("hasRole('consult')")
 	public Page<EmployeResponseDTO> getEmployesPage(
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "20") int size,
+			@RequestParam(required = false) String sort,
+			@RequestParam(defaultValue = "ASC") String order,
+			@RequestParam(required = false) String filterPrenom,
+			@RequestParam(required = false) String filterNom,
+			@RequestParam(required = false) String filterMail,
+			@RequestParam(required = false) String filterAdresse,
+			@RequestParam(required = false) String total) {
+
+		// total=estimate et total=none sont routés vers des méthodes dédiées (voir ci-dessous)
+		if (total != null && !TOTAL_EXACT.equals(total)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Mode de total invalide. Valeurs acceptées : exact, estimate, none");
+		}
+		// Lecture en projection DTO : pas d'entité managée à hydrater puis recopier
+		Pageable pageable = toPageable(page, size, sort, order);
+		return employeservice.getEmployesPageProjected(filterPrenom, filterNom, filterMail, filterAdresse, pageable);
+	}
+
+	/**
+	 * Variante de /api/employes/page avec total estimé (total=estimate) : même format PagedModel,
+	 * mais totalElements provient des statistiques du planificateur PostgreSQL au lieu d'un count(*).
+	 * Le total devient exact sur la dernière page, et sur H2 (pas de statistiques).
+	 */
+	@GetMapping(value = "/api/employes/page", params = { "total=estimate", "!after" })
+	@PreAuthorize("hasRole('consult')")
+	public Page<EmployeResponseDTO> getEmployesPageEstimated(
 			@RequestParam(defaultValue = "0") int page,
 			@RequestParam(defaultValue = "20") int size,
 			@RequestParam(required = false) String sort,
@@ -86,34 +268,141 @@ public class EmployeController {
 			@RequestParam(required = false) String filterMail,
 			@RequestParam(required = false) String filterAdresse) {
 
-		int effectiveSize = Math.min(size, PAGE_SIZE_MAX);
-		Pageable pageable;
-		if (sort != null && !sort.isEmpty()) {
-			if (!SORT_ALLOWED_FIELDS.contains(sort)) {
+		Pageable pageable = toPageable(page, size, sort, order);
+		return employeservice.getEmployesPageEstimated(filterPrenom, filterNom, filterMail, filterAdresse, pageable).map(EmployeResponseDTO::from);
+	}
+
+	/**
+	 * Variante de /api/employes/page sans total (total=none) : aucune requête count(*),
+	 * la réponse indique seulement s'il existe une page suivante (page.hasNext).
+	 */
+	@GetMapping(value = "/api/employes/page", params = { "total=none", "!after" })
+	@PreAuthorize("hasRole('consult')")
+	public EmployeSlicePageDTO getEmployesPageWithoutTotal(
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "20") int size,
+			@RequestParam(required = false) String sort,
+			@RequestParam(defaultValue = "ASC") String order,
+			@RequestParam(required = false) String filterPrenom,
+			@RequestParam(required = false) String filterNom,
+			@RequestParam(required = false) String filterMail,
+			@RequestParam(required = false) String filterAdresse) {
+
+		Pageable pageable = toPageable(page, size, sort, order);
+		Slice<Employe> slice = employeservice.getEmployesSlice(filterPrenom, filterNom, filterMail, filterAdresse, pageable);
+		return new EmployeSlicePageDTO(
+				slice.getContent().stream().map(EmployeResponseDTO::from).toList(),
+				new EmployeSlicePageDTO.SliceMetadata(pageable.getPageSize(), pageable.getPageNumber(), slice.hasNext()));
+	}
+
+	/**
+	 * Variante de /api/employes/page avec pagination par curseur (keyset), activée par la présence du paramètre "after".
+	 * Le coût d'une page ne dépend pas de sa profondeur (pas d'OFFSET) et aucun count n'est exécuté.
+	 *
+	 * Les paramètres size, sort, order et filterXxx suivent les mêmes règles que la pagination classique.
+	 * Le tri doit rester identique d'un appel à l'autre : un jeton émis pour un autre tri est refusé (400).
+	 *
+	 * @param after Jeton opaque renvoyé dans "page.next" de la réponse précédente. Vide pour la première page.
+	 * @return EmployeCursorPageDTO Employés de la page et jeton de la page suivante (pas de totalElements)
+	 *
+	 * Exemple d'utilisation :
+	 * - GET /api/employes/page?after=&sort=nom           → Première page triée par nom (tri secondaire sur l'id)
+	 * - GET /api/employes/page?after=bm9tOkFTQzo...&sort=nom → Page suivante
+	 */
+	@GetMapping(value = "/api/employes/page", params = "after")
+	@PreAuthorize("hasRole('consult')")
+	public EmployeCursorPageDTO getEmployesPageAfter(
+			@RequestParam String after,
+			@RequestParam(defaultValue = "20") int size,
+			@RequestParam(required = false) String sort,
+			@RequestParam(defaultValue = "ASC") String order,
+			@RequestParam(required = false) String filterPrenom,
+			@RequestParam(required = false) String filterNom,
+			@RequestParam(required = false) String filterMail,
+			@RequestParam(required = false) String filterAdresse) {
+
+		int effectiveSize = resolveSize(size);
+		String sortField = isSorted(sort) ? sort : EmployeCursor.SORT_ID;
+		Sort.Direction direction = resolveDirection(order);
+
+		EmployeCursor cursor;
+		if (after.isEmpty()) {
+			cursor = EmployeCursor.start(sortField, direction);
+		} else {
+			try {
+				cursor = EmployeCursor.decode(after);
+			} catch (IllegalArgumentException e) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+			}
+			if (!cursor.sort().equals(sortField) || cursor.direction() != direction) {
 				throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-						"Champ de tri invalide. Valeurs acceptées : " + SORT_ALLOWED_FIELDS);
+						"Le curseur ne correspond pas au tri demandé (" + cursor.sort() + " " + cursor.direction() + ")");
 			}
-			Sort.Direction direction = "DESC".equalsIgnoreCase(order) ? Sort.Direction.DESC : Sort.Direction.ASC;
-			pageable = PageRequest.of(page, effectiveSize, Sort.by(direction, sort));
-		} else {
-			pageable = PageRequest.of(page, effectiveSize);
 		}
 
-		return employeservice.getEmployesPage(filterPrenom, filterNom, filterMail, filterAdresse, pageable).map(EmployeResponseDTO::from);
+		Slice<Employe> slice = employeservice.getEmployesAfter(filterPrenom, filterNom, filterMail, filterAdresse, cursor, effectiveSize);
+		List<Employe> content = slice.getContent();
+		String next = slice.hasNext() ? cursor.next(content.get(content.size() - 1)).encode() : null;
+		return new EmployeCursorPageDTO(
+				content.stream().map(EmployeResponseDTO::from).toList(),
+				new EmployeCursorPageDTO.CursorMetadata(effectiveSize, slice.hasNext(), next));
+	}
+
+	/**
+	 * Recherche plein texte sur le prénom, le nom, le mail et l'adresse.
+	 *
+	 * @param q Texte libre : chaque mot doit être trouvé (début de mot, insensible à la casse). Obligatoire.
+	 * @param page Numéro de la page (commence à 0). Par défaut : 0
+	 * @param size Nombre d'éléments par page. Par défaut : 20. Maximum : 200.
+	 * @return Page<EmployeResponseDTO> Employés classés par pertinence (nom/prénom avant mail, puis adresse)
+	 *
+	 * Exemple d'utilisation :
+	 * - GET /api/employes/search?q=martin              → Nom, prénom, mail ou adresse commençant par "martin"
+	 * - GET /api/employes/search?q=sophie%20paris      → Employés correspondant aux deux termes
+	 */
+	@GetMapping("/api/employes/search")
+	@PreAuthorize("hasRole('consult')")
+	public Page<EmployeResponseDTO> searchEmployes(
+			@RequestParam(required = false) String q,
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "20") int size) {
+
+		if (q == null || q.isBlank()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Le paramètre de recherche q est obligatoire");
+		}
+		return employeservice.searchEmployes(q, toPageable(page, size, null, null)).map(EmployeResponseDTO::from);
 	}
 
+	/**
+	 * Employé par id, avec sa version en ETag fort. Si l'en-tête If-None-Match contient cet ETag, Spring MVC
+	 * répond 304 sans sérialiser le corps ; l'employé est lu via le cache de second niveau (aucun SELECT).
+	 * Cache-Control no-cache : le navigateur conserve la réponse mais la revalide à chaque affichage.
+	 */
 	@GetMapping("/api/employes/{id}")
 	@PreAuthorize("hasRole('consult')")
-	public EmployeResponseDTO getEmploye(@PathVariable final Long id) {
-		return EmployeResponseDTO.from(employeservice.getEmploye(id));
+	public ResponseEntity<EmployeResponseDTO> getEmploye(@PathVariable final Long id) {
+		Employe employe = employeservice.getEmploye(id);
+		return ResponseEntity.ok()
+				.eTag(etag(employe))
+				.cacheControl(CacheControl.noCache().cachePrivate())
+				.body(EmployeResponseDTO.from(employe));
 	}
 	
+	/**
+	 * Suppression ; avec If-Match, refusée (412) si l'employé a été modifié depuis sa lecture.
+	 */
 	@DeleteMapping("/api/employes/{id}")
 	@PreAuthorize("hasRole('MAJ')")
 	@ResponseStatus(HttpStatus.NO_CONTENT)
-	public void deleteEmploye(@PathVariable final Long id) {
+	public void deleteEmploye(@PathVariable final Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 		logger.debug("Suppression employé - ID: {}", id);
-		employeservice.deleteEmploye(id);
+		Long expectedVersion = expectedVersion(ifMatch);
+		if (expectedVersion == null) {
+			employeservice.deleteEmploye(id);
+		} else {
+			employeservice.deleteEmploye(id, expectedVersion);
+		}
 		logger.info("Employé supprimé avec succès - ID: {}", id);
 	}
 
@@ -127,13 +416,342 @@ public class EmployeController {
 		return result;
 	}
 
+	/**
+	 * Création d'un lot d'employés (intégrations RH) : une seule transaction, INSERT envoyés en batch JDBC.
+	 * Chaque élément est validé comme pour POST /api/employes ; au moindre élément invalide, aucun employé
+	 * n'est créé et la réponse 400 liste les erreurs par position dans le lot ("[2].mail").
+	 *
+	 * @param dtos Employés à créer, de 1 à 1000 par lot
+	 * @return Les employés créés, dans l'ordre du lot
+	 */
+	@PostMapping("/api/employes/batch")
+	@PreAuthorize("hasRole('MAJ')")
+	@ResponseStatus(HttpStatus.CREATED)
+	public List<EmployeResponseDTO> createEmployes(@RequestBody List<EmployeRequestDTO> dtos) {
+		checkBatch(dtos);
+		logger.debug("Création d'un lot de {} employés", dtos.size());
+		List<EmployeResponseDTO> result = employeservice.createEmployes(dtos.stream().map(EmployeRequestDTO::toEmploye).toList())
+				.stream().map(EmployeResponseDTO::from).toList();
+		logger.info("Lot de {} employés créé avec succès", result.size());
+		return result;
+	}
+
+	/**
+	 * Création ou mise à jour de l'employé de mail donné (synchronisations RH) : une seule requête SQL au lieu
+	 * de GET puis POST ou PUT. Le corps est validé comme pour PUT ; son mail doit être celui du chemin.
+	 * La version n'est incrémentée que si une valeur change (même ETag pour une synchronisation sans changement).
+	 *
+	 * @return 201 avec Location si l'employé a été créé, 200 s'il existait ; ETag de la version enregistrée
+	 *
+	 * Exemple d'utilisation :
+	 * - PUT /api/employes/by-mail/sophie.dubois@example.com {"prenom": "Sophie", "nom": "Dubois", "mail": "sophie.dubois@example.com"}
+	 */
+	@PutMapping("/api/employes/by-mail/{mail}")
+	@PreAuthorize("hasRole('MAJ')")
+	public ResponseEntity<EmployeResponseDTO> upsertEmploye(@PathVariable final String mail,
+			@Valid @RequestBody EmployeRequestDTO dto) {
+		if (!mail.equals(dto.mail())) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Le mail du corps doit être celui du chemin : " + mail);
+		}
+		EmployeUpsertResultDTO result = employeservice.upsertEmployes(List.of(dto.toEmploye())).get(0);
+		logger.info("Employé {} par mail - ID: {}", result.created() ? "créé" : "mis à jour", result.employe().id());
+		ResponseEntity.BodyBuilder response = result.created()
+				? ResponseEntity.created(URI.create("/api/employes/" + result.employe().id()))
+				: ResponseEntity.ok();
+		return response.eTag(etag(result.version())).body(result.employe());
+	}
+
+	/**
+	 * Création ou mise à jour par mail d'un lot d'employés, en une seule requête SQL et une seule transaction.
+	 * Validation comme pour POST /api/employes/batch (erreurs par position, tout ou rien) ; un mail présent deux
+	 * fois dans le lot est refusé.
+	 *
+	 * @param dtos Employés à écrire, de 1 à 1000 par lot
+	 * @return Pour chaque employé, dans l'ordre du lot : l'employé enregistré, sa version et s'il a été créé
+	 */
+	@PutMapping("/api/employes/by-mail")
+	@PreAuthorize("hasRole('MAJ')")
+	public List<EmployeUpsertResultDTO> upsertEmployes(@RequestBody List<EmployeRequestDTO> dtos) {
+		checkBatch(dtos);
+		List<EmployeUpsertResultDTO> result = employeservice.upsertEmployes(dtos.stream().map(EmployeRequestDTO::toEmploye).toList());
+		logger.info("Lot de {} employés écrit par mail - {} créé(s)", result.size(),
+				result.stream().filter(EmployeUpsertResultDTO::created).count());
+		return result;
+	}
+
+	/**
+	 * Import d'un fichier CSV d'employés (extractions de paie), lu en flux : le corps de la requête n'est
+	 * jamais chargé en mémoire. Les lignes invalides et les mails en conflit (déjà en base ou en double dans
+	 * le fichier) sont écartées et listées dans le rapport, les autres sont créées en une seule transaction.
+	 *
+	 * @param body Fichier CSV avec en-tête prenom, nom, mail[, adresse], séparateur ";" ou ","
+	 * @return EmployeImportReportDTO Lignes lues, créées, écartées et erreurs par ligne (1000 au plus)
+	 *
+	 * Exemple d'utilisation :
+	 * - curl -X POST -H "Content-Type: text/csv" --data-binary @extract.csv /api/employes/import
+	 * - Content-Type: text/csv;charset=windows-1252 pour une extraction non UTF-8
+	 */
+	@PostMapping(value = "/api/employes/import", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE })
+	@PreAuthorize("hasRole('MAJ')")
+	public EmployeImportReportDTO importEmployes(
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+			InputStream body) throws IOException {
+		Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+		try (Reader reader = new BufferedReader(new InputStreamReader(body, charset))) {
+			EmployeImportReportDTO report = importService.importCsv(reader);
+			logger.info("Import CSV terminé - {} employé(s) créé(s), {} ligne(s) écartée(s)", report.imported(), report.rejected());
+			return report;
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+		}
+	}
+
+	/**
+	 * Suppression en masse, en une seule requête SQL et une seule transaction :
+	 * soit par liste d'ids (paramètre ids), soit par filtres (mêmes règles que /api/employes/page).
+	 *
+	 * @param ids Ids des employés à supprimer, de 1 à 1000. Les ids inconnus sont ignorés.
+	 * @return EmployeBulkResultDTO Nombre d'employés supprimés
+	 *
+	 * Exemple d'utilisation :
+	 * - DELETE /api/employes/bulk?ids=12,13,14            → Supprime trois employés
+	 * - DELETE /api/employes/bulk?filterAdresse=Lyon      → Supprime les employés dont l'adresse contient "Lyon"
+	 */
+	@DeleteMapping("/api/employes/bulk")
+	@PreAuthorize("hasRole('MAJ')")
+	public EmployeBulkResultDTO deleteEmployes(
+			@RequestParam(required = false) List<Long> ids,
+			@RequestParam(required = false) String filterPrenom,
+			@RequestParam(required = false) String filterNom,
+			@RequestParam(required = false) String filterMail,
+			@RequestParam(required = false) String filterAdresse) {
+
+		boolean filtered = hasText(filterPrenom) || hasText(filterNom) || hasText(filterMail) || hasText(filterAdresse);
+		long deleted;
+		if (ids != null) {
+			if (filtered) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Suppression par ids ou par filtres, pas les deux");
+			}
+			deleted = employeservice.deleteEmployes(checkBulkIds(ids));
+		} else if (filtered) {
+			deleted = employeservice.deleteEmployesMatching(filterPrenom, filterNom, filterMail, filterAdresse);
+		} else {
+			// Sans ids ni filtre, la requête supprimerait toute la table
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Paramètre ids ou au moins un filtre obligatoire");
+		}
+		logger.info("Suppression en masse - {} employé(s) supprimé(s)", deleted);
+		return new EmployeBulkResultDTO(deleted);
+	}
+
+	/**
+	 * Modification en masse d'un champ : tous les employés de la liste reçoivent la même valeur,
+	 * en une seule requête UPDATE et une seule transaction.
+	 *
+	 * @param dto ids (1 à 1000), champ (prenom, nom ou adresse) et nouvelle valeur, validée comme pour POST/PUT
+	 * @return EmployeBulkResultDTO Nombre d'employés modifiés
+	 *
+	 * Exemple d'utilisation :
+	 * - PATCH /api/employes/bulk {"ids": [12, 13], "field": "adresse", "value": "5 Quai du Rhône, Lyon"}
+	 */
+	@PatchMapping("/api/employes/bulk")
+	@PreAuthorize("hasRole('MAJ')")
+	public EmployeBulkResultDTO patchEmployes(@RequestBody EmployeBulkPatchDTO dto) {
+		if (dto.field() == null || !BULK_PATCH_ALLOWED_FIELDS.contains(dto.field())) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Champ non modifiable en masse. Valeurs acceptées : " + BULK_PATCH_ALLOWED_FIELDS);
+		}
+		List<Long> ids = checkBulkIds(dto.ids());
+		Set<ConstraintViolation<EmployeRequestDTO>> violations = validator.validateValue(EmployeRequestDTO.class, dto.field(), dto.value());
+		if (!violations.isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violations.iterator().next().getMessage());
+		}
+
+		long updated = employeservice.patchEmployes(ids, dto.field(), dto.value());
+		logger.info("Modification en masse du champ {} - {} employé(s) modifié(s)", dto.field(), updated);
+		return new EmployeBulkResultDTO(updated);
+	}
+
+	/**
+	 * Mise à jour ; avec If-Match, refusée (412) si l'employé a été modifié depuis sa lecture (pas d'écrasement
+	 * silencieux d'une modification concurrente). La réponse porte l'ETag de la nouvelle version.
+	 */
 	@PutMapping("/api/employes/{id}")
 	@PreAuthorize("hasRole('MAJ')")
-	public EmployeResponseDTO updateEmploye(@PathVariable final Long id, @Valid @RequestBody EmployeRequestDTO dto) {
+	public ResponseEntity<EmployeResponseDTO> updateEmploye(@PathVariable final Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@Valid @RequestBody EmployeRequestDTO dto) {
 		logger.debug("Mise à jour employé ID: {} - prénom: {}, nom: {}", id, dto.prenom(), dto.nom());
-		EmployeResponseDTO result = EmployeResponseDTO.from(employeservice.updateEmploye(id, dto.toEmploye()));
-		logger.info("Employé mis à jour avec succès - ID: {}", result.id());
-		return result;
+		Employe updated = employeservice.updateEmploye(id, dto.toEmploye(), expectedVersion(ifMatch));
+		logger.info("Employé mis à jour avec succès - ID: {}", updated.getId());
+		return ResponseEntity.ok().eTag(etag(updated)).body(EmployeResponseDTO.from(updated));
+	}
+
+	/**
+	 * Modification partielle (JSON Merge Patch, RFC 7396) : seuls les champs présents dans le corps sont modifiés,
+	 * "adresse": null efface l'adresse. Chaque valeur est validée comme pour POST/PUT. Un corps qui ne change
+	 * aucune valeur n'écrit rien (même ETag). If-Match facultatif, comme pour PUT.
+	 *
+	 * Exemple d'utilisation :
+	 * - PATCH /api/employes/12 {"adresse": "5 Quai du Rhône, Lyon"}
+	 */
+	@PatchMapping(value = "/api/employes/{id}", consumes = { APPLICATION_MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE })
+	@PreAuthorize("hasRole('MAJ')")
+	public ResponseEntity<EmployeResponseDTO> patchEmploye(@PathVariable final Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@RequestBody Map<String, String> changes) {
+		for (Map.Entry<String, String> change : changes.entrySet()) {
+			if (!PATCH_ALLOWED_FIELDS.contains(change.getKey())) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+						"Champ inconnu : " + change.getKey() + ". Valeurs acceptées : " + PATCH_ALLOWED_FIELDS);
+			}
+			Set<ConstraintViolation<EmployeRequestDTO>> violations =
+					validator.validateValue(EmployeRequestDTO.class, change.getKey(), change.getValue());
+			if (!violations.isEmpty()) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violations.iterator().next().getMessage());
+			}
+		}
+
+		Employe patched = employeservice.patchEmploye(id, changes, expectedVersion(ifMatch));
+		logger.info("Employé modifié - ID: {}, champs: {}", id, changes.keySet());
+		return ResponseEntity.ok().eTag(etag(patched)).body(EmployeResponseDTO.from(patched));
+	}
+
+	private static String etag(Employe employe) {
+		return etag(employe.getVersion());
+	}
+
+	private static String etag(long version) {
+		return "\"" + version + "\"";
+	}
+
+	/**
+	 * Taille du lot (1 à 1000) et validation de chaque élément comme pour POST /api/employes : au moindre élément
+	 * invalide, EmployeBatchValidationException liste les erreurs par position dans le lot ("[2].mail").
+	 */
+	private void checkBatch(List<EmployeRequestDTO> dtos) {
+		if (dtos.isEmpty() || dtos.size() > BATCH_SIZE_MAX) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Le lot doit contenir entre 1 et " + BATCH_SIZE_MAX + " employés");
+		}
+		Map<String, String> errors = new LinkedHashMap<>();
+		for (int i = 0; i < dtos.size(); i++) {
+			String position = "[" + i + "]";
+			if (dtos.get(i) == null) {
+				errors.put(position, "Élément vide");
+				continue;
+			}
+			validator.validate(dtos.get(i)).forEach(violation ->
+					errors.putIfAbsent(position + "." + violation.getPropertyPath(), violation.getMessage()));
+		}
+		if (!errors.isEmpty()) {
+			throw new EmployeBatchValidationException(errors);
+		}
+	}
+
+	/**
+	 * Version attendue d'après l'en-tête If-Match : null si absent ou "*" (l'employé doit seulement exister).
+	 * La comparaison est forte (RFC 9110) : un ETag faible ou étranger ne correspond à aucune version (412).
+	 */
+	private static Long expectedVersion(String ifMatch) {
+		if (ifMatch == null) {
+			return null;
+		}
+		List<ETag> etags = ETag.parse(ifMatch);
+		if (etags.stream().anyMatch(ETag::isWildcard)) {
+			return null;
+		}
+		if (etags.size() != 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "L'en-tête If-Match doit contenir un seul ETag");
+		}
+		ETag etag = etags.get(0);
+		if (!etag.weak() && etag.tag().matches("\\d{1,18}")) {
+			return Long.valueOf(etag.tag());
+		}
+		throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+				"L'ETag " + etag.formattedTag() + " ne correspond à aucune version de l'employé");
+	}
+
+	private static List<Long> checkBulkIds(List<Long> ids) {
+		if (ids == null || ids.isEmpty() || ids.size() > BATCH_SIZE_MAX || ids.contains(null)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"La liste d'ids doit contenir entre 1 et " + BATCH_SIZE_MAX + " ids");
+		}
+		return ids;
+	}
+
+	private static boolean hasText(String value) {
+		return value != null && !value.isBlank();
+	}
+
+	private static void writeCsvLine(Writer writer, EmployeResponseDTO employe) {
+		try {
+			writer.write(String.valueOf(employe.id()));
+			for (String value : new String[] { employe.prenom(), employe.nom(), employe.mail(), employe.adresse() }) {
+				writer.write(';');
+				writer.write(csvField(value));
+			}
+			writer.write("\r\n");
+		} catch (IOException e) {
+			// Client déconnecté : interrompt le parcours du curseur
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// RFC 4180 : guillemets autour des valeurs contenant le séparateur, un guillemet ou un saut de ligne
+	private static String csvField(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	private static boolean acceptsNdjson(String accept) {
+		if (accept == null || accept.isBlank()) {
+			return false;
+		}
+		try {
+			// Seule une demande explicite de NDJSON change le format : */* garde le tableau JSON
+			return MediaType.parseMediaTypes(accept).stream()
+					.anyMatch(mediaType -> !mediaType.isWildcardType() && mediaType.isCompatibleWith(APPLICATION_NDJSON));
+		} catch (InvalidMediaTypeException e) {
+			return false;
+		}
+	}
+
+	private static Pageable toPageable(int page, int size, String sort, String order) {
+		int effectiveSize = resolveSize(size);
+		if (isSorted(sort)) {
+			return PageRequest.of(page, effectiveSize, Sort.by(resolveDirection(order), sort));
+		}
+		return PageRequest.of(page, effectiveSize);
+	}
+
+	/**
+	 * Taille de page demandée, plafonnée à PAGE_SIZE_MAX. Une taille nulle ou négative est refusée (400).
+	 */
+	private static int resolveSize(int size) {
+		if (size < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Le paramètre size doit être supérieur ou égal à 1");
+		}
+		return Math.min(size, PAGE_SIZE_MAX);
+	}
+
+	private static boolean isSorted(String sort) {
+		if (sort == null || sort.isEmpty()) {
+			return false;
+		}
+		if (!SORT_ALLOWED_FIELDS.contains(sort)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Champ de tri invalide. Valeurs acceptées : " + SORT_ALLOWED_FIELDS);
+		}
+		return true;
+	}
+
+	private static Sort.Direction resolveDirection(String order) {
+		return "DESC".equalsIgnoreCase(order) ? Sort.Direction.DESC : Sort.Direction.ASC;
 	}
 
 }
@@ -0,0 +1,11 @@
+package fr.leuwen.rhdemoAPI.dto;
+
+import java.util.List;
+
+/**
+ * DTO immuable (record) pour une modification en masse (PATCH /api/employes/bulk) :
+ * le champ {@code field} reçoit la même valeur {@code value} pour tous les employés de {@code ids}.
+ * La valeur est validée avec les contraintes du champ correspondant de EmployeRequestDTO.
+ */
+public record EmployeBulkPatchDTO(List<Long> ids, String field, String value) {
+}
@@ -0,0 +1,9 @@
+package fr.leuwen.rhdemoAPI.dto;
+
+/**
+ * DTO immuable (record) pour le résultat d'une opération en masse (/api/employes/bulk).
+ *
+ * @param affected nombre d'employés effectivement supprimés ou modifiés
+ */
+public record EmployeBulkResultDTO(long affected) {
+}
@@ -0,0 +1,19 @@
+package fr.leuwen.rhdemoAPI.dto;
+
+import java.util.List;
+
+/**
+ * DTO immuable (record) pour une page lue par curseur (pagination keyset).
+ * Même enveloppe que le PagedModel (content + page) mais sans total ni numéro de page :
+ * le client navigue en renvoyant le jeton "next" dans le paramètre "after".
+ */
+public record EmployeCursorPageDTO(List<EmployeResponseDTO> content, CursorMetadata page) {
+
+    /**
+     * @param size taille de page demandée (après plafonnement)
+     * @param hasNext vrai s'il reste des employés après cette page
+     * @param next jeton à renvoyer dans "after" pour obtenir la page suivante, null en fin de parcours
+     */
+    public record CursorMetadata(int size, boolean hasNext, String next) {
+    }
+}
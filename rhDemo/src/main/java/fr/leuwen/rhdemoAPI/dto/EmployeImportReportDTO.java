@@ -0,0 +1,23 @@
+package fr.leuwen.rhdemoAPI.dto;
+
+import java.util.List;
+
+/**
+ * DTO immuable (record) pour le rapport d'un import CSV (POST /api/employes/import).
+ *
+ * @param read nombre d'enregistrements lus (hors en-tête et lignes vides)
+ * @param imported nombre d'employés créés
+ * @param rejected nombre de lignes écartées (invalides ou mail en conflit)
+ * @param errors détail des lignes écartées, par numéro de ligne, limité aux premières erreurs
+ * @param errorsTruncated vrai si des erreurs ne figurent pas dans {@code errors}
+ */
+public record EmployeImportReportDTO(long read, long imported, long rejected, List<LineError> errors, boolean errorsTruncated) {
+
+    /**
+     * @param line numéro de ligne dans le fichier (l'en-tête est la ligne 1)
+     * @param field champ en cause, null pour une erreur portant sur toute la ligne
+     * @param message message d'erreur (mêmes messages que la validation de POST /api/employes)
+     */
+    public record LineError(long line, String field, String message) {
+    }
+}
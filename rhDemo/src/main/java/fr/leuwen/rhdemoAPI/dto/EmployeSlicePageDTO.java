@@ -0,0 +1,19 @@
+package fr.leuwen.rhdemoAPI.dto;
+
+import java.util.List;
+
+/**
+ * DTO immuable (record) pour une page sans total (paramètre total=none).
+ * Même enveloppe que le PagedModel (content + page) : totalElements et totalPages sont remplacés par hasNext,
+ * ce qui évite la requête count(*) exécutée par Spring Data pour chaque Page.
+ */
+public record EmployeSlicePageDTO(List<EmployeResponseDTO> content, SliceMetadata page) {
+
+    /**
+     * @param size taille de page demandée (après plafonnement)
+     * @param number numéro de la page (base 0)
+     * @param hasNext vrai s'il existe une page suivante
+     */
+    public record SliceMetadata(int size, int number, boolean hasNext) {
+    }
+}
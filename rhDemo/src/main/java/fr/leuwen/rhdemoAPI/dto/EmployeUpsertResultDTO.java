@@ -0,0 +1,11 @@
+package fr.leuwen.rhdemoAPI.dto;
+
+/**
+ * DTO immuable (record) pour le résultat d'une écriture par mail (PUT /api/employes/by-mail).
+ *
+ * @param employe l'employé tel qu'enregistré
+ * @param version version de verrouillage optimiste enregistrée (ETag), inchangée si aucune valeur n'a changé
+ * @param created true si l'employé a été créé, false s'il existait déjà avec ce mail
+ */
+public record EmployeUpsertResultDTO(EmployeResponseDTO employe, long version, boolean created) {
+}
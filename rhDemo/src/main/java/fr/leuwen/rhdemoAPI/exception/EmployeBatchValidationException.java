@@ -0,0 +1,23 @@
+package fr.leuwen.rhdemoAPI.exception;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exception levée quand un lot d'employés (POST /api/employes/batch) contient des éléments invalides.
+ * Les erreurs sont indexées par position dans le lot ("[2].mail" → message) : aucun employé n'est créé.
+ */
+public class EmployeBatchValidationException extends RuntimeException {
+
+    private final Map<String, String> errors;
+
+    public EmployeBatchValidationException(Map<String, String> errors) {
+        super("Lot refusé : " + errors.size() + " erreur(s), aucun employé créé");
+        this.errors = Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
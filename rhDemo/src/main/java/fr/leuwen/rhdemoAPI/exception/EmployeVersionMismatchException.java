@@ -0,0 +1,12 @@
+package fr.leuwen.rhdemoAPI.exception;
+
+/**
+ * Exception levée quand la version attendue par le client (en-tête If-Match) n'est plus celle de l'employé :
+ * il a été modifié depuis sa lecture, la mise à jour ou la suppression est refusée (412).
+ */
+public class EmployeVersionMismatchException extends RuntimeException {
+
+    public EmployeVersionMismatchException(Long id, long expected, long actual) {
+        super("L'employé " + id + " a été modifié depuis sa lecture (version " + actual + ", attendue " + expected + ")");
+    }
+}
@@ -6,8 +6,10 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -49,6 +51,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
+    /**
+     * Gère les erreurs de validation d'un lot (POST /api/employes/batch)
+     * Même format que les erreurs @Valid, clés préfixées par la position dans le lot ("[2].mail")
+     */
+    @ExceptionHandler(EmployeBatchValidationException.class)
+    public ResponseEntity<ErrorResponse> handleBatchValidationErrors(EmployeBatchValidationException ex) {
+        log.warn("Erreur de validation du lot: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Erreur de validation des données",
+            LocalDateTime.now(),
+            ex.getErrors()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Gère les erreurs quand un employé n'est pas trouvé
      */
@@ -65,6 +85,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
     
+    /**
+     * Gère les conditions If-Match non satisfaites : l'employé a changé de version depuis sa lecture
+     */
+    @ExceptionHandler(EmployeVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleVersionMismatch(EmployeVersionMismatchException ex) {
+        log.warn("Précondition If-Match non satisfaite: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.PRECONDITION_FAILED.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    /**
+     * Gère les modifications concurrentes détectées au commit (UPDATE/DELETE ... WHERE version = ? sans effet)
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        log.warn("Modification concurrente: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "L'employé a été modifié par une autre requête, rechargez-le puis réessayez",
+            LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     /**
      * Gère les erreurs de type de paramètre (ex: String au lieu de Long)
      */
@@ -101,6 +153,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(ex.getStatusCode()).body(errorResponse);
     }
 
+    /**
+     * Gère le refus d'une tâche par un exécuteur borné (ex: file des exports pleine)
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejected(TaskRejectedException ex) {
+        log.warn("Tâche refusée, exécuteur saturé: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Trop d'exports en cours, réessayez plus tard",
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     /**
      * Gère toutes les autres exceptions non gérées
      * Ne capture PAS les exceptions de Spring Security qui doivent être gérées par le framework
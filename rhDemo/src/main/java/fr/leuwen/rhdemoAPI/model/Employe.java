@@ -1,11 +1,16 @@
 package fr.leuwen.rhdemoAPI.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
@@ -13,13 +18,31 @@ import org.jspecify.annotations.Nullable;
  * Entité JPA Employe.
  * Les contraintes de forme (NotBlank, Email, Size) sont dans EmployeRequestDTO.
  * Les contraintes @Column garantissent l'intégrité au niveau base de données.
+ *
+ * Identifiant tiré de la séquence employes_id_seq (celle du BIGSERIAL) par blocs de ID_ALLOCATION_SIZE
+ * (optimiseur "pooled" de Hibernate) : l'id est connu avant l'INSERT, ce qui permet le batching JDBC
+ * (hibernate.jdbc.batch_size). L'INCREMENT de la séquence doit être égal à ID_ALLOCATION_SIZE.
+ *
+ * En cache de second niveau (région CACHE_REGION, voir SecondLevelCacheConfig) : READ_WRITE, l'entrée est
+ * verrouillée pendant une mise à jour ou une suppression et remplacée au commit ; les UPDATE/DELETE en masse
+ * (JPQL, Criteria) vident la région.
+ *
+ * Verrouillage optimiste : version incrémentée par Hibernate à chaque mise à jour (UPDATE ... WHERE version = ?),
+ * exposée comme ETag par EmployeController (If-None-Match, If-Match). Les UPDATE en masse doivent l'incrémenter
+ * eux-mêmes (voir EmployeService#patchEmployes).
  */
 @Entity
 @Table(name="employes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employe.CACHE_REGION)
 public class Employe {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String CACHE_REGION = "employes";
+
     @Id
-    @GeneratedValue(strategy=GenerationType.IDENTITY)
+    @GeneratedValue(strategy=GenerationType.SEQUENCE, generator="employes_id_seq")
+    @SequenceGenerator(name="employes_id_seq", sequenceName="employes_id_seq", allocationSize=ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 50)
@@ -34,6 +57,10 @@ public class Employe {
     @Column(length = 200)
     private @Nullable String adresse;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
 
     public Long getId() {
         return id;
@@ -65,4 +92,7 @@ public class Employe {
     public void setAdresse(String adresse) {
         this.adresse = adresse;
     }
+    public Long getVersion() {
+        return version;
+    }
 }
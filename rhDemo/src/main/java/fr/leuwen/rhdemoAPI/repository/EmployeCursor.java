@@ -0,0 +1,111 @@
+package fr.leuwen.rhdemoAPI.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.Sort;
+
+import fr.leuwen.rhdemoAPI.model.Employe;
+
+/**
+ * Position de lecture pour la pagination par curseur (keyset / seek).
+ * Contient le champ et le sens de tri, ainsi que la clé de tri et l'id de la dernière ligne lue.
+ * L'id sert de critère de départage : l'ordre (champ, id) est total donc stable entre deux appels.
+ *
+ * Le curseur est échangé avec le client sous forme d'un jeton opaque (Base64 URL-safe) :
+ * le client ne doit ni l'interpréter ni le construire, uniquement le renvoyer dans le paramètre "after".
+ */
+public record EmployeCursor(String sort, Sort.Direction direction, String lastValue, Long lastId) {
+
+    /** Champ de tri implicite quand aucun tri n'est demandé : ordre des identifiants. */
+    public static final String SORT_ID = "id";
+
+    /** Seul champ de tri pouvant valoir NULL. */
+    static final String SORT_ADRESSE = "adresse";
+
+    private static final char SEPARATOR = ':';
+    private static final char VALUE_PRESENT = 'V';
+    private static final char VALUE_NULL = 'N';
+
+    /**
+     * Curseur de début de parcours (première page) pour un tri donné.
+     */
+    public static EmployeCursor start(String sort, Sort.Direction direction) {
+        return new EmployeCursor(sort, direction, null, null);
+    }
+
+    public boolean isStart() {
+        return lastId == null;
+    }
+
+    /**
+     * Curseur positionné après l'employé donné (dernière ligne de la page courante).
+     */
+    public EmployeCursor next(Employe last) {
+        return new EmployeCursor(sort, direction, sortValue(last), last.getId());
+    }
+
+    /**
+     * Tri SQL correspondant au curseur : champ demandé puis id, dans le même sens.
+     * Les valeurs NULL (adresse) sont considérées comme les plus petites, quelle que soit la base
+     * (PostgreSQL les classe en dernier par défaut, H2 en premier).
+     * Les autres champs sont NOT NULL : ordre par défaut, celui que leurs index B-tree fournissent
+     * (un NULLS FIRST/LAST explicite empêcherait PostgreSQL de les utiliser pour le tri).
+     */
+    public Sort toSort() {
+        Sort.Order idOrder = new Sort.Order(direction, SORT_ID);
+        if (SORT_ID.equals(sort)) {
+            return Sort.by(idOrder);
+        }
+        Sort.Order sortOrder = new Sort.Order(direction, sort);
+        if (SORT_ADRESSE.equals(sort)) {
+            sortOrder = direction.isAscending() ? sortOrder.nullsFirst() : sortOrder.nullsLast();
+        }
+        return Sort.by(sortOrder, idOrder);
+    }
+
+    public String encode() {
+        String raw = sort + SEPARATOR + direction.name() + SEPARATOR + (lastId == null ? "" : lastId) + SEPARATOR
+                + (lastValue == null ? String.valueOf(VALUE_NULL) : VALUE_PRESENT + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un jeton produit par {@link #encode()}.
+     *
+     * @throws IllegalArgumentException si le jeton est illisible ou altéré
+     */
+    public static EmployeCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide", e);
+        }
+        // La valeur de tri est en dernière position : elle peut elle-même contenir le séparateur
+        String[] parts = raw.split(String.valueOf(SEPARATOR), 4);
+        if (parts.length != 4 || parts[3].isEmpty()
+                || (parts[3].charAt(0) != VALUE_PRESENT && parts[3].charAt(0) != VALUE_NULL)) {
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+        try {
+            Sort.Direction direction = Sort.Direction.fromString(parts[1]);
+            Long lastId = parts[2].isEmpty() ? null : Long.valueOf(parts[2]);
+            String lastValue = parts[3].charAt(0) == VALUE_NULL ? null : parts[3].substring(1);
+            return new EmployeCursor(parts[0], direction, lastValue, lastId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide", e);
+        }
+    }
+
+    private String sortValue(Employe employe) {
+        return switch (sort) {
+            case SORT_ID -> null;
+            case "prenom" -> employe.getPrenom();
+            case "nom" -> employe.getNom();
+            case "mail" -> employe.getMail();
+            case SORT_ADRESSE -> employe.getAdresse();
+            default -> throw new IllegalArgumentException("Champ de tri non supporté : " + sort);
+        };
+    }
+}
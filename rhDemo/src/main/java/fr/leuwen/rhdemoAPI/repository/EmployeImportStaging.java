@@ -0,0 +1,229 @@
+package fr.leuwen.rhdemoAPI.repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import fr.leuwen.rhdemoAPI.model.Employe;
+
+/**
+ * Table de préparation (staging) de l'import CSV des employés.
+ *
+ * Table temporaire propre à la connexion, supprimée à la fin de la transaction : les lignes valides y sont
+ * chargées par COPY FROM STDIN (PostgreSQL, CopyManager) ou par INSERT multi-lignes (H2, tests), puis
+ * fusionnées dans employes par un seul INSERT ... SELECT qui écarte les mails déjà présents et les doublons
+ * du fichier, et rend les lignes créées. Toutes les méthodes doivent être appelées dans la même transaction.
+ *
+ * Ids : employes_id_seq avance de Employe.ID_ALLOCATION_SIZE à chaque appel (optimiseur "pooled" de Hibernate),
+ * un nextval par ligne perdrait 49 ids sur 50. La fusion réserve donc un bloc par tranche de 50 lignes (table
+ * temporaire employes_import_blocs) et numérote les lignes dans ces blocs, comme Hibernate : la valeur v tirée
+ * de la séquence couvre les ids v - 49 à v.
+ */
+@Repository
+public class EmployeImportStaging {
+
+    // Taille d'un INSERT multi-lignes (H2) : 5 paramètres par ligne
+    private static final int INSERT_ROWS_MAX = 500;
+
+    private static final String COLUMNS = "ligne, prenom, nom, mail, adresse";
+    // Contrainte (mail, ligne) : index créé avec la table, CREATE INDEX validant la transaction en cours sur H2
+    private static final String COLUMNS_DDL = """
+            (ligne BIGINT NOT NULL, prenom VARCHAR(250) NOT NULL, nom VARCHAR(250) NOT NULL,
+             mail VARCHAR(250) NOT NULL, adresse VARCHAR(500), UNIQUE (mail, ligne))""";
+
+    // Une ligne est importée si son mail est absent de employes et si c'est sa première occurrence dans le fichier
+    private static final String IMPORTABLE = """
+            NOT EXISTS (SELECT 1 FROM employes e WHERE e.mail = s.mail)
+            AND s.ligne = (SELECT min(s2.ligne) FROM employes_import s2 WHERE s2.mail = s.mail)""";
+
+    private static final String BLOCKS_DDL = "(bloc BIGINT PRIMARY KEY, hi BIGINT NOT NULL)";
+
+    // Rang de chaque ligne importable dans l'ordre du fichier : tranche (bloc) puis position dans le bloc
+    private static final String MERGE = """
+            INSERT INTO employes (id, prenom, nom, mail, adresse, version)
+            SELECT b.hi - %1$d + 1 + MOD(t.rang - 1, %1$d), t.prenom, t.nom, t.mail, t.adresse, 0
+            FROM (SELECT s.prenom, s.nom, s.mail, s.adresse, row_number() OVER (ORDER BY s.ligne) AS rang
+                  FROM employes_import s
+                  WHERE %2$s) t
+            JOIN employes_import_blocs b ON b.bloc = (t.rang - 1) / %1$d"""
+            .formatted(Employe.ID_ALLOCATION_SIZE, IMPORTABLE);
+    // Lignes créées rendues par la fusion elle-même (index de recherche) : RETURNING sur PostgreSQL,
+    // table delta FINAL TABLE sur H2
+    private static final String CREATED_COLUMNS = "id, prenom, nom, mail, adresse";
+    private static final String MERGE_POSTGRES = MERGE + " RETURNING " + CREATED_COLUMNS;
+    private static final String MERGE_H2 = "SELECT " + CREATED_COLUMNS + " FROM FINAL TABLE (" + MERGE + ")";
+
+    /**
+     * Ligne valide à charger. {@code line} est le numéro de ligne dans le fichier, repris dans le rapport d'import.
+     */
+    public record Row(long line, String prenom, String nom, String mail, String adresse) {
+    }
+
+    /**
+     * Ligne écartée à la fusion. {@code firstLine} est la ligne de la première occurrence du mail dans le fichier,
+     * ou null si le mail appartient déjà à un employé en base.
+     */
+    public record Conflict(long line, Long firstLine) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public EmployeImportStaging(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void create() {
+        if (isPostgres()) {
+            jdbcTemplate.execute("CREATE TEMP TABLE employes_import " + COLUMNS_DDL + " ON COMMIT DROP");
+            jdbcTemplate.execute("CREATE TEMP TABLE employes_import_blocs " + BLOCKS_DDL + " ON COMMIT DROP");
+        } else {
+            // TRANSACTIONAL : pas de commit implicite de la transaction en cours (DDL H2)
+            jdbcTemplate.execute("CREATE LOCAL TEMPORARY TABLE employes_import " + COLUMNS_DDL + " ON COMMIT DROP TRANSACTIONAL");
+            jdbcTemplate.execute("CREATE LOCAL TEMPORARY TABLE employes_import_blocs " + BLOCKS_DDL + " ON COMMIT DROP TRANSACTIONAL");
+        }
+    }
+
+    public void append(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (isPostgres()) {
+            copy(rows);
+            return;
+        }
+        for (int from = 0; from < rows.size(); from += INSERT_ROWS_MAX) {
+            List<Row> part = rows.subList(from, Math.min(from + INSERT_ROWS_MAX, rows.size()));
+            List<Object> args = new ArrayList<>(part.size() * 5);
+            StringBuilder sql = new StringBuilder("INSERT INTO employes_import (" + COLUMNS + ") VALUES ");
+            for (int i = 0; i < part.size(); i++) {
+                Row row = part.get(i);
+                sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+                args.add(row.line());
+                args.add(row.prenom());
+                args.add(row.nom());
+                args.add(row.mail());
+                args.add(row.adresse());
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    /**
+     * Statistiques de la table (les tables temporaires ne sont jamais analysées par l'autovacuum) :
+     * à appeler une fois le chargement terminé, avant findConflicts et merge.
+     */
+    public void prepareMerge() {
+        if (isPostgres()) {
+            jdbcTemplate.execute("ANALYZE employes_import");
+        }
+    }
+
+    /**
+     * Lignes écartées à la fusion, par numéro de ligne croissant.
+     */
+    public List<Conflict> findConflicts(int limit) {
+        return jdbcTemplate.query("""
+                SELECT s.ligne,
+                       CASE WHEN EXISTS (SELECT 1 FROM employes e WHERE e.mail = s.mail) THEN NULL
+                            ELSE (SELECT min(s2.ligne) FROM employes_import s2 WHERE s2.mail = s.mail) END AS premiere
+                FROM employes_import s
+                WHERE NOT (""" + IMPORTABLE + """
+                )
+                ORDER BY s.ligne
+                LIMIT ?""",
+                (rs, rowNum) -> new Conflict(rs.getLong("ligne"), rs.getObject("premiere", Long.class)),
+                limit);
+    }
+
+    /**
+     * Fusion dans employes : ceil(n / 50) blocs réservés dans employes_id_seq (même séquence que Hibernate), puis
+     * un seul INSERT ... SELECT. La version (verrouillage optimiste) part de 0 comme pour un employé créé par
+     * l'application.
+     *
+     * Les lignes sans bloc (devenues importables entre le comptage et la fusion, ou premier bloc d'une séquence
+     * neuve écarté) sont reprises au tour suivant.
+     *
+     * @return les employés créés (id et valeurs écrites, version 0), sans relecture de employes
+     */
+    public List<Employe> merge() {
+        List<Employe> created = new ArrayList<>();
+        long pending;
+        while ((pending = countImportable()) > 0) {
+            reserveBlocks((pending + Employe.ID_ALLOCATION_SIZE - 1) / Employe.ID_ALLOCATION_SIZE);
+            created.addAll(jdbcTemplate.query(isPostgres() ? MERGE_POSTGRES : MERGE_H2, (rs, rowNum) -> {
+                Employe employe = new Employe();
+                employe.setId(rs.getLong("id"));
+                employe.setPrenom(rs.getString("prenom"));
+                employe.setNom(rs.getString("nom"));
+                employe.setMail(rs.getString("mail"));
+                employe.setAdresse(rs.getString("adresse"));
+                return employe;
+            }));
+        }
+        return created;
+    }
+
+    private long countImportable() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM employes_import s WHERE " + IMPORTABLE, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private void reserveBlocks(long blocks) {
+        jdbcTemplate.update("DELETE FROM employes_import_blocs");
+        if (isPostgres()) {
+            jdbcTemplate.update("INSERT INTO employes_import_blocs (bloc, hi) "
+                    + "SELECT i - 1, nextval('employes_id_seq') FROM generate_series(1, ?) AS i", blocks);
+        } else {
+            jdbcTemplate.update("INSERT INTO employes_import_blocs (bloc, hi) "
+                    + "SELECT X - 1, NEXT VALUE FOR employes_id_seq FROM SYSTEM_RANGE(1, ?)", blocks);
+        }
+        // Première valeur d'une séquence neuve (1) : le bloc donnerait des ids négatifs, Hibernate l'écarte aussi
+        jdbcTemplate.update("DELETE FROM employes_import_blocs WHERE hi < ?", Employe.ID_ALLOCATION_SIZE);
+    }
+
+    private void copy(List<Row> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * 96);
+        for (Row row : rows) {
+            csv.append(row.line()).append(',');
+            appendCsv(csv, row.prenom()).append(',');
+            appendCsv(csv, row.nom()).append(',');
+            appendCsv(csv, row.mail()).append(',');
+            appendCsv(csv, row.adresse()).append('\n');
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn("COPY employes_import (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)", new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("Échec du COPY vers employes_import", e);
+            }
+        });
+    }
+
+    // Format CSV de COPY : champ vide non quoté = NULL, valeur toujours quotée (guillemets doublés)
+    private static StringBuilder appendCsv(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv;
+        }
+        return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -1,11 +1,37 @@
 package fr.leuwen.rhdemoAPI.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+
+import fr.leuwen.rhdemoAPI.dto.EmployeResponseDTO;
 import fr.leuwen.rhdemoAPI.model.Employe;
+import jakarta.persistence.QueryHint;
+
+public interface EmployeRepository extends CrudRepository<Employe,Long>, PagingAndSortingRepository<Employe,Long>, JpaSpecificationExecutor<Employe>, EmployeRepositoryCustom {
+
+	/**
+	 * Tous les employés en flux, projetés en DTO (aucune entité dans le contexte de persistance).
+	 * Le fetch size borne le nombre de lignes en mémoire : sur PostgreSQL, dans une transaction, le driver
+	 * lit par curseur serveur de STREAM_FETCH_SIZE lignes. À consommer dans une transaction, puis fermer.
+	 */
+	@Query("select new fr.leuwen.rhdemoAPI.dto.EmployeResponseDTO(e.id, e.prenom, e.nom, e.mail, e.adresse) from Employe e order by e.id")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EmployeRepository.STREAM_FETCH_SIZE))
+	Stream<EmployeResponseDTO> streamAll();
 
-public interface EmployeRepository extends CrudRepository<Employe,Long>, PagingAndSortingRepository<Employe,Long>, JpaSpecificationExecutor<Employe> {
-	
+	String STREAM_FETCH_SIZE = "500";
 
+	/**
+	 * Parmi les mails donnés, ceux déjà utilisés par un employé (une seule requête, servie par idx_employes_mail).
+	 */
+	@Query("select e.mail from Employe e where e.mail in :mails")
+	List<String> findExistingMails(@Param("mails") Collection<String> mails);
 }
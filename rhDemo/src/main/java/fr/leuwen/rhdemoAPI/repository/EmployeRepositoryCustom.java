@@ -0,0 +1,111 @@
+package fr.leuwen.rhdemoAPI.repository;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import fr.leuwen.rhdemoAPI.dto.EmployeResponseDTO;
+import fr.leuwen.rhdemoAPI.dto.EmployeUpsertResultDTO;
+import fr.leuwen.rhdemoAPI.model.Employe;
+
+/**
+ * Requêtes spécifiques à la base, hors du périmètre des requêtes dérivées Spring Data.
+ * Implémentation : EmployeRepositoryCustomImpl (fragment détecté par suffixe "Impl").
+ */
+public interface EmployeRepositoryCustom {
+
+    /**
+     * Estimation du nombre d'employés correspondant aux filtres, à partir des statistiques du planificateur
+     * PostgreSQL (pg_class.reltuples sans filtre, estimation de lignes d'EXPLAIN avec filtres).
+     * Mêmes règles de filtrage que {@link EmployeSpecification#withFilters}.
+     *
+     * @return l'estimation, ou vide si la base ne fournit pas de statistiques exploitables (H2, table jamais analysée)
+     */
+    OptionalLong estimateCount(String prenom, String nom, String mail, String adresse);
+
+    /**
+     * Recherche plein texte classée par pertinence (ts_rank) sur la colonne tsvector "recherche"
+     * (prénom, nom, mail, adresse), indexée en GIN. Chaque terme est recherché comme préfixe de mot,
+     * tous les termes doivent être présents.
+     *
+     * @param terms termes normalisés (lettres et chiffres uniquement), non vide
+     * @return la page de résultats, ou vide si la base ne supporte pas la recherche plein texte (H2)
+     */
+    Optional<Page<Employe>> fullTextSearch(List<String> terms, Pageable pageable);
+
+    /**
+     * Lecture en projection constructeur : chaque ligne est construite directement en EmployeResponseDTO
+     * ("select new ..."), sans entité managée, donc sans snapshot ni dirty-checking dans le contexte de persistance.
+     * Même filtrage (Specification) et même tri que findAll(spec, pageable).
+     *
+     * @param offset première ligne à lire
+     * @param limit nombre maximal de lignes
+     */
+    List<EmployeResponseDTO> findProjected(Specification<Employe> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Même projection que findProjected, sans fenêtre, lue en flux : curseur de
+     * {@link EmployeRepository#STREAM_FETCH_SIZE} lignes (voir EmployeRepository#streamAll).
+     * À consommer dans une transaction, puis fermer.
+     */
+    Stream<EmployeResponseDTO> streamProjected(Specification<Employe> spec, Sort sort);
+
+    /**
+     * Ordre appliqué par la base à un ORDER BY ascendant sur une colonne texte (collation et place des NULL),
+     * pour qu'un tri calculé en Java (EmployeSearchIndex) suive l'ordre de la requête SQL. Le tri
+     * descendant est l'ordre inverse sur les deux bases (NULL compris).
+     * PostgreSQL : collation de la base, NULL en dernier ; exact en collation "C" (ordre des points de code),
+     * approché pour une collation de locale (Collator Java de la même locale : peut différer de glibc sur la
+     * ponctuation et les espaces). H2 : comparaison de String.compareTo, exacte, NULL en premier.
+     */
+    Comparator<String> textOrder();
+
+    /**
+     * Lecture des seuls ids correspondant à {@code spec}, par ordre d'id croissant et par tranches
+     * (pagination par curseur sur l'id : chaque tranche est un parcours borné, quelle que soit sa position).
+     *
+     * @param afterId dernier id de la tranche précédente, ou null pour la première tranche
+     * @param limit taille maximale de la tranche
+     */
+    List<Long> findIdsAfter(Specification<Employe> spec, Long afterId, int limit);
+
+    /**
+     * Création ou mise à jour par mail (index unique idx_employes_mail) : INSERT ... ON CONFLICT (mail) DO UPDATE
+     * ... RETURNING en une seule requête sur PostgreSQL ; sur H2 (tests), MERGE encadré par la lecture des mails
+     * existants et la relecture des lignes écrites. La version n'est incrémentée que si une valeur change.
+     * SQL direct, hors Hibernate : les employés mis à jour doivent être verrouillés dans le cache de second
+     * niveau (lockCached) avant le commit.
+     *
+     * @param employes employés à écrire, de mails distincts (une ligne ne peut être écrite qu'une fois par requête)
+     * @return un résultat par employé, dans l'ordre de {@code employes}
+     */
+    List<EmployeUpsertResultDTO> upsertByMail(List<Employe> employes);
+
+    /**
+     * Suppression d'un employé en SQL direct : DELETE FROM employes WHERE id = ? [AND version = ?].
+     * Hors Hibernate, donc sans vider toute la région employes du cache de second niveau comme le ferait un
+     * DELETE en masse (JPQL, Criteria) : l'employé doit être verrouillé dans le cache (lockCached) avant la requête.
+     *
+     * @param expectedVersion version attendue, ou null pour une suppression inconditionnelle
+     * @return nombre de lignes supprimées (0 ou 1)
+     */
+    int deleteDirect(Long id, Long expectedVersion);
+
+    /**
+     * Verrouille dans le cache de second niveau les employés écrits en SQL direct dans la transaction courante,
+     * comme Hibernate avant un UPDATE ou un DELETE d'entité (verrou READ_WRITE) : l'entrée n'est plus servie, et
+     * une lecture concurrente ne peut pas y replacer l'état lu avant le commit. Les verrous sont relâchés à la fin
+     * de la transaction (commit ou rollback) ; seule une lecture commencée après peut remettre l'employé en cache.
+     *
+     * @throws IllegalStateException hors transaction
+     */
+    void lockCached(Collection<Long> ids);
+}
@@ -0,0 +1,342 @@
+package fr.leuwen.rhdemoAPI.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import fr.leuwen.rhdemoAPI.dto.EmployeResponseDTO;
+import fr.leuwen.rhdemoAPI.dto.EmployeUpsertResultDTO;
+import fr.leuwen.rhdemoAPI.model.Employe;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Implémentation des requêtes spécifiques de EmployeRepository.
+ * SQL natif PostgreSQL : les statistiques du planificateur et le type tsvector ne sont pas accessibles via JPQL.
+ * Criteria API pour la projection DTO : Spring Data ne construit pas de DTO en SQL à partir d'une Specification.
+ * SQL natif pour l'écriture par mail : INSERT ... ON CONFLICT / MERGE n'ont pas d'équivalent JPA.
+ * SQL direct pour la suppression unitaire : un DELETE en masse Hibernate viderait toute la région de cache employes.
+ * Les écritures en SQL direct verrouillent leurs entrées du cache de second niveau (lockCached), comme Hibernate.
+ */
+public class EmployeRepositoryCustomImpl implements EmployeRepositoryCustom {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    // Mappée sur Employe : la liste de colonnes doit couvrir toutes les colonnes de l'entité, version comprise
+    // (vérifié par EmployeRepositoryCustomIT, la requête n'est pas exécutée sur H2)
+    static final String FULL_TEXT_PAGE = """
+            SELECT e.id, e.prenom, e.nom, e.mail, e.adresse, e.version
+            FROM employes e, to_tsquery('simple', ?1) q
+            WHERE e.recherche @@ q
+            ORDER BY ts_rank(e.recherche, q) DESC, e.id
+            LIMIT ?2 OFFSET ?3""";
+    private static final String FULL_TEXT_COUNT =
+            "SELECT count(*) FROM employes WHERE recherche @@ to_tsquery('simple', ?1)";
+
+    // La version n'est incrémentée que si une valeur change : une synchronisation sans changement garde l'ETag.
+    // xmax = 0 : ligne insérée par la requête ; une ligne mise à jour par ON CONFLICT porte le verrou (xmax)
+    // de la transaction courante
+    private static final String UPSERT_POSTGRES = """
+            INSERT INTO employes AS e (id, prenom, nom, mail, adresse, version) VALUES %s
+            ON CONFLICT (mail) DO UPDATE SET prenom = EXCLUDED.prenom, nom = EXCLUDED.nom, adresse = EXCLUDED.adresse,
+                version = CASE WHEN (e.prenom, e.nom, e.adresse) IS NOT DISTINCT FROM (EXCLUDED.prenom, EXCLUDED.nom, EXCLUDED.adresse)
+                               THEN e.version ELSE e.version + 1 END
+            RETURNING e.id, e.prenom, e.nom, e.mail, e.adresse, e.version, e.xmax = 0 AS created""";
+    private static final String UPSERT_POSTGRES_ROW = "(nextval('employes_id_seq'), ?, ?, ?, ?, 0)";
+    private static final String UPSERT_H2 = """
+            MERGE INTO employes e USING (VALUES %s) AS s(prenom, nom, mail, adresse) ON e.mail = s.mail
+            WHEN MATCHED THEN UPDATE SET prenom = s.prenom, nom = s.nom, adresse = s.adresse,
+                version = CASE WHEN (e.prenom, e.nom, e.adresse) IS NOT DISTINCT FROM (s.prenom, s.nom, s.adresse)
+                               THEN e.version ELSE e.version + 1 END
+            WHEN NOT MATCHED THEN INSERT (id, prenom, nom, mail, adresse, version)
+                VALUES (NEXT VALUE FOR employes_id_seq, s.prenom, s.nom, s.mail, s.adresse, 0)""";
+    // Types explicites : H2 ne déduit pas le type des paramètres d'une clause VALUES
+    private static final String UPSERT_H2_ROW =
+            "(CAST(? AS VARCHAR(50)), CAST(? AS VARCHAR(50)), CAST(? AS VARCHAR(100)), CAST(? AS VARCHAR(200)))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private volatile Boolean postgres;
+
+    public EmployeRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public OptionalLong estimateCount(String prenom, String nom, String mail, String adresse) {
+        if (!isPostgres()) {
+            return OptionalLong.empty();
+        }
+
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addLikeCondition("prenom", prenom, conditions, args);
+        addLikeCondition("nom", nom, conditions, args);
+        addLikeCondition("mail", mail, conditions, args);
+        addLikeCondition("adresse", adresse, conditions, args);
+
+        if (conditions.isEmpty()) {
+            // reltuples vaut -1 tant que la table n'a jamais été analysée (VACUUM/ANALYZE)
+            Long reltuples = jdbcTemplate.queryForObject(
+                    "SELECT reltuples::bigint FROM pg_class WHERE oid = 'employes'::regclass", Long.class);
+            return reltuples != null && reltuples >= 0 ? OptionalLong.of(reltuples) : OptionalLong.empty();
+        }
+
+        // Les filtres restent des paramètres liés : EXPLAIN accepte les paramètres du protocole étendu
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN (FORMAT JSON) SELECT 1 FROM employes WHERE " + String.join(" AND ", conditions),
+                String.class, args.toArray());
+        Matcher matcher = PLAN_ROWS.matcher(plan != null ? plan : "");
+        return matcher.find() ? OptionalLong.of(Long.parseLong(matcher.group(1))) : OptionalLong.empty();
+    }
+
+    @Override
+    public Optional<Page<Employe>> fullTextSearch(List<String> terms, Pageable pageable) {
+        if (!isPostgres()) {
+            return Optional.empty();
+        }
+        // Termes limités aux lettres et chiffres par l'appelant : pas d'opérateur tsquery injectable.
+        // ":*" = recherche par préfixe ("mart" trouve "martin"), "&" = tous les termes requis
+        String tsquery = terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+
+        @SuppressWarnings("unchecked")
+        List<Employe> content = entityManager.createNativeQuery(FULL_TEXT_PAGE, Employe.class)
+                .setParameter(1, tsquery)
+                .setParameter(2, pageable.getPageSize())
+                .setParameter(3, pageable.getOffset())
+                .getResultList();
+
+        long total;
+        if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            total = content.size();
+        } else {
+            total = ((Number) entityManager.createNativeQuery(FULL_TEXT_COUNT)
+                    .setParameter(1, tsquery)
+                    .getSingleResult()).longValue();
+        }
+        return Optional.of(new PageImpl<>(content, pageable, total));
+    }
+
+    @Override
+    public List<EmployeResponseDTO> findProjected(Specification<Employe> spec, Sort sort, long offset, int limit) {
+        return entityManager.createQuery(projectedQuery(spec, sort))
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<EmployeResponseDTO> streamProjected(Specification<Employe> spec, Sort sort) {
+        return entityManager.createQuery(projectedQuery(spec, sort))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.valueOf(EmployeRepository.STREAM_FETCH_SIZE))
+                .getResultStream();
+    }
+
+    @Override
+    public Comparator<String> textOrder() {
+        if (!isPostgres()) {
+            return Comparator.nullsFirst(Comparator.naturalOrder());
+        }
+        String collation = jdbcTemplate.queryForObject(
+                "SELECT datcollate FROM pg_database WHERE datname = current_database()", String.class);
+        return Comparator.nullsLast(collationOrder(collation));
+    }
+
+    /**
+     * Ordre Java correspondant à une collation libc PostgreSQL ("fr_FR.UTF-8", "C", ...).
+     * Ordre approché pour les locales : Collator Java et glibc peuvent différer sur la ponctuation et les espaces.
+     */
+    static Comparator<String> collationOrder(String collation) {
+        if (collation == null || collation.isBlank() || "C".equals(collation) || "POSIX".equals(collation)
+                || collation.startsWith("C.")) {
+            // Ordre des octets UTF-8, c'est-à-dire des points de code
+            return EmployeRepositoryCustomImpl::compareCodePoints;
+        }
+        String tag = collation.split("[.@]", 2)[0].replace('_', '-');
+        Collator collator = Collator.getInstance(Locale.forLanguageTag(tag));
+        return collator::compare;
+    }
+
+    private static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    @Override
+    public List<Long> findIdsAfter(Specification<Employe> spec, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Employe> root = query.from(Employe.class);
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(root.get("id"), afterId));
+        }
+        query.select(root.get("id"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<EmployeUpsertResultDTO> upsertByMail(List<Employe> employes) {
+        List<Object> args = new ArrayList<>(employes.size() * 4);
+        for (Employe employe : employes) {
+            args.add(employe.getPrenom());
+            args.add(employe.getNom());
+            args.add(employe.getMail());
+            args.add(employe.getAdresse());
+        }
+        List<String> mails = employes.stream().map(Employe::getMail).toList();
+
+        List<EmployeUpsertResultDTO> written;
+        if (isPostgres()) {
+            written = jdbcTemplate.query(UPSERT_POSTGRES.formatted(repeat(UPSERT_POSTGRES_ROW, employes.size())),
+                    (rs, rowNum) -> upserted(rs, rs.getBoolean("created")), args.toArray());
+        } else {
+            String inMails = "(" + repeat("?", mails.size()) + ")";
+            Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT mail FROM employes WHERE mail IN " + inMails, String.class, mails.toArray()));
+            jdbcTemplate.update(UPSERT_H2.formatted(repeat(UPSERT_H2_ROW, employes.size())), args.toArray());
+            written = jdbcTemplate.query("SELECT id, prenom, nom, mail, adresse, version FROM employes WHERE mail IN " + inMails,
+                    (rs, rowNum) -> upserted(rs, !existing.contains(rs.getString("mail"))), mails.toArray());
+        }
+
+        // RETURNING ne garantit pas l'ordre des lignes : remise dans l'ordre demandé
+        Map<String, EmployeUpsertResultDTO> byMail = written.stream()
+                .collect(Collectors.toMap(result -> result.employe().mail(), Function.identity()));
+        return mails.stream().map(byMail::get).toList();
+    }
+
+    @Override
+    public int deleteDirect(Long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return jdbcTemplate.update("DELETE FROM employes WHERE id = ?", id);
+        }
+        return jdbcTemplate.update("DELETE FROM employes WHERE id = ? AND version = ?", id, expectedVersion);
+    }
+
+    @Override
+    public void lockCached(Collection<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("lockCached doit être appelé dans une transaction");
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Employe.class);
+        EntityDataAccess access = persister.getCacheAccessStrategy();
+        if (access == null || ids.isEmpty()) {
+            return;
+        }
+        List<Object> keys = new ArrayList<>(ids.size());
+        List<SoftLock> locks = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Object key = access.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+            keys.add(key);
+            locks.add(access.lockItem(session, key, null));
+        }
+        // Session encore ouverte en afterCompletion (fermée ensuite par JpaTransactionManager)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                for (int i = 0; i < keys.size(); i++) {
+                    access.unlockItem(session, keys.get(i), locks.get(i));
+                }
+            }
+        });
+    }
+
+    private static EmployeUpsertResultDTO upserted(ResultSet rs, boolean created) throws SQLException {
+        return new EmployeUpsertResultDTO(
+                new EmployeResponseDTO(rs.getLong("id"), rs.getString("prenom"), rs.getString("nom"),
+                        rs.getString("mail"), rs.getString("adresse")),
+                rs.getLong("version"), created);
+    }
+
+    private static String repeat(String item, int count) {
+        return String.join(", ", Collections.nCopies(count, item));
+    }
+
+    private CriteriaQuery<EmployeResponseDTO> projectedQuery(Specification<Employe> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeResponseDTO> query = cb.createQuery(EmployeResponseDTO.class);
+        Root<Employe> root = query.from(Employe.class);
+        query.select(cb.construct(EmployeResponseDTO.class,
+                root.get("id"), root.get("prenom"), root.get("nom"), root.get("mail"), root.get("adresse")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return query;
+    }
+
+    private static void addLikeCondition(String column, String value, List<String> conditions, List<Object> args) {
+        if (value != null && !value.isBlank()) {
+            // column provient d'une liste fixe, jamais de la requête HTTP
+            conditions.add("lower(" + column + ") LIKE ? ESCAPE '\\'");
+            args.add("%" + EmployeSpecification.escapeLike(value.toLowerCase()) + "%");
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = result;
+        }
+        return result;
+    }
+}
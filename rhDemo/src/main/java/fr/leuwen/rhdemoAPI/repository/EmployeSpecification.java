@@ -1,11 +1,14 @@
 package fr.leuwen.rhdemoAPI.repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.jpa.domain.PredicateSpecification;
 import org.springframework.data.jpa.domain.Specification;
 
 import fr.leuwen.rhdemoAPI.model.Employe;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 
 public final class EmployeSpecification {
@@ -13,8 +16,24 @@ public final class EmployeSpecification {
 	private EmployeSpecification() {
 	}
 
+	/**
+	 * Filtres de recherche partielle insensible à la casse, combinés en AND.
+	 *
+	 * Chaque filtre produit "lower(col) LIKE '%terme%'". Sur PostgreSQL, cette expression est servie par les
+	 * index GIN trigrammes idx_employes_*_trgm (voir pgschema.sql) ; sur H2 elle s'exécute telle quelle.
+	 * La forme lower(col) doit être conservée : un index d'expression n'est utilisé que si l'expression
+	 * de la requête est identique à celle de l'index.
+	 */
 	public static Specification<Employe> withFilters(String prenom, String nom, String mail, String adresse) {
-		return (root, query, cb) -> {
+		return Specification.where(filters(prenom, nom, mail, adresse));
+	}
+
+	/**
+	 * Mêmes filtres que {@link #withFilters}, sans dépendance à la requête : utilisables aussi dans un
+	 * DELETE ou un UPDATE ensembliste (DeleteSpecification / UpdateSpecification).
+	 */
+	public static PredicateSpecification<Employe> filters(String prenom, String nom, String mail, String adresse) {
+		return (root, cb) -> {
 			List<Predicate> predicates = new ArrayList<>();
 			if (prenom != null && !prenom.isBlank()) {
 				predicates.add(cb.like(cb.lower(root.get("prenom")), "%" + escapeLike(prenom.toLowerCase()) + "%", '\\'));
@@ -32,7 +51,71 @@ public final class EmployeSpecification {
 		};
 	}
 
-	private static String escapeLike(String value) {
+	/**
+	 * Restreint aux employés dont l'id figure dans la liste (opérations en masse).
+	 */
+	public static PredicateSpecification<Employe> idIn(Collection<Long> ids) {
+		return (root, cb) -> root.get("id").in(ids);
+	}
+
+	/**
+	 * Recherche multi-champs : chaque terme doit apparaître (recherche partielle, insensible à la casse)
+	 * dans au moins un des champs prénom, nom, mail ou adresse.
+	 * Chemin de repli de la recherche plein texte quand la base n'a pas de tsvector (H2).
+	 */
+	public static Specification<Employe> matchingAllTerms(List<String> terms) {
+		return (root, query, cb) -> {
+			List<Predicate> predicates = new ArrayList<>();
+			for (String term : terms) {
+				String pattern = "%" + escapeLike(term.toLowerCase()) + "%";
+				predicates.add(cb.or(
+						cb.like(cb.lower(root.get("prenom")), pattern, '\\'),
+						cb.like(cb.lower(root.get("nom")), pattern, '\\'),
+						cb.like(cb.lower(root.get("mail")), pattern, '\\'),
+						cb.like(cb.lower(root.get("adresse")), pattern, '\\')));
+			}
+			return cb.and(predicates.toArray(new Predicate[0]));
+		};
+	}
+
+	/**
+	 * Restreint la requête aux lignes situées strictement après la position du curseur,
+	 * dans l'ordre défini par {@link EmployeCursor#toSort()} (champ de tri puis id).
+	 *
+	 * Le prédicat est écrit sous la forme "champ >= v AND (champ > v OR id > i)" plutôt que
+	 * "champ > v OR (champ = v AND id > i)" : la première conjonction borne un parcours d'index
+	 * sur le champ de tri, la seconde ne filtre que les ex-aequo. Le coût ne dépend donc pas
+	 * de la profondeur de la page, contrairement à OFFSET.
+	 */
+	public static Specification<Employe> after(EmployeCursor cursor) {
+		return (root, query, cb) -> {
+			if (cursor.isStart()) {
+				return cb.conjunction();
+			}
+			boolean asc = cursor.direction().isAscending();
+			Path<Long> id = root.get(EmployeCursor.SORT_ID);
+			Predicate idAfter = asc ? cb.greaterThan(id, cursor.lastId()) : cb.lessThan(id, cursor.lastId());
+			if (EmployeCursor.SORT_ID.equals(cursor.sort())) {
+				return idAfter;
+			}
+
+			Path<String> field = root.get(cursor.sort());
+			String value = cursor.lastValue();
+			// NULL est la plus petite valeur : en premier en ASC, en dernier en DESC
+			if (value == null) {
+				return asc
+						? cb.or(cb.and(cb.isNull(field), idAfter), cb.isNotNull(field))
+						: cb.and(cb.isNull(field), idAfter);
+			}
+			Predicate seek = asc
+					? cb.and(cb.greaterThanOrEqualTo(field, value), cb.or(cb.greaterThan(field, value), idAfter))
+					: cb.and(cb.lessThanOrEqualTo(field, value), cb.or(cb.lessThan(field, value), idAfter));
+			// Seule l'adresse peut être NULL : pas de "OR champ IS NULL" qui empêcherait de borner l'index des autres champs
+			return asc || !EmployeCursor.SORT_ADRESSE.equals(cursor.sort()) ? seek : cb.or(seek, cb.isNull(field));
+		};
+	}
+
+	static String escapeLike(String value) {
 		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
 	}
 }
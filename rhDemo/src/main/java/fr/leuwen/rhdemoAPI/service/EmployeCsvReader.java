@@ -0,0 +1,153 @@
+package fr.leuwen.rhdemoAPI.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecture en flux d'un fichier CSV (RFC 4180) : un enregistrement à la fois, sans charger le fichier.
+ * Séparateur détecté sur la ligne d'en-tête (";" des extractions françaises, sinon ","),
+ * champs entre guillemets avec guillemets doublés, retours à la ligne possibles dans un champ.
+ */
+class EmployeCsvReader {
+
+    /**
+     * @param line numéro de la ligne du fichier où commence l'enregistrement (l'en-tête est la ligne 1)
+     */
+    record CsvRecord(long line, List<String> values) {
+    }
+
+    private final Reader reader;
+    private char delimiter = ',';
+    private int pending = -2;
+    private long line = 1;
+
+    EmployeCsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Lit la ligne d'en-tête et en déduit le séparateur. Le BOM UTF-8 éventuel est ignoré.
+     *
+     * @return noms de colonnes, ou liste vide si le fichier est vide
+     */
+    List<String> readHeader() {
+        int c = read();
+        if (c == '\uFEFF') {
+            c = read();
+        }
+        StringBuilder first = new StringBuilder();
+        while (c != -1 && c != '\n' && c != '\r') {
+            first.append((char) c);
+            c = read();
+        }
+        if (first.indexOf(";") >= 0) {
+            delimiter = ';';
+        }
+        unread(c);
+        if (first.isEmpty()) {
+            skipEndOfLine();
+            return List.of();
+        }
+        CsvRecord header = parse(first.toString());
+        skipEndOfLine();
+        return header.values();
+    }
+
+    /**
+     * @return l'enregistrement suivant (lignes vides ignorées), ou null en fin de fichier
+     * @throws IllegalArgumentException si un guillemet n'est jamais refermé
+     */
+    CsvRecord next() {
+        int c = read();
+        while (c == '\n' || c == '\r') {
+            unread(c);
+            skipEndOfLine();
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        unread(c);
+
+        long start = line;
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            c = read();
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Guillemet non refermé (enregistrement commençant ligne " + start + ")");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    value.append((char) c);
+                }
+            } else if (c == '"' && value.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == -1 || c == '\n' || c == '\r') {
+                values.add(value.toString());
+                unread(c);
+                skipEndOfLine();
+                return new CsvRecord(start, values);
+            } else {
+                value.append((char) c);
+            }
+        }
+    }
+
+    private CsvRecord parse(String text) {
+        EmployeCsvReader single = new EmployeCsvReader(new StringReader(text));
+        single.delimiter = delimiter;
+        return single.next();
+    }
+
+    private void skipEndOfLine() {
+        int c = read();
+        if (c == '\r') {
+            line++;
+            int following = read();
+            if (following != '\n') {
+                unread(following);
+            }
+        } else if (c == '\n') {
+            line++;
+        } else {
+            unread(c);
+        }
+    }
+
+    private int read() {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        try {
+            return reader.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+}
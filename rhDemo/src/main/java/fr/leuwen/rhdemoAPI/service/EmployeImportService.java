@@ -0,0 +1,202 @@
+package fr.leuwen.rhdemoAPI.service;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import fr.leuwen.rhdemoAPI.dto.EmployeImportReportDTO;
+import fr.leuwen.rhdemoAPI.dto.EmployeImportReportDTO.LineError;
+import fr.leuwen.rhdemoAPI.dto.EmployeRequestDTO;
+import fr.leuwen.rhdemoAPI.model.Employe;
+import fr.leuwen.rhdemoAPI.repository.EmployeImportStaging;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Import CSV des employés (extractions de paie, 100 000 lignes et plus).
+ *
+ * Le fichier est lu en flux par paquets de CHUNK_SIZE enregistrements : chaque paquet est validé en parallèle
+ * avec les contraintes de EmployeRequestDTO, puis ses lignes valides sont chargées dans la table de staging
+ * (COPY sur PostgreSQL). La fusion dans employes est une seule requête, en fin de fichier. L'ensemble tient
+ * dans une transaction : un échec technique n'importe rien, les lignes invalides ou en conflit sont seulement
+ * écartées et listées dans le rapport.
+ */
+@Service
+public class EmployeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeImportService.class);
+
+    static final int CHUNK_SIZE = 5000;
+    static final int REPORTED_ERRORS_MAX = 1000;
+    private static final List<String> COLUMNS = List.of("prenom", "nom", "mail", "adresse");
+    private static final String COLUMN_OPTIONAL = "adresse";
+
+    private final EmployeImportStaging staging;
+    private final Validator validator;
+    private final EmployeSearchIndex searchIndex;
+    private final EmployePageCache pageCache;
+
+    // Autowired par défaut avec Spring Boot
+    public EmployeImportService(EmployeImportStaging staging, Validator validator, EmployeSearchIndex searchIndex,
+            EmployePageCache pageCache) {
+        this.staging = staging;
+        this.validator = validator;
+        this.searchIndex = searchIndex;
+        this.pageCache = pageCache;
+    }
+
+    /**
+     * Importe un fichier CSV avec en-tête (colonnes prenom, nom, mail, adresse dans un ordre quelconque ;
+     * adresse facultative, colonnes inconnues ignorées ; séparateur ";" ou ",").
+     *
+     * @throws IllegalArgumentException si l'en-tête est absent ou incomplet, ou si le fichier est mal formé
+     */
+    @Transactional
+    public EmployeImportReportDTO importCsv(Reader input) {
+        long start = System.nanoTime();
+        EmployeCsvReader csv = new EmployeCsvReader(input);
+        Map<String, Integer> columns = resolveColumns(csv.readHeader());
+        staging.create();
+
+        Report report = new Report();
+        List<EmployeCsvReader.CsvRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+        EmployeCsvReader.CsvRecord csvRecord;
+        while ((csvRecord = csv.next()) != null) {
+            chunk.add(csvRecord);
+            if (chunk.size() == CHUNK_SIZE) {
+                stage(chunk, columns, report);
+                chunk.clear();
+            }
+        }
+        stage(chunk, columns, report);
+
+        // Conflits relevés avant la fusion : ensuite, les mails importés seraient eux-mêmes « déjà en base »
+        staging.prepareMerge();
+        staging.findConflicts(REPORTED_ERRORS_MAX).forEach(conflict -> report.conflicts.add(new LineError(conflict.line(), "mail",
+                conflict.firstLine() == null
+                        ? "Un employé existe déjà avec cet email"
+                        : "Email en double dans le fichier (ligne " + conflict.firstLine() + ")")));
+        List<Employe> created = staging.merge();
+        long imported = created.size();
+        long conflicts = report.staged - imported;
+
+        if (imported > 0) {
+            // Les lignes créées par SQL ne passent pas par EmployeService : ajout des seules lignes créées
+            // à l'index (comme createEmployes) et invalidation du cache des pages après commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pageCache.invalidate();
+                    created.forEach(searchIndex::index);
+                }
+            });
+        }
+
+        EmployeImportReportDTO result = report.toDTO(imported, conflicts);
+        logger.info("Import CSV : {} lignes lues, {} employés créés, {} lignes écartées en {} ms",
+                result.read(), result.imported(), result.rejected(), (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private Map<String, Integer> resolveColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (COLUMNS.contains(name)) {
+                columns.putIfAbsent(name, i);
+            }
+        }
+        List<String> missing = COLUMNS.stream()
+                .filter(name -> !name.equals(COLUMN_OPTIONAL) && !columns.containsKey(name))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("En-tête CSV incomplet, colonnes manquantes : " + missing
+                    + " (colonnes attendues : " + COLUMNS + ")");
+        }
+        columns.put("", header.size());
+        return columns;
+    }
+
+    /**
+     * Valide un paquet en parallèle (le Validator est thread-safe) puis charge ses lignes valides en staging.
+     */
+    private void stage(List<EmployeCsvReader.CsvRecord> chunk, Map<String, Integer> columns, Report report) {
+        int expected = columns.get("");
+        List<EmployeRequestDTO> dtos = chunk.stream()
+                .map(csvRecord -> csvRecord.values().size() == expected ? toDTO(csvRecord.values(), columns) : null)
+                .toList();
+        List<Set<ConstraintViolation<EmployeRequestDTO>>> violations = dtos.parallelStream()
+                .map(dto -> dto == null ? Set.<ConstraintViolation<EmployeRequestDTO>>of() : validator.validate(dto))
+                .toList();
+
+        List<EmployeImportStaging.Row> rows = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            long line = chunk.get(i).line();
+            EmployeRequestDTO dto = dtos.get(i);
+            report.read++;
+            if (dto == null) {
+                report.reject(List.of(new LineError(line, null, "Nombre de colonnes incorrect : "
+                        + chunk.get(i).values().size() + " au lieu de " + expected)));
+            } else if (!violations.get(i).isEmpty()) {
+                // Un message par champ, dans l'ordre des champs
+                Map<String, String> byField = new TreeMap<>();
+                violations.get(i).forEach(violation -> byField.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage()));
+                report.reject(byField.entrySet().stream().map(error -> new LineError(line, error.getKey(), error.getValue())).toList());
+            } else {
+                rows.add(new EmployeImportStaging.Row(line, dto.prenom(), dto.nom(), dto.mail(), dto.adresse()));
+            }
+        }
+        staging.append(rows);
+        report.staged += rows.size();
+    }
+
+    private static EmployeRequestDTO toDTO(List<String> values, Map<String, Integer> columns) {
+        Integer adresse = columns.get(COLUMN_OPTIONAL);
+        String adresseValue = adresse == null ? null : values.get(adresse).trim();
+        return new EmployeRequestDTO(
+                values.get(columns.get("prenom")).trim(),
+                values.get(columns.get("nom")).trim(),
+                values.get(columns.get("mail")).trim(),
+                adresseValue == null || adresseValue.isEmpty() ? null : adresseValue);
+    }
+
+    /**
+     * Compteurs et erreurs de l'import en cours (les erreurs au-delà de REPORTED_ERRORS_MAX sont seulement comptées).
+     */
+    private static final class Report {
+        private long read;
+        private long staged;
+        private long invalid;
+        private long invalidErrors;
+        private final List<LineError> errors = new ArrayList<>();
+        private final List<LineError> conflicts = new ArrayList<>();
+
+        private void reject(List<LineError> lineErrors) {
+            invalid++;
+            invalidErrors += lineErrors.size();
+            lineErrors.stream().limit(REPORTED_ERRORS_MAX - errors.size()).forEach(errors::add);
+        }
+
+        private EmployeImportReportDTO toDTO(long imported, long conflictCount) {
+            List<LineError> all = new ArrayList<>(errors);
+            all.addAll(conflicts);
+            all.sort(Comparator.comparingLong(LineError::line));
+            List<LineError> shown = all.stream().limit(REPORTED_ERRORS_MAX).toList();
+            boolean truncated = invalidErrors + conflictCount > shown.size();
+            return new EmployeImportReportDTO(read, imported, invalid + conflictCount, shown, truncated);
+        }
+    }
+}
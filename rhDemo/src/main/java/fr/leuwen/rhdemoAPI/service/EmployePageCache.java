@@ -0,0 +1,132 @@
+package fr.leuwen.rhdemoAPI.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import fr.leuwen.rhdemoAPI.dto.EmployeResponseDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache des pages de /api/employes/page (EmployeService#getEmployesPageProjected), local à l'instance.
+ *
+ * La clé reprend les filtres, le tri et la pagination, plus la version courante de la table : chaque écriture
+ * passant par EmployeService incrémente la version après commit (invalidate), les entrées des versions
+ * précédentes ne sont donc plus jamais lues, sans parcours du cache. Elles sortent du cache par éviction
+ * (taille mémoire estimée bornée par max-memory) ou expiration (ttl).
+ *
+ * Comme l'index de recherche, le cache ne voit pas les écritures faites hors de l'application (SQL direct,
+ * autre instance) : elles ne sont visibles qu'à l'expiration des entrées. Métriques publiées dans Micrometer :
+ * cache_gets_total{cache=employesPage,result=hit|miss}, cache_evictions_total, rhdemo.page.cache.memory.
+ */
+@Component
+public class EmployePageCache {
+
+    static final String CACHE_NAME = "employesPage";
+
+    // Estimation mémoire (JVM 64 bits, références compressées, chaînes Latin-1)
+    private static final long ENTRY_BYTES = 160;
+    private static final long DTO_BYTES = 48;
+    private static final long STRING_BYTES = 40;
+
+    /**
+     * Clé d'une page. Les filtres vides sont ramenés à null (même résultat que EmployeSpecification.withFilters).
+     */
+    record Key(long version, String prenom, String nom, String mail, String adresse, Pageable pageable) {
+    }
+
+    private record Entry(List<EmployeResponseDTO> content, long total) {
+    }
+
+    private final boolean enabled;
+    private final AtomicLong version = new AtomicLong();
+    private final Cache<Key, Entry> cache;
+
+    public EmployePageCache(MeterRegistry meterRegistry,
+            @Value("${fr.leuwen.rhdemoAPI.page-cache.enabled:true}") boolean enabled,
+            @Value("${fr.leuwen.rhdemoAPI.page-cache.max-memory:16MB}") DataSize maxMemory,
+            @Value("${fr.leuwen.rhdemoAPI.page-cache.ttl:5m}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((Key key, Entry entry) -> (int) Math.min(Integer.MAX_VALUE, estimatedBytes(key, entry)))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("rhdemo.page.cache.memory", this, EmployePageCache::estimatedMemoryBytes)
+                .description("Mémoire estimée du cache des pages d'employés")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Page servie depuis le cache pour la version courante, sinon lue par {@code loader} puis mise en cache.
+     * Deux lectures simultanées d'une même page absente l'exécutent chacune (pas de verrou autour de la base).
+     */
+    public Page<EmployeResponseDTO> get(String filterPrenom, String filterNom, String filterMail, String filterAdresse,
+            Pageable pageable, Supplier<Page<EmployeResponseDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(version.get(), normalize(filterPrenom), normalize(filterNom), normalize(filterMail),
+                normalize(filterAdresse), pageable);
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            Page<EmployeResponseDTO> page = loader.get();
+            entry = new Entry(List.copyOf(page.getContent()), page.getTotalElements());
+            cache.put(key, entry);
+        }
+        return new PageImpl<>(entry.content(), pageable, entry.total());
+    }
+
+    /**
+     * Rend inaccessibles toutes les pages en cache (nouvelle version de la table).
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    long version() {
+        return version.get();
+    }
+
+    long estimatedMemoryBytes() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private static String normalize(String filter) {
+        return filter == null || filter.isBlank() ? null : filter;
+    }
+
+    private static long estimatedBytes(Key key, Entry entry) {
+        long bytes = ENTRY_BYTES + stringBytes(key.prenom()) + stringBytes(key.nom()) + stringBytes(key.mail())
+                + stringBytes(key.adresse());
+        for (EmployeResponseDTO dto : entry.content()) {
+            bytes += DTO_BYTES + stringBytes(dto.prenom()) + stringBytes(dto.nom()) + stringBytes(dto.mail())
+                    + stringBytes(dto.adresse());
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_BYTES + value.length();
+    }
+}
@@ -0,0 +1,673 @@
+package fr.leuwen.rhdemoAPI.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import fr.leuwen.rhdemoAPI.model.Employe;
+import fr.leuwen.rhdemoAPI.repository.EmployeCursor;
+import fr.leuwen.rhdemoAPI.repository.EmployeRepository;
+import fr.leuwen.rhdemoAPI.repository.EmployeSpecification;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Index inversé n-grammes en mémoire pour les filtres de recherche partielle de /api/employes/page (optionnel).
+ *
+ * Pour chaque champ (prénom, nom, mail, adresse), chaque trigramme de la valeur en minuscules pointe vers la liste
+ * des documents qui le contiennent (tableau d'int trié, sans objet par entrée). Un filtre "contient terme" se résout
+ * par intersection des listes des trigrammes du terme, puis vérification de la valeur (élimine les faux positifs) :
+ * le résultat est strictement celui de EmployeSpecification.withFilters. Les termes de moins de 3 caractères sont
+ * vérifiés par parcours des valeurs en mémoire.
+ *
+ * Le tri (un seul champ, ou id par défaut) est servi, pour chaque clé, par un arbre ordonné des slots (SlotOrder) :
+ * une écriture l'y insère ou l'en retire en O(log n), sans décalage de tableau ni retri ; une page sans filtre y est
+ * lue à partir de sa première position, une page filtrée trie ses correspondances par leur position. Seuls le
+ * chargement et le compactage trient tout (tri fusion sur int[], arbre construit en O(n)). L'ordre suit celui de
+ * la base (EmployeRepositoryCustom#textOrder : collation et place des NULL) sur les valeurs d'origine, puis l'id :
+ * identique avec ou sans index sur H2 et sur PostgreSQL en collation "C" ; approché pour une collation de locale
+ * (Collator Java contre glibc, écarts possibles sur la ponctuation et les espaces) : une page peut alors classer
+ * ces valeurs autrement que la requête SQL (mêmes correspondances, même total).
+ *
+ * Activé par fr.leuwen.rhdemoAPI.search-index.enabled. Chargé au démarrage depuis la base, puis tenu à jour par
+ * EmployeService : les écritures faites hors de l'application (SQL direct, autre instance) ne sont pas vues,
+ * l'index est donc réservé à un déploiement mono-instance.
+ */
+@Component
+public class EmployeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeSearchIndex.class);
+
+    static final int NGRAM = 3;
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int COMPACTION_MIN_DEAD = 1024;
+
+    // Champs indexés, dans l'ordre des paramètres filterXxx ; la clé de tri KEY_ID s'ajoute aux champs
+    private static final int PRENOM = 0;
+    private static final int NOM = 1;
+    private static final int MAIL = 2;
+    private static final int ADRESSE = 3;
+    private static final int FIELD_COUNT = 4;
+    private static final int KEY_ID = FIELD_COUNT;
+    private static final int SORT_KEY_COUNT = FIELD_COUNT + 1;
+
+    // Estimation mémoire (JVM 64 bits, références compressées)
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long REFERENCE_BYTES = 4;
+    private static final long STRING_BYTES = 40;
+    private static final long HASH_SLOT_BYTES = 12;
+
+    /**
+     * Résultat d'une recherche : ids de la page demandée dans l'ordre de tri, et nombre total de correspondances.
+     */
+    public record Hits(List<Long> ids, long total) {
+    }
+
+    private final EmployeRepository employerepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Timer queryTimer;
+
+    // Documents : un slot par version d'employé (une mise à jour libère l'ancien slot et en ajoute un nouveau)
+    private long[] ids = new long[0];
+    // Valeurs d'origine (tri) et en minuscules (filtres), même référence quand elles sont identiques
+    private String[][] values = new String[FIELD_COUNT][0];
+    private String[][] lowered = new String[FIELD_COUNT][0];
+    private final BitSet live = new BitSet();
+    private int slotCount;
+    private int liveCount;
+    private final LongIntHashMap slotById = new LongIntHashMap();
+    private final List<LongObjectHashMap<PostingList>> postings = new ArrayList<>();
+    // Par clé de tri : slots vivants dans l'ordre
+    private final SlotOrder[] orders = new SlotOrder[SORT_KEY_COUNT];
+    // false pendant le chargement et le compactage : les ordres sont reconstruits en une fois à la fin
+    private boolean ranked;
+    private Comparator<String> textOrder = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private volatile boolean ready;
+    private boolean loading;
+    private final Set<Long> writtenDuringLoad = new HashSet<>();
+
+    public EmployeSearchIndex(EmployeRepository employerepository, MeterRegistry meterRegistry,
+            @Value("${fr.leuwen.rhdemoAPI.search-index.enabled:false}") boolean enabled) {
+        this.employerepository = employerepository;
+        this.enabled = enabled;
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            postings.add(new LongObjectHashMap<>());
+        }
+        resetOrders();
+        this.queryTimer = Timer.builder("rhdemo.search.index.query")
+                .description("Durée de résolution d'une page par l'index de recherche en mémoire")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("rhdemo.search.index.memory", this, EmployeSearchIndex::estimatedMemoryBytes)
+                .description("Mémoire estimée de l'index de recherche en mémoire")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("rhdemo.search.index.documents", this, EmployeSearchIndex::documentCount)
+                .description("Nombre d'employés présents dans l'index de recherche en mémoire")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Chargement initial, par lots lus en keyset sur l'id (pas d'OFFSET, mémoire bornée par lot).
+     * Les écritures concurrentes du chargement sont relues en base à la fin pour ne garder aucune version périmée.
+     * Un rechargement d'un index prêt fait passer les recherches triées par la base jusqu'à la reconstruction des
+     * ordres : les écritures ne les tiennent plus à jour pendant le chargement.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Comparator<String> databaseOrder = Objects.requireNonNull(employerepository.textOrder());
+        withWriteLock(() -> {
+            loading = true;
+            ranked = false;
+            textOrder = databaseOrder;
+        });
+
+        EmployeCursor cursor = EmployeCursor.start(EmployeCursor.SORT_ID, Sort.Direction.ASC);
+        List<Employe> batch;
+        do {
+            EmployeCursor after = cursor;
+            batch = employerepository.findBy(EmployeSpecification.after(after),
+                    query -> query.sortBy(after.toSort()).limit(LOAD_BATCH_SIZE).all());
+            List<Employe> rows = batch;
+            withWriteLock(() -> rows.forEach(this::put));
+            if (!batch.isEmpty()) {
+                cursor = cursor.next(batch.get(batch.size() - 1));
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        // Tant que des écritures ont eu lieu pendant le chargement (ou pendant la relecture précédente), on les relit
+        List<Long> pending = drainWrittenDuringLoad();
+        while (!pending.isEmpty()) {
+            reconcile(pending);
+            pending = drainWrittenDuringLoad();
+        }
+        withWriteLock(() -> {
+            rebuildOrders();
+            ranked = true;
+        });
+        ready = true;
+        logger.info("Index de recherche chargé : {} employés, {} trigrammes, ~{} Ko en {} ms",
+                documentCount(), ngramCount(), estimatedMemoryBytes() / 1024,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Ajoute ou remplace un employé (après création ou mise à jour en base).
+     */
+    public void index(Employe employe) {
+        if (!enabled) {
+            return;
+        }
+        withWriteLock(() -> {
+            put(employe);
+            if (loading) {
+                writtenDuringLoad.add(employe.getId());
+            }
+        });
+    }
+
+    /**
+     * Retire un employé (après suppression en base).
+     */
+    public void remove(Long id) {
+        if (!enabled) {
+            return;
+        }
+        withWriteLock(() -> {
+            delete(id);
+            if (loading) {
+                writtenDuringLoad.add(id);
+            }
+        });
+    }
+
+    /**
+     * Résout une page de /api/employes/page : mêmes filtres que EmployeSpecification.withFilters.
+     *
+     * @return les ids de la page et le total, ou vide si l'index n'est pas prêt ou si le tri n'est pas supporté
+     *         (l'appelant passe alors par la base)
+     */
+    public Optional<Hits> search(String filterPrenom, String filterNom, String filterMail, String filterAdresse, Pageable pageable) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        int key = sortKey(pageable.getSort());
+        if (key < 0) {
+            return Optional.empty();
+        }
+        boolean descending = pageable.getSort().isSorted() && pageable.getSort().iterator().next().isDescending();
+        String[] terms = { toTerm(filterPrenom), toTerm(filterNom), toTerm(filterMail), toTerm(filterAdresse) };
+
+        long start = System.nanoTime();
+        // Ordres tenus à jour par chaque écriture : aucune recherche ne trie ni ne prend le verrou d'écriture
+        lock.readLock().lock();
+        try {
+            if (!ranked) {
+                // Rechargement en cours : ordres reconstruits à la fin du chargement
+                return Optional.empty();
+            }
+            List<Long> pageIds = new ArrayList<>(pageable.getPageSize());
+            long from = Math.min(pageable.getOffset(), liveCount);
+            long to = Math.min(from + pageable.getPageSize(), liveCount);
+            if (Arrays.stream(terms).allMatch(Objects::isNull)) {
+                // Sans filtre : la page est lue directement dans l'ordre, à partir de sa première position
+                SlotOrder order = orders[key];
+                int slot = from < to ? order.select((int) (descending ? liveCount - 1 - from : from)) : -1;
+                for (long i = from; i < to; i++) {
+                    pageIds.add(ids[slot]);
+                    slot = descending ? order.previous(slot) : order.next(slot);
+                }
+                return Optional.of(new Hits(pageIds, liveCount));
+            }
+
+            SlotOrder order = orders[key];
+            int[] matches = matchingSlots(terms);
+            long[] ordered = new long[matches.length];
+            for (int i = 0; i < matches.length; i++) {
+                ordered[i] = ((long) order.rank(matches[i]) << 32) | matches[i];
+            }
+            Arrays.sort(ordered);
+
+            to = Math.min(to, ordered.length);
+            from = Math.min(from, to);
+            for (long i = from; i < to; i++) {
+                long packed = ordered[descending ? ordered.length - 1 - (int) i : (int) i];
+                pageIds.add(ids[(int) packed]);
+            }
+            return Optional.of(new Hits(pageIds, matches.length));
+        } finally {
+            lock.readLock().unlock();
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    long estimatedMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = ARRAY_HEADER_BYTES + 8L * ids.length;
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                bytes += 2 * (ARRAY_HEADER_BYTES + REFERENCE_BYTES * values[field].length);
+                for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                    String value = values[field][slot];
+                    String lower = lowered[field][slot];
+                    bytes += value == null ? 0 : STRING_BYTES + value.length();
+                    bytes += lower == null || lower == value ? 0 : STRING_BYTES + lower.length();
+                }
+            }
+            for (LongObjectHashMap<PostingList> field : postings) {
+                bytes += HASH_SLOT_BYTES * field.capacity();
+                long[] listBytes = { 0 };
+                field.forEachValue(list -> listBytes[0] += ARRAY_HEADER_BYTES + 4L * list.slots.length);
+                bytes += listBytes[0];
+            }
+            for (SlotOrder order : orders) {
+                bytes += 4 * (ARRAY_HEADER_BYTES + 4L * order.capacity());
+            }
+            return bytes + HASH_SLOT_BYTES * slotById.capacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int documentCount() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int ngramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.stream().mapToInt(LongObjectHashMap::size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> drainWrittenDuringLoad() {
+        lock.writeLock().lock();
+        try {
+            List<Long> pending = new ArrayList<>(writtenDuringLoad);
+            writtenDuringLoad.clear();
+            loading = !pending.isEmpty();
+            return pending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reconcile(List<Long> idsToCheck) {
+        Map<Long, Employe> current = new HashMap<>();
+        employerepository.findAllById(idsToCheck).forEach(employe -> current.put(employe.getId(), employe));
+        withWriteLock(() -> idsToCheck.forEach(id -> {
+            Employe employe = current.get(id);
+            if (employe == null) {
+                delete(id);
+            } else {
+                put(employe);
+            }
+        }));
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Structure (appelée sous verrou d'écriture)
+    // ════════════════════════════════════════════════════════════════
+
+    private void put(Employe employe) {
+        delete(employe.getId());
+        int slot = slotCount++;
+        if (slot == ids.length) {
+            grow(Math.max(16, slot + (slot >> 1)));
+        }
+        ids[slot] = employe.getId();
+        String[] fieldValues = { employe.getPrenom(), employe.getNom(), employe.getMail(), employe.getAdresse() };
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            String value = fieldValues[field];
+            String lower = value == null ? null : value.toLowerCase(Locale.ROOT);
+            values[field][slot] = value;
+            lowered[field][slot] = lower != null && lower.equals(value) ? value : lower;
+            if (lower != null) {
+                // Les slots sont attribués en ordre croissant : l'ajout en fin garde chaque liste triée
+                LongObjectHashMap<PostingList> fieldPostings = postings.get(field);
+                for (long gram : ngrams(lower)) {
+                    PostingList list = fieldPostings.get(gram);
+                    if (list == null) {
+                        list = new PostingList();
+                        fieldPostings.put(gram, list);
+                    }
+                    list.add(slot);
+                }
+            }
+        }
+        live.set(slot);
+        slotById.put(employe.getId(), slot);
+        if (ranked) {
+            for (SlotOrder order : orders) {
+                order.insert(slot);
+            }
+        }
+        liveCount++;
+    }
+
+    private void delete(long id) {
+        int slot = slotById.remove(id);
+        if (slot == LongIntHashMap.MISSING) {
+            return;
+        }
+        if (ranked) {
+            for (SlotOrder order : orders) {
+                order.remove(slot);
+            }
+        }
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            String lower = lowered[field][slot];
+            if (lower != null) {
+                LongObjectHashMap<PostingList> fieldPostings = postings.get(field);
+                for (long gram : ngrams(lower)) {
+                    PostingList list = fieldPostings.get(gram);
+                    if (list != null && list.remove(slot) && list.size == 0) {
+                        fieldPostings.remove(gram);
+                    }
+                }
+            }
+            values[field][slot] = null;
+            lowered[field][slot] = null;
+        }
+        live.clear(slot);
+        liveCount--;
+        // On compacte quand les slots libérés dominent
+        if (slotCount - liveCount > Math.max(COMPACTION_MIN_DEAD, liveCount)) {
+            compact();
+        }
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            values[field] = Arrays.copyOf(values[field], capacity);
+            lowered[field] = Arrays.copyOf(lowered[field], capacity);
+        }
+        for (SlotOrder order : orders) {
+            order.ensureCapacity(capacity);
+        }
+    }
+
+    private void compact() {
+        long[] oldIds = ids;
+        String[][] oldValues = values;
+        int[] liveSlots = live.stream().toArray();
+        boolean wasRanked = ranked;
+        ids = new long[0];
+        values = new String[FIELD_COUNT][0];
+        lowered = new String[FIELD_COUNT][0];
+        live.clear();
+        slotCount = 0;
+        liveCount = 0;
+        slotById.clear();
+        postings.forEach(LongObjectHashMap::clear);
+        ranked = false;
+        resetOrders();
+        for (int slot : liveSlots) {
+            Employe employe = new Employe();
+            employe.setId(oldIds[slot]);
+            employe.setPrenom(oldValues[PRENOM][slot]);
+            employe.setNom(oldValues[NOM][slot]);
+            employe.setMail(oldValues[MAIL][slot]);
+            employe.setAdresse(oldValues[ADRESSE][slot]);
+            put(employe);
+        }
+        if (wasRanked) {
+            rebuildOrders();
+            ranked = true;
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Ordres de tri (appelés sous verrou d'écriture)
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Tri complet de chaque clé (chargement, compactage) : tri fusion sur int[], sans boxing des slots, puis
+     * construction de l'arbre à partir des slots triés.
+     */
+    private void rebuildOrders() {
+        for (int key = 0; key < SORT_KEY_COUNT; key++) {
+            int[] order = live.stream().toArray();
+            sortSlots(key, order, liveCount);
+            orders[key].build(order, liveCount);
+        }
+    }
+
+    /**
+     * Ordres vides (construction, compactage : les tableaux de l'ancienne capacité sont libérés).
+     */
+    private void resetOrders() {
+        for (int key = 0; key < SORT_KEY_COUNT; key++) {
+            int sortKey = key;
+            orders[key] = new SlotOrder((a, b) -> compareSlots(sortKey, a, b));
+        }
+    }
+
+    /**
+     * Ordre de la base sur la valeur d'origine du champ (textOrder), puis l'id.
+     */
+    private int compareSlots(int key, int a, int b) {
+        if (key != KEY_ID) {
+            int byValue = textOrder.compare(values[key][a], values[key][b]);
+            if (byValue != 0) {
+                return byValue;
+            }
+        }
+        return Long.compare(ids[a], ids[b]);
+    }
+
+    /**
+     * Tri fusion ascendant des {@code length} premiers slots (stable, tampon unique).
+     */
+    private void sortSlots(int key, int[] slots, int length) {
+        int[] source = slots;
+        int[] target = new int[length];
+        for (int width = 1; width < length; width *= 2) {
+            for (int low = 0; low < length; low += 2 * width) {
+                int mid = Math.min(low + width, length);
+                int high = Math.min(low + 2 * width, length);
+                int i = low;
+                int j = mid;
+                for (int k = low; k < high; k++) {
+                    if (i < mid && (j >= high || compareSlots(key, source[i], source[j]) <= 0)) {
+                        target[k] = source[i++];
+                    } else {
+                        target[k] = source[j++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != slots) {
+            System.arraycopy(source, 0, slots, 0, length);
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Recherche (appelée sous verrou de lecture)
+    // ════════════════════════════════════════════════════════════════
+
+    private int[] matchingSlots(String[] terms) {
+        // Listes des trigrammes de tous les termes assez longs, intersectées de la plus courte à la plus longue
+        List<PostingList> lists = new ArrayList<>();
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            String term = terms[field];
+            if (term == null || term.length() < NGRAM) {
+                continue;
+            }
+            LongObjectHashMap<PostingList> fieldPostings = postings.get(field);
+            for (long gram : ngrams(term)) {
+                PostingList list = fieldPostings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                if (!lists.contains(list)) {
+                    lists.add(list);
+                }
+            }
+        }
+
+        int[] candidates;
+        if (lists.isEmpty()) {
+            candidates = live.stream().toArray();
+        } else {
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            candidates = Arrays.copyOf(lists.get(0).slots, lists.get(0).size);
+            for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+                candidates = intersect(candidates, lists.get(i));
+            }
+        }
+
+        // Vérification : les trigrammes présents ne garantissent pas la sous-chaîne complète
+        int count = 0;
+        for (int slot : candidates) {
+            if (matches(slot, terms)) {
+                candidates[count++] = slot;
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    private boolean matches(int slot, String[] terms) {
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            if (terms[field] != null && (lowered[field][slot] == null || !lowered[field][slot].contains(terms[field]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] intersect(int[] candidates, PostingList list) {
+        int[] result = new int[Math.min(candidates.length, list.size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < candidates.length && j < list.size) {
+            if (candidates[i] < list.slots[j]) {
+                i++;
+            } else if (candidates[i] > list.slots[j]) {
+                j++;
+            } else {
+                result[count++] = candidates[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int sortKey(Sort sort) {
+        if (sort.isUnsorted()) {
+            return KEY_ID;
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != 1) {
+            return -1;
+        }
+        return switch (orders.get(0).getProperty()) {
+            case "prenom" -> PRENOM;
+            case "nom" -> NOM;
+            case "mail" -> MAIL;
+            case "adresse" -> ADRESSE;
+            case EmployeCursor.SORT_ID -> KEY_ID;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Terme de filtre tel que l'applique EmployeSpecification.withFilters : ignoré si vide, non tronqué.
+     */
+    private static String toTerm(String filter) {
+        return filter == null || filter.isBlank() ? null : filter.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Trigrammes d'une valeur, codés sur un long (3 caractères de 16 bits) : aucune chaîne allouée par trigramme.
+     */
+    static long[] ngrams(String value) {
+        long[] grams = new long[Math.max(0, value.length() - NGRAM + 1)];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2);
+        }
+        return grams;
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Liste de slots triée, sur tableau d'int extensible.
+     */
+    private static final class PostingList {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            // Un même trigramme peut apparaître plusieurs fois dans une valeur : le slot n'est ajouté qu'une fois
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size + (size >> 1) + 1);
+            }
+            slots[size++] = slot;
+        }
+
+        boolean remove(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -1,62 +1,532 @@
 package fr.leuwen.rhdemoAPI.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.DeleteSpecification;
+import org.springframework.data.jpa.domain.PredicateSpecification;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.UpdateSpecification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import fr.leuwen.rhdemoAPI.dto.EmployeResponseDTO;
+import fr.leuwen.rhdemoAPI.dto.EmployeUpsertResultDTO;
+import fr.leuwen.rhdemoAPI.exception.EmployeBatchValidationException;
 import fr.leuwen.rhdemoAPI.exception.EmployeNotFoundException;
+import fr.leuwen.rhdemoAPI.exception.EmployeVersionMismatchException;
 import fr.leuwen.rhdemoAPI.model.Employe;
+import fr.leuwen.rhdemoAPI.repository.EmployeCursor;
 import fr.leuwen.rhdemoAPI.repository.EmployeRepository;
 import fr.leuwen.rhdemoAPI.repository.EmployeSpecification;
 
 @Service
 public class EmployeService {
+	// Termes de recherche : suites de lettres ou de chiffres, le reste sert de séparateur
+	private static final Pattern SEARCH_TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+	private static final int SEARCH_TERMS_MAX = 8;
+	private static final Sort SEARCH_FALLBACK_SORT = Sort.by("nom", "prenom", "id");
+	// Ids par DELETE ... WHERE id IN (...) lors d'une suppression par filtres (même plafond que /api/employes/bulk)
+	static final int DELETE_CHUNK_SIZE = 1000;
+
 	private final EmployeRepository employerepository;
+	private final EmployeSearchIndex searchIndex;
+	private final EmployePageCache pageCache;
 
 	// Autowired par défaut avec Spring Boot
-	public EmployeService(EmployeRepository employerepository) {
+	public EmployeService(EmployeRepository employerepository, EmployeSearchIndex searchIndex, EmployePageCache pageCache) {
 		this.employerepository = employerepository;
+		this.searchIndex = searchIndex;
+		this.pageCache = pageCache;
 	}
 	
+	@Transactional(readOnly = true)
 	public Employe getEmploye(final @NonNull Long id) {
         return employerepository.findById(id)
             .orElseThrow(() -> new EmployeNotFoundException(id));
     }
 
 
+    @Transactional(readOnly = true)
     public Iterable<Employe> getEmployes() {
         return employerepository.findAll();
     }
 
+    /**
+     * Parcourt tous les employés, ligne à ligne, sans jamais matérialiser la liste complète.
+     * La transaction (lecture seule) maintient le curseur ouvert pendant tout le parcours :
+     * le consommateur écrit typiquement la réponse HTTP au fil de l'eau.
+     */
+    @Transactional(readOnly = true)
+    public void streamEmployes(Consumer<EmployeResponseDTO> consumer) {
+        try (Stream<EmployeResponseDTO> employes = employerepository.streamAll()) {
+            employes.forEach(consumer);
+        }
+    }
+
+    /**
+     * Parcours en flux des employés filtrés et triés (export) : mêmes filtres que getEmployesPage, lus en SQL
+     * par curseur même si l'index de recherche est actif (il ne sert que des pages). La connexion reste prise
+     * pendant tout le parcours, au rythme du consommateur.
+     */
+    @Transactional(readOnly = true)
+    public void streamEmployes(String filterPrenom, String filterNom, String filterMail, String filterAdresse, Sort sort,
+            Consumer<EmployeResponseDTO> consumer) {
+        Specification<Employe> spec = EmployeSpecification.withFilters(filterPrenom, filterNom, filterMail, filterAdresse);
+        try (Stream<EmployeResponseDTO> employes = employerepository.streamProjected(spec, sort)) {
+            employes.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Page<Employe> getEmployesPage(Pageable pageable) {
         return employerepository.findAll(pageable);
     }
 
+    /**
+     * Page filtrée. Si l'index de recherche en mémoire est actif, il résout les ids de la page et le total :
+     * seules les lignes de la page sont lues en base (pas de filtre LIKE ni de count côté SQL).
+     */
+    @Transactional(readOnly = true)
     public Page<Employe> getEmployesPage(String filterPrenom, String filterNom, String filterMail, String filterAdresse, Pageable pageable) {
+        Optional<EmployeSearchIndex.Hits> hits = searchIndex.search(filterPrenom, filterNom, filterMail, filterAdresse, pageable);
+        if (hits.isPresent()) {
+            return new PageImpl<>(findAllByIdInOrder(hits.get().ids()), pageable, hits.get().total());
+        }
         Specification<Employe> spec = EmployeSpecification.withFilters(filterPrenom, filterNom, filterMail, filterAdresse);
         return employerepository.findAll(spec, pageable);
     }
 
+    /**
+     * Variante de getEmployesPage(filtres…) en lecture seule : les lignes sont projetées directement en
+     * EmployeResponseDTO (voir EmployeRepositoryCustom#findProjected), aucune entité n'est chargée.
+     * Le count n'est exécuté que s'il ne peut pas être déduit de la page (première page incomplète, dernière page).
+     * Les pages (contenu et total) sont mises en cache jusqu'à la prochaine écriture (voir EmployePageCache).
+     */
+    @Transactional(readOnly = true)
+    public Page<EmployeResponseDTO> getEmployesPageProjected(String filterPrenom, String filterNom, String filterMail, String filterAdresse, Pageable pageable) {
+        return pageCache.get(filterPrenom, filterNom, filterMail, filterAdresse, pageable,
+                () -> findEmployesPageProjected(filterPrenom, filterNom, filterMail, filterAdresse, pageable));
+    }
+
+    private Page<EmployeResponseDTO> findEmployesPageProjected(String filterPrenom, String filterNom, String filterMail, String filterAdresse, Pageable pageable) {
+        Optional<EmployeSearchIndex.Hits> hits = searchIndex.search(filterPrenom, filterNom, filterMail, filterAdresse, pageable);
+        if (hits.isPresent()) {
+            List<Long> ids = hits.get().ids();
+            Map<Long, EmployeResponseDTO> byId = new HashMap<>();
+            employerepository.findProjected((root, query, cb) -> root.get("id").in(ids), Sort.unsorted(), 0, ids.size())
+                    .forEach(dto -> byId.put(dto.id(), dto));
+            List<EmployeResponseDTO> content = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+            return new PageImpl<>(content, pageable, hits.get().total());
+        }
+        Specification<Employe> spec = EmployeSpecification.withFilters(filterPrenom, filterNom, filterMail, filterAdresse);
+        List<EmployeResponseDTO> content = employerepository.findProjected(spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> employerepository.count(spec));
+    }
+
+    /**
+     * Page sans total : une ligne supplémentaire est lue pour déterminer hasNext, aucune requête count n'est exécutée.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Employe> getEmployesSlice(String filterPrenom, String filterNom, String filterMail, String filterAdresse, Pageable pageable) {
+        Specification<Employe> spec = EmployeSpecification.withFilters(filterPrenom, filterNom, filterMail, filterAdresse);
+        return employerepository.findBy(spec, query -> query.slice(pageable));
+    }
+
+    /**
+     * Page avec total estimé à partir des statistiques de la base (voir EmployeRepositoryCustom#estimateCount).
+     * Sur la dernière page (non vide, ou première page vide), le total exact se déduit de la page elle-même ;
+     * sans statistiques (H2), repli sur un count exact. Une page vide au-delà de la fin ne dit rien du total :
+     * elle prouve seulement qu'il ne dépasse pas l'offset.
+     */
+    @Transactional(readOnly = true)
+    public Page<Employe> getEmployesPageEstimated(String filterPrenom, String filterNom, String filterMail, String filterAdresse, Pageable pageable) {
+        Slice<Employe> slice = getEmployesSlice(filterPrenom, filterNom, filterMail, filterAdresse, pageable);
+        if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+            return new PageImpl<>(slice.getContent(), pageable, pageable.getOffset() + slice.getNumberOfElements());
+        }
+        long total = employerepository.estimateCount(filterPrenom, filterNom, filterMail, filterAdresse)
+                .orElseGet(() -> employerepository.count(
+                        EmployeSpecification.withFilters(filterPrenom, filterNom, filterMail, filterAdresse)));
+        // Une estimation ne doit pas contredire ce qui vient d'être lu (page suivante existante, ou page vide)
+        if (slice.hasNext()) {
+            total = Math.max(total, pageable.getOffset() + slice.getNumberOfElements() + 1);
+        } else {
+            total = Math.min(total, pageable.getOffset());
+        }
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    /**
+     * Pagination par curseur (keyset) : lit les {@code size} employés suivant la position du curseur.
+     * Une ligne supplémentaire est lue pour savoir s'il existe une page suivante, sans requête count.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Employe> getEmployesAfter(String filterPrenom, String filterNom, String filterMail, String filterAdresse, EmployeCursor after, int size) {
+        Specification<Employe> spec = EmployeSpecification.withFilters(filterPrenom, filterNom, filterMail, filterAdresse)
+                .and(EmployeSpecification.after(after));
+        Sort sort = after.toSort();
+        List<Employe> rows = employerepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+        boolean hasNext = rows.size() > size;
+        List<Employe> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    /**
+     * Recherche plein texte sur prénom, nom, mail et adresse : tous les termes de la requête doivent être trouvés.
+     * Sur PostgreSQL, résultats classés par pertinence (ts_rank) via la colonne tsvector indexée ;
+     * sur H2, repli sur une recherche partielle multi-champs triée par nom, prénom.
+     */
+    @Transactional(readOnly = true)
+    public Page<Employe> searchEmployes(String query, Pageable pageable) {
+        List<String> terms = toSearchTerms(query);
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return employerepository.fullTextSearch(terms, pageable)
+                .orElseGet(() -> employerepository.findAll(EmployeSpecification.matchingAllTerms(terms),
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), SEARCH_FALLBACK_SORT)));
+    }
+
+    /**
+     * Découpe la requête en termes en minuscules (lettres et chiffres uniquement, sans doublon).
+     * Aucun caractère spécial ne peut donc atteindre la syntaxe tsquery ou LIKE.
+     */
+    static List<String> toSearchTerms(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        Matcher matcher = SEARCH_TERM.matcher(query.toLowerCase(Locale.ROOT));
+        return matcher.results()
+                .map(match -> match.group())
+                .distinct()
+                .limit(SEARCH_TERMS_MAX)
+                .toList();
+    }
+
+    /**
+     * Suppression en une seule requête DELETE ... WHERE id = ?, sans lecture préalable ni entité chargée :
+     * le nombre de lignes supprimées décide du 404. SQL direct (voir EmployeRepositoryCustom#deleteDirect) :
+     * seul l'employé supprimé est verrouillé dans le cache de second niveau avant la requête (une lecture concurrente
+     * ne peut pas l'y replacer), le reste de la région est conservé.
+     */
+    @Transactional
     public void deleteEmploye(final @NonNull Long id) {
-        // Vérifier que l'employé existe avant de le supprimer
-        if (!employerepository.existsById(id)) {
+        employerepository.lockCached(List.of(id));
+        if (employerepository.deleteDirect(id, null) == 0) {
             throw new EmployeNotFoundException(id);
         }
-        employerepository.deleteById(id);
+        afterDelete(id);
+    }
+
+    /**
+     * Suppression conditionnelle (If-Match), en une requête DELETE ... WHERE id = ? AND version = ?.
+     * Si aucune ligne n'est supprimée, l'employé est relu pour distinguer l'employé absent (404) de
+     * l'employé modifié depuis sa lecture (412).
+     *
+     * @throws EmployeVersionMismatchException si la version courante n'est pas {@code expectedVersion}
+     */
+    @Transactional
+    public void deleteEmploye(final @NonNull Long id, long expectedVersion) {
+        employerepository.lockCached(List.of(id));
+        if (employerepository.deleteDirect(id, expectedVersion) == 0) {
+            throw new EmployeVersionMismatchException(id, expectedVersion, getEmploye(id).getVersion());
+        }
+        afterDelete(id);
+    }
+
+    private void afterDelete(Long id) {
+        afterCommit(() -> searchIndex.remove(id));
+        afterCommit(pageCache::invalidate);
     }
 
     public Employe createEmploye(Employe employe) {
         employe.setId(null);
-        return employerepository.save(employe);
+        Employe saved = employerepository.save(employe);
+        searchIndex.index(saved);
+        pageCache.invalidate();
+        return saved;
     }
 
+    /**
+     * Création d'un lot d'employés dans une seule transaction : tout ou rien.
+     * Les mails en double (dans le lot ou déjà en base) sont signalés par position avant toute écriture.
+     * Les ids étant pré-alloués par la séquence (Employe.ID_ALLOCATION_SIZE), Hibernate envoie les INSERT
+     * en batch JDBC au flush (hibernate.jdbc.batch_size) au lieu d'un aller-retour par employé.
+     */
+    @Transactional
+    public List<Employe> createEmployes(List<Employe> employes) {
+        Map<String, String> errors = duplicateMails(employes);
+        Set<String> mails = new HashSet<>();
+        employes.forEach(employe -> mails.add(employe.getMail()));
+        Set<String> existing = new HashSet<>(employerepository.findExistingMails(mails));
+        for (int i = 0; i < employes.size(); i++) {
+            if (existing.contains(employes.get(i).getMail())) {
+                errors.putIfAbsent("[" + i + "].mail", "Un employé existe déjà avec cet email");
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new EmployeBatchValidationException(errors);
+        }
+
+        employes.forEach(employe -> employe.setId(null));
+        List<Employe> saved = new ArrayList<>();
+        employerepository.saveAll(employes).forEach(saved::add);
+        indexAfterCommit(saved);
+        afterCommit(pageCache::invalidate);
+        return saved;
+    }
+
+    /**
+     * Création ou mise à jour par mail (synchronisations RH), en une seule requête SQL au lieu d'une lecture puis
+     * d'une création ou d'une mise à jour par employé. Un mail présent deux fois refuse tout le lot (400), sans
+     * écriture. Les employés mis à jour sont verrouillés dans le cache de second niveau jusqu'à la fin de la
+     * transaction (écriture hors Hibernate) : une lecture concurrente ne peut pas y replacer leur état précédent.
+     *
+     * @return un résultat par employé (créé ou mis à jour), dans l'ordre du lot
+     */
+    @Transactional
+    public List<EmployeUpsertResultDTO> upsertEmployes(List<Employe> employes) {
+        Map<String, String> errors = duplicateMails(employes);
+        if (!errors.isEmpty()) {
+            throw new EmployeBatchValidationException(errors);
+        }
+
+        List<EmployeUpsertResultDTO> results = employerepository.upsertByMail(employes);
+        List<Long> updated = results.stream().filter(result -> !result.created()).map(result -> result.employe().id()).toList();
+        // Ids connus seulement après l'écriture : verrou posé avant le commit, il remplace toute entrée lue entre-temps
+        employerepository.lockCached(updated);
+        indexAfterCommit(results.stream().map(result -> toEmploye(result.employe())).toList());
+        afterCommit(pageCache::invalidate);
+        return results;
+    }
+
+    /**
+     * Suppression en masse par liste d'ids : un seul DELETE ... WHERE id IN (...), sans lecture préalable.
+     *
+     * @return nombre d'employés effectivement supprimés (les ids inconnus sont ignorés)
+     */
+    @Transactional
+    public long deleteEmployes(List<Long> ids) {
+        long deleted = employerepository.delete(DeleteSpecification.where(EmployeSpecification.idIn(ids)));
+        afterCommit(() -> ids.forEach(searchIndex::remove));
+        afterCommit(pageCache::invalidate);
+        return deleted;
+    }
+
+    /**
+     * Suppression en masse des employés correspondant aux filtres (mêmes règles que /api/employes/page) :
+     * un seul DELETE ... WHERE lower(col) LIKE ... Si l'index de recherche en mémoire est actif, les ids
+     * sont lus par tranches de DELETE_CHUNK_SIZE (ids seuls, par ordre d'id) et chaque tranche est supprimée
+     * par id : aucune requête ne dépasse la limite de paramètres liés, quel que soit le nombre d'employés.
+     * Les ids supprimés sont conservés (long[]) pour retirer les employés de l'index après commit.
+     */
+    @Transactional
+    public long deleteEmployesMatching(String filterPrenom, String filterNom, String filterMail, String filterAdresse) {
+        PredicateSpecification<Employe> filters = EmployeSpecification.filters(filterPrenom, filterNom, filterMail, filterAdresse);
+        afterCommit(pageCache::invalidate);
+        if (!searchIndex.isReady()) {
+            return employerepository.delete(DeleteSpecification.where(filters));
+        }
+        Specification<Employe> spec = Specification.where(filters);
+        LongStream.Builder removed = LongStream.builder();
+        long deleted = 0;
+        Long lastId = null;
+        List<Long> chunk;
+        do {
+            chunk = employerepository.findIdsAfter(spec, lastId, DELETE_CHUNK_SIZE);
+            if (!chunk.isEmpty()) {
+                deleted += employerepository.delete(DeleteSpecification.where(EmployeSpecification.idIn(chunk)));
+                chunk.forEach(removed::add);
+                lastId = chunk.getLast();
+            }
+        } while (chunk.size() == DELETE_CHUNK_SIZE);
+        long[] ids = removed.build().toArray();
+        afterCommit(() -> LongStream.of(ids).forEach(searchIndex::remove));
+        return deleted;
+    }
+
+    /**
+     * Modification d'un même champ sur une liste d'employés : un seul UPDATE ... SET champ = ? WHERE id IN (...).
+     * Le champ et la valeur sont validés par l'appelant (champs modifiables en masse : prénom, nom, adresse).
+     *
+     * @return nombre d'employés effectivement modifiés (les ids inconnus sont ignorés)
+     */
+    @Transactional
+    public long patchEmployes(List<Long> ids, String field, String value) {
+        // Version incrémentée comme pour une mise à jour unitaire : les ETag déjà distribués deviennent périmés
+        long updated = employerepository.update(UpdateSpecification.<Employe>update((root, update, cb) -> update
+                        .set(root.<String>get(field), value)
+                        .set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L)))
+                .where(EmployeSpecification.idIn(ids)));
+        if (searchIndex.isReady()) {
+            // Relecture après l'UPDATE (rien n'était chargé dans le contexte de persistance auparavant)
+            List<Employe> patched = new ArrayList<>();
+            employerepository.findAllById(ids).forEach(patched::add);
+            indexAfterCommit(patched);
+        }
+        afterCommit(pageCache::invalidate);
+        return updated;
+    }
+
+    @Transactional
     public Employe updateEmploye(@NonNull Long id, Employe employe) {
-        if (!employerepository.existsById(id)) {
-            throw new EmployeNotFoundException(id);
+        return updateEmploye(id, employe, null);
+    }
+
+    /**
+     * Mise à jour de l'employé {@code id} avec les champs de {@code employe} (l'id éventuel du corps est ignoré).
+     * Mêmes règles que patchEmploye avec les quatre champs.
+     *
+     * @param expectedVersion version lue par le client (If-Match), ou null pour une mise à jour inconditionnelle
+     * @throws EmployeVersionMismatchException si la version courante n'est pas {@code expectedVersion}
+     */
+    @Transactional
+    public Employe updateEmploye(@NonNull Long id, Employe employe, @Nullable Long expectedVersion) {
+        Map<String, String> changes = new LinkedHashMap<>();
+        changes.put("prenom", employe.getPrenom());
+        changes.put("nom", employe.getNom());
+        changes.put("mail", employe.getMail());
+        changes.put("adresse", employe.getAdresse());
+        return patchEmploye(id, changes, expectedVersion);
+    }
+
+    /**
+     * Modification partielle : seuls les champs présents dans {@code changes} (prenom, nom, mail, adresse) sont
+     * modifiés, une valeur null efface le champ. L'employé est lu par id (servi par le cache de second niveau,
+     * sans SELECT), modifié dans la transaction, et Hibernate n'émet au commit qu'un UPDATE versionné : il échoue
+     * si une autre transaction a modifié l'employé entre-temps (ObjectOptimisticLockingFailureException).
+     * Si aucune valeur ne change, rien n'est écrit : ni UPDATE, ni nouvelle version, ni invalidation des caches.
+     *
+     * @param expectedVersion version lue par le client (If-Match), ou null pour une modification inconditionnelle
+     * @return l'employé, avec sa nouvelle version une fois la transaction validée
+     * @throws EmployeVersionMismatchException si la version courante n'est pas {@code expectedVersion}
+     * @throws IllegalArgumentException si un champ n'est pas modifiable
+     */
+    @Transactional
+    public Employe patchEmploye(@NonNull Long id, Map<String, String> changes, @Nullable Long expectedVersion) {
+        Employe current = getEmploye(id);
+        if (expectedVersion != null) {
+            checkVersion(current, expectedVersion);
+        }
+        boolean changed = false;
+        for (Map.Entry<String, String> change : changes.entrySet()) {
+            changed |= setField(current, change.getKey(), change.getValue());
+        }
+        if (changed) {
+            indexAfterCommit(List.of(current));
+            afterCommit(pageCache::invalidate);
         }
-        employe.setId(id);
-        return employerepository.save(employe);
+        return current;
+    }
+
+    /**
+     * @return true si la valeur du champ a changé
+     */
+    private static boolean setField(Employe employe, String field, String value) {
+        String previous = switch (field) {
+            case "prenom" -> employe.getPrenom();
+            case "nom" -> employe.getNom();
+            case "mail" -> employe.getMail();
+            case "adresse" -> employe.getAdresse();
+            default -> throw new IllegalArgumentException("Champ non modifiable : " + field);
+        };
+        if (Objects.equals(previous, value)) {
+            return false;
+        }
+        switch (field) {
+            case "prenom" -> employe.setPrenom(value);
+            case "nom" -> employe.setNom(value);
+            case "mail" -> employe.setMail(value);
+            default -> employe.setAdresse(value);
+        }
+        return true;
+    }
+
+    /**
+     * Mails en double dans un lot, signalés par position ("[3].mail") à partir de la deuxième occurrence.
+     */
+    private static Map<String, String> duplicateMails(List<Employe> employes) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        Map<String, Integer> positionByMail = new HashMap<>();
+        for (int i = 0; i < employes.size(); i++) {
+            Integer first = positionByMail.putIfAbsent(employes.get(i).getMail(), i);
+            if (first != null) {
+                errors.put("[" + i + "].mail", "Email en double dans le lot (élément " + first + ")");
+            }
+        }
+        return errors;
+    }
+
+    private static Employe toEmploye(EmployeResponseDTO dto) {
+        Employe employe = new Employe();
+        employe.setId(dto.id());
+        employe.setPrenom(dto.prenom());
+        employe.setNom(dto.nom());
+        employe.setMail(dto.mail());
+        employe.setAdresse(dto.adresse());
+        return employe;
+    }
+
+    private static void checkVersion(Employe current, long expectedVersion) {
+        if (current.getVersion() != expectedVersion) {
+            throw new EmployeVersionMismatchException(current.getId(), expectedVersion, current.getVersion());
+        }
+    }
+
+    /**
+     * Met à jour l'index de recherche une fois la transaction validée : une écriture annulée n'y laisse aucune trace.
+     * Même principe pour le cache des pages : invalidé avant le commit, il pourrait être rechargé avec l'état précédent.
+     */
+    private void indexAfterCommit(List<Employe> employes) {
+        afterCommit(() -> employes.forEach(searchIndex::index));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Lit les employés par id en conservant l'ordre demandé (findAllById ne garantit aucun ordre).
+     * Un id supprimé entre la résolution et la lecture est simplement absent de la page.
+     */
+    private List<Employe> findAllByIdInOrder(List<Long> ids) {
+        Map<Long, Employe> byId = new HashMap<>();
+        employerepository.findAllById(ids).forEach(employe -> byId.put(employe.getId(), employe));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 }
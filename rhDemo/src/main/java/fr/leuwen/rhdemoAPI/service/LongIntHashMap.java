@@ -0,0 +1,113 @@
+package fr.leuwen.rhdemoAPI.service;
+
+/**
+ * Table de hachage long → int (valeurs positives ou nulles) sans objet par entrée : adressage ouvert à sondage
+ * linéaire, suppression par décalage arrière (pas de marqueur de suppression). Non synchronisée.
+ * Utilisée par EmployeSearchIndex (id d'employé → slot).
+ */
+final class LongIntHashMap {
+
+    static final int MISSING = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys = new long[MIN_CAPACITY];
+    // valeur + 1 : 0 marque une case libre
+    private int[] values = new int[MIN_CAPACITY];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @return la valeur associée à {@code key}, ou MISSING
+     */
+    int get(long key) {
+        for (int i = index(key, keys.length); values[i] != 0; i = (i + 1) & (keys.length - 1)) {
+            if (keys[i] == key) {
+                return values[i] - 1;
+            }
+        }
+        return MISSING;
+    }
+
+    void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Valeur négative : " + value);
+        }
+        if (2 * (size + 1) > keys.length) {
+            resize(keys.length * 2);
+        }
+        int i = index(key, keys.length);
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = value + 1;
+                return;
+            }
+            i = (i + 1) & (keys.length - 1);
+        }
+        keys[i] = key;
+        values[i] = value + 1;
+        size++;
+    }
+
+    /**
+     * @return la valeur retirée, ou MISSING
+     */
+    int remove(long key) {
+        int mask = keys.length - 1;
+        int i = index(key, keys.length);
+        while (values[i] != 0 && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (values[i] == 0) {
+            return MISSING;
+        }
+        int removed = values[i] - 1;
+        // Décalage arrière : les entrées suivantes de la même suite reprennent la case libérée si besoin
+        int hole = i;
+        for (int j = (hole + 1) & mask; values[j] != 0; j = (j + 1) & mask) {
+            int home = index(keys[j], keys.length);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        values[hole] = 0;
+        size--;
+        return removed;
+    }
+
+    void clear() {
+        keys = new long[MIN_CAPACITY];
+        values = new int[MIN_CAPACITY];
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                int j = index(oldKeys[i], capacity);
+                while (values[j] != 0) {
+                    j = (j + 1) & (capacity - 1);
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    static int index(long key, int capacity) {
+        // Mélange de Fibonacci : les ids consécutifs et les trigrammes proches se répartissent sur toute la table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - Integer.numberOfTrailingZeros(capacity)));
+    }
+}
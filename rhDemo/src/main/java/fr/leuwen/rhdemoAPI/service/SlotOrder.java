@@ -0,0 +1,257 @@
+package fr.leuwen.rhdemoAPI.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Ordre de tri d'un ensemble de slots, sans objet par entrée : arbre binaire de recherche aléatoire (treap) sur
+ * tableaux d'int indexés par slot, chaque nœud portant la taille de son sous-arbre. Insertion, retrait, position
+ * d'un slot et slot à une position en O(log n) attendu. Non synchronisé.
+ * Utilisé par EmployeSearchIndex (un ordre par clé de tri).
+ */
+final class SlotOrder {
+
+    private static final int NIL = -1;
+
+    // Ordre total des slots : ne doit jamais rendre 0 pour deux slots distincts
+    private final IntBinaryOperator comparator;
+    // Priorité de tas dérivée du slot (pas de tableau de priorités), graine propre à l'ordre
+    private final int seed = ThreadLocalRandom.current().nextInt();
+    private int[] left = new int[0];
+    private int[] right = new int[0];
+    private int[] parent = new int[0];
+    private int[] size = new int[0];
+    private int root = NIL;
+
+    SlotOrder(IntBinaryOperator comparator) {
+        this.comparator = comparator;
+    }
+
+    int size() {
+        return sizeOf(root);
+    }
+
+    int capacity() {
+        return size.length;
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity > size.length) {
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            size = Arrays.copyOf(size, capacity);
+        }
+    }
+
+    /**
+     * Remplace le contenu par les {@code length} premiers slots de {@code sorted}, déjà dans l'ordre : construction
+     * en O(n) sans comparaison (arbre cartésien des priorités, pile de la branche droite). Un nœud sorti de la pile
+     * n'est plus modifié : sa taille est calculée à ce moment.
+     */
+    void build(int[] sorted, int length) {
+        root = NIL;
+        int[] stack = new int[length];
+        int depth = 0;
+        for (int i = 0; i < length; i++) {
+            int slot = sorted[i];
+            left[slot] = NIL;
+            right[slot] = NIL;
+            int last = NIL;
+            while (depth > 0 && priority(stack[depth - 1]) < priority(slot)) {
+                last = stack[--depth];
+                size[last] = 1 + sizeOf(left[last]) + sizeOf(right[last]);
+            }
+            if (last != NIL) {
+                left[slot] = last;
+                parent[last] = slot;
+            }
+            if (depth > 0) {
+                right[stack[depth - 1]] = slot;
+                parent[slot] = stack[depth - 1];
+            } else {
+                parent[slot] = NIL;
+                root = slot;
+            }
+            stack[depth++] = slot;
+        }
+        while (depth > 0) {
+            int slot = stack[--depth];
+            size[slot] = 1 + sizeOf(left[slot]) + sizeOf(right[slot]);
+        }
+    }
+
+    void insert(int slot) {
+        left[slot] = NIL;
+        right[slot] = NIL;
+        size[slot] = 1;
+        if (root == NIL) {
+            parent[slot] = NIL;
+            root = slot;
+            return;
+        }
+        int node = root;
+        while (true) {
+            size[node]++;
+            if (comparator.applyAsInt(slot, node) < 0) {
+                if (left[node] == NIL) {
+                    left[node] = slot;
+                    break;
+                }
+                node = left[node];
+            } else {
+                if (right[node] == NIL) {
+                    right[node] = slot;
+                    break;
+                }
+                node = right[node];
+            }
+        }
+        parent[slot] = node;
+        while (parent[slot] != NIL && priority(parent[slot]) < priority(slot)) {
+            rotateUp(slot);
+        }
+    }
+
+    /**
+     * Retire un slot présent : descendu par rotations jusqu'à n'avoir qu'un enfant, puis remplacé par cet enfant.
+     */
+    void remove(int slot) {
+        while (left[slot] != NIL && right[slot] != NIL) {
+            rotateUp(priority(left[slot]) > priority(right[slot]) ? left[slot] : right[slot]);
+        }
+        int child = left[slot] != NIL ? left[slot] : right[slot];
+        int up = parent[slot];
+        replace(slot, child, up);
+        for (int node = up; node != NIL; node = parent[node]) {
+            size[node]--;
+        }
+    }
+
+    /**
+     * Position du slot dans l'ordre (0 pour le premier).
+     */
+    int rank(int slot) {
+        int rank = sizeOf(left[slot]);
+        for (int node = slot; parent[node] != NIL; node = parent[node]) {
+            if (right[parent[node]] == node) {
+                rank += sizeOf(left[parent[node]]) + 1;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Slot à la position {@code position} (0 &lt;= position &lt; size()).
+     */
+    int select(int position) {
+        int node = root;
+        int remaining = position;
+        while (true) {
+            int leftSize = sizeOf(left[node]);
+            if (remaining < leftSize) {
+                node = left[node];
+            } else if (remaining == leftSize) {
+                return node;
+            } else {
+                remaining -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * Slot suivant dans l'ordre, ou -1 après le dernier.
+     */
+    int next(int slot) {
+        if (right[slot] != NIL) {
+            int node = right[slot];
+            while (left[node] != NIL) {
+                node = left[node];
+            }
+            return node;
+        }
+        int node = slot;
+        while (parent[node] != NIL && right[parent[node]] == node) {
+            node = parent[node];
+        }
+        return parent[node];
+    }
+
+    /**
+     * Slot précédent dans l'ordre, ou -1 avant le premier.
+     */
+    int previous(int slot) {
+        if (left[slot] != NIL) {
+            int node = left[slot];
+            while (right[node] != NIL) {
+                node = right[node];
+            }
+            return node;
+        }
+        int node = slot;
+        while (parent[node] != NIL && left[parent[node]] == node) {
+            node = parent[node];
+        }
+        return parent[node];
+    }
+
+    /**
+     * Remonte {@code node} d'un niveau (rotation autour de son parent), tailles des deux nœuds recalculées.
+     */
+    private void rotateUp(int node) {
+        int up = parent[node];
+        int grandParent = parent[up];
+        if (left[up] == node) {
+            int moved = right[node];
+            left[up] = moved;
+            if (moved != NIL) {
+                parent[moved] = up;
+            }
+            right[node] = up;
+        } else {
+            int moved = left[node];
+            right[up] = moved;
+            if (moved != NIL) {
+                parent[moved] = up;
+            }
+            left[node] = up;
+        }
+        parent[up] = node;
+        replace(up, node, grandParent);
+        size[node] = size[up];
+        size[up] = 1 + sizeOf(left[up]) + sizeOf(right[up]);
+    }
+
+    /**
+     * Place {@code child} (éventuellement -1) sous {@code up} à la place de {@code node}.
+     */
+    private void replace(int node, int child, int up) {
+        if (child != NIL) {
+            parent[child] = up;
+        }
+        if (up == NIL) {
+            root = child;
+        } else if (left[up] == node) {
+            left[up] = child;
+        } else {
+            right[up] = child;
+        }
+    }
+
+    private int sizeOf(int node) {
+        return node == NIL ? 0 : size[node];
+    }
+
+    // Mélange de Murmur3 (fmix32) : priorités pseudo-aléatoires, distinctes pour des slots distincts
+    private int priority(int slot) {
+        int h = slot ^ seed;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,44 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.security.autoconfigure.web.servlet.SecurityFilterProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Contrôle d'admission des requêtes /api (AdmissionLimiter, AdmissionControlFilter).
+ *
+ * La limite part de maximum-pool-size (une connexion par requête) et s'adapte entre 1 et max-limit : une partie
+ * du traitement d'une requête se fait sans connexion, max-limit peut donc dépasser la taille du pool.
+ */
+@Configuration
+@ConditionalOnBooleanProperty(name = "fr.leuwen.rhdemoAPI.admission.enabled", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionLimiter admissionLimiter(MeterRegistry meterRegistry,
+            @Value("${fr.leuwen.rhdemoAPI.admission.initial-limit:${spring.datasource.hikari.maximum-pool-size:10}}") int initialLimit,
+            @Value("${fr.leuwen.rhdemoAPI.admission.max-limit:20}") int maxLimit,
+            @Value("${fr.leuwen.rhdemoAPI.admission.queue-capacity:100}") int queueCapacity,
+            @Value("${fr.leuwen.rhdemoAPI.admission.max-wait:1s}") Duration maxWait) {
+        return new AdmissionLimiter(meterRegistry, initialLimit, maxLimit, queueCapacity, maxWait);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionLimiter limiter,
+            ObjectMapper objectMapper, @Value("${fr.leuwen.rhdemoAPI.admission.retry-after:1s}") Duration retryAfter,
+            @Value("${fr.leuwen.rhdemoAPI.admission.bulk-limit:2}") int bulkLimit) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(limiter, objectMapper, retryAfter, bulkLimit));
+        // Après springSecurityFilterChain
+        registration.setOrder(SecurityFilterProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
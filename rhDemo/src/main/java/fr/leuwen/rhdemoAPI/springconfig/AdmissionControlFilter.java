@@ -0,0 +1,132 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import fr.leuwen.rhdemoAPI.exception.ErrorResponse;
+import fr.leuwen.rhdemoAPI.springconfig.AdmissionLimiter.Outcome;
+import fr.leuwen.rhdemoAPI.springconfig.AdmissionLimiter.Permit;
+import fr.leuwen.rhdemoAPI.springconfig.AdmissionLimiter.Rejection;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Contrôle d'admission des requêtes /api (accès base) par AdmissionLimiter.
+ *
+ * Placé après la chaîne Spring Security : une requête non authentifiée ne prend pas de place.
+ * Refus immédiats, même format d'erreur que GlobalExceptionHandler, avec Retry-After :
+ * - 429 Too Many Requests : file d'attente pleine ;
+ * - 503 Service Unavailable : place non obtenue en max-wait.
+ *
+ * Une réponse 5xx compte comme échec (limite réduite). Une requête asynchrone (export) rend sa place dès
+ * son passage sur l'exécuteur dédié, qui borne lui-même les exports (ExportConfig).
+ *
+ * Les requêtes longues synchrones (flux GET /api/employes, import CSV POST /api/employes/import) ne passent pas
+ * par la limite adaptative : leur durée de plusieurs secondes fausserait la latence récente et réduirait la limite
+ * des requêtes interactives. Elles sont bornées à part (bulk-limit places, refus 429 immédiat au-delà).
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private static final String API_PREFIX = "/api/";
+    private static final String STREAM_PATH = "/api/employes";
+    private static final String IMPORT_PATH = "/api/employes/import";
+
+    private final AdmissionLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+    private final Semaphore bulkPermits;
+
+    public AdmissionControlFilter(AdmissionLimiter limiter, ObjectMapper objectMapper, Duration retryAfter, int bulkLimit) {
+        if (bulkLimit < 1) {
+            throw new IllegalArgumentException("bulk-limit doit être positif : " + bulkLimit);
+        }
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        this.bulkPermits = new Semaphore(bulkLimit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isBulk(request)) {
+            doFilterBulk(request, response, filterChain);
+            return;
+        }
+        Permit permit;
+        try {
+            permit = limiter.acquire();
+        } catch (AdmissionLimiter.RejectedException e) {
+            reject(request, response, e.getRejection());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(request, response, Rejection.TIMEOUT);
+            return;
+        }
+
+        Outcome outcome = Outcome.DROPPED;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                outcome = Outcome.IGNORED;
+            } else if (response.getStatus() < 500) {
+                outcome = Outcome.SUCCESS;
+            }
+        } finally {
+            permit.release(outcome);
+        }
+    }
+
+    private void doFilterBulk(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!bulkPermits.tryAcquire()) {
+            reject(request, response, Rejection.QUEUE_FULL);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkPermits.release();
+        }
+    }
+
+    private static boolean isBulk(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return ("GET".equals(request.getMethod()) && STREAM_PATH.equals(path))
+                || ("POST".equals(request.getMethod()) && IMPORT_PATH.equals(path));
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Rejection rejection) throws IOException {
+        HttpStatus status = rejection == Rejection.QUEUE_FULL ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+        logger.debug("Requête {} {} refusée ({}) : {} en cours, {} en attente", request.getMethod(), request.getRequestURI(),
+                rejection, limiter.inFlight(), limiter.waiting());
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                status.value(),
+                "Serveur saturé, réessayez dans " + retryAfterSeconds + " s",
+                LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,237 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limite adaptative du nombre de requêtes /api traitées simultanément (voir AdmissionControlFilter).
+ *
+ * Avec les threads virtuels, Tomcat accepte des milliers de requêtes alors que le pool Hikari n'a que
+ * maximum-pool-size connexions : au-delà, les requêtes attendent une connexion jusqu'à connection-timeout (30 s)
+ * puis échouent. La limite garde les requêtes en trop dans une file bornée, attente bornée par max-wait, et
+ * refuse les autres immédiatement.
+ *
+ * Limite ajustée par gradient de latence (principe de l'algorithme Gradient2 de Netflix concurrency-limits) :
+ * - latence longue : moyenne mobile sur LONG_WINDOW requêtes (latence « normale ») ;
+ * - latence courte : moyenne mobile sur SHORT_WINDOW requêtes ;
+ * - gradient = latence longue × TOLERANCE / latence courte, borné à [0,5 ; 1] : la limite baisse quand la latence
+ *   récente dépasse la latence normale (requêtes en attente de connexion), et remonte de sqrt(limite) sinon ;
+ * - une requête en échec (5xx : délai de connexion dépassé...) réduit la limite de 10 % ;
+ * - la limite ne monte pas si moins de la moitié est utilisée (charge trop faible pour la juger).
+ * Le temps passé dans la file n'entre pas dans la latence mesurée.
+ *
+ * Verrou ReentrantLock plutôt que synchronized : un thread virtuel qui attend dans un bloc synchronized
+ * bloque son thread porteur (Java 21).
+ */
+public class AdmissionLimiter {
+
+    /**
+     * Motif de refus : file pleine (429) ou attente supérieure à max-wait (503).
+     */
+    public enum Rejection {
+        QUEUE_FULL, TIMEOUT
+    }
+
+    /**
+     * Issue d'une requête admise : SUCCESS et DROPPED ajustent la limite, IGNORED non (requête asynchrone,
+     * poursuivie hors du thread de la requête).
+     */
+    public enum Outcome {
+        SUCCESS, DROPPED, IGNORED
+    }
+
+    /**
+     * Requête refusée par la limite.
+     */
+    public static class RejectedException extends Exception {
+        private final Rejection rejection;
+
+        RejectedException(Rejection rejection) {
+            super("Requête refusée : " + rejection, null, false, false);
+            this.rejection = rejection;
+        }
+
+        public Rejection getRejection() {
+            return rejection;
+        }
+    }
+
+    /**
+     * Place obtenue par acquire(), à rendre une seule fois par release().
+     */
+    public final class Permit {
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release(Outcome outcome) {
+            if (!released) {
+                released = true;
+                AdmissionLimiter.this.release(this, outcome);
+            }
+        }
+    }
+
+    static final int MIN_LIMIT = 1;
+    private static final int LONG_WINDOW = 100;
+    private static final int SHORT_WINDOW = 10;
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF = 0.9;
+
+    private final LongSupplier nanoClock;
+    private final int maxLimit;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+    // Modifiés sous verrou, lus sans verrou par les jauges
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int waiting;
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    public AdmissionLimiter(MeterRegistry meterRegistry, int initialLimit, int maxLimit, int queueCapacity, Duration maxWait) {
+        this(System::nanoTime, meterRegistry, initialLimit, maxLimit, queueCapacity, maxWait);
+    }
+
+    AdmissionLimiter(LongSupplier nanoClock, MeterRegistry meterRegistry, int initialLimit, int maxLimit, int queueCapacity,
+            Duration maxWait) {
+        this.nanoClock = nanoClock;
+        this.maxLimit = Math.max(MIN_LIMIT, maxLimit);
+        this.queueCapacity = queueCapacity;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.limit = Math.clamp(initialLimit, MIN_LIMIT, this.maxLimit);
+        Gauge.builder("rhdemo.admission.limit", this, AdmissionLimiter::limit)
+                .description("Requêtes /api traitées simultanément au plus (limite adaptative)")
+                .register(meterRegistry);
+        Gauge.builder("rhdemo.admission.inflight", this, AdmissionLimiter::inFlight)
+                .description("Requêtes /api en cours de traitement")
+                .register(meterRegistry);
+        Gauge.builder("rhdemo.admission.queue", this, AdmissionLimiter::waiting)
+                .description("Requêtes /api en attente d'admission")
+                .register(meterRegistry);
+        this.rejectedQueueFull = rejectedCounter(meterRegistry, "queue_full");
+        this.rejectedTimeout = rejectedCounter(meterRegistry, "timeout");
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("rhdemo.admission.rejected")
+                .description("Requêtes /api refusées par la limite d'admission")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admet la requête, en attendant au plus max-wait dans la file si la limite est atteinte.
+     * Les requêtes en attente sont admises dans leur ordre d'arrivée.
+     *
+     * @throws RejectedException si la file est pleine ou si l'attente dépasse max-wait
+     */
+    public Permit acquire() throws RejectedException, InterruptedException {
+        lock.lock();
+        try {
+            if (waiting == 0 && inFlight < (int) limit) {
+                return admit();
+            }
+            if (waiting >= queueCapacity) {
+                rejectedQueueFull.increment();
+                throw new RejectedException(Rejection.QUEUE_FULL);
+            }
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        rejectedTimeout.increment();
+                        throw new RejectedException(Rejection.TIMEOUT);
+                    }
+                    remaining = available.awaitNanos(remaining);
+                }
+                return admit();
+            } finally {
+                waiting--;
+                // Place libre non prise par ce thread (refus, interruption) : au suivant
+                if (inFlight < (int) limit) {
+                    available.signal();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit admit() {
+        inFlight++;
+        return new Permit(nanoClock.getAsLong(), inFlight);
+    }
+
+    private void release(Permit permit, Outcome outcome) {
+        lock.lock();
+        try {
+            inFlight--;
+            int before = (int) limit;
+            if (outcome != Outcome.IGNORED) {
+                update(nanoClock.getAsLong() - permit.startNanos, permit.inFlightAtStart, outcome == Outcome.DROPPED);
+            }
+            if ((int) limit > before) {
+                available.signalAll();
+            } else {
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rttNanos, int inFlightAtStart, boolean dropped) {
+        double current = limit;
+        if (dropped) {
+            limit = Math.max(MIN_LIMIT, current * BACKOFF);
+            return;
+        }
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+            shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+        }
+        // Baisse durable de la latence : la latence longue la rejoint plus vite
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightAtStart < current / 2) {
+            return;
+        }
+        double gradient = Math.clamp(TOLERANCE * longRttNanos / Math.max(1, shortRttNanos), 0.5, 1.0);
+        double target = current * gradient + Math.sqrt(current);
+        limit = Math.clamp(current * (1 - SMOOTHING) + target * SMOOTHING, MIN_LIMIT, maxLimit);
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight;
+    }
+
+    public int waiting() {
+        return waiting;
+    }
+}
@@ -0,0 +1,34 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Exécuteur dédié aux exports (GET /api/employes/export).
+ *
+ * Un export garde une connexion du pool Hikari (10 connexions) pendant toute sa durée : le nombre d'exports
+ * simultanés est borné par la taille de cet exécuteur, les suivants attendent dans sa file sans connexion,
+ * au-delà la requête est refusée (503). Les requêtes interactives gardent ainsi le reste du pool.
+ *
+ * defaultCandidate = false : le bean n'est injecté que par son nom et n'empêche pas la création de
+ * l'applicationTaskExecutor de Spring Boot (conditionné à l'absence d'autre Executor).
+ */
+@Configuration
+public class ExportConfig {
+
+    public static final String EXPORT_EXECUTOR = "employeExportExecutor";
+
+    @Bean(name = EXPORT_EXECUTOR, defaultCandidate = false)
+    public ThreadPoolTaskExecutor employeExportExecutor(
+            @Value("${fr.leuwen.rhdemoAPI.export.max-concurrent:2}") int maxConcurrent,
+            @Value("${fr.leuwen.rhdemoAPI.export.queue-capacity:8}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        return executor;
+    }
+}
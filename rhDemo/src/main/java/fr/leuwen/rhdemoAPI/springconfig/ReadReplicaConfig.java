@@ -0,0 +1,99 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Lectures sur le réplica PostgreSQL (réplication en flux), écritures sur le primaire.
+ * Actif si fr.leuwen.rhdemoAPI.datasource.replica.enabled=true ; sinon Spring Boot crée son unique pool.
+ *
+ * Deux pools Hikari : "primary" (spring.datasource.*) et "replica" (fr.leuwen.rhdemoAPI.datasource.replica.*).
+ * La DataSource utilisée par JPA et JdbcTemplate est un LazyConnectionDataSourceProxy : la connexion physique
+ * n'est prise qu'à la première requête, après que la transaction a marqué la connexion en lecture seule
+ * (@Transactional(readOnly = true), méthodes de lecture d'EmployeService, lectures Spring Data). Ces connexions
+ * vont au réplica si ReplicaLagGuard l'autorise, au primaire sinon ; toutes les autres vont au primaire.
+ *
+ * Le schéma est créé et migré sur le primaire uniquement (réplication) ; ddl-auto validate s'exécute aussi sur
+ * le primaire.
+ */
+@Configuration
+@ConditionalOnBooleanProperty("fr.leuwen.rhdemoAPI.datasource.replica.enabled")
+public class ReadReplicaConfig {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(PRIMARY);
+        return dataSource;
+    }
+
+    /**
+     * Identifiants du primaire par défaut (même rôle en lecture seule sur le réplica).
+     * Préfixe en minuscules (forme canonique exigée par @ConfigurationProperties), lié à fr.leuwen.rhdemoAPI.*
+     * par le binding souple de Spring Boot.
+     */
+    @Bean
+    @ConfigurationProperties("fr.leuwen.rhdemoapi.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${fr.leuwen.rhdemoAPI.datasource.replica.url}") String url,
+            @Value("${fr.leuwen.rhdemoAPI.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${fr.leuwen.rhdemoAPI.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName(REPLICA);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(@Qualifier("replicaDataSource") DataSource replica, MeterRegistry meterRegistry,
+            @Value("${fr.leuwen.rhdemoAPI.datasource.replica.max-lag:2s}") Duration maxLag,
+            @Value("${fr.leuwen.rhdemoAPI.datasource.replica.check-interval:1s}") Duration checkInterval) {
+        return new ReplicaLagGuard(replica, meterRegistry, maxLag, checkInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaLagGuard guard) {
+        AbstractRoutingDataSource readOnly = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return guard.replicaUsable() ? REPLICA : PRIMARY;
+            }
+        };
+        readOnly.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        readOnly.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(readOnly);
+        return dataSource;
+    }
+}
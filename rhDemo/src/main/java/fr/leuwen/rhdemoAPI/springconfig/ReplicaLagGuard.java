@@ -0,0 +1,142 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Décide si une lecture (transaction readOnly) peut être servie par le réplica (voir ReadReplicaConfig).
+ *
+ * Le réplica est utilisable si :
+ * - aucune transaction en écriture n'a été validée sur cette instance depuis moins de max-lag (lecture de ses
+ *   propres écritures : pendant ce délai, les lectures vont au primaire) ;
+ * - le retard du réplica, mesuré toutes les check-interval, ne dépasse pas max-lag. Une mesure en échec ou trop
+ *   ancienne (trois intervalles) rend le réplica inutilisable jusqu'à la mesure suivante.
+ *
+ * Une lecture servie par le réplica voit donc toute écriture validée par l'instance, à l'intervalle de mesure
+ * près. Les écritures d'une autre instance peuvent être vues avec au plus max-lag de retard.
+ * Mesure PostgreSQL uniquement (pg_last_xact_replay_timestamp) : sur une autre base (H2 en test), le retard
+ * est considéré nul.
+ */
+public class ReplicaLagGuard implements TransactionExecutionListener, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagGuard.class);
+
+    // Réplica à jour de tout ce qu'il a reçu : retard nul, même si la dernière transaction rejouée est ancienne
+    private static final String LAG_QUERY = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END""";
+    private static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final LongSupplier nanoClock;
+    private final long maxLagNanos;
+    private final long sampleMaxAgeNanos;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("replica-lag").daemon().factory());
+    private volatile long lastWriteNanos;
+    private volatile boolean lagMeasured = true;
+    private volatile long lagNanos = UNKNOWN;
+    private volatile long lagSampledNanos;
+    // Accédé par le seul thread de mesure
+    private boolean productChecked;
+
+    public ReplicaLagGuard(DataSource replica, MeterRegistry meterRegistry, Duration maxLag, Duration checkInterval) {
+        this(System::nanoTime, maxLag, checkInterval);
+        Gauge.builder("rhdemo.datasource.replica.lag", this, guard -> guard.lagNanos == UNKNOWN ? Double.NaN : guard.lagNanos / 1e9)
+                .description("Retard mesuré du réplica PostgreSQL")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+        scheduler.scheduleWithFixedDelay(() -> probe(jdbcTemplate), 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    ReplicaLagGuard(LongSupplier nanoClock, Duration maxLag, Duration checkInterval) {
+        this.nanoClock = nanoClock;
+        this.maxLagNanos = maxLag.toNanos();
+        this.sampleMaxAgeNanos = 3 * checkInterval.toNanos();
+        this.lastWriteNanos = nanoClock.getAsLong() - maxLagNanos;
+    }
+
+    /**
+     * @return true si une lecture peut aller au réplica, false si elle doit aller au primaire
+     */
+    public boolean replicaUsable() {
+        long now = nanoClock.getAsLong();
+        if (now - lastWriteNanos < maxLagNanos) {
+            return false;
+        }
+        return !lagMeasured || (lagNanos <= maxLagNanos && now - lagSampledNanos <= sampleMaxAgeNanos);
+    }
+
+    /**
+     * Transaction en écriture validée : les lectures suivantes vont au primaire pendant max-lag.
+     * Une transaction non readOnly compte comme écriture, même si elle n'a rien modifié.
+     */
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            lastWriteNanos = nanoClock.getAsLong();
+        }
+    }
+
+    /**
+     * Retard du réplica non mesurable (base autre que PostgreSQL) : considéré nul.
+     */
+    void disableLagMeasure() {
+        lagMeasured = false;
+        lagNanos = 0;
+    }
+
+    void recordLag(long lag) {
+        lagNanos = lag;
+        lagSampledNanos = nanoClock.getAsLong();
+    }
+
+    private void probe(JdbcTemplate jdbcTemplate) {
+        try {
+            if (!productChecked) {
+                String product = jdbcTemplate.execute(
+                        (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+                if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                    // Pas de réplication à mesurer : retard nul, la mesure n'est plus nécessaire
+                    logger.info("Réplica {} : retard non mesuré, considéré nul", product);
+                    disableLagMeasure();
+                    scheduler.shutdown();
+                    return;
+                }
+                productChecked = true;
+            }
+            Double seconds = jdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            long lag = seconds == null ? UNKNOWN : (long) (seconds * 1e9);
+            if (lag > maxLagNanos && lagNanos <= maxLagNanos) {
+                logger.warn("Réplica en retard de {} ms : lectures envoyées au primaire", lag / 1_000_000);
+            }
+            recordLag(lag);
+        } catch (RuntimeException e) {
+            if (lagNanos != UNKNOWN) {
+                logger.warn("Mesure du retard du réplica impossible, lectures envoyées au primaire : {}", e.getMessage());
+            }
+            recordLag(UNKNOWN);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
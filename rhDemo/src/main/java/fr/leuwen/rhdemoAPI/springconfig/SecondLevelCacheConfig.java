@@ -0,0 +1,59 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import fr.leuwen.rhdemoAPI.model.Employe;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Cache de second niveau Hibernate (JCache, implémentation Caffeine) pour l'entité Employe.
+ *
+ * Le CacheManager est créé ici et transmis à Hibernate (hibernate.javax.cache.cache_manager) pour que la
+ * région employes ait la taille et la durée de vie configurées, et ses statistiques publiées dans Micrometer
+ * (cache_gets_total{result=hit|miss}, cache_puts_total, cache_evictions_total, cache_removals_total).
+ * Hibernate ferme le CacheManager à l'arrêt de la SessionFactory.
+ *
+ * Cache local à chaque instance : une écriture faite par une autre instance (ou en SQL direct) n'est vue
+ * qu'à l'expiration de l'entrée (ttl).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(MeterRegistry meterRegistry,
+            @Value("${fr.leuwen.rhdemoAPI.cache.employe.max-size:10000}") long maxSize,
+            @Value("${fr.leuwen.rhdemoAPI.cache.employe.ttl:10m}") Duration ttl) {
+        // URI propre à chaque contexte Spring : le fournisseur JCache partage sinon un même gestionnaire par URI
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("rhdemo-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        // Hibernate stocke un état désassemblé immuable : pas de copie par sérialisation à chaque lecture
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        Cache<Object, Object> cache = cacheManager.createCache(Employe.CACHE_REGION, configuration);
+        new JCacheMetrics<>(cache, Tags.empty()).bindTo(meterRegistry);
+
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+}
@@ -65,6 +65,8 @@ public class SecurityConfig {
 	        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
 	        // Endpoint prometheus accessible sans authentification (scraping Prometheus interne, protégé par NetworkPolicy)
 	        .requestMatchers("/actuator/prometheus").permitAll()
+	        // Diagnostic SQL (URI et requêtes SQL des requêtes signalées) : admins uniquement, explicitement
+	        .requestMatchers("/actuator/sqlrequests").hasRole("admin")
 	        // Autres endpoints actuator réservés aux admins
 	        .requestMatchers("/actuator/**").hasRole("admin")
 	        // Documentation OpenAPI/Swagger restreinte aux admins (désactivée en stagingkub via springdoc config)
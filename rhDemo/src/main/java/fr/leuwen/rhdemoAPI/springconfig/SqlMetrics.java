@@ -0,0 +1,260 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Mesure des requêtes SQL (voir SqlMetricsDataSource) et détection des requêtes HTTP trop bavardes (N+1).
+ *
+ * Chaque requête SQL est étiquetée :
+ * - operation : select, insert, update, delete, merge ou other ;
+ * - service : méthode de service appelante (« EmployeService.getEmployesPage »), la plus externe du package
+ *   service sous le contrôleur, « none » hors service ;
+ * - route : méthode et motif HTTP (« GET /api/employes/{id} »), « none » hors requête HTTP (démarrage, exports
+ *   exécutés sur l'exécuteur dédié).
+ * Métriques : rhdemo.sql.statement (Timer avec histogramme), rhdemo.sql.rows (lignes lues ou modifiées),
+ * rhdemo.sql.request.statements (requêtes SQL par requête HTTP, par route).
+ *
+ * Une requête HTTP qui exécute plus de max-statements-per-request requêtes SQL est signalée (log, compteur
+ * rhdemo.sql.request.flagged) et conservée parmi les recent-capacity dernières, avec ses requêtes SQL répétées :
+ * GET /actuator/sqlrequests (SqlRequestsEndpoint).
+ */
+public class SqlMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlMetrics.class);
+
+    static final String NONE = "none";
+    private static final String SERVICE_PACKAGE = "fr.leuwen.rhdemoAPI.service.";
+    private static final String CONTROLLER_PACKAGE = "fr.leuwen.rhdemoAPI.controller.";
+    private static final List<String> OPERATIONS = List.of("select", "insert", "update", "delete", "merge");
+    // Requêtes SQL distinctes suivies par requête HTTP (les suivantes sont seulement comptées)
+    private static final int DISTINCT_SQL_MAX = 100;
+    private static final int REPEATED_SQL_SHOWN = 5;
+
+    /**
+     * Requête SQL exécutée plusieurs fois par une même requête HTTP.
+     */
+    public record RepeatedSql(String sql, int count) {
+    }
+
+    /**
+     * Requête HTTP signalée : trop de requêtes SQL.
+     */
+    public record FlaggedRequest(Instant time, String route, String uri, int statements, List<RepeatedSql> repeated) {
+    }
+
+    /**
+     * Requêtes HTTP signalées, de la plus ancienne à la plus récente.
+     */
+    public record Report(int maxStatementsPerRequest, long flaggedCount, List<FlaggedRequest> recent) {
+    }
+
+    private record Tags(String operation, String service, String route) {
+    }
+
+    private record Meters(Timer timer, DistributionSummary rows) {
+    }
+
+    /**
+     * Requête HTTP en cours sur ce thread.
+     */
+    private static final class RequestStats {
+        private final HttpServletRequest request;
+        private int statements;
+        private final Map<String, Integer> bySql = new HashMap<>();
+
+        private RequestStats(HttpServletRequest request) {
+            this.request = request;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatementsPerRequest;
+    private final int recentCapacity;
+    private final ThreadLocal<RequestStats> current = new ThreadLocal<>();
+    private final Map<Tags, Meters> meters = new ConcurrentHashMap<>();
+    private final Counter flaggedCounter;
+    private final LongAdder flaggedCount = new LongAdder();
+    private final ArrayDeque<FlaggedRequest> recent;
+    private final ReentrantLock recentLock = new ReentrantLock();
+
+    public SqlMetrics(MeterRegistry meterRegistry, int maxStatementsPerRequest, int recentCapacity) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+        this.recentCapacity = recentCapacity;
+        this.recent = new ArrayDeque<>(recentCapacity);
+        this.flaggedCounter = Counter.builder("rhdemo.sql.request.flagged")
+                .description("Requêtes HTTP ayant exécuté plus de max-statements-per-request requêtes SQL")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Début d'une requête HTTP sur le thread courant (SqlRequestFilter).
+     */
+    public void beginRequest(HttpServletRequest request) {
+        current.set(new RequestStats(request));
+    }
+
+    /**
+     * Fin de la requête HTTP du thread courant : nombre de requêtes SQL publié, requête signalée au-delà du seuil.
+     */
+    public void endRequest() {
+        RequestStats stats = current.get();
+        current.remove();
+        if (stats == null || stats.statements == 0) {
+            return;
+        }
+        String route = route(stats.request);
+        DistributionSummary.builder("rhdemo.sql.request.statements")
+                .description("Requêtes SQL exécutées par requête HTTP")
+                .tag("route", route)
+                .register(meterRegistry)
+                .record(stats.statements);
+        if (stats.statements <= maxStatementsPerRequest) {
+            return;
+        }
+        List<RepeatedSql> repeated = stats.bySql.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(REPEATED_SQL_SHOWN)
+                .map(entry -> new RepeatedSql(entry.getKey(), entry.getValue()))
+                .toList();
+        logger.warn("{} : {} requêtes SQL (seuil {}){}", route, stats.statements, maxStatementsPerRequest,
+                repeated.isEmpty() ? "" : ", la plus répétée " + repeated.getFirst().count() + " fois : " + repeated.getFirst().sql());
+        flaggedCounter.increment();
+        flaggedCount.increment();
+        FlaggedRequest flagged = new FlaggedRequest(Instant.now(), route, stats.request.getRequestURI(), stats.statements, repeated);
+        recentLock.lock();
+        try {
+            if (recent.size() == recentCapacity) {
+                recent.removeFirst();
+            }
+            recent.addLast(flagged);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    /**
+     * Requête SQL exécutée (SqlMetricsDataSource). {@code rows} : lignes modifiées, ou -1 si inconnu (lecture :
+     * lignes enregistrées par {@link #rowsRead} à la fermeture du ResultSet).
+     */
+    void statementExecuted(String sql, long nanos, long rows) {
+        RequestStats stats = current.get();
+        if (stats != null) {
+            stats.statements++;
+            if (stats.bySql.size() < DISTINCT_SQL_MAX || stats.bySql.containsKey(sql)) {
+                stats.bySql.merge(sql, 1, Integer::sum);
+            }
+        }
+        Meters statementMeters = meters(sql, stats);
+        statementMeters.timer().record(nanos, TimeUnit.NANOSECONDS);
+        if (rows >= 0) {
+            statementMeters.rows().record(rows);
+        }
+    }
+
+    void rowsRead(String sql, long rows) {
+        meters(sql, current.get()).rows().record(rows);
+    }
+
+    private Meters meters(String sql, RequestStats stats) {
+        Tags tags = new Tags(operation(sql), service(), stats == null ? NONE : route(stats.request));
+        return meters.computeIfAbsent(tags, t -> new Meters(
+                Timer.builder("rhdemo.sql.statement")
+                        .description("Durée d'exécution des requêtes SQL")
+                        .tags("operation", t.operation(), "service", t.service(), "route", t.route())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                DistributionSummary.builder("rhdemo.sql.rows")
+                        .description("Lignes lues ou modifiées par requête SQL")
+                        .tags("operation", t.operation(), "service", t.service(), "route", t.route())
+                        .register(meterRegistry)));
+    }
+
+    static String operation(String sql) {
+        String start = sql.stripLeading();
+        int end = 0;
+        while (end < start.length() && Character.isLetter(start.charAt(end))) {
+            end++;
+        }
+        String keyword = start.substring(0, end).toLowerCase(Locale.ROOT);
+        if ("with".equals(keyword)) {
+            return "select";
+        }
+        return OPERATIONS.contains(keyword) ? keyword : "other";
+    }
+
+    /**
+     * Méthode de service la plus externe appelée depuis le contrôleur (les frames des proxys Spring, dont le nom
+     * de classe contient « $$ », et les lambdas sont ramenées à la méthode qui les contient).
+     */
+    static String service() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .takeWhile(frame -> !frame.getClassName().startsWith(CONTROLLER_PACKAGE))
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE) && !frame.getClassName().contains("$$"))
+                .reduce((inner, outer) -> outer)
+                .map(frame -> simpleName(frame.getClassName()) + "." + methodName(frame.getMethodName()))
+                .orElse(NONE));
+    }
+
+    private static String simpleName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int nested = name.indexOf('$');
+        return nested < 0 ? name : name.substring(0, nested);
+    }
+
+    // lambda$getEmployesPage$3 → getEmployesPage
+    private static String methodName(String method) {
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', "lambda$".length());
+            return end < 0 ? method : method.substring("lambda$".length(), end);
+        }
+        return method;
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? NONE : pattern);
+    }
+
+    public Report report() {
+        recentLock.lock();
+        try {
+            return new Report(maxStatementsPerRequest, flaggedCount.sum(), List.copyOf(recent));
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    /**
+     * Vide les requêtes signalées (les métriques Micrometer restent cumulatives).
+     */
+    public void reset() {
+        recentLock.lock();
+        try {
+            flaggedCount.reset();
+            recent.clear();
+        } finally {
+            recentLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.security.autoconfigure.web.servlet.SecurityFilterProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Instrumentation SQL (SqlMetrics) : DataSource « dataSource » mesurée, filtre de rattachement aux requêtes HTTP,
+ * endpoint actuator sqlrequests.
+ *
+ * Seule la DataSource utilisée par JPA et JdbcTemplate est enveloppée : avec ReadReplicaConfig, c'est le proxy de
+ * routage, les pools primary et replica ne sont donc pas comptés deux fois (ni la mesure du retard du réplica).
+ */
+@Configuration
+@ConditionalOnBooleanProperty(name = "fr.leuwen.rhdemoAPI.sql.metrics.enabled", matchIfMissing = true)
+public class SqlMetricsConfig {
+
+    private static final String DATA_SOURCE = "dataSource";
+
+    @Bean
+    public SqlMetrics sqlMetrics(MeterRegistry meterRegistry,
+            @Value("${fr.leuwen.rhdemoAPI.sql.metrics.max-statements-per-request:20}") int maxStatementsPerRequest,
+            @Value("${fr.leuwen.rhdemoAPI.sql.metrics.recent-capacity:100}") int recentCapacity) {
+        return new SqlMetrics(meterRegistry, maxStatementsPerRequest, recentCapacity);
+    }
+
+    // static : post-processeur créé avant les autres beans ; SqlMetrics résolu à l'enveloppement de la DataSource
+    @Bean
+    public static BeanPostProcessor sqlMetricsDataSourcePostProcessor(ObjectProvider<SqlMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE.equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new SqlMetricsDataSource(dataSource, metrics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlRequestFilter> sqlRequestFilter(SqlMetrics metrics) {
+        FilterRegistrationBean<SqlRequestFilter> registration = new FilterRegistrationBean<>(new SqlRequestFilter(metrics));
+        // Après springSecurityFilterChain et le contrôle d'admission
+        registration.setOrder(SecurityFilterProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+
+    @Bean
+    public SqlRequestsEndpoint sqlRequestsEndpoint(SqlMetrics metrics) {
+        return new SqlRequestsEndpoint(metrics);
+    }
+}
@@ -0,0 +1,159 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource mesurée : chaque exécution de requête passe par SqlMetrics (durée, lignes, comptage par requête HTTP).
+ *
+ * Proxys JDK de Connection, Statement et ResultSet (même principe que datasource-proxy, sans dépendance) :
+ * - Connection : les Statement créés sont enveloppés, avec le SQL des PreparedStatement ;
+ * - Statement : execute*, executeQuery, executeUpdate, executeBatch mesurés ; lignes modifiées d'après leur
+ *   résultat ;
+ * - ResultSet : lignes lues comptées par next(), publiées à la fermeture.
+ * unwrap() et les autres méthodes sont délégués (COPY PostgreSQL de EmployeImportStaging inchangé).
+ */
+public class SqlMetricsDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch");
+
+    private final SqlMetrics metrics;
+
+    public SqlMetricsDataSource(DataSource target, SqlMetrics metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return statement(statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private Statement statement(Statement target, String preparedSql) {
+        Class<? extends Statement> type = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return proxy(type, new InvocationHandler() {
+            // SQL de la dernière exécution : lignes lues rattachées à cette requête
+            private String lastSql = preparedSql;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (EXECUTE.contains(name)) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                    lastSql = sql == null ? "" : sql;
+                    long start = System.nanoTime();
+                    Object result = SqlMetricsDataSource.invoke(target, method, args);
+                    metrics.statementExecuted(lastSql, System.nanoTime() - start, affectedRows(result));
+                    return result instanceof ResultSet resultSet ? resultSet(resultSet, lastSql) : result;
+                }
+                Object result = SqlMetricsDataSource.invoke(target, method, args);
+                if (result instanceof ResultSet resultSet && "getResultSet".equals(name)) {
+                    return resultSet(resultSet, lastSql);
+                }
+                return result;
+            }
+        });
+    }
+
+    private ResultSet resultSet(ResultSet target, String sql) {
+        return proxy(ResultSet.class, new InvocationHandler() {
+            private long rows;
+            private boolean recorded;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                Object result = SqlMetricsDataSource.invoke(target, method, args);
+                switch (method.getName()) {
+                    case "next" -> {
+                        if (Boolean.TRUE.equals(result)) {
+                            rows++;
+                        }
+                    }
+                    case "close" -> {
+                        if (!recorded) {
+                            recorded = true;
+                            metrics.rowsRead(sql, rows);
+                        }
+                    }
+                    default -> {
+                        // délégation simple
+                    }
+                }
+                return result;
+            }
+        });
+    }
+
+    // executeUpdate : nombre de lignes ; executeBatch : somme des lignes connues (SUCCESS_NO_INFO ignoré)
+    private static long affectedRows(Object result) {
+        return switch (result) {
+            case Integer count -> count;
+            case Long count -> count;
+            case int[] counts -> {
+                long sum = 0;
+                for (int count : counts) {
+                    sum += Math.max(0, count);
+                }
+                yield sum;
+            }
+            case long[] counts -> {
+                long sum = 0;
+                for (long count : counts) {
+                    sum += Math.max(0, count);
+                }
+                yield sum;
+            }
+            case null, default -> -1;
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // equals / hashCode par identité du proxy : Hibernate range ses Statement dans des tables de hachage
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlMetricsDataSource.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> args.length == 1 && proxy == args[0];
+                    case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : handler.invoke(proxy, method, args);
+                    default -> handler.invoke(proxy, method, args);
+                }));
+    }
+}
@@ -0,0 +1,34 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rattache les requêtes SQL exécutées sur le thread de la requête HTTP à celle-ci (SqlMetrics) : route dans les
+ * étiquettes des métriques, nombre de requêtes SQL par requête HTTP.
+ */
+public class SqlRequestFilter extends OncePerRequestFilter {
+
+    private final SqlMetrics metrics;
+
+    public SqlRequestFilter(SqlMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        metrics.beginRequest(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            metrics.endRequest();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Endpoint actuator /actuator/sqlrequests : dernières requêtes HTTP ayant exécuté plus de
+ * max-statements-per-request requêtes SQL (SqlMetrics), avec leurs requêtes SQL répétées (N+1).
+ * Réservé au rôle admin (SecurityConfig).
+ *
+ * - GET : requêtes signalées ;
+ * - DELETE : remise à zéro.
+ */
+@Endpoint(id = "sqlrequests")
+public class SqlRequestsEndpoint {
+
+    private final SqlMetrics metrics;
+
+    public SqlRequestsEndpoint(SqlMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @ReadOperation
+    public SqlMetrics.Report report() {
+        return metrics.report();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        metrics.reset();
+    }
+}
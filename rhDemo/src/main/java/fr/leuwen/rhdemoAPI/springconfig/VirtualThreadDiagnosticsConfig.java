@@ -0,0 +1,35 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Relevé JFR de l'épinglage des threads virtuels (VirtualThreadPinningMonitor) et son endpoint actuator.
+ *
+ * Seuls les épinglages au-delà de pinned-threshold sont enregistrés par JFR : le coût reste négligeable
+ * tant que l'application n'épingle pas.
+ */
+@Configuration
+@ConditionalOnBooleanProperty(name = "fr.leuwen.rhdemoAPI.virtual-threads.pinning.enabled", matchIfMissing = true)
+public class VirtualThreadDiagnosticsConfig {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${fr.leuwen.rhdemoAPI.virtual-threads.pinning.threshold:20ms}") Duration threshold,
+            @Value("${fr.leuwen.rhdemoAPI.virtual-threads.pinning.recent-capacity:100}") int recentCapacity,
+            @Value("${fr.leuwen.rhdemoAPI.virtual-threads.pinning.max-stacks:50}") int maxStacks,
+            @Value("${fr.leuwen.rhdemoAPI.virtual-threads.pinning.stack-depth:20}") int stackDepth) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold, recentCapacity, maxStacks, stackDepth);
+    }
+
+    @Bean
+    public VirtualThreadPinningEndpoint virtualThreadPinningEndpoint(VirtualThreadPinningMonitor monitor) {
+        return new VirtualThreadPinningEndpoint(monitor);
+    }
+}
@@ -0,0 +1,32 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Endpoint actuator /actuator/virtualthreads : épinglages des threads virtuels relevés par JFR
+ * (VirtualThreadPinningMonitor). Réservé au rôle admin comme tout /actuator/** (SecurityConfig).
+ *
+ * - GET : piles agrégées (nombre, durées totale et maximale) et derniers événements ;
+ * - DELETE : remise à zéro, par exemple avant un test de charge.
+ */
+@Endpoint(id = "virtualthreads")
+public class VirtualThreadPinningEndpoint {
+
+    private final VirtualThreadPinningMonitor monitor;
+
+    public VirtualThreadPinningEndpoint(VirtualThreadPinningMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public VirtualThreadPinningMonitor.Report report() {
+        return monitor.report();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        monitor.reset();
+    }
+}
@@ -0,0 +1,256 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Épinglage des threads virtuels sur leur thread porteur, relevé en continu par un flux JFR (RecordingStream).
+ *
+ * Événements suivis :
+ * - jdk.VirtualThreadPinned : thread virtuel bloqué sans pouvoir libérer son porteur (bloc synchronized avant
+ *   Java 24, frame native, initialisation de classe...) plus longtemps que pinned-threshold ;
+ * - jdk.VirtualThreadSubmitFailed : démarrage ou reprise d'un thread virtuel refusé par l'ordonnanceur.
+ *
+ * Agrégation par pile d'appels (max-stacks piles distinctes, les suivantes comptées dans une entrée commune),
+ * conservation des recent-capacity derniers événements, métriques Micrometer par « site » (première frame hors
+ * JDK, max-stacks sites au plus) :
+ * - rhdemo.virtualthread.pinned (Timer) : nombre et durée des épinglages ;
+ * - rhdemo.virtualthread.submit.failed (Counter).
+ * Consultation : GET /actuator/virtualthreads (VirtualThreadPinningEndpoint).
+ */
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED = "jdk.VirtualThreadPinned";
+    static final String SUBMIT_FAILED = "jdk.VirtualThreadSubmitFailed";
+    static final String OTHER = "(autres)";
+    private static final List<String> OTHER_STACK = List.of(OTHER);
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    /**
+     * Pile d'appels agrégée : nombre d'événements, durée totale et maximale (épinglages).
+     */
+    public record StackReport(String event, List<String> stack, long count, double totalMs, double maxMs) {
+    }
+
+    /**
+     * Événement récent.
+     */
+    public record Sample(String event, Instant time, double durationMs, String thread, List<String> stack) {
+    }
+
+    /**
+     * État du relevé : piles par nombre d'événements décroissant, événements récents du plus ancien au plus récent.
+     */
+    public record Report(boolean recording, double pinnedThresholdMs, long pinnedCount, long submitFailedCount,
+            List<StackReport> stacks, List<Sample> recent) {
+    }
+
+    private record StackKey(String event, List<String> stack) {
+    }
+
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Duration pinnedThreshold;
+    private final int recentCapacity;
+    private final int maxStacks;
+    private final int stackDepth;
+    private final Map<StackKey, Stats> stacks = new ConcurrentHashMap<>();
+    private final Map<String, Timer> pinnedTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> submitFailedCounters = new ConcurrentHashMap<>();
+    private final ArrayDeque<Sample> recent;
+    private final ReentrantLock recentLock = new ReentrantLock();
+    private final LongAdder pinnedCount = new LongAdder();
+    private final LongAdder submitFailedCount = new LongAdder();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration pinnedThreshold, int recentCapacity,
+            int maxStacks, int stackDepth) {
+        this.meterRegistry = meterRegistry;
+        this.pinnedThreshold = pinnedThreshold;
+        this.recentCapacity = recentCapacity;
+        this.maxStacks = maxStacks;
+        this.stackDepth = stackDepth;
+        this.recent = new ArrayDeque<>(recentCapacity);
+    }
+
+    /**
+     * Démarre le flux JFR. JFR indisponible (JVM sans JFR, droits) : relevé désactivé, l'application démarre.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            RecordingStream recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED).withThreshold(pinnedThreshold).withStackTrace();
+            recordingStream.enable(SUBMIT_FAILED).withStackTrace();
+            recordingStream.onEvent(PINNED, this::onEvent);
+            recordingStream.onEvent(SUBMIT_FAILED, this::onEvent);
+            recordingStream.startAsync();
+            stream = recordingStream;
+            logger.info("Relevé JFR de l'épinglage des threads virtuels démarré (seuil {} ms)", pinnedThreshold.toMillis());
+        } catch (RuntimeException e) {
+            logger.warn("Relevé JFR de l'épinglage des threads virtuels indisponible : {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        RecordingStream recordingStream = stream;
+        stream = null;
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onEvent(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        String threadName = thread == null ? null
+                : thread.getJavaName() == null || thread.getJavaName().isEmpty() ? "#" + thread.getJavaThreadId() : thread.getJavaName();
+        record(event.getEventType().getName(), event.getStartTime(), event.getDuration(), threadName, frames(event.getStackTrace()));
+    }
+
+    private List<String> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        List<String> frames = new ArrayList<>(Math.min(stackDepth, stackTrace.getFrames().size()));
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frames.size() == stackDepth) {
+                break;
+            }
+            frames.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                    + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : ""));
+        }
+        return frames;
+    }
+
+    /**
+     * Enregistre un événement (appelé par le flux JFR, un seul thread).
+     */
+    void record(String event, Instant time, Duration duration, String thread, List<String> stack) {
+        long nanos = duration.toNanos();
+        StackKey key = new StackKey(event, stack);
+        Stats stats = stacks.get(key);
+        if (stats == null) {
+            stats = stacks.size() < maxStacks ? stacks.computeIfAbsent(key, k -> new Stats())
+                    : stacks.computeIfAbsent(new StackKey(event, OTHER_STACK), k -> new Stats());
+        }
+        stats.count.increment();
+        stats.totalNanos.add(nanos);
+        stats.maxNanos.accumulate(nanos);
+
+        String site = site(stack);
+        if (PINNED.equals(event)) {
+            pinnedCount.increment();
+            meter(pinnedTimers, site, s -> Timer.builder("rhdemo.virtualthread.pinned")
+                    .description("Épinglages de threads virtuels sur leur porteur (au-delà du seuil JFR)")
+                    .tag("site", s)
+                    .register(meterRegistry)).record(nanos, TimeUnit.NANOSECONDS);
+        } else {
+            submitFailedCount.increment();
+            meter(submitFailedCounters, site, s -> Counter.builder("rhdemo.virtualthread.submit.failed")
+                    .description("Démarrages ou reprises de threads virtuels refusés par l'ordonnanceur")
+                    .tag("site", s)
+                    .register(meterRegistry)).increment();
+        }
+
+        recentLock.lock();
+        try {
+            if (recent.size() == recentCapacity) {
+                recent.removeFirst();
+            }
+            recent.addLast(new Sample(event, time, toMillis(nanos), thread, stack));
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    // Nombre de sites borné comme le nombre de piles : cardinalité des métriques maîtrisée
+    private <M> M meter(Map<String, M> meters, String site, Function<String, M> factory) {
+        M meter = meters.get(site);
+        if (meter == null) {
+            meter = meters.computeIfAbsent(meters.size() < maxStacks ? site : OTHER, factory);
+        }
+        return meter;
+    }
+
+    /**
+     * Première frame hors JDK (code applicatif, driver JDBC, bibliothèque de logs...), à défaut la première frame.
+     */
+    static String site(List<String> stack) {
+        if (stack.isEmpty()) {
+            return "inconnu";
+        }
+        return stack.stream()
+                .filter(frame -> JDK_PACKAGES.stream().noneMatch(frame::startsWith))
+                .findFirst()
+                .orElse(stack.getFirst());
+    }
+
+    public Report report() {
+        List<StackReport> stackReports = stacks.entrySet().stream()
+                .map(entry -> new StackReport(entry.getKey().event(), entry.getKey().stack(), entry.getValue().count.sum(),
+                        toMillis(entry.getValue().totalNanos.sum()), toMillis(entry.getValue().maxNanos.get())))
+                .sorted(Comparator.comparingLong(StackReport::count).reversed())
+                .toList();
+        List<Sample> samples;
+        recentLock.lock();
+        try {
+            samples = List.copyOf(recent);
+        } finally {
+            recentLock.unlock();
+        }
+        return new Report(stream != null, toMillis(pinnedThreshold.toNanos()), pinnedCount.sum(), submitFailedCount.sum(),
+                stackReports, samples);
+    }
+
+    /**
+     * Vide les compteurs, piles agrégées et événements récents (les métriques Micrometer restent cumulatives).
+     */
+    public void reset() {
+        pinnedCount.reset();
+        submitFailedCount.reset();
+        stacks.clear();
+        recentLock.lock();
+        try {
+            recent.clear();
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -5,7 +5,8 @@ CREATE TABLE employes (
   prenom VARCHAR(250) NOT NULL,
   nom VARCHAR(250) NOT NULL,
   mail VARCHAR(250) NOT NULL,
-  adresse VARCHAR(500)
+  adresse VARCHAR(500),
+  version BIGINT NOT NULL DEFAULT 0
 );
  
 INSERT INTO employes (prenom, nom, mail, adresse) VALUES
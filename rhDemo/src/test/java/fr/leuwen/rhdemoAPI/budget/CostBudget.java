@@ -0,0 +1,37 @@
+package fr.leuwen.rhdemoAPI.budget;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plafonds de coût d'un appel ; {@link #UNLIMITED} pour un compteur non plafonné.
+ */
+public record CostBudget(long statements, long entityLoads, long flushes, long allocatedKb) {
+
+    public static final long UNLIMITED = -1;
+
+    static CostBudget of(QueryBudget annotation) {
+        return new CostBudget(annotation.statements(), annotation.entityLoads(), annotation.flushes(),
+                annotation.allocatedKb());
+    }
+
+    /**
+     * Dépassements de {@code cost}, vide si le coût respecte le budget.
+     */
+    public List<String> violations(RequestCost cost) {
+        List<String> violations = new ArrayList<>();
+        check(violations, "requêtes SQL", cost.statements(), statements);
+        check(violations, "entités chargées", cost.entityLoads(), entityLoads);
+        check(violations, "flushs", cost.flushes(), flushes);
+        if (cost.allocatedBytes() != RequestCost.UNMEASURED) {
+            check(violations, "Ko alloués", cost.allocatedBytes() / 1024, allocatedKb);
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, String counter, long actual, long max) {
+        if (max != UNLIMITED && actual > max) {
+            violations.add(counter + " : " + actual + " > " + max);
+        }
+    }
+}
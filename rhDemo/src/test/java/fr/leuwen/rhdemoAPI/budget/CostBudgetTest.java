@@ -0,0 +1,42 @@
+package fr.leuwen.rhdemoAPI.budget;
+
+import static fr.leuwen.rhdemoAPI.budget.CostBudget.UNLIMITED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitaires des budgets de coût : dépassements signalés par compteur, plafonds illimités et allocation non
+ * mesurée ignorés.
+ */
+@DisplayName("CostBudget")
+class CostBudgetTest {
+
+    @Test
+    @DisplayName("Coût dans le budget : aucun dépassement, plafond atteint compris")
+    void violations_WithinBudget_ShouldBeEmpty() {
+        CostBudget budget = new CostBudget(1, 1, 0, 1024);
+
+        assertThat(budget.violations(new RequestCost(1, 1, 0, 1024 * 1024))).isEmpty();
+        assertThat(budget.violations(new RequestCost(0, 0, 0, 10_000))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Requête SQL supplémentaire et allocation excessive : un dépassement par compteur")
+    void violations_OverBudget_ShouldListEachCounter() {
+        CostBudget budget = new CostBudget(1, 1, 0, 1024);
+
+        assertThat(budget.violations(new RequestCost(2, 1, 1, 4096 * 1024)))
+                .containsExactly("requêtes SQL : 2 > 1", "flushs : 1 > 0", "Ko alloués : 4096 > 1024");
+    }
+
+    @Test
+    @DisplayName("Compteur illimité ou allocation non mesurée : non vérifiés")
+    void violations_UnlimitedOrUnmeasured_ShouldBeIgnored() {
+        CostBudget budget = new CostBudget(2, UNLIMITED, 0, 1024);
+
+        assertThat(budget.violations(new RequestCost(2, 500, 0, RequestCost.UNMEASURED))).isEmpty();
+        assertThat(budget.violations(new RequestCost(2, 0, 0, 8192 * 1024).withoutAllocation())).isEmpty();
+    }
+}
@@ -0,0 +1,59 @@
+package fr.leuwen.rhdemoAPI.budget;
+
+import static fr.leuwen.rhdemoAPI.budget.CostBudget.UNLIMITED;
+import static java.util.Map.entry;
+
+import java.util.Map;
+
+/**
+ * Budgets par route de l'API, vérifiés par QueryBudgetExtension sur chaque requête MockMvc (toutes variantes et
+ * statuts d'une même route confondus) : requêtes SQL, entités chargées, flushs, Ko alloués.
+ *
+ * Les requêtes SQL sont des plafonds exacts : une requête supplémentaire (existsById avant un save, N+1) fait
+ * échouer le test. Les allocations sont des ordres de grandeur (4 à 10 fois le régime établi mesuré sur H2) : elles
+ * ne détectent que les dérives importantes, comme une liste chargée en entier pour une page.
+ * Les requêtes SQL sont comptées sur la DataSource (SqlStatements, RequestCostFilter) : celles des routes servies
+ * par JdbcTemplate (import CSV, écriture par mail, suppression) le sont comme celles de JPA. Comptes sur H2, où
+ * certaines écritures prennent plus de requêtes que sur PostgreSQL (repli MERGE de l'écriture par mail).
+ */
+final class EndpointBudgets {
+
+    private static final Map<String, CostBudget> BUDGETS = Map.ofEntries(
+            entry("GET /api/employes", new CostBudget(1, 0, 0, 2048)),
+            // Export : traitement asynchrone non mesuré, seules les erreurs de paramètres sont synchrones
+            entry("GET /api/employes/export", new CostBudget(0, 0, 0, 2048)),
+            // Page et total (count) ; les entités chargées dépendent de la taille de page
+            entry("GET /api/employes/page", new CostBudget(2, UNLIMITED, 0, 2048)),
+            // Index de recherche puis employés trouvés, ou repli matchingAllTerms
+            entry("GET /api/employes/search", new CostBudget(2, UNLIMITED, 0, 2048)),
+            // 0 si l'employé est dans le cache de second niveau
+            entry("GET /api/employes/{id}", new CostBudget(1, 1, 0, 1024)),
+            // INSERT, et la séquence quand le bloc de 50 ids de l'EntityManagerFactory (partagé entre tests) est épuisé
+            entry("POST /api/employes", new CostBudget(2, 0, 1, 2048)),
+            // Séquence (bloc de 50 ids) et INSERT en batch
+            entry("POST /api/employes/batch", new CostBudget(2, 0, 1, 4096)),
+            // Fichier de moins de 500 lignes : 2 tables temporaires, 1 INSERT en staging, conflits, puis un tour de
+            // fusion (comptage, 3 requêtes de réservation des blocs, INSERT ... SELECT) et le comptage final
+            entry("POST /api/employes/import", new CostBudget(10, 0, 0, 4096)),
+            entry("PUT /api/employes/{id}", new CostBudget(1, 0, 1, 2048)),
+            entry("PATCH /api/employes/{id}", new CostBudget(1, 0, 1, 2048)),
+            // H2 : mails existants, MERGE, relecture des lignes écrites (un seul INSERT ... ON CONFLICT sur PostgreSQL)
+            entry("PUT /api/employes/by-mail", new CostBudget(3, 0, 0, 2048)),
+            entry("PUT /api/employes/by-mail/{mail}", new CostBudget(3, 0, 0, 2048)),
+            // DELETE ... WHERE id = ? par JdbcTemplate : le 404 est déduit du nombre de lignes supprimées ;
+            // relecture de l'employé seulement si If-Match échoue (404 ou 412)
+            entry("DELETE /api/employes/{id}", new CostBudget(2, 1, 0, 1024)),
+            entry("DELETE /api/employes/bulk", new CostBudget(1, 0, 0, 2048)),
+            entry("PATCH /api/employes/bulk", new CostBudget(1, 0, 0, 2048)));
+
+    private EndpointBudgets() {
+    }
+
+    /**
+     * @param route méthode et motif HTTP, « GET /api/employes/{id} »
+     * @return budget de la route, null si aucun n'est déclaré
+     */
+    static CostBudget of(String route) {
+        return BUDGETS.get(route);
+    }
+}
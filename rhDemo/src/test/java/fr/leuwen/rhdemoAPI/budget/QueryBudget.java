@@ -0,0 +1,25 @@
+package fr.leuwen.rhdemoAPI.budget;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Budget de l'exécution complète d'une méthode de test (hors @BeforeEach), vérifié par QueryBudgetExtension.
+ * Sur la classe : budget par défaut de chaque test ; sur une méthode : remplace celui de la classe.
+ *
+ * Pour les requêtes MockMvc, les budgets sont déclarés par route dans EndpointBudgets.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface QueryBudget {
+
+    long statements();
+
+    long entityLoads() default CostBudget.UNLIMITED;
+
+    long flushes() default CostBudget.UNLIMITED;
+
+    long allocatedKb() default CostBudget.UNLIMITED;
+}
@@ -0,0 +1,96 @@
+package fr.leuwen.rhdemoAPI.budget;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import fr.leuwen.rhdemoAPI.budget.RequestCostFilter.MeasuredRequest;
+
+/**
+ * Vérifie, à la fin de chaque test, le coût mesuré :
+ * - de chaque requête MockMvc, si le contexte contient RequestCostFilter (RequestCostConfig) : budget de sa route
+ *   dans EndpointBudgets, une route sans budget est une erreur ;
+ * - de l'exécution complète du test, si la méthode ou la classe porte @QueryBudget.
+ *
+ * Un dépassement fait échouer le test avec le coût mesuré (un existsById ajouté ou un N+1 introduit échoue en CI).
+ * Un test déjà en échec n'est pas vérifié. -Dbudget.report=true journalise le coût de chaque requête, pour
+ * ajuster un budget après un changement voulu.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetExtension.class);
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+    private static final boolean REPORT = Boolean.getBoolean("budget.report");
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+        Statistics statistics = applicationContext.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+                .getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("QueryBudgetExtension : hibernate.generate_statistics doit être activé");
+        }
+        // Requêtes des @BeforeEach et des tests précédents ignorées
+        applicationContext.getBeanProvider(RequestCostFilter.class).ifAvailable(RequestCostFilter::drain);
+        context.getStore(NAMESPACE).put(Statistics.class, statistics);
+        context.getStore(NAMESPACE).put(RequestCost.class, RequestCost.snapshot(statistics));
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Statistics statistics = context.getStore(NAMESPACE).get(Statistics.class, Statistics.class);
+        RequestCost testCost = RequestCost.since(statistics, context.getStore(NAMESPACE).get(RequestCost.class, RequestCost.class));
+        RequestCostFilter filter = SpringExtension.getApplicationContext(context)
+                .getBeanProvider(RequestCostFilter.class).getIfAvailable();
+        List<MeasuredRequest> requests = filter == null ? List.of() : filter.drain();
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        for (MeasuredRequest request : requests) {
+            if (REPORT) {
+                log.info("{} ({} {}{}) : {}", request.route(), request.uri(), request.status(),
+                        request.warmup() ? ", première" : "", request.cost());
+            }
+            if (request.async()) {
+                continue;
+            }
+            CostBudget budget = EndpointBudgets.of(request.route());
+            RequestCost cost = request.warmup() ? request.cost().withoutAllocation() : request.cost();
+            if (budget == null) {
+                violations.add(request.route() + " : aucun budget déclaré dans EndpointBudgets (mesuré : "
+                        + request.cost() + ")");
+            } else {
+                budget.violations(cost).forEach(violation -> violations.add(request.route() + " ("
+                        + request.uri() + ", " + request.status() + ") : " + violation + " [" + request.cost() + "]"));
+            }
+        }
+
+        Optional<QueryBudget> annotation = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class));
+        if (REPORT && annotation.isPresent()) {
+            log.info("{} : {}", context.getDisplayName(), testCost);
+        }
+        annotation.ifPresent(budget -> CostBudget.of(budget).violations(testCost)
+                .forEach(violation -> violations.add("test : " + violation + " [" + testCost + "]")));
+
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Budget de requêtes dépassé :\n- " + String.join("\n- ", violations));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package fr.leuwen.rhdemoAPI.budget;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.LongSupplier;
+
+import org.hibernate.stat.Statistics;
+
+/**
+ * Coût d'un appel : requêtes SQL, entités chargées et flushs (Statistics Hibernate), octets alloués par le thread
+ * appelant (ThreadMXBean, {@link #UNMEASURED} si la JVM ne le mesure pas). Requêtes SQL : celles exécutées sur la
+ * DataSource (SqlStatements), JdbcTemplate compris, ou à défaut celles préparées par Hibernate.
+ *
+ * Les compteurs sont globaux (SessionFactory, MeterRegistry) : la mesure n'est juste que si aucun autre thread
+ * n'exécute de SQL pendant l'appel, ce qui est le cas des tests d'intégration (exécutés un par un).
+ */
+public record RequestCost(long statements, long entityLoads, long flushes, long allocatedBytes) {
+
+    public static final long UNMEASURED = -1;
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationMeter();
+
+    /**
+     * Compteurs au début d'un appel, requêtes SQL préparées par Hibernate ; {@link #since(Statistics, RequestCost)}
+     * donne ensuite le coût de l'appel.
+     */
+    public static RequestCost snapshot(Statistics statistics) {
+        return snapshot(statistics, statistics::getPrepareStatementCount);
+    }
+
+    /**
+     * Compteurs au début d'un appel, requêtes SQL comptées par {@code statements} ;
+     * {@link #since(Statistics, LongSupplier, RequestCost)} donne ensuite le coût de l'appel.
+     */
+    public static RequestCost snapshot(Statistics statistics, LongSupplier statements) {
+        return new RequestCost(statements.getAsLong(), statistics.getEntityLoadCount(),
+                statistics.getFlushCount(), THREADS == null ? UNMEASURED : THREADS.getCurrentThreadAllocatedBytes());
+    }
+
+    /**
+     * Différence entre les compteurs actuels et {@code start}, sur le même thread.
+     */
+    public static RequestCost since(Statistics statistics, RequestCost start) {
+        return since(statistics, statistics::getPrepareStatementCount, start);
+    }
+
+    public static RequestCost since(Statistics statistics, LongSupplier statements, RequestCost start) {
+        RequestCost now = snapshot(statistics, statements);
+        return new RequestCost(now.statements - start.statements, now.entityLoads - start.entityLoads,
+                now.flushes - start.flushes,
+                now.allocatedBytes == UNMEASURED ? UNMEASURED : now.allocatedBytes - start.allocatedBytes);
+    }
+
+    /**
+     * Même coût, allocation non vérifiée (première requête d'une route et d'un statut : initialisations paresseuses).
+     */
+    public RequestCost withoutAllocation() {
+        return new RequestCost(statements, entityLoads, flushes, UNMEASURED);
+    }
+
+    // Extension HotSpot (com.sun.management), absente ou désactivée sur certaines JVM
+    private static com.sun.management.ThreadMXBean allocationMeter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean meter
+                && meter.isThreadAllocatedMemorySupported() && meter.isThreadAllocatedMemoryEnabled()) {
+            return meter;
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " requête(s) SQL, " + entityLoads + " entité(s) chargée(s), " + flushes + " flush, "
+                + (allocatedBytes == UNMEASURED ? "allocation non mesurée" : allocatedBytes / 1024 + " Ko alloués");
+    }
+}
@@ -0,0 +1,38 @@
+package fr.leuwen.rhdemoAPI.budget;
+
+import org.hibernate.SessionFactory;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import fr.leuwen.rhdemoAPI.springconfig.SqlMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Filtre RequestCostFilter, ajouté à MockMvc avec les autres filtres du contexte : importé avec
+ * {@code @Import(RequestCostConfig.class)} par les IT qui appliquent QueryBudgetExtension à leurs requêtes.
+ */
+@TestConfiguration
+public class RequestCostConfig {
+
+    /**
+     * SqlMetrics requis (fr.leuwen.rhdemoAPI.sql.metrics.enabled) : sans lui, le SQL de JdbcTemplate ne serait pas
+     * compté et les budgets des routes concernées ne vérifieraient rien.
+     */
+    @Bean
+    public RequestCostFilter requestCostFilter(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry,
+            SqlMetrics sqlMetrics) {
+        return new RequestCostFilter(entityManagerFactory.unwrap(SessionFactory.class).getStatistics(),
+                () -> SqlStatements.count(meterRegistry));
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestCostFilter> requestCostFilterRegistration(RequestCostFilter filter) {
+        FilterRegistrationBean<RequestCostFilter> registration = new FilterRegistrationBean<>(filter);
+        // Premier filtre : la mesure couvre toute la requête, sécurité et contrôle d'admission compris
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,77 @@
+package fr.leuwen.rhdemoAPI.budget;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+import org.hibernate.stat.Statistics;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mesure le coût de chaque requête MockMvc (sécurité, contrôleur, service, sérialisation), relevé par
+ * QueryBudgetExtension à la fin du test.
+ *
+ * Requêtes asynchrones (export) : le traitement s'exécute sur un autre thread, après le retour du filtre ; elles
+ * sont relevées avec {@code async} à true et ne sont pas soumises aux budgets. La première requête de chaque route et
+ * statut ({@code warmup}) charge des classes et initialise sérialiseurs et plans de requêtes : plusieurs dizaines de Mo
+ * alloués, sans rapport avec le coût en régime établi.
+ */
+public class RequestCostFilter extends OncePerRequestFilter {
+
+    /**
+     * @param route méthode et motif HTTP (« GET /api/employes/{id} »), comme les étiquettes de SqlMetrics ;
+     *              « GET none » si aucun contrôleur n'a été sélectionné (refus de la sécurité, 404)
+     */
+    public record MeasuredRequest(String route, String uri, int status, boolean async, boolean warmup, RequestCost cost) {
+    }
+
+    private final Statistics statistics;
+    private final LongSupplier statements;
+    private final ConcurrentLinkedQueue<MeasuredRequest> measured = new ConcurrentLinkedQueue<>();
+    private final Set<String> warmedUp = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param statements requêtes SQL exécutées depuis le démarrage (SqlStatements) : les routes servies par
+     *                   JdbcTemplate n'apparaissent pas dans les Statistics Hibernate
+     */
+    public RequestCostFilter(Statistics statistics, LongSupplier statements) {
+        this.statistics = statistics;
+        this.statements = statements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestCost start = RequestCost.snapshot(statistics, statements);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestCost cost = RequestCost.since(statistics, statements, start);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = request.getMethod() + " " + (pattern == null ? "none" : pattern);
+            measured.add(new MeasuredRequest(route, request.getRequestURI(), response.getStatus(),
+                    request.isAsyncStarted(), warmedUp.add(route + " " + response.getStatus()), cost));
+        }
+    }
+
+    /**
+     * Requêtes mesurées depuis l'appel précédent.
+     */
+    public List<MeasuredRequest> drain() {
+        List<MeasuredRequest> requests = new ArrayList<>();
+        for (MeasuredRequest request; (request = measured.poll()) != null;) {
+            requests.add(request);
+        }
+        return requests;
+    }
+}
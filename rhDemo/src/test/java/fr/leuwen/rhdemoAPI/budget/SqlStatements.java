@@ -0,0 +1,24 @@
+package fr.leuwen.rhdemoAPI.budget;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Requêtes SQL exécutées depuis le démarrage du contexte, JPA et JdbcTemplate confondus : somme des Timers
+ * rhdemo.sql.statement de SqlMetrics (SqlMetricsDataSource, activé par défaut). Les Statistics Hibernate ne voient
+ * que le SQL émis par Hibernate.
+ *
+ * Compteur global, comme les Statistics : la différence entre deux relevés n'est juste que si aucun autre thread
+ * n'exécute de SQL entre-temps.
+ */
+public final class SqlStatements {
+
+    private static final String TIMER = "rhdemo.sql.statement";
+
+    private SqlStatements() {
+    }
+
+    public static long count(MeterRegistry meterRegistry) {
+        return meterRegistry.find(TIMER).timers().stream().mapToLong(Timer::count).sum();
+    }
+}
@@ -1,7 +1,12 @@
 package fr.leuwen.rhdemoAPI.config;
 
+import javax.sql.DataSource;
+
+import fr.leuwen.rhdemoAPI.dataset.EmployeDatasetGenerator;
+import fr.leuwen.rhdemoAPI.dataset.EmployeDatasetLoader;
 import fr.leuwen.rhdemoAPI.model.Employe;
 import fr.leuwen.rhdemoAPI.repository.EmployeRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
@@ -9,6 +14,10 @@ import org.springframework.context.annotation.Profile;
 /**
  * Configuration pour charger les données de test dans la base H2.
  * Activée uniquement pour le profil "test".
+ *
+ * fr.leuwen.rhdemoAPI.test.extra-employes (0 par défaut) ajoute autant d'employés générés après les 4 employés
+ * de test (EmployeDatasetGenerator, graine dataset-seed, asymétrie dataset-skew) : tests de charge, voir
+ * loadtest.EmployeLoadIT.
  */
 @TestConfiguration
 @Profile("test")
@@ -19,8 +28,16 @@ public class TestDataLoader {
      * Cette approche garantit que Hibernate a déjà créé les tables via ddl-auto: create-drop.
      */
     @Bean
-    public TestDataInitializer testDataInitializer(EmployeRepository employeRepository) {
-        return new TestDataInitializer(employeRepository);
+    public TestDataInitializer testDataInitializer(EmployeRepository employeRepository, DataSource dataSource,
+            @Value("${fr.leuwen.rhdemoAPI.test.extra-employes:0}") int extraEmployes,
+            @Value("${fr.leuwen.rhdemoAPI.test.dataset-seed:42}") long seed,
+            @Value("${fr.leuwen.rhdemoAPI.test.dataset-skew:1.0}") double skew) {
+        TestDataInitializer initializer = new TestDataInitializer(employeRepository);
+        if (extraEmployes > 0) {
+            new EmployeDatasetLoader(dataSource, Runtime.getRuntime().availableProcessors(), 1000)
+                    .load(new EmployeDatasetGenerator(seed, skew), 0, extraEmployes);
+        }
+        return initializer;
     }
 
     /**
@@ -50,6 +50,7 @@ public class TestSecurityConfig {
                 .requestMatchers("/error*", "/logout").permitAll()
                 .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
                 .requestMatchers("/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/sqlrequests").hasRole("admin")
                 .requestMatchers("/actuator/**").hasRole("admin")
                 .requestMatchers("/api-docs/**").hasRole("admin")
                 .requestMatchers("/front").hasAnyRole("consult", "MAJ")
@@ -1,23 +1,41 @@
 package fr.leuwen.rhdemoAPI.controller;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.jayway.jsonpath.JsonPath;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import fr.leuwen.rhdemoAPI.budget.QueryBudgetExtension;
+import fr.leuwen.rhdemoAPI.budget.RequestCostConfig;
+import fr.leuwen.rhdemoAPI.budget.SqlStatements;
 import fr.leuwen.rhdemoAPI.config.TestDataLoader;
 
 /**
@@ -30,12 +48,16 @@ import fr.leuwen.rhdemoAPI.config.TestDataLoader;
 @TestPropertySource(locations = "classpath:application-test.yml")
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
-@Import(TestDataLoader.class)
+@Import({TestDataLoader.class, RequestCostConfig.class})
+@ExtendWith(QueryBudgetExtension.class)
 public class EmployeControllerIT {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     // ════════════════════════════════════════════════════════════════
     // Tests GET /api/employes (liste complète)
     // ════════════════════════════════════════════════════════════════
@@ -50,6 +72,37 @@ public class EmployeControllerIT {
                 .andExpect(jsonPath("$[0].prenom", is("Laurent")));
     }
 
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployes_WithNdjsonAccept_ShouldStreamOneObjectPerLine() throws Exception {
+        String body = mockMvc.perform(get("/api/employes")
+                        .accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertTrue(body.endsWith("\n"));
+        assertTrue(lines.length >= 4);
+        assertEquals("Laurent", JsonPath.read(lines[0], "$.prenom"));
+        for (String line : lines) {
+            assertTrue(line.startsWith("{") && line.endsWith("}"), line);
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployes_WithWildcardAccept_ShouldStreamJsonArray() throws Exception {
+        mockMvc.perform(get("/api/employes")
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[0].mail", is("laurent.martin@example.com")));
+    }
+
     @Test
     @WithMockUser(username = "user", roles = {"BadRole"})
     public void testGetEmployes_WithWrongRole_ShouldReturn403() throws Exception {
@@ -57,6 +110,80 @@ public class EmployeControllerIT {
                 .andExpect(status().isForbidden());
     }
 
+    // ════════════════════════════════════════════════════════════════
+    // Tests GET /api/employes/export (export CSV / NDJSON, asynchrone)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testExportEmployes_WithFilterAndSort_ShouldStreamCsv() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/employes/export")
+                        .param("filterNom", "Du")
+                        .param("sort", "nom")
+                        .param("order", "DESC"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"employes.csv\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("\uFEFFid;prenom;nom;mail;adresse", lines[0]);
+        assertTrue(lines[1].contains(";Marie;Durand;marie.durand@example.com;"), lines[1]);
+        assertTrue(lines[2].contains(";Sophie;Dubois;sophie.dubois@example.com;"), lines[2]);
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testExportEmployes_WithNdjsonFormat_ShouldStreamAllInIdOrder() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/employes/export")
+                        .param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("Laurent", JsonPath.read(lines[0], "$.prenom"));
+        assertEquals("marie.durand@example.com", JsonPath.read(lines[3], "$.mail"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testExportEmployes_WithInvalidFormat_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/employes/export")
+                        .param("format", "xlsx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Format d'export invalide. Valeurs acceptées : csv, ndjson"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testExportEmployes_WithInvalidSort_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/employes/export")
+                        .param("sort", "id; DROP TABLE employes"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"BadRole"})
+    public void testExportEmployes_WithWrongRole_ShouldReturn403() throws Exception {
+        mockMvc.perform(get("/api/employes/export"))
+                .andExpect(status().isForbidden());
+    }
+
     // ════════════════════════════════════════════════════════════════
     // Tests GET /api/employes/page (pagination)
     // ════════════════════════════════════════════════════════════════
@@ -146,6 +273,29 @@ public class EmployeControllerIT {
                 .andExpect(jsonPath("$.page.size").value(200));
     }
 
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testGetEmployesPage_AfterDelete_ShouldNotServeCachedPage() throws Exception {
+        // Première lecture : page mise en cache
+        mockMvc.perform(get("/api/employes/page")
+                        .param("sort", "nom")
+                        .with(user("user").roles("consult")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(4));
+
+        mockMvc.perform(delete("/api/employes/1").with(csrf()))
+                .andExpect(status().isNoContent());
+
+        // La suppression a changé la version de la table : page relue en base
+        mockMvc.perform(get("/api/employes/page")
+                        .param("sort", "nom")
+                        .with(user("user").roles("consult")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(3))
+                .andExpect(jsonPath("$.content[?(@.id == 1)]").isEmpty());
+    }
+
     // ════════════════════════════════════════════════════════════════
     // Tests GET /api/employes/page avec filtres
     // ════════════════════════════════════════════════════════════════
@@ -249,6 +399,241 @@ public class EmployeControllerIT {
                 .andExpect(jsonPath("$.content[0].adresse", is("1 Rue de la Paix, Paris")));
     }
 
+    // ════════════════════════════════════════════════════════════════
+    // Tests GET /api/employes/page?total= (modes de calcul du total)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployesPage_TotalNone_ShouldReturnSliceEnvelope() throws Exception {
+        // filterNom="r" : Bernard, Durand, Martin
+        mockMvc.perform(get("/api/employes/page")
+                        .param("filterNom", "r")
+                        .param("size", "2")
+                        .param("total", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.page.size").value(2))
+                .andExpect(jsonPath("$.page.number").value(0))
+                .andExpect(jsonPath("$.page.hasNext").value(true))
+                .andExpect(jsonPath("$.page.totalElements").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployesPage_TotalNoneLastPage_ShouldReportNoNext() throws Exception {
+        mockMvc.perform(get("/api/employes/page")
+                        .param("filterNom", "r")
+                        .param("page", "1")
+                        .param("size", "2")
+                        .param("sort", "nom")
+                        .param("total", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].nom").value("Martin"))
+                .andExpect(jsonPath("$.page.hasNext").value(false));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployesPage_TotalEstimate_ShouldKeepPagedModelShape() throws Exception {
+        // H2 ne fournit pas de statistiques : repli sur le total exact
+        mockMvc.perform(get("/api/employes/page")
+                        .param("filterNom", "r")
+                        .param("size", "1")
+                        .param("total", "estimate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.page.totalElements").value(3))
+                .andExpect(jsonPath("$.page.totalPages").value(3));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployesPage_TotalExact_ShouldBehaveAsDefault() throws Exception {
+        mockMvc.perform(get("/api/employes/page")
+                        .param("filterNom", "r")
+                        .param("total", "exact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(3));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployesPage_WithInvalidTotal_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/employes/page")
+                        .param("total", "approx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests GET /api/employes/page?after= (pagination keyset)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployesPageAfter_FirstPage_ShouldReturnCursorEnvelope() throws Exception {
+        mockMvc.perform(get("/api/employes/page")
+                        .param("after", "")
+                        .param("size", "2")
+                        .param("sort", "nom"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].nom").value("Bernard"))
+                .andExpect(jsonPath("$.content[1].nom").value("Dubois"))
+                .andExpect(jsonPath("$.page.size").value(2))
+                .andExpect(jsonPath("$.page.hasNext").value(true))
+                .andExpect(jsonPath("$.page.next").isString())
+                .andExpect(jsonPath("$.page.totalElements").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployesPageAfter_FollowingNext_ShouldReturnNextPageThenEnd() throws Exception {
+        // filterNom="r" : Bernard, Durand, Martin (indépendant des employés créés par d'autres tests)
+        String firstPage = mockMvc.perform(get("/api/employes/page")
+                        .param("after", "")
+                        .param("size", "2")
+                        .param("sort", "nom")
+                        .param("filterNom", "r"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nom").value("Bernard"))
+                .andExpect(jsonPath("$.content[1].nom").value("Durand"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String next = JsonPath.read(firstPage, "$.page.next");
+
+        mockMvc.perform(get("/api/employes/page")
+                        .param("after", next)
+                        .param("size", "2")
+                        .param("sort", "nom")
+                        .param("filterNom", "r"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].nom").value("Martin"))
+                .andExpect(jsonPath("$.page.hasNext").value(false))
+                .andExpect(jsonPath("$.page.next").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployesPageAfter_WithFilter_ShouldApplyFilter() throws Exception {
+        mockMvc.perform(get("/api/employes/page")
+                        .param("after", "")
+                        .param("filterNom", "Du")
+                        .param("filterMail", "ie.")
+                        .param("sort", "prenom")
+                        .param("order", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].prenom").value("Sophie"))
+                .andExpect(jsonPath("$.content[1].prenom").value("Marie"))
+                .andExpect(jsonPath("$.page.hasNext").value(false));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployesPageAfter_WithInvalidToken_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/employes/page")
+                        .param("after", "pas-un-curseur"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployesPageAfter_WithTokenFromOtherSort_ShouldReturn400() throws Exception {
+        String firstPage = mockMvc.perform(get("/api/employes/page")
+                        .param("after", "")
+                        .param("size", "1")
+                        .param("sort", "nom"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String next = JsonPath.read(firstPage, "$.page.next");
+
+        mockMvc.perform(get("/api/employes/page")
+                        .param("after", next)
+                        .param("size", "1")
+                        .param("sort", "prenom"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployesPageAfter_WithSizeZero_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/employes/page")
+                        .param("after", "")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmployesPageAfter_WithInvalidSort_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/employes/page")
+                        .param("after", "")
+                        .param("sort", "champInvalide"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests GET /api/employes/search (recherche plein texte, repli H2)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testSearchEmployes_WithTermsOnSeveralFields_ShouldReturnMatchingPage() throws Exception {
+        mockMvc.perform(get("/api/employes/search")
+                        .param("q", "Sophie LYON"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].nom").value("Dubois"))
+                .andExpect(jsonPath("$.page.totalElements").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testSearchEmployes_WithPagination_ShouldRespectPageSize() throws Exception {
+        // "example" est présent dans le mail des 4 employés de test
+        mockMvc.perform(get("/api/employes/search")
+                        .param("q", "example")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.page.size").value(2));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testSearchEmployes_WithOnlySpecialCharacters_ShouldReturnEmptyPage() throws Exception {
+        mockMvc.perform(get("/api/employes/search")
+                        .param("q", "&|!:*"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0))
+                .andExpect(jsonPath("$.page.totalElements").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testSearchEmployes_WithBlankQuery_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/employes/search")
+                        .param("q", "  "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"BadRole"})
+    public void testSearchEmployes_WithWrongRole_ShouldReturn403() throws Exception {
+        mockMvc.perform(get("/api/employes/search")
+                        .param("q", "martin"))
+                .andExpect(status().isForbidden());
+    }
+
     // ════════════════════════════════════════════════════════════════
     // Tests GET /api/employes/{id} (récupération)
     // ════════════════════════════════════════════════════════════════
@@ -375,69 +760,525 @@ public class EmployeControllerIT {
     }
 
     // ════════════════════════════════════════════════════════════════
-    // Tests PUT /api/employes/{id} (mise à jour)
+    // Tests POST /api/employes/batch (création par lot)
     // ════════════════════════════════════════════════════════════════
 
     @Test
     @WithMockUser(username = "user", roles = {"MAJ"})
     @DirtiesContext
-    public void testUpdateEmploye_WithValidId_ShouldReturn200() throws Exception {
-        // Créer un employé pour la mise à jour
-        String newEmployeJson = """
-                {
-                    "prenom": "ToUpdate",
-                    "nom": "Test",
-                    "mail": "toupdate@example.com",
-                    "adresse": "123 Test Street"
-                }
+    public void testCreateEmployes_WithValidBatch_ShouldReturn201InOrder() throws Exception {
+        String batchJson = """
+                [
+                    {"prenom": "Alice", "nom": "Lot", "mail": "alice.lot@example.com", "adresse": "1 Rue du Lot"},
+                    {"prenom": "Bruno", "nom": "Lot", "mail": "bruno.lot@example.com"},
+                    {"prenom": "Chloé", "nom": "Lot", "mail": "chloe.lot@example.com", "adresse": "3 Rue du Lot"}
+                ]
                 """;
 
-        String createResponse = mockMvc.perform(post("/api/employes")
+        String body = mockMvc.perform(post("/api/employes/batch")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(newEmployeJson))
+                        .content(batchJson))
                 .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].prenom").value("Alice"))
+                .andExpect(jsonPath("$[2].mail").value("chloe.lot@example.com"))
                 .andReturn()
                 .getResponse()
                 .getContentAsString();
 
-        long id = Long.parseLong(createResponse.split("\"id\":")[1].split(",")[0].trim());
-
-        String updatedJson = """
-                {
-                    "prenom": "Updated",
-                    "nom": "Test",
-                    "mail": "updated@example.com",
-                    "adresse": "456 Updated Street"
-                }
-                """;
+        // Ids pré-alloués par la séquence, dans l'ordre du lot
+        long first = ((Number) JsonPath.read(body, "$[0].id")).longValue();
+        long last = ((Number) JsonPath.read(body, "$[2].id")).longValue();
+        assertTrue(first < last);
 
-        mockMvc.perform(put("/api/employes/{id}", id)
-                        .with(csrf())
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(updatedJson))
+        mockMvc.perform(get("/api/employes/page")
+                        .param("filterNom", "Lot")
+                        .with(user("user").roles("consult")))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(id))
-                .andExpect(jsonPath("$.prenom").value("Updated"))
-                .andExpect(jsonPath("$.mail").value("updated@example.com"));
+                .andExpect(jsonPath("$.page.totalElements").value(3));
     }
 
     @Test
     @WithMockUser(username = "user", roles = {"MAJ"})
-    public void testUpdateEmploye_WithInvalidId_ShouldReturn404() throws Exception {
-        String validJson = """
-                {
-                    "prenom": "Jean",
-                    "nom": "Dupont",
-                    "mail": "jean.dupont999@example.com",
-                    "adresse": "123 Rue de Paris"
-                }
+    public void testCreateEmployes_WithInvalidItems_ShouldReturn400ByPositionAndCreateNothing() throws Exception {
+        String batchJson = """
+                [
+                    {"prenom": "Alice", "nom": "Rejet", "mail": "alice.rejet@example.com"},
+                    {"prenom": "Bruno", "nom": "Rejet", "mail": "invalid-email"},
+                    {"prenom": "C", "nom": "Rejet", "mail": "chloe.rejet@example.com"}
+                ]
                 """;
 
-        mockMvc.perform(put("/api/employes/{id}", 999L)
+        mockMvc.perform(post("/api/employes/batch")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(validJson))
+                        .content(batchJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Erreur de validation des données"))
+                .andExpect(jsonPath("$.errors['[1].mail']").value("L'email doit être valide"))
+                .andExpect(jsonPath("$.errors['[2].prenom']").exists())
+                .andExpect(jsonPath("$.errors['[0].mail']").doesNotExist());
+
+        mockMvc.perform(get("/api/employes/page")
+                        .param("filterNom", "Rejet")
+                        .with(user("user").roles("consult")))
+                .andExpect(jsonPath("$.page.totalElements").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testCreateEmployes_WithDuplicateMails_ShouldReturn400ByPosition() throws Exception {
+        String batchJson = """
+                [
+                    {"prenom": "Alice", "nom": "Doublon", "mail": "alice.doublon@example.com"},
+                    {"prenom": "Alice", "nom": "Doublon", "mail": "alice.doublon@example.com"},
+                    {"prenom": "Laurent", "nom": "Doublon", "mail": "laurent.martin@example.com"}
+                ]
+                """;
+
+        mockMvc.perform(post("/api/employes/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors['[1].mail']").value("Email en double dans le lot (élément 0)"))
+                .andExpect(jsonPath("$.errors['[2].mail']").value("Un employé existe déjà avec cet email"))
+                .andExpect(jsonPath("$.errors['[0].mail']").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testCreateEmployes_WithEmptyBatch_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/employes/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Le lot doit contenir entre 1 et 1000 employés"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testCreateEmployes_WithConsultRole_ShouldReturn403() throws Exception {
+        mockMvc.perform(post("/api/employes/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"prenom\": \"Jean\", \"nom\": \"Dupont\", \"mail\": \"jean.lot@example.com\"}]"))
+                .andExpect(status().isForbidden());
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests PUT /api/employes/by-mail (création ou mise à jour par mail)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testUpsertEmploye_WithNewMail_ShouldReturn201WithLocation() throws Exception {
+        String json = """
+                {"prenom": "Nina", "nom": "Synchro", "mail": "nina.synchro@example.com", "adresse": "1 Rue du Sync"}
+                """;
+
+        String body = mockMvc.perform(put("/api/employes/by-mail/{mail}", "nina.synchro@example.com")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, matchesPattern("/api/employes/\\d+")))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.nom").value("Synchro"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        long id = ((Number) JsonPath.read(body, "$.id")).longValue();
+        mockMvc.perform(get("/api/employes/{id}", id)
+                        .with(user("user").roles("consult")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.adresse").value("1 Rue du Sync"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testUpsertEmploye_WithExistingMail_ShouldUpdateAndNotServeCachedEmploye() throws Exception {
+        // Lecture préalable : l'employé 2 entre dans le cache de second niveau
+        mockMvc.perform(get("/api/employes/2")
+                        .with(user("user").roles("consult")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.adresse").value("2 Avenue des Champs, Lyon"));
+        String json = """
+                {"prenom": "Sophie", "nom": "Dubois", "mail": "sophie.dubois@example.com", "adresse": "5 Quai du Rhône, Lyon"}
+                """;
+
+        mockMvc.perform(put("/api/employes/by-mail/{mail}", "sophie.dubois@example.com")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.id").value(2));
+
+        // Même corps : rien ne change, la version (ETag) non plus
+        mockMvc.perform(put("/api/employes/by-mail/{mail}", "sophie.dubois@example.com")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        // Écriture SQL hors Hibernate : l'entrée du cache de second niveau a été verrouillée, jamais servie
+        mockMvc.perform(get("/api/employes/2")
+                        .with(user("user").roles("consult")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.adresse").value("5 Quai du Rhône, Lyon"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testUpsertEmploye_WithMailDifferentFromPath_ShouldReturn400() throws Exception {
+        mockMvc.perform(put("/api/employes/by-mail/{mail}", "sophie.dubois@example.com")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"prenom\": \"Sophie\", \"nom\": \"Dubois\", \"mail\": \"autre@example.com\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testUpsertEmployes_WithMixedBatch_ShouldReportCreatedOrUpdatedInOrder() throws Exception {
+        String batchJson = """
+                [
+                    {"prenom": "Alice", "nom": "Synchro", "mail": "alice.synchro@example.com"},
+                    {"prenom": "Laurent", "nom": "Martin", "mail": "laurent.martin@example.com", "adresse": "2 Rue de Rivoli, Paris"}
+                ]
+                """;
+
+        mockMvc.perform(put("/api/employes/by-mail")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].created").value(true))
+                .andExpect(jsonPath("$[0].version").value(0))
+                .andExpect(jsonPath("$[0].employe.mail").value("alice.synchro@example.com"))
+                .andExpect(jsonPath("$[1].created").value(false))
+                .andExpect(jsonPath("$[1].employe.id").value(1))
+                .andExpect(jsonPath("$[1].employe.adresse").value("2 Rue de Rivoli, Paris"));
+
+        mockMvc.perform(get("/api/employes/page")
+                        .param("filterNom", "Synchro")
+                        .with(user("user").roles("consult")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testUpsertEmployes_WithDuplicateMail_ShouldReturn400ByPosition() throws Exception {
+        String batchJson = """
+                [
+                    {"prenom": "Alice", "nom": "Synchro", "mail": "alice.synchro@example.com"},
+                    {"prenom": "Alicia", "nom": "Synchro", "mail": "alice.synchro@example.com"}
+                ]
+                """;
+
+        mockMvc.perform(put("/api/employes/by-mail")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors['[1].mail']").value("Email en double dans le lot (élément 0)"));
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests DELETE / PATCH /api/employes/bulk (opérations en masse)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testDeleteEmployesBulk_ByIds_ShouldReturnAffectedCount() throws Exception {
+        String body = createBatch("Masse", "masse.a", "masse.b");
+        Number first = JsonPath.read(body, "$[0].id");
+        Number second = JsonPath.read(body, "$[1].id");
+
+        mockMvc.perform(delete("/api/employes/bulk")
+                        .param("ids", first + "," + second + ",999999")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        mockMvc.perform(get("/api/employes/{id}", first)
+                        .with(user("user").roles("consult")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testDeleteEmployesBulk_ByFilter_ShouldDeleteOnlyMatching() throws Exception {
+        createBatch("Purge", "purge.a", "purge.b");
+
+        mockMvc.perform(delete("/api/employes/bulk")
+                        .param("filterNom", "purge")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        mockMvc.perform(get("/api/employes/page")
+                        .param("filterNom", "Martin")
+                        .with(user("user").roles("consult")))
+                .andExpect(jsonPath("$.page.totalElements").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testDeleteEmployesBulk_WithoutIdsNorFilter_ShouldReturn400() throws Exception {
+        mockMvc.perform(delete("/api/employes/bulk")
+                        .param("filterNom", " ")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Paramètre ids ou au moins un filtre obligatoire"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testDeleteEmployesBulk_WithIdsAndFilter_ShouldReturn400() throws Exception {
+        mockMvc.perform(delete("/api/employes/bulk")
+                        .param("ids", "1")
+                        .param("filterNom", "Martin")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testDeleteEmployesBulk_WithConsultRole_ShouldReturn403() throws Exception {
+        mockMvc.perform(delete("/api/employes/bulk")
+                        .param("ids", "1")
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testPatchEmployesBulk_ShouldUpdateFieldOnListedEmployes() throws Exception {
+        String body = createBatch("Demenage", "demenage.a", "demenage.b");
+        String patchJson = "{\"ids\": [" + JsonPath.read(body, "$[0].id") + ", " + JsonPath.read(body, "$[1].id")
+                + "], \"field\": \"adresse\", \"value\": \"5 Quai du Rhône, Nantes\"}";
+
+        mockMvc.perform(patch("/api/employes/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(patchJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        mockMvc.perform(get("/api/employes/page")
+                        .param("filterAdresse", "Quai du Rhône")
+                        .with(user("user").roles("consult")))
+                .andExpect(jsonPath("$.page.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].nom").value("Demenage"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testPatchEmployesBulk_OnMail_ShouldReturn400() throws Exception {
+        mockMvc.perform(patch("/api/employes/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2], \"field\": \"mail\", \"value\": \"commun@example.com\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testPatchEmployesBulk_WithInvalidValue_ShouldReturn400WithConstraintMessage() throws Exception {
+        mockMvc.perform(patch("/api/employes/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1], \"field\": \"prenom\", \"value\": \"A\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Le prénom doit contenir entre 2 et 50 caractères"));
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests POST /api/employes/import (import CSV)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testImportEmployes_WithValidCsv_ShouldCreateAllAndReport() throws Exception {
+        String csv = """
+                \uFEFFNom;Prénom inconnu;prenom;mail;adresse
+                Import;x;Alice;alice.import@example.com;"1 Rue de l'Import; Bât. A"
+                Import;x;Bruno;bruno.import@example.com;
+
+                Import;x;Chloé;chloe.import@example.com;"3 Rue ""Centrale"" Nord"
+                """;
+
+        mockMvc.perform(post("/api/employes/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read").value(3))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.rejected").value(0))
+                .andExpect(jsonPath("$.errors.length()").value(0))
+                .andExpect(jsonPath("$.errorsTruncated").value(false));
+
+        String page = mockMvc.perform(get("/api/employes/page")
+                        .param("filterNom", "Import")
+                        .param("sort", "prenom")
+                        .with(user("user").roles("consult")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(3))
+                .andExpect(jsonPath("$.content[0].adresse").value("1 Rue de l'Import; Bât. A"))
+                .andExpect(jsonPath("$.content[1].adresse").doesNotExist())
+                .andExpect(jsonPath("$.content[2].adresse").value("3 Rue \"Centrale\" Nord"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // Un seul bloc de la séquence : ids consécutifs dans l'ordre du fichier (pas un bloc de 50 par ligne)
+        List<Number> ids = JsonPath.read(page, "$.content[*].id");
+        assertEquals(ids.get(0).longValue() + 1, ids.get(1).longValue());
+        assertEquals(ids.get(0).longValue() + 2, ids.get(2).longValue());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testImportEmployes_WithInvalidAndConflictingLines_ShouldImportOthersAndReportByLine() throws Exception {
+        String csv = """
+                prenom,nom,mail
+                Alice,Partiel,alice.partiel@example.com
+                Bruno,Partiel,invalid-email
+                Laurent,Martin,laurent.martin@example.com
+                Alice,Doublon,alice.partiel@example.com
+                Chloé,Partiel
+                Denis,Partiel,denis.partiel@example.com
+                """;
+
+        mockMvc.perform(post("/api/employes/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read").value(6))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andExpect(jsonPath("$.errors.length()").value(4))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].field").value("mail"))
+                .andExpect(jsonPath("$.errors[0].message").value("L'email doit être valide"))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.errors[1].message").value("Un employé existe déjà avec cet email"))
+                .andExpect(jsonPath("$.errors[2].line").value(5))
+                .andExpect(jsonPath("$.errors[2].message").value("Email en double dans le fichier (ligne 2)"))
+                .andExpect(jsonPath("$.errors[3].line").value(6))
+                .andExpect(jsonPath("$.errors[3].field").doesNotExist());
+
+        mockMvc.perform(get("/api/employes/page")
+                        .param("filterNom", "Partiel")
+                        .with(user("user").roles("consult")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(2));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testImportEmployes_WithMissingColumn_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/employes/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content("prenom;nom\nAlice;Sansmail\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("[mail]")));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testImportEmployes_WithConsultRole_ShouldReturn403() throws Exception {
+        mockMvc.perform(post("/api/employes/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content("prenom;nom;mail\nAlice;Interdit;alice.interdit@example.com\n"))
+                .andExpect(status().isForbidden());
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests PUT /api/employes/{id} (mise à jour)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testUpdateEmploye_WithValidId_ShouldReturn200() throws Exception {
+        // Créer un employé pour la mise à jour
+        String newEmployeJson = """
+                {
+                    "prenom": "ToUpdate",
+                    "nom": "Test",
+                    "mail": "toupdate@example.com",
+                    "adresse": "123 Test Street"
+                }
+                """;
+
+        String createResponse = mockMvc.perform(post("/api/employes")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(newEmployeJson))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        long id = Long.parseLong(createResponse.split("\"id\":")[1].split(",")[0].trim());
+
+        String updatedJson = """
+                {
+                    "prenom": "Updated",
+                    "nom": "Test",
+                    "mail": "updated@example.com",
+                    "adresse": "456 Updated Street"
+                }
+                """;
+
+        mockMvc.perform(put("/api/employes/{id}", id)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updatedJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.prenom").value("Updated"))
+                .andExpect(jsonPath("$.mail").value("updated@example.com"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testUpdateEmploye_WithInvalidId_ShouldReturn404() throws Exception {
+        String validJson = """
+                {
+                    "prenom": "Jean",
+                    "nom": "Dupont",
+                    "mail": "jean.dupont999@example.com",
+                    "adresse": "123 Rue de Paris"
+                }
+                """;
+
+        mockMvc.perform(put("/api/employes/{id}", 999L)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validJson))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").exists());
     }
@@ -482,6 +1323,219 @@ public class EmployeControllerIT {
                 .andExpect(jsonPath("$.errors").exists());
     }
 
+    // ════════════════════════════════════════════════════════════════
+    // Tests ETag : If-None-Match (GET), If-Match (PUT, DELETE)
+    // ════════════════════════════════════════════════════════════════
+
+    private static final String UPDATE_LAURENT_JSON = """
+            {
+                "prenom": "Laurent",
+                "nom": "Martin",
+                "mail": "laurent.martin@example.com",
+                "adresse": "10 Rue de la Paix, Paris"
+            }
+            """;
+
+    private String etagOf(long id) throws Exception {
+        return mockMvc.perform(get("/api/employes/{id}", id)
+                        .with(user("user").roles("consult")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    public void testGetEmploye_WithMatchingIfNoneMatch_ShouldReturn304WithoutBody() throws Exception {
+        String etag = mockMvc.perform(get("/api/employes/{id}", 2L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, matchesPattern("\"\\d+\"")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/employes/{id}", 2L)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/employes/{id}", 2L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"999\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.prenom").value("Sophie"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testUpdateEmploye_WithIfMatch_ShouldRejectStaleVersionAndReturnNewEtag() throws Exception {
+        String etag = etagOf(1L);
+
+        String newEtag = mockMvc.perform(put("/api/employes/{id}", 1L)
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE_LAURENT_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.adresse").value("10 Rue de la Paix, Paris"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+        assertEquals(newEtag, etagOf(1L));
+
+        // Deuxième client resté sur l'ancienne version : refusé, rien n'est écrasé
+        mockMvc.perform(put("/api/employes/{id}", 1L)
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE_LAURENT_JSON.replace("10 Rue", "99 Rue")))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+
+        // ETag faible : jamais égal en comparaison forte
+        mockMvc.perform(put("/api/employes/{id}", 1L)
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, "W/" + newEtag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE_LAURENT_JSON))
+                .andExpect(status().isPreconditionFailed());
+
+        // Ancien ETag en If-None-Match : le GET renvoie le nouvel état
+        mockMvc.perform(get("/api/employes/{id}", 1L)
+                        .with(user("user").roles("consult"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.adresse").value("10 Rue de la Paix, Paris"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testDeleteEmploye_WithIfMatch_ShouldRequireCurrentVersion() throws Exception {
+        String etag = etagOf(3L);
+        mockMvc.perform(put("/api/employes/{id}", 3L)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"prenom": "Pierre", "nom": "Bernard", "mail": "pierre.bernard@example.com"}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/employes/{id}", 3L)
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/employes/{id}", 3L)
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, etagOf(3L)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/employes/{id}", 3L)
+                        .with(user("user").roles("consult")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testPatchEmployes_ShouldChangeEtag() throws Exception {
+        String etag = etagOf(4L);
+
+        mockMvc.perform(patch("/api/employes/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ids": [4], "field": "adresse", "value": "5 Quai du Rhône, Lyon"}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/employes/{id}", 4L)
+                        .with(user("user").roles("consult"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.adresse").value("5 Quai du Rhône, Lyon"));
+        assertNotEquals(etag, etagOf(4L));
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests PATCH /api/employes/{id} (modification partielle)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    @DirtiesContext
+    public void testPatchEmploye_WithSomeFields_ShouldChangeOnlyThem() throws Exception {
+        String etag = etagOf(2L);
+
+        String newEtag = mockMvc.perform(patch("/api/employes/{id}", 2L)
+                        .with(csrf())
+                        .contentType("application/merge-patch+json")
+                        .content("""
+                                {"nom": "Dubois-Leroy", "adresse": null}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.prenom").value("Sophie"))
+                .andExpect(jsonPath("$.nom").value("Dubois-Leroy"))
+                .andExpect(jsonPath("$.mail").value("sophie.dubois@example.com"))
+                .andExpect(jsonPath("$.adresse").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+
+        mockMvc.perform(get("/api/employes/{id}", 2L)
+                        .with(user("user").roles("consult")))
+                .andExpect(jsonPath("$.nom").value("Dubois-Leroy"))
+                .andExpect(jsonPath("$.adresse").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testPatchEmploye_WithUnchangedValues_ShouldKeepEtag() throws Exception {
+        String etag = etagOf(2L);
+
+        mockMvc.perform(patch("/api/employes/{id}", 2L)
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"prenom": "Sophie", "nom": "Dubois"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testPatchEmploye_WithInvalidBody_ShouldReturn400() throws Exception {
+        mockMvc.perform(patch("/api/employes/{id}", 2L)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 7}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Champ inconnu : id")));
+
+        mockMvc.perform(patch("/api/employes/{id}", 2L)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nom\": null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Le nom est obligatoire"));
+
+        mockMvc.perform(patch("/api/employes/{id}", 2L)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mail\": \"pas-un-mail\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"MAJ"})
+    public void testPatchEmploye_WithInvalidId_ShouldReturn404() throws Exception {
+        mockMvc.perform(patch("/api/employes/{id}", 999L)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nom\": \"Absent\"}"))
+                .andExpect(status().isNotFound());
+    }
+
     // ════════════════════════════════════════════════════════════════
     // Tests DELETE /api/employes/{id} (suppression)
     // ════════════════════════════════════════════════════════════════
@@ -511,10 +1565,12 @@ public class EmployeControllerIT {
 
         long id = Long.parseLong(createResponse.split("\"id\":")[1].split(",")[0].trim());
 
-        // Supprimer l'employé
+        // Supprimer l'employé : DELETE ... WHERE id = ? en SQL direct, sans SELECT préalable
+        long statements = SqlStatements.count(meterRegistry);
         mockMvc.perform(delete("/api/employes/{id}", id)
                         .with(csrf()))
                 .andExpect(status().isNoContent());
+        assertEquals(1, SqlStatements.count(meterRegistry) - statements);
 
         // Vérifier que l'employé n'existe plus
         mockMvc.perform(get("/api/employes/{id}", id)
@@ -525,10 +1581,13 @@ public class EmployeControllerIT {
     @Test
     @WithMockUser(username = "user", roles = {"MAJ"})
     public void testDeleteEmploye_WithInvalidId_ShouldReturn404() throws Exception {
+        long statements = SqlStatements.count(meterRegistry);
         mockMvc.perform(delete("/api/employes/{id}", 999L)
                         .with(csrf()))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").exists());
+        // Le 404 est déduit du nombre de lignes supprimées (0) : le DELETE seul, sans relecture
+        assertEquals(1, SqlStatements.count(meterRegistry) - statements);
     }
 
     @Test
@@ -538,4 +1597,20 @@ public class EmployeControllerIT {
                         .with(csrf()))
                 .andExpect(status().isForbidden());
     }
+
+    /**
+     * Crée deux employés de nom {@code nom} par POST /api/employes/batch et renvoie le corps de la réponse.
+     */
+    private String createBatch(String nom, String mail1, String mail2) throws Exception {
+        String batchJson = "[{\"prenom\": \"Alice\", \"nom\": \"" + nom + "\", \"mail\": \"" + mail1 + "@example.com\"},"
+                + "{\"prenom\": \"Bruno\", \"nom\": \"" + nom + "\", \"mail\": \"" + mail2 + "@example.com\"}]";
+        return mockMvc.perform(post("/api/employes/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchJson))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
 }
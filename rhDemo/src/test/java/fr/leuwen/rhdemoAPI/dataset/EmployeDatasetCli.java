@@ -0,0 +1,67 @@
+package fr.leuwen.rhdemoAPI.dataset;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Chargement d'un jeu de données synthétique en ligne de commande, dans une base dont le schéma existe déjà
+ * (pgschema.sql pour PostgreSQL) :
+ *
+ * <pre>
+ * ./mvnw test-compile org.codehaus.mojo:exec-maven-plugin:3.5.1:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=fr.leuwen.rhdemoAPI.dataset.EmployeDatasetCli \
+ *     -Dexec.args="--url=jdbc:postgresql://localhost:5432/dbrhdemo?reWriteBatchedInserts=true --user=dbrhdemo --password=... --rows=1000000 --truncate"
+ * </pre>
+ *
+ * Options : --url (obligatoire), --user, --password, --rows (100000), --first (0, premier indice), --seed (42),
+ * --skew (1.0), --threads (nombre de processeurs), --batch-size (1000), --truncate (vide la table avant).
+ */
+public final class EmployeDatasetCli {
+
+    private static final Set<String> OPTIONS = Set.of("url", "user", "password", "rows", "first", "seed", "skew",
+            "threads", "batch-size", "truncate");
+
+    private EmployeDatasetCli() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = parse(args);
+        if (!options.containsKey("url")) {
+            throw new IllegalArgumentException("Option --url obligatoire (URL JDBC de la base cible)");
+        }
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(options.get("url"),
+                options.getOrDefault("user", ""), options.getOrDefault("password", ""));
+        EmployeDatasetLoader loader = new EmployeDatasetLoader(dataSource,
+                Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Integer.parseInt(options.getOrDefault("batch-size", "1000")));
+        EmployeDatasetGenerator generator = new EmployeDatasetGenerator(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Double.parseDouble(options.getOrDefault("skew", "1.0")));
+
+        if (Boolean.parseBoolean(options.getOrDefault("truncate", "false"))) {
+            loader.truncate();
+        }
+        loader.load(generator, Long.parseLong(options.getOrDefault("first", "0")),
+                Long.parseLong(options.getOrDefault("rows", "100000")));
+    }
+
+    // --cle=valeur ; --truncate seul vaut --truncate=true
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Argument inattendu : " + arg);
+            }
+            String[] parts = arg.substring(2).split("=", 2);
+            if (!OPTIONS.contains(parts[0])) {
+                throw new IllegalArgumentException("Option inconnue : --" + parts[0] + " (options : " + OPTIONS + ")");
+            }
+            options.put(parts[0], parts.length == 2 ? parts[1] : "true");
+        }
+        return options;
+    }
+}
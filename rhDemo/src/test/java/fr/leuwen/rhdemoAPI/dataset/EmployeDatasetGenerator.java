@@ -0,0 +1,119 @@
+package fr.leuwen.rhdemoAPI.dataset;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Générateur d'employés synthétiques pour les tests de performance : prénoms, noms et villes français, mails
+ * uniques, adresses (5 % absentes).
+ *
+ * Déterministe : la ligne d'indice i ne dépend que de (seed, i), quel que soit l'ordre ou le thread de génération.
+ * Deux chargements de même graine et même plage d'indices produisent donc les mêmes employés (aux ids près).
+ *
+ * Asymétrie (skew) : prénoms, noms et villes sont tirés selon une loi de Zipf d'exposant skew, le k-ième élément de
+ * chaque liste (par fréquence décroissante) ayant un poids 1 / k^skew. 0 : tirage uniforme ; 1 : proche de la
+ * répartition réelle des noms de famille ; au-delà, quelques valeurs très fréquentes (filtres peu sélectifs).
+ */
+public class EmployeDatasetGenerator {
+
+    /**
+     * Employé généré, conforme aux contraintes de EmployeRequestDTO.
+     */
+    public record Row(String prenom, String nom, String mail, String adresse) {
+    }
+
+    // Listes par fréquence décroissante (noms de famille : ordre INSEE)
+    private static final String[] PRENOMS = {
+        "Marie", "Jean", "Pierre", "Michel", "Philippe", "Nathalie", "Isabelle", "Sylvie", "Catherine", "Alain",
+        "Nicolas", "Christophe", "Sophie", "Stéphane", "Laurent", "Julien", "Céline", "Sandrine", "Thomas", "David",
+        "Camille", "Léa", "Manon", "Chloé", "Emma", "Inès", "Lucas", "Hugo", "Louis", "Jules",
+        "Gabriel", "Arthur", "Raphaël", "Léo", "Anne", "Valérie", "Françoise", "Éric", "Frédéric", "Olivier",
+        "Aurélie", "Émilie", "Julie", "Antoine", "Maxime", "Mathilde", "Clément", "Élodie", "Jérôme", "Hélène"
+    };
+    private static final String[] NOMS = {
+        "Martin", "Bernard", "Thomas", "Petit", "Robert", "Richard", "Durand", "Dubois", "Moreau", "Laurent",
+        "Simon", "Michel", "Lefebvre", "Leroy", "Roux", "David", "Bertrand", "Morel", "Fournier", "Girard",
+        "Bonnet", "Dupont", "Lambert", "Fontaine", "Rousseau", "Vincent", "Muller", "Lefèvre", "Faure", "André",
+        "Mercier", "Blanc", "Guérin", "Boyer", "Garnier", "Chevalier", "François", "Legrand", "Gauthier", "Garcia",
+        "Perrin", "Robin", "Clément", "Morin", "Nicolas", "Henry", "Roussel", "Mathieu", "Gautier", "Masson"
+    };
+    private static final String[] VILLES = {
+        "75011 Paris", "13008 Marseille", "69003 Lyon", "31000 Toulouse", "06000 Nice", "44000 Nantes",
+        "34000 Montpellier", "67000 Strasbourg", "33000 Bordeaux", "59000 Lille", "35000 Rennes", "51100 Reims",
+        "83000 Toulon", "42000 Saint-Étienne", "76600 Le Havre", "38000 Grenoble", "21000 Dijon", "49000 Angers",
+        "30000 Nîmes", "63000 Clermont-Ferrand"
+    };
+    private static final String[] VOIES = {
+        "rue de la République", "rue Victor Hugo", "avenue Jean Jaurès", "boulevard Gambetta", "rue Pasteur",
+        "place de la Mairie", "rue du Général de Gaulle", "allée des Tilleuls", "chemin des Vignes", "impasse des Lilas",
+        "rue de la Gare", "avenue de la Libération", "rue Jules Ferry", "quai de la Loire", "rue Nationale"
+    };
+    private static final double ADRESSE_ABSENTE = 0.05;
+    private static final String DOMAINE = "@example.fr";
+
+    private final long seed;
+    private final double[] prenoms;
+    private final double[] noms;
+    private final double[] villes;
+
+    public EmployeDatasetGenerator(long seed, double skew) {
+        if (skew < 0 || Double.isNaN(skew)) {
+            throw new IllegalArgumentException("skew doit être positif ou nul : " + skew);
+        }
+        this.seed = seed;
+        this.prenoms = zipf(PRENOMS.length, skew);
+        this.noms = zipf(NOMS.length, skew);
+        this.villes = zipf(VILLES.length, skew);
+    }
+
+    /**
+     * Employé d'indice {@code index} ; le mail, qui contient l'indice, est unique pour une graine donnée.
+     */
+    public Row row(long index) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+        String prenom = PRENOMS[draw(prenoms, random)];
+        String nom = NOMS[draw(noms, random)];
+        String mail = ascii(prenom) + "." + ascii(nom) + "." + index + DOMAINE;
+        String adresse = random.nextDouble() < ADRESSE_ABSENTE ? null
+                : (1 + random.nextInt(200)) + " " + VOIES[random.nextInt(VOIES.length)] + ", " + VILLES[draw(villes, random)];
+        return new Row(prenom, nom, mail, adresse);
+    }
+
+    // Fonction de répartition de la loi de Zipf tronquée à n valeurs
+    private static double[] zipf(int n, double skew) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1 / Math.pow(k + 1, skew);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int draw(double[] cumulative, SplittableRandom random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Partie locale du mail : sans accents ni espaces
+    private static String ascii(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replace(' ', '-')
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,88 @@
+package fr.leuwen.rhdemoAPI.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import fr.leuwen.rhdemoAPI.dataset.EmployeDatasetGenerator.Row;
+import fr.leuwen.rhdemoAPI.dto.EmployeRequestDTO;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Tests unitaires du générateur de jeux de données : déterminisme, unicité des mails, asymétrie, contraintes.
+ */
+@DisplayName("EmployeDatasetGenerator")
+class EmployeDatasetGeneratorTest {
+
+    private static final int ROWS = 10_000;
+
+    // Part de la valeur la plus fréquente parmi les noms de ROWS employés
+    private static double topNomShare(EmployeDatasetGenerator generator) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (long i = 0; i < ROWS; i++) {
+            counts.merge(generator.row(i).nom(), 1, Integer::sum);
+        }
+        return counts.values().stream().mapToInt(Integer::intValue).max().orElseThrow() / (double) ROWS;
+    }
+
+    @Test
+    @DisplayName("Même graine : mêmes employés, quel que soit l'ordre de génération")
+    void row_SameSeed_ShouldBeDeterministic() {
+        EmployeDatasetGenerator generator = new EmployeDatasetGenerator(42, 1.0);
+        EmployeDatasetGenerator other = new EmployeDatasetGenerator(42, 1.0);
+
+        Row last = generator.row(ROWS - 1);
+        assertThat(LongStream.range(0, 100).mapToObj(generator::row))
+                .containsExactlyElementsOf(LongStream.range(0, 100).mapToObj(other::row).toList());
+        assertThat(other.row(ROWS - 1)).isEqualTo(last);
+        assertThat(new EmployeDatasetGenerator(43, 1.0).row(0)).isNotEqualTo(generator.row(0));
+    }
+
+    @Test
+    @DisplayName("Mails uniques, employés valides selon EmployeRequestDTO, environ 5 % sans adresse")
+    void rows_ShouldBeUniqueAndValid() {
+        EmployeDatasetGenerator generator = new EmployeDatasetGenerator(7, 1.0);
+        Set<String> mails = new HashSet<>();
+        int withoutAdresse = 0;
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            for (long i = 0; i < ROWS; i++) {
+                Row row = generator.row(i);
+                mails.add(row.mail());
+                if (row.adresse() == null) {
+                    withoutAdresse++;
+                }
+                assertThat(validator.validate(new EmployeRequestDTO(row.prenom(), row.nom(), row.mail(), row.adresse())))
+                        .as("employé %d : %s", i, row).isEmpty();
+            }
+        }
+
+        assertThat(mails).hasSize(ROWS);
+        assertThat(generator.row(3).mail()).matches("[a-z-]+\\.[a-z-]+\\.3@example\\.fr");
+        assertThat(withoutAdresse).isBetween(ROWS / 40, ROWS / 10);
+    }
+
+    @Test
+    @DisplayName("Asymétrie : tirage uniforme à 0, valeurs dominantes quand skew augmente")
+    void skew_ShouldConcentrateValues() {
+        double uniform = topNomShare(new EmployeDatasetGenerator(1, 0));
+        double zipf = topNomShare(new EmployeDatasetGenerator(1, 1.0));
+        double strong = topNomShare(new EmployeDatasetGenerator(1, 2.0));
+
+        // 50 noms : 2 % chacun en uniforme ; Zipf s=1 : 1 / H(50) ≈ 22 % ; s=2 : ≈ 62 %
+        assertThat(uniform).isLessThan(0.03);
+        assertThat(zipf).isBetween(0.18, 0.26);
+        assertThat(strong).isBetween(0.57, 0.67);
+        assertThatThrownBy(() -> new EmployeDatasetGenerator(1, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,177 @@
+package fr.leuwen.rhdemoAPI.dataset;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.leuwen.rhdemoAPI.model.Employe;
+
+/**
+ * Chargement en base (H2 ou PostgreSQL) des employés d'un EmployeDatasetGenerator : INSERT en batch JDBC sur
+ * plusieurs threads, une transaction par tranche de lignes.
+ *
+ * Les ids viennent de employes_id_seq, comme pour l'import CSV (EmployeImportStaging) : chaque tranche réserve
+ * un bloc de Employe.ID_ALLOCATION_SIZE ids par appel à la séquence (la valeur v couvre v - 49 à v, comme
+ * l'optimiseur "pooled" de Hibernate), sans conflit avec les ids pré-alloués par Hibernate.
+ * Sur PostgreSQL, ajouter reWriteBatchedInserts=true à l'URL JDBC regroupe chaque batch en INSERT multi-lignes.
+ */
+public class EmployeDatasetLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeDatasetLoader.class);
+
+    // Lignes par transaction : batchSize × BATCHES_PER_CHUNK
+    private static final int BATCHES_PER_CHUNK = 10;
+
+    private final DataSource dataSource;
+    private final int threads;
+    private final int batchSize;
+
+    public EmployeDatasetLoader(DataSource dataSource, int threads, int batchSize) {
+        if (threads < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("threads et batchSize doivent être positifs : " + threads + ", " + batchSize);
+        }
+        this.dataSource = dataSource;
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Insère les employés d'indices {@code first} à {@code first + rows - 1} ; une plage distincte par chargement
+     * permet d'ajouter des employés à un jeu existant sans conflit de mail.
+     *
+     * @return nombre d'employés insérés
+     */
+    public long load(EmployeDatasetGenerator generator, long first, long rows) {
+        boolean postgres = isPostgres();
+        String sql = "INSERT INTO employes (id, prenom, nom, mail, adresse, version) VALUES (?, ?, ?, ?, ?, 0)";
+        String blocksSql = postgres
+                ? "SELECT nextval('employes_id_seq') FROM generate_series(1, ?)"
+                : "SELECT NEXT VALUE FOR employes_id_seq FROM SYSTEM_RANGE(1, ?)";
+        long chunk = (long) batchSize * BATCHES_PER_CHUNK;
+        AtomicLong inserted = new AtomicLong();
+        long step = Math.max(rows / 10, 1);
+        long start = System.nanoTime();
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (long from = first; from < first + rows; from += chunk) {
+                long to = Math.min(from + chunk, first + rows);
+                long chunkFrom = from;
+                futures.add(executor.submit(() -> {
+                    insert(sql, blocksSql, generator, chunkFrom, to);
+                    long total = inserted.addAndGet(to - chunkFrom);
+                    if (total / step != (total - (to - chunkFrom)) / step) {
+                        log.info("{} / {} employés insérés", total, rows);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec du chargement des employés générés", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Chargement des employés générés interrompu", e);
+        }
+
+        if (postgres) {
+            // Statistiques du planificateur à jour avant les mesures
+            execute("ANALYZE employes");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("{} employés insérés en {} s ({} lignes/s, {} threads)", inserted.get(), Math.round(seconds),
+                Math.round(inserted.get() / Math.max(seconds, 1e-3)), threads);
+        return inserted.get();
+    }
+
+    /**
+     * Supprime tous les employés (jeu de données remplacé).
+     */
+    public void truncate() {
+        execute("TRUNCATE TABLE employes");
+    }
+
+    private void insert(String sql, String blocksSql, EmployeDatasetGenerator generator, long from, long to) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                long[] ids = reserveIds(connection, blocksSql, (int) (to - from));
+                for (long index = from; index < to; index++) {
+                    EmployeDatasetGenerator.Row row = generator.row(index);
+                    statement.setLong(1, ids[(int) (index - from)]);
+                    statement.setString(2, row.prenom());
+                    statement.setString(3, row.nom());
+                    statement.setString(4, row.mail());
+                    statement.setString(5, row.adresse());
+                    statement.addBatch();
+                    if ((index - from + 1) % batchSize == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Ids de {@code count} lignes : ceil(count / 50) appels à la séquence au lieu d'un par ligne.
+     */
+    private static long[] reserveIds(Connection connection, String blocksSql, int count) throws SQLException {
+        long[] ids = new long[count];
+        int filled = 0;
+        try (PreparedStatement statement = connection.prepareStatement(blocksSql)) {
+            while (filled < count) {
+                statement.setLong(1, (count - filled + Employe.ID_ALLOCATION_SIZE - 1) / Employe.ID_ALLOCATION_SIZE);
+                try (ResultSet blocks = statement.executeQuery()) {
+                    while (blocks.next()) {
+                        long hi = blocks.getLong(1);
+                        // Première valeur d'une séquence neuve (1) : ids négatifs, bloc écarté comme par Hibernate
+                        for (long id = hi - Employe.ID_ALLOCATION_SIZE + 1; id <= hi && id > 0 && filled < count; id++) {
+                            ids[filled++] = id;
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void execute(String sql) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Échec de " + sql, e);
+        }
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Base de données inaccessible", e);
+        }
+    }
+}
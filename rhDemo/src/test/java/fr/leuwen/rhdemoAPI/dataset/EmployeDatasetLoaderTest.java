@@ -0,0 +1,102 @@
+package fr.leuwen.rhdemoAPI.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Tests unitaires du chargement des jeux de données sur une base H2 en mémoire dédiée (table et séquence comme
+ * celles créées par Hibernate).
+ */
+@DisplayName("EmployeDatasetLoader")
+class EmployeDatasetLoaderTest {
+
+    private static final String URL = "jdbc:h2:mem:dataset;DB_CLOSE_DELAY=-1";
+    private static final String CONTENT = "SELECT prenom, nom, mail, adresse FROM employes ORDER BY mail";
+
+    private final JdbcDataSource dataSource = new JdbcDataSource();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource.setURL(URL);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SEQUENCE employes_id_seq START WITH 1 INCREMENT BY 50");
+            statement.execute("""
+                    CREATE TABLE employes (id BIGINT PRIMARY KEY, prenom VARCHAR(50) NOT NULL, nom VARCHAR(50) NOT NULL,
+                    mail VARCHAR(100) NOT NULL UNIQUE, adresse VARCHAR(200), version BIGINT NOT NULL)""");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE employes");
+            statement.execute("DROP SEQUENCE employes_id_seq");
+        }
+    }
+
+    @Test
+    @DisplayName("Chargement multi-thread : mêmes employés qu'en un seul thread, ids tirés de la séquence")
+    void load_MultiThreaded_ShouldMatchSingleThreaded() {
+        EmployeDatasetGenerator generator = new EmployeDatasetGenerator(42, 1.0);
+        EmployeDatasetLoader single = new EmployeDatasetLoader(dataSource, 1, 100);
+        EmployeDatasetLoader parallel = new EmployeDatasetLoader(dataSource, 4, 100);
+
+        assertThat(single.load(generator, 0, 5_000)).isEqualTo(5_000);
+        List<?> expected = jdbcTemplate.queryForList(CONTENT);
+        single.truncate();
+        assertThat(parallel.load(generator, 0, 5_000)).isEqualTo(5_000);
+
+        assertThat(jdbcTemplate.queryForList(CONTENT)).isEqualTo(expected);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(DISTINCT id) FROM employes", Long.class)).isEqualTo(5_000);
+        assertThat(jdbcTemplate.queryForObject("SELECT min(version) + max(version) FROM employes", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Ids réservés par blocs de 50 : une tranche occupe des ids contigus")
+    void load_ShouldNumberRowsInSequenceBlocks() {
+        EmployeDatasetLoader loader = new EmployeDatasetLoader(dataSource, 1, 100);
+
+        loader.load(new EmployeDatasetGenerator(42, 1.0), 0, 1_000);
+
+        // Séquence neuve : le bloc de la valeur 1 est écarté, puis 20 blocs (2 à 1001)
+        assertThat(jdbcTemplate.queryForObject("SELECT min(id) FROM employes", Long.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT max(id) FROM employes", Long.class)).isEqualTo(1_001);
+    }
+
+    @Test
+    @DisplayName("Plages d'indices successives : ajout sans conflit de mail")
+    void load_NextRange_ShouldAppend() {
+        EmployeDatasetGenerator generator = new EmployeDatasetGenerator(42, 1.0);
+        EmployeDatasetLoader loader = new EmployeDatasetLoader(dataSource, 2, 100);
+
+        loader.load(generator, 0, 1_000);
+        loader.load(generator, 1_000, 500);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM employes", Long.class)).isEqualTo(1_500);
+    }
+
+    @Test
+    @DisplayName("Ligne de commande : table vidée puis chargée")
+    void cli_ShouldTruncateAndLoad() {
+        jdbcTemplate.update("INSERT INTO employes VALUES (1, 'Ancien', 'Employe', 'ancien@example.com', NULL, 0)");
+
+        EmployeDatasetCli.main(new String[] { "--url=" + URL, "--user=", "--rows=300", "--seed=7", "--threads=2",
+                "--batch-size=50", "--truncate" });
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM employes", Long.class)).isEqualTo(300);
+        assertThat(jdbcTemplate.queryForObject("SELECT mail FROM employes WHERE mail LIKE '%.0@example.fr'", String.class))
+                .isEqualTo(new EmployeDatasetGenerator(7, 1.0).row(0).mail());
+    }
+}
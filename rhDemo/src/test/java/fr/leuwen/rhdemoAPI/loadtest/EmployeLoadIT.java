@@ -0,0 +1,116 @@
+package fr.leuwen.rhdemoAPI.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import fr.leuwen.rhdemoAPI.config.TestDataLoader;
+import fr.leuwen.rhdemoAPI.model.Employe;
+import fr.leuwen.rhdemoAPI.repository.EmployeRepository;
+
+/**
+ * Test de charge de l'API REST (LoadTestHarness), hors build par défaut : exécuté seulement avec -Dloadtest=true.
+ *
+ * Application complète sur un port aléatoire, profil test (TestSecurityConfig en HTTP Basic, H2 dédiée,
+ * TestDataLoader augmenté de loadtest.rows employés, 10 000 par défaut), sans Keycloak ni PostgreSQL.
+ * Résultat dans target/loadtest (result.json, distributions .hgrm) ; échec si une régression est constatée par
+ * rapport à la référence loadtest.baseline, quand elle existe.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.yml", properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "fr.leuwen.rhdemoAPI.test.extra-employes=${loadtest.rows:10000}",
+        // Une ligne de log INFO par création / modification / suppression fausserait la mesure
+        "logging.level.fr.leuwen.rhdemoAPI.controller=WARN"
+})
+@ActiveProfiles("test")
+@Import(TestDataLoader.class)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class EmployeLoadIT {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeLoadIT.class);
+
+    private static final String USERNAME = "charge";
+    private static final String PASSWORD = "charge";
+    private static final Path OUTPUT = Path.of("target", "loadtest");
+
+    /**
+     * Utilisateur HTTP Basic ; mot de passe {noop} : un hachage BCrypt par requête dominerait les latences.
+     * Simple UserDetailsService et non InMemoryUserDetailsManager : ce dernier est un UserDetailsPasswordService,
+     * Spring Security réencoderait le mot de passe en BCrypt dès la première authentification.
+     */
+    @TestConfiguration
+    static class LoadTestUsers {
+
+        @Bean
+        UserDetailsService loadTestUserDetailsService() {
+            UserDetails user = User.withUsername(USERNAME)
+                    .password("{noop}" + PASSWORD)
+                    .roles("consult", "MAJ")
+                    .build();
+            return username -> {
+                if (!USERNAME.equals(username)) {
+                    throw new UsernameNotFoundException(username);
+                }
+                // Copie : les identifiants de l'objet rendu sont effacés après authentification
+                return User.withUserDetails(user).build();
+            };
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeRepository employeRepository;
+
+    @Test
+    void loadTest_ShouldNotRegressAgainstBaseline() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<Long> ids = StreamSupport.stream(employeRepository.findAll().spliterator(), false)
+                .map(Employe::getId).toList();
+
+        LoadTestHarness harness = new LoadTestHarness(URI.create("http://localhost:" + port), settings, ids,
+                USERNAME, PASSWORD);
+        LoadTestReport report = harness.run();
+        log.info("Test de charge :\n{}", report.table());
+        report.write(OUTPUT.resolve("result.json"));
+        harness.writeDistributions(OUTPUT);
+
+        if (settings.updateBaseline()) {
+            report.write(settings.baseline());
+            log.info("Référence mise à jour : {}", settings.baseline());
+        } else if (Files.exists(settings.baseline())) {
+            assertThat(report.regressions(LoadTestReport.read(settings.baseline()), settings.tolerance()))
+                    .as("Régressions par rapport à %s (tolérance %s)", settings.baseline(), settings.tolerance())
+                    .isEmpty();
+        } else {
+            log.warn("Pas de référence {} : résultat non comparé (-Dloadtest.update-baseline=true pour la créer)",
+                    settings.baseline());
+        }
+        assertThat(report.scenarios().get(LoadTestReport.ALL).count()).isPositive();
+    }
+}
@@ -0,0 +1,31 @@
+package fr.leuwen.rhdemoAPI.loadtest;
+
+/**
+ * Scénarios rejoués par LoadTestHarness, avec leur poids par défaut (part des requêtes, sur 100).
+ * Les écritures s'équilibrent : UPDATE et DELETE portent sur les employés créés par CREATE.
+ */
+public enum LoadScenario {
+
+    /** GET /api/employes/page : page au hasard, tri au hasard */
+    LIST(40),
+    /** GET /api/employes/page?filterNom= : début de nom */
+    SEARCH(20),
+    /** GET /api/employes/{id} : employé au hasard */
+    DETAIL(25),
+    /** POST /api/employes */
+    CREATE(5),
+    /** PUT /api/employes/{id} */
+    UPDATE(5),
+    /** DELETE /api/employes/{id} */
+    DELETE(5);
+
+    private final int defaultWeight;
+
+    LoadScenario(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public int defaultWeight() {
+        return defaultWeight;
+    }
+}
@@ -0,0 +1,246 @@
+package fr.leuwen.rhdemoAPI.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Générateur de charge HTTP sur l'API REST : HttpClient du JDK, un thread virtuel par utilisateur.
+ *
+ * Modèle fermé : chaque utilisateur enchaîne les requêtes sans temps de réflexion, en tirant un scénario selon
+ * les poids de LoadTestSettings. Les latences (envoi jusqu'à la lecture complète du corps) sont enregistrées en
+ * microsecondes dans un histogramme HdrHistogram par scénario, après la chauffe. En modèle fermé, une requête
+ * lente retarde les suivantes du même utilisateur : les percentiles sont ceux vus par les utilisateurs, pas ceux
+ * d'un débit d'arrivée constant.
+ *
+ * Authentification HTTP Basic ; CSRF par double soumission (même jeton en cookie XSRF-TOKEN et en en-tête
+ * X-XSRF-TOKEN), comme le fait le frontend avec le cookie reçu.
+ */
+public class LoadTestHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestHarness.class);
+
+    private static final long HIGHEST_LATENCY_MICROS = Duration.ofMinutes(1).toNanos() / 1000;
+    private static final int PAGE_SIZE = 20;
+    private static final String[] SORTS = { "", "&sort=nom", "&sort=prenom&order=DESC", "&sort=mail" };
+    // Débuts de noms de EmployeDatasetGenerator, du plus sélectif (Dub) au moins sélectif (Le, Mar)
+    private static final String[] NOM_PREFIXES = { "Mar", "Ber", "Dub", "Tho", "Pet", "Rob", "Mor", "Gar", "Le", "Dur" };
+
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final List<Long> ids;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final String authorization;
+    private final String csrfToken = UUID.randomUUID().toString();
+    private final LoadScenario[] draw;
+
+    private final Map<LoadScenario, Histogram> latencies = new EnumMap<>(LoadScenario.class);
+    private final Map<LoadScenario, LongAdder> errors = new EnumMap<>(LoadScenario.class);
+    private final ConcurrentLinkedQueue<Long> created = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean measuring;
+
+    /**
+     * @param ids identifiants des employés existants (DETAIL), les pages LIST sont tirées parmi celles qu'ils remplissent
+     * @param username utilisateur HTTP Basic, rôles consult et MAJ
+     */
+    public LoadTestHarness(URI baseUri, LoadTestSettings settings, List<Long> ids, String username, String password) {
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.ids = List.copyOf(ids);
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        List<LoadScenario> scenarios = new ArrayList<>();
+        settings.weights().forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                scenarios.add(scenario);
+            }
+        });
+        this.draw = scenarios.toArray(LoadScenario[]::new);
+        for (LoadScenario scenario : LoadScenario.values()) {
+            latencies.put(scenario, new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3));
+            errors.put(scenario, new LongAdder());
+        }
+    }
+
+    /**
+     * Chauffe puis mesure ; rend la main quand tous les utilisateurs ont terminé leur dernière requête.
+     */
+    public LoadTestReport run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureStart = start + settings.warmup().toNanos();
+        long end = measureStart + settings.duration().toNanos();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.users(); i++) {
+                users.submit(() -> user(end));
+            }
+            Thread.sleep(settings.warmup());
+            measuring = true;
+            log.info("Chauffe terminée, mesure pendant {}", settings.duration());
+        }
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+        return report(seconds);
+    }
+
+    private void user(long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            LoadScenario scenario = draw[random.nextInt(draw.length)];
+            long t0 = System.nanoTime();
+            boolean success;
+            try {
+                success = execute(scenario, random);
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long micros = (System.nanoTime() - t0) / 1000;
+            if (measuring) {
+                latencies.get(scenario).recordValue(Math.min(micros, HIGHEST_LATENCY_MICROS));
+                if (!success) {
+                    errors.get(scenario).increment();
+                }
+            }
+        }
+    }
+
+    private boolean execute(LoadScenario scenario, ThreadLocalRandom random) throws IOException, InterruptedException {
+        return switch (scenario) {
+            case LIST -> get("/api/employes/page?page=" + random.nextInt(Math.max(1, ids.size() / PAGE_SIZE))
+                    + "&size=" + PAGE_SIZE + SORTS[random.nextInt(SORTS.length)]).statusCode() == 200;
+            case SEARCH -> get("/api/employes/page?filterNom=" + NOM_PREFIXES[random.nextInt(NOM_PREFIXES.length)]
+                    + "&size=" + PAGE_SIZE).statusCode() == 200;
+            case DETAIL -> get("/api/employes/" + ids.get(random.nextInt(ids.size()))).statusCode() == 200;
+            case CREATE -> create();
+            case UPDATE -> update();
+            case DELETE -> delete();
+        };
+    }
+
+    private boolean create() throws IOException, InterruptedException {
+        long n = sequence.incrementAndGet();
+        HttpResponse<String> response = send(request("/api/employes")
+                .POST(BodyPublishers.ofString(body("Charge", n))));
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        created.add(objectMapper.readTree(response.body()).get("id").asLong());
+        return true;
+    }
+
+    // Sans employé créé disponible, UPDATE et DELETE créent à la place (la requête reste comptée sous leur nom)
+    private boolean update() throws IOException, InterruptedException {
+        Long id = created.poll();
+        if (id == null) {
+            return create();
+        }
+        HttpResponse<String> response = send(request("/api/employes/" + id)
+                .PUT(BodyPublishers.ofString(body("Modifie", sequence.incrementAndGet()))));
+        created.add(id);
+        return response.statusCode() == 200;
+    }
+
+    private boolean delete() throws IOException, InterruptedException {
+        Long id = created.poll();
+        if (id == null) {
+            return create();
+        }
+        return send(request("/api/employes/" + id).DELETE()).statusCode() == 204;
+    }
+
+    private String body(String nom, long n) {
+        JsonNode body = objectMapper.createObjectNode()
+                .put("prenom", "Test")
+                .put("nom", nom)
+                .put("mail", "charge-" + csrfToken + "-" + n + "@example.com")
+                .put("adresse", n + " Avenue de la Charge, Lyon");
+        return body.toString();
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send(request(path).GET());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .header("Cookie", "XSRF-TOKEN=" + csrfToken)
+                .header("X-XSRF-TOKEN", csrfToken);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), BodyHandlers.ofString());
+    }
+
+    private LoadTestReport report(double seconds) {
+        Map<String, LoadTestReport.ScenarioStats> stats = new LinkedHashMap<>();
+        Histogram all = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        long allErrors = 0;
+        for (LoadScenario scenario : LoadScenario.values()) {
+            if (settings.weights().get(scenario) > 0) {
+                Histogram histogram = latencies.get(scenario);
+                long scenarioErrors = errors.get(scenario).sum();
+                stats.put(scenario.name(), LoadTestReport.ScenarioStats.of(histogram, scenarioErrors, seconds));
+                all.add(histogram);
+                allErrors += scenarioErrors;
+            }
+        }
+        stats.put(LoadTestReport.ALL, LoadTestReport.ScenarioStats.of(all, allErrors, seconds));
+        return new LoadTestReport(settings.users(), ids.size(), seconds, stats);
+    }
+
+    /**
+     * Distribution complète de chaque scénario (format .hgrm de HdrHistogram, en millisecondes) : lisible
+     * telle quelle ou tracée avec HistogramLogAnalyzer / le traceur en ligne de HdrHistogram.
+     */
+    public void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (LoadScenario scenario : LoadScenario.values()) {
+            Histogram histogram = latencies.get(scenario);
+            if (histogram.getTotalCount() > 0) {
+                try (PrintStream out = new PrintStream(
+                        Files.newOutputStream(directory.resolve(scenario.name() + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                    histogram.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+    }
+}
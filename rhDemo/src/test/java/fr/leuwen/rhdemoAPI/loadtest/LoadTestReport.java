@@ -0,0 +1,101 @@
+package fr.leuwen.rhdemoAPI.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Résultat d'un test de charge : débit, erreurs et percentiles de latence par scénario, et pour l'ensemble (ALL).
+ * Sérialisé en JSON pour servir de référence (baseline) au test suivant.
+ */
+public record LoadTestReport(int users, long rows, double durationSeconds, Map<String, ScenarioStats> scenarios) {
+
+    public static final String ALL = "ALL";
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build();
+
+    /**
+     * Statistiques d'un scénario ; latences en millisecondes, débit en requêtes par seconde.
+     * Erreurs : statut hors 2xx (dont 429 / 503 du contrôle d'admission) ou échec d'envoi.
+     */
+    public record ScenarioStats(long count, long errors, double throughput, double p50Ms, double p90Ms, double p99Ms,
+            double p999Ms, double maxMs) {
+
+        /**
+         * @param histogram latences en microsecondes
+         */
+        static ScenarioStats of(Histogram histogram, long errors, double durationSeconds) {
+            long count = histogram.getTotalCount();
+            return new ScenarioStats(count, errors, durationSeconds > 0 ? count / durationSeconds : 0,
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    /**
+     * Régressions par rapport à la référence, au-delà de la tolérance (0.2 = 20 %) :
+     * p99 plus élevé, débit plus faible, ou taux d'erreur en hausse de plus d'un point.
+     * Les scénarios absents de l'un des deux rapports sont ignorés.
+     */
+    public List<String> regressions(LoadTestReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        scenarios.forEach((name, current) -> {
+            ScenarioStats reference = baseline.scenarios().get(name);
+            if (reference == null || reference.count() == 0 || current.count() == 0) {
+                return;
+            }
+            if (current.p99Ms() > reference.p99Ms() * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s : p99 %.2f ms au lieu de %.2f ms",
+                        name, current.p99Ms(), reference.p99Ms()));
+            }
+            if (current.throughput() < reference.throughput() * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s : débit %.1f req/s au lieu de %.1f req/s",
+                        name, current.throughput(), reference.throughput()));
+            }
+            if (current.errorRate() > reference.errorRate() + 0.01) {
+                regressions.add(String.format(Locale.ROOT, "%s : %.1f %% d'erreurs au lieu de %.1f %%",
+                        name, current.errorRate() * 100, reference.errorRate() * 100));
+            }
+        });
+        return regressions;
+    }
+
+    /**
+     * Tableau lisible dans les logs du test.
+     */
+    public String table() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%d utilisateurs, %d employés, %.0f s mesurées%n%-8s %8s %7s %9s %8s %8s %8s %8s %8s%n",
+                users, rows, durationSeconds, "", "requêtes", "erreurs", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        scenarios.forEach((name, stats) -> table.append(String.format(Locale.ROOT,
+                "%-8s %8d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n", name, stats.count(), stats.errors(),
+                stats.throughput(), stats.p50Ms(), stats.p90Ms(), stats.p99Ms(), stats.p999Ms(), stats.maxMs())));
+        return table.toString();
+    }
+
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    public static LoadTestReport read(Path path) {
+        return MAPPER.readValue(path.toFile(), LoadTestReport.class);
+    }
+}
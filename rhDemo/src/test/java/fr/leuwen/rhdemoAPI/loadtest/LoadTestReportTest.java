@@ -0,0 +1,99 @@
+package fr.leuwen.rhdemoAPI.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import fr.leuwen.rhdemoAPI.loadtest.LoadTestReport.ScenarioStats;
+
+/**
+ * Tests unitaires du rapport de test de charge (percentiles, comparaison à la référence, JSON) et des poids.
+ */
+@DisplayName("LoadTestReport")
+class LoadTestReportTest {
+
+    private static LoadTestReport report(ScenarioStats list, ScenarioStats detail) {
+        Map<String, ScenarioStats> scenarios = new LinkedHashMap<>();
+        scenarios.put("LIST", list);
+        scenarios.put("DETAIL", detail);
+        return new LoadTestReport(16, 10_004, 30, scenarios);
+    }
+
+    private static ScenarioStats stats(long count, long errors, double throughput, double p99Ms) {
+        return new ScenarioStats(count, errors, throughput, p99Ms / 4, p99Ms / 2, p99Ms, p99Ms * 2, p99Ms * 3);
+    }
+
+    @Test
+    @DisplayName("Percentiles en millisecondes et débit calculés depuis l'histogramme en microsecondes")
+    void of_ShouldConvertHistogram() {
+        Histogram histogram = new Histogram(60_000_000, 3);
+        for (int i = 1; i <= 100; i++) {
+            histogram.recordValue(i * 1000L);
+        }
+
+        ScenarioStats stats = ScenarioStats.of(histogram, 2, 10);
+
+        assertThat(stats.count()).isEqualTo(100);
+        assertThat(stats.errors()).isEqualTo(2);
+        assertThat(stats.throughput()).isEqualTo(10);
+        assertThat(stats.p50Ms()).isCloseTo(50, offset(0.1));
+        assertThat(stats.p99Ms()).isCloseTo(99, offset(0.1));
+        assertThat(stats.maxMs()).isCloseTo(100, offset(0.1));
+    }
+
+    @Test
+    @DisplayName("Régressions au-delà de la tolérance : p99, débit et taux d'erreur")
+    void regressions_BeyondTolerance_ShouldBeListed() {
+        LoadTestReport baseline = report(stats(1000, 0, 100, 10), stats(1000, 0, 100, 10));
+        LoadTestReport current = report(stats(1000, 0, 85, 11.9), stats(1000, 50, 70, 12.5));
+
+        assertThat(current.regressions(baseline, 0.2))
+                .containsExactly(
+                        "DETAIL : p99 12.50 ms au lieu de 10.00 ms",
+                        "DETAIL : débit 70.0 req/s au lieu de 100.0 req/s",
+                        "DETAIL : 5.0 % d'erreurs au lieu de 0.0 %");
+        assertThat(baseline.regressions(baseline, 0.2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Scénario absent de la référence ou sans requête : ignoré")
+    void regressions_MissingScenario_ShouldBeIgnored() {
+        LoadTestReport baseline = new LoadTestReport(16, 4, 30, Map.of("LIST", stats(1000, 0, 100, 10)));
+        LoadTestReport current = report(stats(0, 0, 0, 0), stats(1000, 0, 1, 500));
+
+        assertThat(current.regressions(baseline, 0.2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Écriture puis relecture JSON de la référence")
+    void writeRead_ShouldRoundTrip(@TempDir Path directory) throws Exception {
+        LoadTestReport report = report(stats(1000, 1, 100, 10), stats(500, 0, 50, 5));
+        Path path = directory.resolve("baseline/baseline.json");
+
+        report.write(path);
+
+        assertThat(LoadTestReport.read(path)).isEqualTo(report);
+    }
+
+    @Test
+    @DisplayName("Poids par défaut remplacés par la liste SCENARIO=poids")
+    void weights_ShouldOverrideDefaults() {
+        Map<LoadScenario, Integer> weights = LoadTestSettings.weights("list=10, DELETE=0");
+
+        assertThat(weights).containsEntry(LoadScenario.LIST, 10)
+                .containsEntry(LoadScenario.DELETE, 0)
+                .containsEntry(LoadScenario.DETAIL, LoadScenario.DETAIL.defaultWeight());
+        assertThat(LoadTestSettings.weights("")).hasSize(LoadScenario.values().length);
+        assertThatThrownBy(() -> LoadTestSettings.weights("LIST"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package fr.leuwen.rhdemoAPI.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Paramètres du test de charge, lus dans les propriétés système (-Dloadtest.xxx sur la ligne de commande Maven) :
+ *
+ * - loadtest.users : utilisateurs simultanés, un thread virtuel chacun (16) ;
+ * - loadtest.warmup / loadtest.duration : chauffe non mesurée puis mesure (10s / 30s) ;
+ * - loadtest.weights : poids des scénarios, "LIST=40,SEARCH=20" (poids par défaut de LoadScenario pour les autres) ;
+ * - loadtest.baseline : référence à comparer (src/test/loadtest/baseline.json) ;
+ * - loadtest.tolerance : dégradation tolérée par rapport à la référence (0.2, soit 20 %) ;
+ * - loadtest.update-baseline : remplace la référence par le résultat (false).
+ */
+public record LoadTestSettings(int users, Duration warmup, Duration duration, Map<LoadScenario, Integer> weights,
+        Path baseline, double tolerance, boolean updateBaseline) {
+
+    public LoadTestSettings {
+        if (users < 1) {
+            throw new IllegalArgumentException("loadtest.users doit être positif : " + users);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Au moins un scénario doit avoir un poids positif : " + weights);
+        }
+        weights = Map.copyOf(weights);
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 16),
+                Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s")),
+                Duration.parse("PT" + System.getProperty("loadtest.duration", "30s")),
+                weights(System.getProperty("loadtest.weights", "")),
+                Path.of(System.getProperty("loadtest.baseline", "src/test/loadtest/baseline.json")),
+                Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2")),
+                Boolean.getBoolean("loadtest.update-baseline"));
+    }
+
+    /**
+     * Poids par défaut de chaque scénario, remplacés par ceux de la liste "SCENARIO=poids,..." (0 désactive).
+     */
+    static Map<LoadScenario, Integer> weights(String overrides) {
+        Map<LoadScenario, Integer> weights = new EnumMap<>(LoadScenario.class);
+        for (LoadScenario scenario : LoadScenario.values()) {
+            weights.put(scenario, scenario.defaultWeight());
+        }
+        for (String entry : overrides.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Poids invalide (attendu SCENARIO=poids) : " + entry);
+            }
+            weights.put(LoadScenario.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
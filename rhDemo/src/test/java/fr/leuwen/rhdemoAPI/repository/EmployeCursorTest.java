@@ -0,0 +1,101 @@
+package fr.leuwen.rhdemoAPI.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import fr.leuwen.rhdemoAPI.model.Employe;
+
+/**
+ * Tests unitaires pour EmployeCursor.
+ * Vérifie l'aller-retour du jeton opaque et le tri dérivé (champ + id).
+ */
+public class EmployeCursorTest {
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests encode() / decode()
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testEncodeDecode_ShouldRoundTrip() {
+        EmployeCursor cursor = new EmployeCursor("nom", Sort.Direction.DESC, "Martin", 42L);
+
+        EmployeCursor decoded = EmployeCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    public void testEncodeDecode_WithSeparatorInValue_ShouldRoundTrip() {
+        EmployeCursor cursor = new EmployeCursor("adresse", Sort.Direction.ASC, "12:30 Rue : de la Paix", 7L);
+
+        assertEquals(cursor, EmployeCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    public void testEncodeDecode_WithNullValue_ShouldKeepNullDistinctFromEmpty() {
+        EmployeCursor nullValue = new EmployeCursor("adresse", Sort.Direction.ASC, null, 3L);
+        EmployeCursor emptyValue = new EmployeCursor("adresse", Sort.Direction.ASC, "", 3L);
+
+        assertNull(EmployeCursor.decode(nullValue.encode()).lastValue());
+        assertEquals("", EmployeCursor.decode(emptyValue.encode()).lastValue());
+    }
+
+    @Test
+    public void testEncode_ShouldBeUrlSafe() {
+        EmployeCursor cursor = new EmployeCursor("adresse", Sort.Direction.ASC, "é/+?&=", 1L);
+
+        assertTrue(cursor.encode().matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    public void testDecode_WithGarbage_ShouldThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> EmployeCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> EmployeCursor.decode("bm9t"));
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests next(Employe) / toSort()
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testNext_ShouldCaptureSortValueAndId() {
+        Employe employe = new Employe();
+        employe.setId(5L);
+        employe.setPrenom("Sophie");
+        employe.setNom("Dubois");
+        employe.setMail("sophie.dubois@example.com");
+
+        EmployeCursor next = EmployeCursor.start("prenom", Sort.Direction.ASC).next(employe);
+
+        assertEquals("Sophie", next.lastValue());
+        assertEquals(5L, next.lastId());
+        assertFalse(next.isStart());
+    }
+
+    @Test
+    public void testToSort_ShouldAddIdTieBreaker() {
+        Sort sort = EmployeCursor.start("nom", Sort.Direction.DESC).toSort();
+
+        assertEquals(Sort.Direction.DESC, sort.getOrderFor("nom").getDirection());
+        assertEquals(Sort.NullHandling.NATIVE, sort.getOrderFor("nom").getNullHandling());
+        assertEquals(Sort.Direction.DESC, sort.getOrderFor("id").getDirection());
+    }
+
+    @Test
+    public void testToSort_OnAdresse_ShouldPutNullsAsSmallestValue() {
+        assertEquals(Sort.NullHandling.NULLS_FIRST,
+                EmployeCursor.start("adresse", Sort.Direction.ASC).toSort().getOrderFor("adresse").getNullHandling());
+        assertEquals(Sort.NullHandling.NULLS_LAST,
+                EmployeCursor.start("adresse", Sort.Direction.DESC).toSort().getOrderFor("adresse").getNullHandling());
+    }
+
+    @Test
+    public void testToSort_WithoutSortField_ShouldSortById() {
+        Sort sort = EmployeCursor.start(EmployeCursor.SORT_ID, Sort.Direction.ASC).toSort();
+
+        assertEquals(1, sort.toList().size());
+        assertNotNull(sort.getOrderFor("id"));
+    }
+}
@@ -0,0 +1,149 @@
+package fr.leuwen.rhdemoAPI.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import fr.leuwen.rhdemoAPI.dto.EmployeResponseDTO;
+import fr.leuwen.rhdemoAPI.model.Employe;
+
+/**
+ * Tests d'intégration pour EmployeRepositoryCustomImpl sur H2 (@DataJpaTest).
+ * Projection DTO comparée au chemin entité ; les requêtes propres à PostgreSQL doivent renvoyer "vide"
+ * pour que le service se replie sur la requête portable.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class EmployeRepositoryCustomIT {
+
+    @Autowired
+    private EmployeRepository employeRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @BeforeEach
+    void setUp() {
+        employeRepository.deleteAll();
+        saveEmploye("Laurent", "Martin", "laurent.martin@example.com", "1 Rue de la Paix, Paris");
+        saveEmploye("Sophie", "Dubois", "sophie.dubois@example.com", "2 Avenue des Champs, Lyon");
+        saveEmploye("Pierre", "Bernard", "pierre.bernard@example.com", null);
+        saveEmploye("Marie", "Durand", "marie.durand@example.com", "4 Place de la République, Toulouse");
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests findProjected(spec, sort, offset, limit)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    void findProjected_ShouldMatchEntityPathWithFiltersSortAndPage() {
+        var spec = EmployeSpecification.withFilters(null, "r", null, null);
+        var pageable = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "nom"));
+
+        List<EmployeResponseDTO> projected = employeRepository.findProjected(spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        List<EmployeResponseDTO> fromEntities = employeRepository.findAll(spec, pageable).map(EmployeResponseDTO::from).getContent();
+
+        assertThat(projected).isEqualTo(fromEntities).extracting(EmployeResponseDTO::nom).containsExactly("Bernard");
+    }
+
+    @Test
+    void findProjected_ShouldKeepNullAdresse() {
+        List<EmployeResponseDTO> projected = employeRepository.findProjected(
+                EmployeSpecification.withFilters("Pierre", null, null, null), Sort.unsorted(), 0, 10);
+
+        assertThat(projected).singleElement().satisfies(dto -> {
+            assertThat(dto.mail()).isEqualTo("pierre.bernard@example.com");
+            assertThat(dto.adresse()).isNull();
+        });
+    }
+
+    @Test
+    void findProjected_ShouldNotLoadEntitiesInPersistenceContext() {
+        Session session = testEntityManager.getEntityManager().unwrap(Session.class);
+
+        List<EmployeResponseDTO> projected = employeRepository.findProjected(
+                EmployeSpecification.withFilters(null, null, null, null), Sort.by("nom"), 0, 10);
+
+        assertThat(projected).hasSize(4);
+        assertThat(session.getStatistics().getEntityCount()).isZero();
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests des requêtes PostgreSQL sur H2 (repli attendu)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    void estimateCount_OnH2_ShouldReturnEmpty() {
+        assertThat(employeRepository.estimateCount(null, "r", null, null)).isEmpty();
+    }
+
+    @Test
+    void fullTextSearch_OnH2_ShouldReturnEmpty() {
+        assertThat(employeRepository.fullTextSearch(List.of("martin"), PageRequest.of(0, 20))).isEmpty();
+    }
+
+    @Test
+    void textOrder_OnH2_ShouldMatchOrderByOfDatabase() {
+        List<String> fromDatabase = employeRepository.findAll(PageRequest.of(0, 10, Sort.by("adresse")))
+                .map(Employe::getAdresse).getContent();
+
+        List<String> sorted = new ArrayList<>(fromDatabase);
+        sorted.sort(employeRepository.textOrder());
+
+        assertThat(sorted).containsExactlyElementsOf(fromDatabase).startsWith((String) null);
+    }
+
+    @Test
+    void collationOrder_ShouldFollowPostgresCollationName() {
+        // "C" : ordre des points de code (majuscules avant minuscules, accents après)
+        assertThat(EmployeRepositoryCustomImpl.collationOrder("C").compare("Zoé", "alain")).isNegative();
+        assertThat(EmployeRepositoryCustomImpl.collationOrder("C").compare("élodie", "zoé")).isPositive();
+        // Locale : ordre alphabétique, casse et accents secondaires
+        assertThat(EmployeRepositoryCustomImpl.collationOrder("fr_FR.UTF-8").compare("Zoé", "alain")).isPositive();
+        assertThat(EmployeRepositoryCustomImpl.collationOrder("fr_FR.UTF-8").compare("élodie", "zoé")).isNegative();
+    }
+
+    @Test
+    void fullTextPageQuery_ShouldSelectEveryMappedColumnOfEmploye() {
+        // La requête native est mappée sur Employe : une colonne manquante (ex. version) échoue sur PostgreSQL
+        String query = EmployeRepositoryCustomImpl.FULL_TEXT_PAGE;
+        String selectList = query.substring(query.indexOf("SELECT") + "SELECT".length(), query.indexOf("FROM"));
+        List<String> selected = Arrays.stream(selectList.split(","))
+                .map(column -> column.strip().replaceFirst("^e\\.", ""))
+                .toList();
+
+        EntityPersister persister = testEntityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getMappingMetamodel().getEntityDescriptor(Employe.class);
+        List<String> mapped = new ArrayList<>();
+        persister.getIdentifierMapping().forEachSelectable((index, selectable) -> mapped.add(selectable.getSelectionExpression()));
+        persister.forEachAttributeMapping(attribute ->
+                attribute.forEachSelectable((index, selectable) -> mapped.add(selectable.getSelectionExpression())));
+
+        assertThat(selected).containsExactlyInAnyOrderElementsOf(mapped);
+    }
+
+    private void saveEmploye(String prenom, String nom, String mail, String adresse) {
+        Employe employe = new Employe();
+        employe.setPrenom(prenom);
+        employe.setNom(nom);
+        employe.setMail(mail);
+        employe.setAdresse(adresse);
+        employeRepository.save(employe);
+    }
+}
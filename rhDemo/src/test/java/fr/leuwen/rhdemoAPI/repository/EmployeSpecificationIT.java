@@ -2,31 +2,47 @@ package fr.leuwen.rhdemoAPI.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.DeleteSpecification;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.UpdateSpecification;
 import org.springframework.test.context.ActiveProfiles;
+import fr.leuwen.rhdemoAPI.budget.QueryBudget;
+import fr.leuwen.rhdemoAPI.budget.QueryBudgetExtension;
 import fr.leuwen.rhdemoAPI.model.Employe;
 
 /**
  * Tests d'intégration pour EmployeSpecification.
  * Utilise @DataJpaTest avec H2 pour tester les Specifications JPA contre une vraie BDD.
+ *
+ * Budget par défaut (QueryBudgetExtension) : une seule requête SQL par test, chaque employé chargé au plus une
+ * fois, aucun flush.
  */
 @DataJpaTest
 @ActiveProfiles("test")
+@ExtendWith(QueryBudgetExtension.class)
+@QueryBudget(statements = 1, entityLoads = 3, flushes = 0)
 class EmployeSpecificationIT {
 
     @Autowired
     private EmployeRepository employeRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @BeforeEach
     void setUp() {
         employeRepository.deleteAll();
@@ -51,6 +67,10 @@ class EmployeSpecificationIT {
         emp3.setMail("pierre.bernard@example.com");
         emp3.setAdresse("3 Boulevard Victor Hugo, Marseille");
         employeRepository.save(emp3);
+
+        // Insertions écrites et contexte vidé : le budget de chaque test ne compte que ses propres requêtes
+        entityManager.flush();
+        entityManager.clear();
     }
 
     // ════════════════════════════════════════════════════════════════
@@ -175,4 +195,126 @@ class EmployeSpecificationIT {
         assertThat(result.get(0).getPrenom()).isEqualTo("Pierre");
         assertThat(result.get(0).getNom()).isEqualTo("Bernard");
     }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests after(cursor) : pagination keyset
+    // ════════════════════════════════════════════════════════════════
+
+    static Stream<Arguments> keysetSortCases() {
+        return Stream.of(
+            Arguments.of("id", Sort.Direction.ASC),
+            Arguments.of("id", Sort.Direction.DESC),
+            Arguments.of("nom", Sort.Direction.ASC),
+            Arguments.of("nom", Sort.Direction.DESC),
+            Arguments.of("prenom", Sort.Direction.ASC),
+            Arguments.of("mail", Sort.Direction.DESC),
+            Arguments.of("adresse", Sort.Direction.ASC),
+            Arguments.of("adresse", Sort.Direction.DESC)
+        );
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("keysetSortCases")
+    // INSERT des 3 employés, liste complète, 4 pages (dont la dernière vide), et la séquence si le bloc d'ids
+    // de l'EntityManagerFactory, partagé avec les classes de test du même contexte, s'épuise pendant le test
+    @QueryBudget(statements = 7, entityLoads = 3, flushes = 1)
+    void after_WalkingAllPages_ShouldMatchFullSortedList(String sort, Sort.Direction direction) {
+        // Ex-aequo sur le nom et adresses NULL : le départage par id doit rester stable
+        saveEmploye("Anne", "Martin", "anne.martin@example.com", null);
+        saveEmploye("Luc", "Martin", "luc.martin@example.com", null);
+        saveEmploye("Paul", "Dubois", "paul.dubois@example.com", "2 Avenue des Champs, Lyon");
+
+        EmployeCursor cursor = EmployeCursor.start(sort, direction);
+        List<Long> expected = employeRepository.findAll(EmployeSpecification.withFilters(null, null, null, null), cursor.toSort())
+            .stream().map(Employe::getId).toList();
+
+        List<Long> walked = new ArrayList<>();
+        for (int guard = 0; guard < 10; guard++) {
+            List<Employe> page = employeRepository.findAll(EmployeSpecification.after(cursor), cursor.toSort())
+                .stream().limit(2).toList();
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(e -> walked.add(e.getId()));
+            cursor = cursor.next(page.get(page.size() - 1));
+        }
+
+        assertThat(walked).hasSize(6).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    // INSERT, deux pages, et la séquence si le bloc d'ids s'épuise pendant le test
+    @QueryBudget(statements = 4, entityLoads = 3, flushes = 1)
+    void after_CombinedWithFilters_ShouldOnlyReturnMatchingRowsAfterCursor() {
+        saveEmploye("Anne", "Martin", "anne.martin@example.com", null);
+
+        EmployeCursor start = EmployeCursor.start("prenom", Sort.Direction.ASC);
+        Specification<Employe> filter = EmployeSpecification.withFilters(null, "martin", null, null);
+        List<Employe> first = employeRepository.findAll(filter.and(EmployeSpecification.after(start)), start.toSort());
+        List<Employe> rest = employeRepository.findAll(
+            filter.and(EmployeSpecification.after(start.next(first.get(0)))), start.toSort());
+
+        assertThat(first).extracting(Employe::getPrenom).containsExactly("Anne", "Laurent");
+        assertThat(rest).extracting(Employe::getPrenom).containsExactly("Laurent");
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests matchingAllTerms (repli de la recherche plein texte)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    void matchingAllTerms_TermsOnDifferentFields_ShouldRequireAllTerms() {
+        List<Employe> result = employeRepository.findAll(EmployeSpecification.matchingAllTerms(List.of("sophie", "lyon")));
+
+        assertThat(result).extracting(Employe::getNom).containsExactly("Dubois");
+    }
+
+    @Test
+    void matchingAllTerms_TermInMail_ShouldMatch() {
+        List<Employe> result = employeRepository.findAll(EmployeSpecification.matchingAllTerms(List.of("bernard")));
+
+        assertThat(result).extracting(Employe::getPrenom).containsExactly("Pierre");
+    }
+
+    @Test
+    void matchingAllTerms_OneTermWithoutMatch_ShouldReturnEmpty() {
+        List<Employe> result = employeRepository.findAll(EmployeSpecification.matchingAllTerms(List.of("martin", "lyon")));
+
+        assertThat(result).isEmpty();
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests filters / idIn dans un DELETE ou UPDATE ensembliste
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @QueryBudget(statements = 2, entityLoads = 3, flushes = 0)
+    void filters_InDelete_ShouldDeleteOnlyMatchingRows() {
+        long deleted = employeRepository.delete(DeleteSpecification.where(EmployeSpecification.filters(null, null, null, "LYON")));
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(employeRepository.findAll(Sort.by("nom"))).extracting(Employe::getNom).containsExactly("Bernard", "Martin");
+    }
+
+    @Test
+    @QueryBudget(statements = 3, entityLoads = 3, flushes = 0)
+    void idIn_InUpdate_ShouldUpdateOnlyListedRows() {
+        List<Long> ids = employeRepository.findAll(EmployeSpecification.withFilters(null, "r", null, null))
+                .stream().map(Employe::getId).toList();
+
+        long updated = employeRepository.update(UpdateSpecification.<Employe>update((root, update, cb) -> update.set(root.<String>get("adresse"), "Nantes"))
+                .where(EmployeSpecification.idIn(List.of(ids.get(0), ids.get(1), -1L))));
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(employeRepository.findAll(EmployeSpecification.withFilters(null, null, null, "nantes"))).hasSize(2);
+    }
+
+    private void saveEmploye(String prenom, String nom, String mail, String adresse) {
+        Employe employe = new Employe();
+        employe.setPrenom(prenom);
+        employe.setNom(nom);
+        employe.setMail(mail);
+        employe.setAdresse(adresse);
+        employeRepository.save(employe);
+    }
 }
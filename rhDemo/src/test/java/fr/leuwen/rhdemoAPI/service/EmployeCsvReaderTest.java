@@ -0,0 +1,83 @@
+package fr.leuwen.rhdemoAPI.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitaires pour EmployeCsvReader.
+ * Vérifie le séparateur détecté, les champs entre guillemets et les numéros de ligne remontés au rapport d'import.
+ */
+public class EmployeCsvReaderTest {
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests readHeader()
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testReadHeader_WithSemicolonAndBom_ShouldDetectDelimiter() {
+        EmployeCsvReader reader = new EmployeCsvReader(new StringReader("\uFEFFprenom;nom;mail\nAlice;Martin;a,b@example.com\n"));
+
+        assertEquals(List.of("prenom", "nom", "mail"), reader.readHeader());
+        assertEquals(List.of("Alice", "Martin", "a,b@example.com"), reader.next().values());
+    }
+
+    @Test
+    public void testReadHeader_WithEmptyInput_ShouldReturnEmptyList() {
+        EmployeCsvReader reader = new EmployeCsvReader(new StringReader(""));
+
+        assertTrue(reader.readHeader().isEmpty());
+        assertNull(reader.next());
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests next()
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testNext_WithQuotedFields_ShouldUnescapeQuotesAndKeepDelimiters() {
+        EmployeCsvReader reader = new EmployeCsvReader(new StringReader("prenom,adresse\nAlice,\"1 Rue \"\"Haute\"\", Lyon\"\n"));
+        reader.readHeader();
+
+        assertEquals(List.of("Alice", "1 Rue \"Haute\", Lyon"), reader.next().values());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testNext_WithMultilineFieldAndBlankLines_ShouldReportStartLine() {
+        EmployeCsvReader reader = new EmployeCsvReader(new StringReader(
+                "prenom,adresse\r\nAlice,\"1 Rue Haute\r\nLyon\"\r\n\r\nBruno,\r\n"));
+        reader.readHeader();
+
+        EmployeCsvReader.CsvRecord first = reader.next();
+        EmployeCsvReader.CsvRecord second = reader.next();
+
+        assertEquals(2, first.line());
+        assertEquals("1 Rue Haute\r\nLyon", first.values().get(1));
+        assertEquals(5, second.line());
+        assertEquals(List.of("Bruno", ""), second.values());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testNext_WithoutFinalNewline_ShouldReturnLastRecord() {
+        EmployeCsvReader reader = new EmployeCsvReader(new StringReader("prenom;nom\nAlice;Martin"));
+        reader.readHeader();
+
+        assertEquals(List.of("Alice", "Martin"), reader.next().values());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testNext_WithUnclosedQuote_ShouldThrowWithLine() {
+        EmployeCsvReader reader = new EmployeCsvReader(new StringReader("prenom;nom\nAlice;Martin\nBruno;\"Durand\n"));
+        reader.readHeader();
+        reader.next();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::next);
+        assertTrue(e.getMessage().contains("ligne 3"));
+    }
+}
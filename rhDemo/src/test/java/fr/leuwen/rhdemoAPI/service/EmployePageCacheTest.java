@@ -0,0 +1,141 @@
+package fr.leuwen.rhdemoAPI.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
+
+import fr.leuwen.rhdemoAPI.dto.EmployeResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitaires du cache des pages d'employés (clé, version de table, métriques)
+ */
+public class EmployePageCacheTest {
+
+    private static final Pageable FIRST_PAGE_BY_NOM = PageRequest.of(0, 20, Sort.by("nom"));
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmployePageCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new EmployePageCache(meterRegistry, true, DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    private Supplier<Page<EmployeResponseDTO>> loader(Pageable pageable, long total) {
+        return () -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of(new EmployeResponseDTO(1L, "Laurent", "Martin", "laurent.martin@example.com",
+                    "12 rue de la Paix, Paris")), pageable, total);
+        };
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", EmployePageCache.CACHE_NAME).tag("result", result)
+                .functionCounter().count();
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Clé : filtres, tri, pagination
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testGet_SamePageTwice_ShouldLoadOnceAndKeepTotal() {
+        cache.get(null, "mar", null, null, FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 42));
+        Page<EmployeResponseDTO> page = cache.get(null, "mar", null, null, FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 42));
+
+        assertThat(loads).hasValue(1);
+        assertThat(page.getTotalElements()).isEqualTo(42);
+        assertThat(page.getContent()).extracting(EmployeResponseDTO::nom).containsExactly("Martin");
+        assertThat(page.getPageable()).isEqualTo(FIRST_PAGE_BY_NOM);
+    }
+
+    @Test
+    public void testGet_BlankFilter_ShouldShareEntryWithoutFilter() {
+        cache.get(null, null, null, null, FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 4));
+        cache.get("", " ", null, "", FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 4));
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    public void testGet_OtherFilterSortOrPage_ShouldLoadSeparately() {
+        Pageable desc = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "nom"));
+        Pageable secondPage = PageRequest.of(1, 20, Sort.by("nom"));
+
+        cache.get(null, null, null, null, FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 4));
+        cache.get("lau", null, null, null, FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 1));
+        cache.get(null, null, null, null, desc, loader(desc, 4));
+        cache.get(null, null, null, null, secondPage, loader(secondPage, 4));
+
+        assertThat(loads).hasValue(4);
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Invalidation par version de table
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testInvalidate_ShouldMakeCachedPagesUnreachable() {
+        cache.get(null, null, null, null, FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 42));
+        cache.invalidate();
+        Page<EmployeResponseDTO> page = cache.get(null, null, null, null, FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 41));
+
+        assertThat(loads).hasValue(2);
+        assertThat(page.getTotalElements()).isEqualTo(41);
+        assertThat(cache.version()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGet_Disabled_ShouldAlwaysLoad() {
+        EmployePageCache disabled = new EmployePageCache(new SimpleMeterRegistry(), false, DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+
+        disabled.get(null, null, null, null, FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 4));
+        disabled.get(null, null, null, null, FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 4));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Métriques
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testMetrics_ShouldExposeHitsMissesAndMemory() {
+        cache.get(null, null, null, null, FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 4));
+        cache.get(null, null, null, null, FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 4));
+        cache.get(null, null, null, null, FIRST_PAGE_BY_NOM, loader(FIRST_PAGE_BY_NOM, 4));
+        cache.cleanUp();
+
+        assertThat(gets("hit")).isEqualTo(2);
+        assertThat(gets("miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("rhdemo.page.cache.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    public void testMaxMemory_ShouldEvictBeyondBudget() {
+        EmployePageCache small = new EmployePageCache(new SimpleMeterRegistry(), true, DataSize.ofBytes(2000), Duration.ofMinutes(1));
+        for (int page = 0; page < 50; page++) {
+            Pageable pageable = PageRequest.of(page, 20, Sort.by("nom"));
+            small.get(null, null, null, null, pageable, loader(pageable, 1000));
+        }
+        small.cleanUp();
+
+        assertThat(small.estimatedMemoryBytes()).isLessThanOrEqualTo(2000);
+    }
+}
@@ -0,0 +1,177 @@
+package fr.leuwen.rhdemoAPI.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import fr.leuwen.rhdemoAPI.config.TestDataLoader;
+import fr.leuwen.rhdemoAPI.model.Employe;
+import fr.leuwen.rhdemoAPI.repository.EmployeRepository;
+import fr.leuwen.rhdemoAPI.repository.EmployeSpecification;
+
+/**
+ * Tests d'intégration de l'index de recherche en mémoire (EmployeSearchIndex) activé.
+ * Chaque page résolue par l'index est comparée à la même requête exécutée en base via EmployeSpecification,
+ * ordre compris (index activé contre index contourné).
+ *
+ * Base H2 dédiée : ce contexte (propriétés différentes) ne doit pas recréer le schéma de la base "testdb"
+ * partagée par les autres tests d'intégration.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.yml", properties = {
+        "fr.leuwen.rhdemoAPI.search-index.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:searchindex"
+})
+@ActiveProfiles("test")
+@Import(TestDataLoader.class)
+class EmployeSearchIndexIT {
+
+    @Autowired
+    private EmployeService employeService;
+
+    @Autowired
+    private EmployeRepository employeRepository;
+
+    @Autowired
+    private EmployeSearchIndex searchIndex;
+
+    @Autowired
+    private EmployeImportService importService;
+
+    static Stream<Arguments> filterCases() {
+        return Stream.of(
+            Arguments.of(null, null, null, null, PageRequest.of(0, 20, Sort.by("nom"))),
+            Arguments.of(null, "r", null, null, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "prenom"))),
+            Arguments.of(null, "r", null, null, PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "prenom"))),
+            Arguments.of("So", "Du", null, null, PageRequest.of(0, 20, Sort.by("mail"))),
+            Arguments.of(null, null, "example", "pa", PageRequest.of(0, 20, Sort.by("adresse"))),
+            Arguments.of(null, null, "%", null, PageRequest.of(0, 20, Sort.by("nom"))),
+            Arguments.of("Inexistant", null, null, null, PageRequest.of(0, 20, Sort.by("nom")))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterCases")
+    void getEmployesPage_WithIndex_ShouldMatchDatabaseQuery(String prenom, String nom, String mail, String adresse, Pageable pageable) {
+        assertThat(searchIndex.isReady()).isTrue();
+
+        Page<Employe> fromIndex = employeService.getEmployesPage(prenom, nom, mail, adresse, pageable);
+        Page<Employe> fromDatabase = employeRepository.findAll(EmployeSpecification.withFilters(prenom, nom, mail, adresse), pageable);
+
+        assertThat(fromIndex.getContent()).extracting(Employe::getId)
+            .containsExactlyElementsOf(fromDatabase.getContent().stream().map(Employe::getId).toList());
+        assertThat(fromIndex.getTotalElements()).isEqualTo(fromDatabase.getTotalElements());
+    }
+
+    @Test
+    void getEmployesPage_RandomDataAndSorts_ShouldMatchDatabaseOrder() {
+        Random random = new Random(2024);
+        String[] syllables = { "ma", "Rt", "in", "du", "Bo", "é", "É", "ber", "Nar", "d-", " " };
+        List<Employe> employes = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            Employe employe = new Employe();
+            // Suffixe unique : pas d'ex-aequo, dont l'ordre serait indéterminé pour les autres tests de la classe
+            employe.setPrenom(word(random, syllables) + i);
+            employe.setNom(word(random, syllables) + i);
+            employe.setMail("aleatoire" + i + "@example.com");
+            employe.setAdresse(random.nextInt(4) == 0 ? null : word(random, syllables) + i);
+            employes.add(employe);
+        }
+        List<Long> created = employeService.createEmployes(employes).stream().map(Employe::getId).toList();
+        String[] sortFields = { "prenom", "nom", "mail", "adresse", "id" };
+
+        try {
+            for (int i = 0; i < 60; i++) {
+                String nom = random.nextBoolean() ? syllables[random.nextInt(syllables.length)] : null;
+                String adresse = random.nextInt(3) == 0 ? syllables[random.nextInt(syllables.length)] : null;
+                Sort.Direction direction = random.nextBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC;
+                String field = sortFields[random.nextInt(sortFields.length)];
+                Pageable pageable = PageRequest.of(random.nextInt(2), 100, Sort.by(direction, field));
+
+                Page<Employe> fromIndex = employeService.getEmployesPage(null, nom, null, adresse, pageable);
+                // Index contourné : même requête en base, id en second critère comme dans l'index
+                Pageable withId = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                        Sort.by(direction, field).and(Sort.by(direction, "id")));
+                Page<Employe> fromDatabase = employeRepository.findAll(EmployeSpecification.withFilters(null, nom, null, adresse), withId);
+
+                assertThat(fromIndex.getContent()).extracting(Employe::getId)
+                    .as("nom=%s adresse=%s tri=%s", nom, adresse, pageable.getSort())
+                    .containsExactlyElementsOf(fromDatabase.getContent().stream().map(Employe::getId).toList());
+                assertThat(fromIndex.getTotalElements()).isEqualTo(fromDatabase.getTotalElements());
+            }
+        } finally {
+            employeService.deleteEmployes(created);
+        }
+    }
+
+    @Test
+    void createUpdateDelete_ThroughService_ShouldKeepIndexInSync() {
+        Employe employe = new Employe();
+        employe.setPrenom("Zoé");
+        employe.setNom("Quintard");
+        employe.setMail("zoe.quintard@example.com");
+        Employe created = employeService.createEmploye(employe);
+        assertThat(employeService.getEmployesPage(null, "quint", null, null, PageRequest.of(0, 20)).getContent())
+            .extracting(Employe::getId).containsExactly(created.getId());
+
+        Employe update = new Employe();
+        update.setPrenom("Zoé");
+        update.setNom("Vasseur");
+        update.setMail("zoe.quintard@example.com");
+        employeService.updateEmploye(created.getId(), update);
+        assertThat(employeService.getEmployesPage(null, "quint", null, null, PageRequest.of(0, 20)).getContent()).isEmpty();
+        assertThat(employeService.getEmployesPage(null, "vasse", null, null, PageRequest.of(0, 20)).getContent())
+            .extracting(Employe::getId).containsExactly(created.getId());
+
+        employeService.deleteEmploye(created.getId());
+        assertThat(employeService.getEmployesPage(null, "vasse", null, null, PageRequest.of(0, 20)).getTotalElements()).isZero();
+    }
+
+    @Test
+    void importCsv_ShouldIndexCreatedRowsOnly() {
+        int documents = searchIndex.documentCount();
+        String csv = """
+                prenom;nom;mail;adresse
+                Ines;Ybarnegaray;ines.ybarnegaray@example.com;
+                Ines;Ybarnegaray;ines.ybarnegaray@example.com;
+                Jules;Ybarnegaray;jules.ybarnegaray@example.com;1 rue Basse
+                """;
+
+        assertThat(importService.importCsv(new StringReader(csv)).imported()).isEqualTo(2);
+
+        // Lignes créées ajoutées à l'index sans rechargement : ordres tenus à jour, pages triées toujours servies
+        assertThat(searchIndex.documentCount()).isEqualTo(documents + 2);
+        Pageable byPrenom = PageRequest.of(0, 20, Sort.by("prenom"));
+        Page<Employe> fromIndex = employeService.getEmployesPage(null, "barneg", null, null, byPrenom);
+        assertThat(fromIndex.getContent()).extracting(Employe::getPrenom).containsExactly("Ines", "Jules");
+        assertThat(searchIndex.search(null, null, null, null, byPrenom)).isPresent();
+
+        employeService.deleteEmployes(fromIndex.getContent().stream().map(Employe::getId).toList());
+    }
+
+    private static String word(Random random, String[] syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < 1 + random.nextInt(4); i++) {
+            word.append(syllables[random.nextInt(syllables.length)]);
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,365 @@
+package fr.leuwen.rhdemoAPI.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import fr.leuwen.rhdemoAPI.model.Employe;
+import fr.leuwen.rhdemoAPI.repository.EmployeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitaires pour EmployeSearchIndex.
+ * Le chargement initial lit un repository mocké ; les résultats sont comparés à la sémantique
+ * de EmployeSpecification.withFilters (sous-chaîne insensible à la casse, filtres en AND).
+ */
+@ExtendWith(MockitoExtension.class)
+public class EmployeSearchIndexTest {
+
+    @Mock
+    private EmployeRepository employeRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new EmployeSearchIndex(employeRepository, meterRegistry, true);
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests search(filtres, pageable)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testSearch_WithSubstringFilter_ShouldMatchCaseInsensitively() {
+        load(employe(1L, "Laurent", "Martin", "laurent.martin@example.com", "1 Rue de la Paix, Paris"),
+                employe(2L, "Sophie", "Dubois", "sophie.dubois@example.com", "2 Avenue des Champs, Lyon"),
+                employe(3L, "Marie", "Durand", "marie.durand@example.com", null));
+
+        EmployeSearchIndex.Hits hits = index.search(null, "DUB", null, null, PageRequest.of(0, 20)).orElseThrow();
+
+        assertEquals(List.of(2L), hits.ids());
+        assertEquals(1, hits.total());
+    }
+
+    @Test
+    public void testSearch_WithCombinedFilters_ShouldApplyAll() {
+        load(employe(1L, "Sophie", "Dubois", "sophie.dubois@example.com", null),
+                employe(2L, "Marie", "Durand", "marie.durand@example.com", null),
+                employe(3L, "Sophie", "Martin", "sophie.martin@example.com", null));
+
+        EmployeSearchIndex.Hits hits = index.search("so", "du", null, null, PageRequest.of(0, 20)).orElseThrow();
+
+        assertEquals(List.of(1L), hits.ids());
+    }
+
+    @Test
+    public void testSearch_WithAllTrigramsButNotSubstring_ShouldRejectFalsePositive() {
+        // "abcxbcd" contient les trigrammes "abc" et "bcd" de "abcd", mais pas la sous-chaîne
+        load(employe(1L, "Abcxbcd", "Nom", "a@example.com", null),
+                employe(2L, "Xabcdx", "Nom", "b@example.com", null));
+
+        EmployeSearchIndex.Hits hits = index.search("abcd", null, null, null, PageRequest.of(0, 20)).orElseThrow();
+
+        assertEquals(List.of(2L), hits.ids());
+    }
+
+    @Test
+    public void testSearch_WithNullAdresse_ShouldNotMatchAdresseFilter() {
+        load(employe(1L, "Anne", "Petit", "anne@example.com", null),
+                employe(2L, "Luc", "Petit", "luc@example.com", "Lyon"));
+
+        EmployeSearchIndex.Hits hits = index.search(null, null, null, "y", PageRequest.of(0, 20)).orElseThrow();
+
+        assertEquals(List.of(2L), hits.ids());
+    }
+
+    @Test
+    public void testSearch_WithSortAndPage_ShouldReturnRequestedWindow() {
+        load(employe(1L, "A", "Martin", "1@example.com", null),
+                employe(2L, "B", "Bernard", "2@example.com", null),
+                employe(3L, "C", "Durand", "3@example.com", null),
+                employe(4L, "D", "Dubois", "4@example.com", null));
+
+        EmployeSearchIndex.Hits hits = index.search(null, null, null, null,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "nom"))).orElseThrow();
+
+        assertEquals(List.of(4L, 2L), hits.ids());
+        assertEquals(4, hits.total());
+    }
+
+    @Test
+    public void testSearch_WithUnsupportedSort_ShouldReturnEmpty() {
+        load(employe(1L, "A", "Martin", "1@example.com", null));
+
+        assertTrue(index.search(null, null, null, null, PageRequest.of(0, 20, Sort.by("nom", "prenom"))).isEmpty());
+    }
+
+    @Test
+    public void testSearch_BeforeLoadOrDisabled_ShouldReturnEmpty() {
+        EmployeSearchIndex disabled = new EmployeSearchIndex(employeRepository, new SimpleMeterRegistry(), false);
+        disabled.load();
+
+        assertTrue(index.search(null, null, null, null, PageRequest.of(0, 20)).isEmpty());
+        assertTrue(disabled.search(null, null, null, null, PageRequest.of(0, 20)).isEmpty());
+        verifyNoInteractions(employeRepository);
+    }
+
+    @Test
+    public void testSearch_RandomData_ShouldMatchNaiveFilteringAndDatabaseOrder() {
+        Random random = new Random(42);
+        String[] syllables = { "ma", "Rt", "in", "du", "Bo", "is", "é", "É", "ber", "nar", "d-", " " };
+        List<Employe> employes = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            employes.add(employe(id, word(random, syllables), word(random, syllables), "m" + id + "@example.com",
+                    random.nextInt(5) == 0 ? null : word(random, syllables)));
+        }
+        load(employes.toArray(new Employe[0]));
+        String[] sortFields = { "prenom", "nom", "adresse", "id" };
+
+        for (int i = 0; i < 200; i++) {
+            String prenom = random.nextBoolean() ? syllables[random.nextInt(syllables.length)] : null;
+            String nom = random.nextBoolean() ? syllables[random.nextInt(syllables.length)] + syllables[random.nextInt(syllables.length)] : null;
+            String adresse = random.nextInt(3) == 0 ? syllables[random.nextInt(syllables.length)] : null;
+            Sort sort = Sort.by(random.nextBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC,
+                    sortFields[random.nextInt(sortFields.length)]);
+
+            // Index désactivé : filtre puis ORDER BY champ, id de la base de test (H2)
+            List<Long> expected = employes.stream()
+                    .filter(e -> contains(e.getPrenom(), prenom) && contains(e.getNom(), nom) && contains(e.getAdresse(), adresse))
+                    .sorted(databaseOrder(sort))
+                    .map(Employe::getId)
+                    .toList();
+            EmployeSearchIndex.Hits hits = index.search(prenom, nom, null, adresse, PageRequest.of(0, 300, sort)).orElseThrow();
+
+            assertEquals(expected, hits.ids(), "prenom=" + prenom + " nom=" + nom + " adresse=" + adresse + " sort=" + sort);
+        }
+    }
+
+    @Test
+    public void testSearch_WithPostgresOrder_ShouldPutNullsLastAscendingAndFirstDescending() {
+        load(Comparator.nullsLast(Comparator.naturalOrder()),
+                employe(1L, "A", "Martin", "1@example.com", null),
+                employe(2L, "B", "Bernard", "2@example.com", "Lyon"),
+                employe(3L, "C", "Durand", "3@example.com", "Paris"));
+
+        assertEquals(List.of(2L, 3L, 1L), index.search(null, null, null, null,
+                PageRequest.of(0, 20, Sort.by("adresse"))).orElseThrow().ids());
+        assertEquals(List.of(1L, 3L, 2L), index.search(null, null, "example", null,
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "adresse"))).orElseThrow().ids());
+    }
+
+    @Test
+    public void testSearch_ShouldSortOriginalValuesNotLowercased() {
+        // String.compareTo (H2) : majuscules avant minuscules, contrairement à un tri des valeurs en minuscules
+        load(employe(1L, "A", "alpha", "1@example.com", null),
+                employe(2L, "B", "Beta", "2@example.com", null));
+
+        assertEquals(List.of(2L, 1L), index.search(null, null, null, null,
+                PageRequest.of(0, 20, Sort.by("nom"))).orElseThrow().ids());
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests index(employe) / remove(id)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testIndex_UpdatedEmploye_ShouldReplacePreviousValues() {
+        load(employe(1L, "Laurent", "Martin", "laurent.martin@example.com", null));
+
+        index.index(employe(1L, "Laurent", "Lefebvre", "laurent.martin@example.com", null));
+
+        assertTrue(index.search(null, "martin", null, null, PageRequest.of(0, 20)).orElseThrow().ids().isEmpty());
+        assertEquals(List.of(1L), index.search(null, "lefeb", null, null, PageRequest.of(0, 20)).orElseThrow().ids());
+        assertEquals(1, index.documentCount());
+    }
+
+    @Test
+    public void testIndex_NewEmploye_ShouldInvalidateSortOrder() {
+        load(employe(1L, "A", "Martin", "1@example.com", null));
+        index.search(null, null, null, null, PageRequest.of(0, 20, Sort.by("nom")));
+
+        index.index(employe(2L, "B", "Bernard", "2@example.com", null));
+
+        assertEquals(List.of(2L, 1L), index.search(null, null, null, null, PageRequest.of(0, 20, Sort.by("nom"))).orElseThrow().ids());
+    }
+
+    @Test
+    public void testIndex_RandomWrites_ShouldKeepSortOrderWithoutResort() {
+        Random random = new Random(7);
+        Map<Long, Employe> employes = new HashMap<>();
+        for (long id = 1; id <= 50; id++) {
+            employes.put(id, employe(id, "P" + random.nextInt(20), "N" + random.nextInt(20), id + "@example.com",
+                    random.nextBoolean() ? null : "A" + random.nextInt(20)));
+        }
+        load(employes.values().toArray(new Employe[0]));
+
+        for (int i = 0; i < 500; i++) {
+            long id = 1 + random.nextInt(80);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                employes.remove(id);
+            } else {
+                Employe employe = employe(id, "P" + random.nextInt(20), "N" + random.nextInt(20), id + "@example.com",
+                        random.nextBoolean() ? null : "A" + random.nextInt(20));
+                index.index(employe);
+                employes.put(id, employe);
+            }
+            Sort sort = Sort.by(random.nextBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC,
+                    random.nextBoolean() ? "nom" : "adresse");
+            String nom = random.nextInt(3) == 0 ? "n1" : null;
+
+            List<Long> expected = employes.values().stream()
+                    .filter(e -> contains(e.getNom(), nom))
+                    .sorted(databaseOrder(sort))
+                    .map(Employe::getId)
+                    .toList();
+            assertEquals(expected, index.search(null, nom, null, null, PageRequest.of(0, 200, sort)).orElseThrow().ids(),
+                    "écriture " + i + " sort=" + sort);
+        }
+    }
+
+    @Test
+    public void testIndex_RandomWrites_ShouldServeEveryPageWindow() {
+        Random random = new Random(11);
+        Map<Long, Employe> employes = new HashMap<>();
+        for (long id = 1; id <= 300; id++) {
+            employes.put(id, employe(id, "P" + random.nextInt(30), "N" + random.nextInt(30), id + "@example.com", null));
+        }
+        load(employes.values().toArray(new Employe[0]));
+
+        for (int i = 0; i < 2000; i++) {
+            long id = 1 + random.nextInt(400);
+            if (random.nextInt(3) == 0) {
+                index.remove(id);
+                employes.remove(id);
+            } else {
+                Employe employe = employe(id, "P" + random.nextInt(30), "N" + random.nextInt(30), id + "@example.com", null);
+                index.index(employe);
+                employes.put(id, employe);
+            }
+        }
+
+        // Pages sans filtre lues dans l'ordre à partir de leur première position, dans les deux sens
+        for (Sort sort : List.of(Sort.by("nom"), Sort.by(Sort.Direction.DESC, "prenom"), Sort.unsorted())) {
+            List<Long> expected = employes.values().stream()
+                    .sorted(sort.isSorted() ? databaseOrder(sort) : Comparator.comparing(Employe::getId))
+                    .map(Employe::getId)
+                    .toList();
+            for (int page = 0; page * 7 < expected.size() + 7; page++) {
+                EmployeSearchIndex.Hits hits = index.search(null, null, null, null, PageRequest.of(page, 7, sort)).orElseThrow();
+                assertEquals(expected.subList(Math.min(page * 7, expected.size()), Math.min(page * 7 + 7, expected.size())),
+                        hits.ids(), "page " + page + " sort=" + sort);
+                assertEquals(expected.size(), hits.total());
+            }
+        }
+    }
+
+    @Test
+    public void testRemove_ShouldDropEmployeFromResults() {
+        load(employe(1L, "Laurent", "Martin", "laurent.martin@example.com", null),
+                employe(2L, "Anne", "Martin", "anne.martin@example.com", null));
+
+        index.remove(1L);
+
+        assertEquals(List.of(2L), index.search(null, "martin", null, null, PageRequest.of(0, 20)).orElseThrow().ids());
+        assertEquals(1, index.documentCount());
+    }
+
+    @Test
+    public void testRemove_ManyUpdates_ShouldCompactAndKeepResults() {
+        load(employe(1L, "Laurent", "Martin", "laurent.martin@example.com", null));
+
+        for (int i = 0; i < 3000; i++) {
+            index.index(employe(1L, "Laurent", "Martin" + i, "laurent.martin@example.com", null));
+        }
+
+        assertEquals(List.of(1L), index.search(null, "martin2999", null, null, PageRequest.of(0, 20)).orElseThrow().ids());
+        assertTrue(index.search(null, "martin2998", null, null, PageRequest.of(0, 20)).orElseThrow().ids().isEmpty());
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests métriques
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testMetrics_ShouldExposeMemoryDocumentsAndQueryTime() {
+        load(employe(1L, "Laurent", "Martin", "laurent.martin@example.com", null));
+        index.search(null, "mar", null, null, PageRequest.of(0, 20));
+
+        assertTrue(meterRegistry.get("rhdemo.search.index.memory").gauge().value() > 0);
+        assertEquals(1.0, meterRegistry.get("rhdemo.search.index.documents").gauge().value());
+        assertEquals(1, meterRegistry.get("rhdemo.search.index.query").timer().count());
+    }
+
+    private void load(Employe... employes) {
+        // Ordre de H2, base des tests : String.compareTo, NULL en premier
+        load(Comparator.nullsFirst(Comparator.naturalOrder()), employes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load(Comparator<String> textOrder, Employe... employes) {
+        when(employeRepository.textOrder()).thenReturn(textOrder);
+        when(employeRepository.findBy(any(Specification.class), any())).thenReturn(List.of(employes));
+        index.load();
+    }
+
+    /**
+     * ORDER BY champ, id dans le sens demandé, tel que l'exécute H2 (valeurs d'origine, NULL les plus petites).
+     */
+    private static Comparator<Employe> databaseOrder(Sort sort) {
+        Sort.Order order = sort.iterator().next();
+        Comparator<Employe> byId = Comparator.comparing(Employe::getId);
+        Comparator<Employe> ascending = switch (order.getProperty()) {
+            case "prenom" -> Comparator.comparing(Employe::getPrenom, Comparator.nullsFirst(Comparator.<String>naturalOrder())).thenComparing(byId);
+            case "nom" -> Comparator.comparing(Employe::getNom, Comparator.nullsFirst(Comparator.<String>naturalOrder())).thenComparing(byId);
+            case "adresse" -> Comparator.comparing(Employe::getAdresse, Comparator.nullsFirst(Comparator.<String>naturalOrder())).thenComparing(byId);
+            default -> byId;
+        };
+        return order.isAscending() ? ascending : ascending.reversed();
+    }
+
+    private static boolean contains(String value, String filter) {
+        if (filter == null || filter.isBlank()) {
+            return true;
+        }
+        return value != null && value.toLowerCase(Locale.ROOT).contains(filter.toLowerCase(Locale.ROOT));
+    }
+
+    private static String word(Random random, String[] syllables) {
+        StringBuilder word = new StringBuilder("X");
+        for (int i = 0; i < 1 + random.nextInt(4); i++) {
+            word.append(syllables[random.nextInt(syllables.length)]);
+        }
+        return word.toString();
+    }
+
+    private static Employe employe(Long id, String prenom, String nom, String mail, String adresse) {
+        Employe employe = new Employe();
+        employe.setId(id);
+        employe.setPrenom(prenom);
+        employe.setNom(nom);
+        employe.setMail(mail);
+        employe.setAdresse(adresse);
+        return employe;
+    }
+}
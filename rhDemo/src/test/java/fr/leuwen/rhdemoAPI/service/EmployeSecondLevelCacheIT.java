@@ -0,0 +1,226 @@
+package fr.leuwen.rhdemoAPI.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import fr.leuwen.rhdemoAPI.config.TestDataLoader;
+import fr.leuwen.rhdemoAPI.exception.EmployeNotFoundException;
+import fr.leuwen.rhdemoAPI.model.Employe;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Tests d'intégration du cache de second niveau Hibernate de l'entité Employe (SecondLevelCacheConfig).
+ * Vérifie que les lectures par id sont servies par la région employes, que chaque chemin d'écriture
+ * (unitaire et en masse) l'invalide, qu'une suppression ou une mise à jour par mail en SQL direct verrouille
+ * l'entrée contre une lecture concurrente, et que les statistiques sont publiées dans Micrometer. Vérifie aussi
+ * qu'une modification d'un employé en cache ne coûte qu'un UPDATE (statistiques Hibernate).
+ *
+ * Base H2 dédiée : les tests modifient des employés.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.yml", properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cache",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@Import(TestDataLoader.class)
+@DirtiesContext
+class EmployeSecondLevelCacheIT {
+
+    @Autowired
+    private EmployeService employeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void clearCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void getEmploye_Twice_ShouldServeSecondReadFromCache() {
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        employeService.getEmploye(1L);
+        assertThat(entityManagerFactory.getCache().contains(Employe.class, 1L)).isTrue();
+        employeService.getEmploye(1L);
+
+        // READ_WRITE : le chargement relit la clé avant d'écrire l'entrée, d'où au moins un miss
+        assertThat(cacheGets("miss")).isGreaterThan(misses);
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", Employe.CACHE_REGION).functionCounter()).isNotNull();
+    }
+
+    @Test
+    void createUpdateDelete_ShouldKeepCacheConsistent() {
+        Employe employe = new Employe();
+        employe.setPrenom("Zoé");
+        employe.setNom("Cache");
+        employe.setMail("zoe.cache@example.com");
+        Long id = employeService.createEmploye(employe).getId();
+        assertThat(employeService.getEmploye(id).getNom()).isEqualTo("Cache");
+
+        Employe modified = new Employe();
+        modified.setPrenom("Zoé");
+        modified.setNom("Modifiée");
+        modified.setMail("zoe.cache@example.com");
+        employeService.updateEmploye(id, modified);
+        assertThat(employeService.getEmploye(id).getNom()).isEqualTo("Modifiée");
+
+        // READ_WRITE : la suppression laisse un verrou sous la clé, jamais servi comme entité
+        employeService.deleteEmploye(id);
+        assertThatThrownBy(() -> employeService.getEmploye(id)).isInstanceOf(EmployeNotFoundException.class);
+    }
+
+    @Test
+    void deleteEmploye_ShouldKeepOtherCachedEmployes() {
+        employeService.getEmploye(1L);
+        Employe employe = new Employe();
+        employe.setPrenom("Zoé");
+        employe.setNom("Cache");
+        employe.setMail("zoe.suppression@example.com");
+        Long id = employeService.createEmploye(employe).getId();
+        employeService.getEmploye(id);
+
+        assertThat(entityManagerFactory.getCache().contains(Employe.class, 1L)).isTrue();
+
+        // Seul l'employé supprimé est verrouillé : pas de DELETE en masse qui viderait le cache
+        employeService.deleteEmploye(id);
+
+        assertThatThrownBy(() -> employeService.getEmploye(id)).isInstanceOf(EmployeNotFoundException.class);
+        assertThat(entityManagerFactory.getCache().contains(Employe.class, 1L)).isTrue();
+    }
+
+    @Test
+    void deleteEmploye_WithConcurrentLoad_ShouldNotRecacheDeletedEmploye() {
+        Employe employe = new Employe();
+        employe.setPrenom("Zoé");
+        employe.setNom("Cache");
+        employe.setMail("zoe.concurrente@example.com");
+        Long id = employeService.createEmploye(employe).getId();
+
+        // Lecture concurrente : transaction commencée avant la suppression, mise en cache après son commit
+        try (Session reader = entityManagerFactory.unwrap(SessionFactory.class).openSession()) {
+            reader.beginTransaction();
+            reader.setCacheMode(CacheMode.IGNORE);
+            Employe loaded = reader.find(Employe.class, id);
+
+            employeService.deleteEmploye(id);
+
+            assertThat(putFromLoad(reader, loaded)).isFalse();
+            reader.getTransaction().commit();
+        }
+
+        assertThatThrownBy(() -> employeService.getEmploye(id)).isInstanceOf(EmployeNotFoundException.class);
+    }
+
+    @Test
+    void patchEmployes_ShouldEvictRegion() {
+        Employe before = employeService.getEmploye(2L);
+        assertThat(entityManagerFactory.getCache().contains(Employe.class, 2L)).isTrue();
+
+        employeService.patchEmployes(List.of(2L), "adresse", "1 Place du Cache, Lyon");
+
+        assertThat(entityManagerFactory.getCache().contains(Employe.class, 2L)).isFalse();
+        assertThat(employeService.getEmploye(2L).getAdresse()).isEqualTo("1 Place du Cache, Lyon");
+        assertThat(before.getAdresse()).isNotEqualTo("1 Place du Cache, Lyon");
+    }
+
+    @Test
+    void updateAndPatch_WithCachedEmploye_ShouldRunSingleUpdateOrNothing() {
+        employeService.getEmploye(3L);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Employe modified = new Employe();
+        modified.setPrenom("Pierre");
+        modified.setNom("Bernard");
+        modified.setMail("pierre.bernard@example.com");
+        modified.setAdresse("30 Boulevard Victor Hugo, Marseille");
+        long version = employeService.updateEmploye(3L, modified).getVersion();
+
+        // Lecture servie par le cache, un seul UPDATE (pas de SELECT existsById ni de merge)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+
+        statistics.clear();
+        Employe unchanged = employeService.patchEmploye(3L, Map.of("adresse", "30 Boulevard Victor Hugo, Marseille"), version);
+
+        // Aucune valeur modifiée : aucune requête, version inchangée
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(unchanged.getVersion()).isEqualTo(version);
+
+        statistics.clear();
+        assertThat(employeService.patchEmploye(3L, Map.of("nom", "Bernard-Cache"), version).getVersion()).isEqualTo(version + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void upsertEmployes_WithConcurrentLoad_ShouldNotRecachePreviousState() {
+        Employe employe = new Employe();
+        employe.setPrenom("Zoé");
+        employe.setNom("Cache");
+        employe.setMail("zoe.synchro@example.com");
+        Long id = employeService.createEmploye(employe).getId();
+
+        Employe synchro = new Employe();
+        synchro.setPrenom("Zoé");
+        synchro.setNom("Synchronisée");
+        synchro.setMail("zoe.synchro@example.com");
+
+        // Lecture concurrente : transaction commencée avant la mise à jour par mail, mise en cache après son commit
+        try (Session reader = entityManagerFactory.unwrap(SessionFactory.class).openSession()) {
+            reader.beginTransaction();
+            reader.setCacheMode(CacheMode.IGNORE);
+            Employe loaded = reader.find(Employe.class, id);
+
+            employeService.upsertEmployes(List.of(synchro));
+
+            assertThat(putFromLoad(reader, loaded)).isFalse();
+            reader.getTransaction().commit();
+        }
+
+        assertThat(employeService.getEmploye(id).getNom()).isEqualTo("Synchronisée");
+    }
+
+    /** Mise en cache de l'état lu par {@code reader}, comme à la fin de son chargement (putFromLoad). */
+    private boolean putFromLoad(Session reader, Employe loaded) {
+        SessionImplementor session = reader.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Employe.class);
+        EntityDataAccess access = persister.getCacheAccessStrategy();
+        Object key = access.generateCacheKey(loaded.getId(), persister, session.getFactory(), session.getTenantIdentifier());
+        Object version = persister.getVersion(loaded);
+        CacheEntry entry = persister.buildCacheEntry(loaded, persister.getValues(loaded), version, session);
+        return access.putFromLoad(session, key, persister.getCacheEntryStructure().structure(entry), version);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", Employe.CACHE_REGION).tag("result", result).functionCounter().count();
+    }
+}
@@ -2,27 +2,52 @@ package fr.leuwen.rhdemoAPI.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.DeleteSpecification;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.UpdateSpecification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 
+import fr.leuwen.rhdemoAPI.dto.EmployeResponseDTO;
+import fr.leuwen.rhdemoAPI.dto.EmployeUpsertResultDTO;
+import fr.leuwen.rhdemoAPI.exception.EmployeBatchValidationException;
 import fr.leuwen.rhdemoAPI.exception.EmployeNotFoundException;
+import fr.leuwen.rhdemoAPI.exception.EmployeVersionMismatchException;
 import fr.leuwen.rhdemoAPI.model.Employe;
+import fr.leuwen.rhdemoAPI.repository.EmployeCursor;
 import fr.leuwen.rhdemoAPI.repository.EmployeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Tests unitaires pour EmployeService
@@ -34,6 +59,12 @@ public class EmployeServiceTest {
     @Mock
     private EmployeRepository employeRepository;
 
+    @Mock
+    private EmployeSearchIndex searchIndex;
+
+    @Spy
+    private EmployePageCache pageCache = new EmployePageCache(new SimpleMeterRegistry(), true, DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+
     @InjectMocks
     private EmployeService employeService;
 
@@ -110,6 +141,45 @@ public class EmployeServiceTest {
         verify(employeRepository, times(1)).findAll();
     }
 
+    // ════════════════════════════════════════════════════════════════
+    // Tests streamEmployes(consumer)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testStreamEmployes_ShouldPassEachRowAndCloseStream() {
+        // Arrange
+        boolean[] closed = { false };
+        Stream<EmployeResponseDTO> rows = Stream.of(EmployeResponseDTO.from(employe1), EmployeResponseDTO.from(employe2))
+                .onClose(() -> closed[0] = true);
+        when(employeRepository.streamAll()).thenReturn(rows);
+        List<String> prenoms = new ArrayList<>();
+
+        // Act
+        employeService.streamEmployes(dto -> prenoms.add(dto.prenom()));
+
+        // Assert
+        assertEquals(List.of("Jean", "Marie"), prenoms);
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    public void testStreamEmployes_WithFiltersAndSort_ShouldStreamProjectedAndCloseStream() {
+        // Arrange
+        boolean[] closed = { false };
+        Sort sort = Sort.by("nom").and(Sort.by("id"));
+        Stream<EmployeResponseDTO> rows = Stream.of(EmployeResponseDTO.from(employe2)).onClose(() -> closed[0] = true);
+        when(employeRepository.streamProjected(any(), eq(sort))).thenReturn(rows);
+        List<String> prenoms = new ArrayList<>();
+
+        // Act
+        employeService.streamEmployes(null, "Martin", null, null, sort, dto -> prenoms.add(dto.prenom()));
+
+        // Assert
+        assertEquals(List.of("Marie"), prenoms);
+        assertTrue(closed[0]);
+        verify(employeRepository, never()).streamAll();
+    }
+
     // ════════════════════════════════════════════════════════════════
     // Tests getEmployesPage(pageable)
     // ════════════════════════════════════════════════════════════════
@@ -154,6 +224,282 @@ public class EmployeServiceTest {
         verify(employeRepository, times(1)).findAll(any(Specification.class), eq(pageable));
     }
 
+    @Test
+    public void testGetEmployesPageWithFilters_WithSearchIndex_ShouldFetchOnlyPageRowsInIndexOrder() {
+        // Arrange — l'index résout la page (ids 2 puis 1) et le total ; findAllById ne garantit pas l'ordre
+        Pageable pageable = PageRequest.of(0, 2);
+        when(searchIndex.search("Jean", null, null, null, pageable))
+                .thenReturn(Optional.of(new EmployeSearchIndex.Hits(List.of(2L, 1L), 7)));
+        when(employeRepository.findAllById(List.of(2L, 1L))).thenReturn(Arrays.asList(employe1, employe2));
+
+        // Act
+        Page<Employe> result = employeService.getEmployesPage("Jean", null, null, null, pageable);
+
+        // Assert
+        assertEquals(List.of(employe2, employe1), result.getContent());
+        assertEquals(7, result.getTotalElements());
+        verify(employeRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests getEmployesPageProjected(filtres, pageable)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEmployesPageProjected_FirstPageIncomplete_ShouldSkipCount() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("nom"));
+        when(employeRepository.findProjected(any(Specification.class), eq(Sort.by("nom")), eq(0L), eq(10)))
+                .thenReturn(List.of(EmployeResponseDTO.from(employe1)));
+
+        // Act
+        Page<EmployeResponseDTO> result = employeService.getEmployesPageProjected("Jean", null, null, null, pageable);
+
+        // Assert — total déduit de la page, aucune entité chargée
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Jean", result.getContent().get(0).prenom());
+        verify(employeRepository, never()).count(any(Specification.class));
+        verify(employeRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEmployesPageProjected_FullPage_ShouldCount() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 2);
+        when(employeRepository.findProjected(any(Specification.class), eq(Sort.unsorted()), eq(0L), eq(2)))
+                .thenReturn(List.of(EmployeResponseDTO.from(employe1), EmployeResponseDTO.from(employe2)));
+        when(employeRepository.count(any(Specification.class))).thenReturn(5L);
+
+        // Act
+        Page<EmployeResponseDTO> result = employeService.getEmployesPageProjected(null, null, null, null, pageable);
+
+        // Assert
+        assertEquals(2, result.getContent().size());
+        assertEquals(5, result.getTotalElements());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEmployesPageProjected_SamePageTwice_ShouldQueryOnceUntilWrite() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("nom"));
+        when(employeRepository.findProjected(any(Specification.class), eq(Sort.by("nom")), eq(0L), eq(10)))
+                .thenReturn(List.of(EmployeResponseDTO.from(employe1)));
+        when(employeRepository.deleteDirect(2L, null)).thenReturn(1);
+
+        // Act
+        employeService.getEmployesPageProjected(null, null, null, null, pageable);
+        Page<EmployeResponseDTO> cached = employeService.getEmployesPageProjected(null, "", null, null, pageable);
+        employeService.deleteEmploye(2L);
+        employeService.getEmployesPageProjected(null, null, null, null, pageable);
+
+        // Assert — deuxième lecture servie par le cache (filtre vide = sans filtre), relecture après la suppression
+        assertEquals(1, cached.getTotalElements());
+        verify(pageCache, times(1)).invalidate();
+        verify(employeRepository, times(2)).findProjected(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests getEmployesPageEstimated(filtres, pageable)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEmployesPageEstimated_WithStatistics_ShouldUseEstimateWithoutCount() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 1);
+        when(employeRepository.findBy(any(Specification.class), any()))
+                .thenReturn(new SliceImpl<>(Arrays.asList(employe1), pageable, true));
+        when(employeRepository.estimateCount("Jean", null, null, null)).thenReturn(OptionalLong.of(1000L));
+
+        // Act
+        Page<Employe> result = employeService.getEmployesPageEstimated("Jean", null, null, null, pageable);
+
+        // Assert
+        assertEquals(1000L, result.getTotalElements());
+        verify(employeRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEmployesPageEstimated_WithoutStatistics_ShouldFallBackToExactCount() {
+        // Arrange — base sans statistiques (H2)
+        Pageable pageable = PageRequest.of(0, 1);
+        when(employeRepository.findBy(any(Specification.class), any()))
+                .thenReturn(new SliceImpl<>(Arrays.asList(employe1), pageable, true));
+        when(employeRepository.estimateCount(null, null, null, null)).thenReturn(OptionalLong.empty());
+        when(employeRepository.count(any(Specification.class))).thenReturn(2L);
+
+        // Act
+        Page<Employe> result = employeService.getEmployesPageEstimated(null, null, null, null, pageable);
+
+        // Assert
+        assertEquals(2L, result.getTotalElements());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEmployesPageEstimated_LastPage_ShouldComputeExactTotalWithoutQuery() {
+        // Arrange
+        Pageable pageable = PageRequest.of(1, 10);
+        when(employeRepository.findBy(any(Specification.class), any()))
+                .thenReturn(new SliceImpl<>(Arrays.asList(employe1, employe2), pageable, false));
+
+        // Act
+        Page<Employe> result = employeService.getEmployesPageEstimated(null, null, null, null, pageable);
+
+        // Assert
+        assertEquals(12L, result.getTotalElements());
+        verify(employeRepository, never()).estimateCount(any(), any(), any(), any());
+        verify(employeRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEmployesPageEstimated_PastTheEnd_ShouldNotDeriveTotalFromOffset() {
+        // Arrange — page 50 d'un résultat de 2 lignes : page vide, aucune ligne n'existe à cet offset
+        Pageable pageable = PageRequest.of(50, 10);
+        when(employeRepository.findBy(any(Specification.class), any()))
+                .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+        when(employeRepository.estimateCount(null, "Dup", null, null)).thenReturn(OptionalLong.empty());
+        when(employeRepository.count(any(Specification.class))).thenReturn(2L);
+
+        // Act
+        Page<Employe> result = employeService.getEmployesPageEstimated(null, "Dup", null, null, pageable);
+
+        // Assert — total compté, et non l'offset (500)
+        assertEquals(2L, result.getTotalElements());
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEmployesPageEstimated_PastTheEndWithOverestimate_ShouldCapTotalAtOffset() {
+        // Arrange — statistiques périmées : l'estimation dépasse l'offset d'une page vide
+        Pageable pageable = PageRequest.of(3, 10);
+        when(employeRepository.findBy(any(Specification.class), any()))
+                .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+        when(employeRepository.estimateCount(null, null, null, null)).thenReturn(OptionalLong.of(1000L));
+
+        // Act
+        Page<Employe> result = employeService.getEmployesPageEstimated(null, null, null, null, pageable);
+
+        // Assert — la page vide prouve qu'il n'y a pas plus de 30 lignes
+        assertEquals(30L, result.getTotalElements());
+        verify(employeRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEmployesPageEstimated_WithUnderestimate_ShouldNotContradictNextPage() {
+        // Arrange — statistiques périmées : l'estimation est inférieure à ce qui a déjà été lu
+        Pageable pageable = PageRequest.of(5, 2);
+        when(employeRepository.findBy(any(Specification.class), any()))
+                .thenReturn(new SliceImpl<>(Arrays.asList(employe1, employe2), pageable, true));
+        when(employeRepository.estimateCount(null, null, null, null)).thenReturn(OptionalLong.of(3L));
+
+        // Act
+        Page<Employe> result = employeService.getEmployesPageEstimated(null, null, null, null, pageable);
+
+        // Assert — 10 lignes sautées + 2 lues + au moins 1 sur la page suivante
+        assertEquals(13L, result.getTotalElements());
+        assertTrue(result.hasNext());
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests getEmployesAfter(filtres, curseur, size)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEmployesAfter_WithExtraRow_ShouldTrimAndReportHasNext() {
+        // Arrange — le repository renvoie size + 1 lignes : il existe une page suivante
+        when(employeRepository.findBy(any(Specification.class), any())).thenReturn(Arrays.asList(employe1, employe2));
+
+        // Act
+        Slice<Employe> result = employeService.getEmployesAfter(null, null, null, null,
+                EmployeCursor.start("nom", Sort.Direction.ASC), 1);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertEquals("Jean", result.getContent().get(0).getPrenom());
+        assertTrue(result.hasNext());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEmployesAfter_WithoutExtraRow_ShouldReportLastPage() {
+        // Arrange
+        when(employeRepository.findBy(any(Specification.class), any())).thenReturn(Arrays.asList(employe1, employe2));
+
+        // Act
+        Slice<Employe> result = employeService.getEmployesAfter(null, null, null, null,
+                EmployeCursor.start("nom", Sort.Direction.ASC), 2);
+
+        // Assert
+        assertEquals(2, result.getContent().size());
+        assertFalse(result.hasNext());
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests searchEmployes(q, pageable)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testToSearchTerms_ShouldLowercaseSplitAndDropOperators() {
+        assertEquals(List.of("jean", "pierre", "paris", "75001"), EmployeService.toSearchTerms("Jean-Pierre & PARIS | 75001 jean:*"));
+    }
+
+    @Test
+    public void testToSearchTerms_WithAccents_ShouldKeepLetters() {
+        assertEquals(List.of("chloé", "léa"), EmployeService.toSearchTerms("Chloé, Léa!"));
+    }
+
+    @Test
+    public void testSearchEmployes_WithFullTextSupport_ShouldReturnRankedPage() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<Employe> ranked = new PageImpl<>(Arrays.asList(employe2, employe1), pageable, 2);
+        when(employeRepository.fullTextSearch(List.of("martin"), pageable)).thenReturn(Optional.of(ranked));
+
+        // Act
+        Page<Employe> result = employeService.searchEmployes("Martin", pageable);
+
+        // Assert
+        assertSame(ranked, result);
+        verify(employeRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSearchEmployes_WithoutFullTextSupport_ShouldFallBackToSpecification() {
+        // Arrange
+        Pageable pageable = PageRequest.of(1, 10);
+        when(employeRepository.fullTextSearch(List.of("martin"), pageable)).thenReturn(Optional.empty());
+        when(employeRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Arrays.asList(employe2)));
+
+        // Act
+        employeService.searchEmployes("martin", pageable);
+
+        // Assert — même page, tri déterministe nom, prénom, id
+        verify(employeRepository).findAll(any(Specification.class),
+                eq(PageRequest.of(1, 10, Sort.by("nom", "prenom", "id"))));
+    }
+
+    @Test
+    public void testSearchEmployes_WithoutTerms_ShouldNotQuery() {
+        // Act
+        Page<Employe> result = employeService.searchEmployes("-- !", PageRequest.of(0, 20));
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(employeRepository);
+    }
+
     // ════════════════════════════════════════════════════════════════
     // Tests deleteEmploye(id)
     // ════════════════════════════════════════════════════════════════
@@ -161,21 +507,27 @@ public class EmployeServiceTest {
     @Test
     public void testDeleteEmploye_WithValidId_ShouldDeleteSuccessfully() {
         // Arrange
-        when(employeRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(employeRepository).deleteById(1L);
+        when(employeRepository.deleteDirect(1L, null)).thenReturn(1);
 
         // Act
         employeService.deleteEmploye(1L);
 
-        // Assert
-        verify(employeRepository, times(1)).existsById(1L);
-        verify(employeRepository, times(1)).deleteById(1L);
+        // Assert — un seul DELETE en SQL direct, sans existsById préalable ni DELETE en masse Hibernate,
+        // l'entrée du cache de second niveau verrouillée avant la requête
+        InOrder inOrder = inOrder(employeRepository);
+        inOrder.verify(employeRepository).lockCached(List.of(1L));
+        inOrder.verify(employeRepository).deleteDirect(1L, null);
+        verify(employeRepository, never()).delete(any(DeleteSpecification.class));
+        verify(employeRepository, never()).existsById(any());
+        verify(employeRepository, never()).deleteById(any());
+        verify(searchIndex, times(1)).remove(1L);
+        verify(pageCache, times(1)).invalidate();
     }
 
     @Test
     public void testDeleteEmploye_WithInvalidId_ShouldThrowException() {
         // Arrange
-        when(employeRepository.existsById(999L)).thenReturn(false);
+        when(employeRepository.deleteDirect(999L, null)).thenReturn(0);
 
         // Act & Assert
         EmployeNotFoundException exception = assertThrows(
@@ -184,8 +536,103 @@ public class EmployeServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("999"));
-        verify(employeRepository, times(1)).existsById(999L);
-        verify(employeRepository, never()).deleteById(any());
+        verify(employeRepository, never()).existsById(any());
+        verify(searchIndex, never()).remove(any());
+        verify(pageCache, never()).invalidate();
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests deleteEmployes / deleteEmployesMatching / patchEmployes (en masse)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testDeleteEmployes_ShouldRunSingleDeleteWithoutExistsCheck() {
+        // Arrange
+        when(employeRepository.delete(any(DeleteSpecification.class))).thenReturn(2L);
+
+        // Act
+        long deleted = employeService.deleteEmployes(List.of(1L, 2L, 99L));
+
+        // Assert
+        assertEquals(2L, deleted);
+        verify(employeRepository, times(1)).delete(any(DeleteSpecification.class));
+        verify(employeRepository, never()).existsById(any());
+        verify(searchIndex).remove(1L);
+        verify(searchIndex).remove(99L);
+    }
+
+    @Test
+    public void testDeleteEmployesMatching_WithoutSearchIndex_ShouldRunSingleDelete() {
+        // Arrange
+        when(searchIndex.isReady()).thenReturn(false);
+        when(employeRepository.delete(any(DeleteSpecification.class))).thenReturn(3L);
+
+        // Act
+        long deleted = employeService.deleteEmployesMatching(null, "Dup", null, null);
+
+        // Assert — aucune lecture préalable
+        assertEquals(3L, deleted);
+        verify(employeRepository, never()).findProjected(any(), any(), anyLong(), anyInt());
+        verify(searchIndex, never()).remove(any());
+    }
+
+    @Test
+    public void testDeleteEmployesMatching_WithSearchIndex_ShouldDeleteResolvedIdsAndUpdateIndex() {
+        // Arrange
+        when(searchIndex.isReady()).thenReturn(true);
+        when(employeRepository.findIdsAfter(any(), isNull(), eq(EmployeService.DELETE_CHUNK_SIZE)))
+                .thenReturn(List.of(1L, 2L));
+        when(employeRepository.delete(any(DeleteSpecification.class))).thenReturn(2L);
+
+        // Act
+        long deleted = employeService.deleteEmployesMatching(null, null, "example", null);
+
+        // Assert — tranche incomplète : pas de seconde lecture
+        assertEquals(2L, deleted);
+        verify(employeRepository, times(1)).findIdsAfter(any(), any(), anyInt());
+        verify(employeRepository, never()).findProjected(any(), any(), anyLong(), anyInt());
+        verify(searchIndex).remove(1L);
+        verify(searchIndex).remove(2L);
+    }
+
+    @Test
+    public void testDeleteEmployesMatching_WithSearchIndex_ShouldDeleteByBoundedChunks() {
+        // Arrange — une tranche pleine, puis une tranche de 1 id lue après le dernier id de la première
+        List<Long> firstChunk = new ArrayList<>();
+        for (long id = 1; id <= EmployeService.DELETE_CHUNK_SIZE; id++) {
+            firstChunk.add(id);
+        }
+        long lastOfFirst = EmployeService.DELETE_CHUNK_SIZE;
+        when(searchIndex.isReady()).thenReturn(true);
+        when(employeRepository.findIdsAfter(any(), isNull(), anyInt())).thenReturn(firstChunk);
+        when(employeRepository.findIdsAfter(any(), eq(lastOfFirst), anyInt())).thenReturn(List.of(5000L));
+        when(employeRepository.delete(any(DeleteSpecification.class)))
+                .thenReturn((long) EmployeService.DELETE_CHUNK_SIZE, 1L);
+
+        // Act
+        long deleted = employeService.deleteEmployesMatching(null, "Dup", null, null);
+
+        // Assert — un DELETE par tranche, jamais plus de DELETE_CHUNK_SIZE ids par requête
+        assertEquals(EmployeService.DELETE_CHUNK_SIZE + 1L, deleted);
+        verify(employeRepository, times(2)).delete(any(DeleteSpecification.class));
+        verify(searchIndex).remove(1L);
+        verify(searchIndex).remove(lastOfFirst);
+        verify(searchIndex).remove(5000L);
+    }
+
+    @Test
+    public void testPatchEmployes_ShouldRunSingleUpdate() {
+        // Arrange
+        when(employeRepository.update(any(UpdateSpecification.class))).thenReturn(2L);
+
+        // Act
+        long updated = employeService.patchEmployes(List.of(1L, 2L), "adresse", "5 Quai du Rhône, Lyon");
+
+        // Assert — index inactif : pas de relecture
+        assertEquals(2L, updated);
+        verify(employeRepository, times(1)).update(any(UpdateSpecification.class));
+        verify(employeRepository, never()).findAllById(any());
+        verify(pageCache, times(1)).invalidate();
     }
 
     // ════════════════════════════════════════════════════════════════
@@ -218,6 +665,7 @@ public class EmployeServiceTest {
         assertEquals(3L, result.getId());
         assertEquals("Paul", result.getPrenom());
         verify(employeRepository, times(1)).save(newEmploye);
+        verify(searchIndex, times(1)).index(savedEmploye);
     }
 
     @Test
@@ -245,26 +693,116 @@ public class EmployeServiceTest {
         verify(employeRepository, times(1)).save(employeWithId);
     }
 
+    // ════════════════════════════════════════════════════════════════
+    // Tests createEmployes(employes)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testCreateEmployes_ShouldSaveAllInOneCallAndIndex() {
+        // Arrange
+        employe1.setId(99L);
+        List<Employe> lot = List.of(employe1, employe2);
+        when(employeRepository.findExistingMails(any())).thenReturn(List.of());
+        when(employeRepository.saveAll(lot)).thenReturn(lot);
+
+        // Act
+        List<Employe> result = employeService.createEmployes(lot);
+
+        // Assert — un seul saveAll, ids du corps ignorés
+        assertEquals(lot, result);
+        assertNull(employe1.getId());
+        verify(employeRepository, times(1)).saveAll(lot);
+        verify(employeRepository, never()).save(any(Employe.class));
+        verify(searchIndex).index(employe1);
+        verify(searchIndex).index(employe2);
+    }
+
+    @Test
+    public void testCreateEmployes_WithDuplicateMails_ShouldReportPositionsAndSaveNothing() {
+        // Arrange — employe2 en double dans le lot, employe1 déjà en base
+        Employe doublon = new Employe();
+        doublon.setPrenom("Marie");
+        doublon.setNom("Martin");
+        doublon.setMail("marie.martin@example.com");
+        when(employeRepository.findExistingMails(any())).thenReturn(List.of("jean.dupont@example.com"));
+
+        // Act
+        EmployeBatchValidationException exception = assertThrows(EmployeBatchValidationException.class,
+                () -> employeService.createEmployes(List.of(employe1, employe2, doublon)));
+
+        // Assert
+        assertEquals("Un employé existe déjà avec cet email", exception.getErrors().get("[0].mail"));
+        assertEquals("Email en double dans le lot (élément 1)", exception.getErrors().get("[2].mail"));
+        assertFalse(exception.getErrors().containsKey("[1].mail"));
+        verify(employeRepository, never()).saveAll(any());
+        verifyNoInteractions(searchIndex);
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests upsertEmployes(employes) (écriture par mail)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testUpsertEmployes_ShouldWriteOnceAndLockUpdatedOnly() {
+        // Arrange — employe1 existait (mis à jour), employe2 est créé
+        when(employeRepository.upsertByMail(List.of(employe1, employe2))).thenReturn(List.of(
+                new EmployeUpsertResultDTO(EmployeResponseDTO.from(employe1), 3L, false),
+                new EmployeUpsertResultDTO(EmployeResponseDTO.from(employe2), 0L, true)));
+
+        // Act
+        List<EmployeUpsertResultDTO> results = employeService.upsertEmployes(List.of(employe1, employe2));
+
+        // Assert — aucune lecture préalable, seul l'employé mis à jour est verrouillé dans le cache de second niveau
+        assertEquals(2, results.size());
+        assertTrue(results.get(1).created());
+        verify(employeRepository, never()).findExistingMails(any());
+        verify(employeRepository, times(1)).lockCached(List.of(1L));
+        verify(searchIndex, times(2)).index(any(Employe.class));
+        verify(pageCache, times(1)).invalidate();
+    }
+
+    @Test
+    public void testUpsertEmployes_WithDuplicateMails_ShouldReportPositionAndWriteNothing() {
+        // Arrange
+        Employe doublon = new Employe();
+        doublon.setPrenom("Jeanne");
+        doublon.setNom("Dupont");
+        doublon.setMail("jean.dupont@example.com");
+
+        // Act
+        EmployeBatchValidationException exception = assertThrows(EmployeBatchValidationException.class,
+                () -> employeService.upsertEmployes(List.of(employe1, employe2, doublon)));
+
+        // Assert
+        assertEquals("Email en double dans le lot (élément 0)", exception.getErrors().get("[2].mail"));
+        verify(employeRepository, never()).upsertByMail(any());
+        verifyNoInteractions(searchIndex);
+    }
+
     // ════════════════════════════════════════════════════════════════
     // Tests updateEmploye(id, employe)
     // ════════════════════════════════════════════════════════════════
 
     @Test
     public void testUpdateEmploye_WithValidId_ShouldUpdateSuccessfully() {
-        // Arrange
-        employe1.setPrenom("Jean-Updated");
-        when(employeRepository.existsById(1L)).thenReturn(true);
-        when(employeRepository.save(employe1)).thenReturn(employe1);
+        // Arrange — l'employé est lu puis modifié dans la transaction (UPDATE au commit, version incluse)
+        Employe changes = new Employe();
+        changes.setPrenom("Jean-Updated");
+        changes.setNom("Dupont");
+        changes.setMail("jean.dupont@example.com");
+        when(employeRepository.findById(1L)).thenReturn(Optional.of(employe1));
 
         // Act
-        Employe result = employeService.updateEmploye(1L, employe1);
+        Employe result = employeService.updateEmploye(1L, changes);
 
         // Assert
-        assertNotNull(result);
+        assertSame(employe1, result);
         assertEquals(1L, result.getId());
         assertEquals("Jean-Updated", result.getPrenom());
-        verify(employeRepository, times(1)).existsById(1L);
-        verify(employeRepository, times(1)).save(employe1);
+        assertNull(result.getAdresse());
+        verify(employeRepository, never()).save(any());
+        verify(searchIndex, times(1)).index(employe1);
+        verify(pageCache, times(1)).invalidate();
     }
 
     @Test
@@ -276,21 +814,20 @@ public class EmployeServiceTest {
         employeWithWrongId.setNom("Dupont");
         employeWithWrongId.setMail("jean.dupont@example.com");
 
-        when(employeRepository.existsById(1L)).thenReturn(true);
-        when(employeRepository.save(employeWithWrongId)).thenReturn(employeWithWrongId);
+        when(employeRepository.findById(1L)).thenReturn(Optional.of(employe1));
 
         // Act
-        employeService.updateEmploye(1L, employeWithWrongId);
+        Employe result = employeService.updateEmploye(1L, employeWithWrongId);
 
-        // Assert — l'id a été écrasé par celui du path
-        assertEquals(1L, employeWithWrongId.getId());
-        verify(employeRepository, times(1)).save(employeWithWrongId);
+        // Assert — c'est l'employé du path qui a été modifié
+        assertEquals(1L, result.getId());
+        verify(employeRepository, never()).findById(99L);
     }
 
     @Test
     public void testUpdateEmploye_WithInvalidId_ShouldThrowException() {
         // Arrange
-        when(employeRepository.existsById(999L)).thenReturn(false);
+        when(employeRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         EmployeNotFoundException exception = assertThrows(
@@ -299,7 +836,130 @@ public class EmployeServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("999"));
-        verify(employeRepository, times(1)).existsById(999L);
+        verify(employeRepository, times(1)).findById(999L);
+        verify(searchIndex, never()).index(any());
+    }
+
+    @Test
+    public void testUpdateEmploye_WithExpectedVersion_ShouldUpdate() {
+        // Arrange
+        ReflectionTestUtils.setField(employe1, "version", 3L);
+        when(employeRepository.findById(1L)).thenReturn(Optional.of(employe1));
+
+        // Act
+        Employe result = employeService.updateEmploye(1L, employe2, 3L);
+
+        // Assert
+        assertEquals("Marie", result.getPrenom());
+    }
+
+    @Test
+    public void testUpdateEmploye_WithStaleVersion_ShouldThrowAndLeaveEmployeUnchanged() {
+        // Arrange — le client a lu la version 2, l'employé en est à la version 3
+        ReflectionTestUtils.setField(employe1, "version", 3L);
+        when(employeRepository.findById(1L)).thenReturn(Optional.of(employe1));
+
+        // Act & Assert
+        EmployeVersionMismatchException exception = assertThrows(
+                EmployeVersionMismatchException.class,
+                () -> employeService.updateEmploye(1L, employe2, 2L)
+        );
+
+        assertTrue(exception.getMessage().contains("version 3, attendue 2"));
+        assertEquals("Jean", employe1.getPrenom());
+        verify(searchIndex, never()).index(any());
+        verify(pageCache, never()).invalidate();
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests patchEmploye(id, champs, version attendue)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testPatchEmploye_ShouldChangeOnlyGivenFields() {
+        // Arrange
+        when(employeRepository.findById(1L)).thenReturn(Optional.of(employe1));
+        Map<String, String> changes = new HashMap<>();
+        changes.put("nom", "Durand");
+        changes.put("adresse", null);
+
+        // Act
+        Employe result = employeService.patchEmploye(1L, changes, null);
+
+        // Assert — prénom et mail conservés, adresse effacée
+        assertEquals("Jean", result.getPrenom());
+        assertEquals("Durand", result.getNom());
+        assertEquals("jean.dupont@example.com", result.getMail());
+        assertNull(result.getAdresse());
+        verify(searchIndex, times(1)).index(employe1);
+        verify(pageCache, times(1)).invalidate();
+    }
+
+    @Test
+    public void testPatchEmploye_WithUnchangedValues_ShouldWriteNothing() {
+        // Arrange
+        when(employeRepository.findById(1L)).thenReturn(Optional.of(employe1));
+
+        // Act
+        employeService.patchEmploye(1L, Map.of("prenom", "Jean", "adresse", "123 Rue de Paris"), null);
+
+        // Assert — entité non modifiée : pas d'UPDATE au commit, caches conservés
         verify(employeRepository, never()).save(any());
+        verify(searchIndex, never()).index(any());
+        verify(pageCache, never()).invalidate();
+    }
+
+    @Test
+    public void testPatchEmploye_WithUnknownField_ShouldThrowException() {
+        // Arrange
+        when(employeRepository.findById(1L)).thenReturn(Optional.of(employe1));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> employeService.patchEmploye(1L, Map.of("id", "2"), null));
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // Tests deleteEmploye(id, version attendue)
+    // ════════════════════════════════════════════════════════════════
+
+    @Test
+    public void testDeleteEmployeWithVersion_WithCurrentVersion_ShouldRunSingleDelete() {
+        // Arrange
+        when(employeRepository.deleteDirect(1L, 0L)).thenReturn(1);
+
+        // Act
+        employeService.deleteEmploye(1L, 0L);
+
+        // Assert — DELETE ... WHERE id = ? AND version = ?, sans lecture préalable
+        InOrder inOrder = inOrder(employeRepository);
+        inOrder.verify(employeRepository).lockCached(List.of(1L));
+        inOrder.verify(employeRepository).deleteDirect(1L, 0L);
+        verify(employeRepository, never()).findById(any());
+        verify(searchIndex, times(1)).remove(1L);
+        verify(pageCache, times(1)).invalidate();
+    }
+
+    @Test
+    public void testDeleteEmployeWithVersion_WithStaleVersion_ShouldThrowAndNotDelete() {
+        // Arrange
+        ReflectionTestUtils.setField(employe1, "version", 1L);
+        when(employeRepository.deleteDirect(1L, 0L)).thenReturn(0);
+        when(employeRepository.findById(1L)).thenReturn(Optional.of(employe1));
+
+        // Act & Assert
+        assertThrows(EmployeVersionMismatchException.class, () -> employeService.deleteEmploye(1L, 0L));
+        verify(searchIndex, never()).remove(any());
+        verify(pageCache, never()).invalidate();
+    }
+
+    @Test
+    public void testDeleteEmployeWithVersion_WithUnknownId_ShouldThrowNotFound() {
+        // Arrange
+        when(employeRepository.deleteDirect(999L, 0L)).thenReturn(0);
+        when(employeRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EmployeNotFoundException.class, () -> employeService.deleteEmploye(999L, 0L));
+        verify(searchIndex, never()).remove(any());
     }
 }
@@ -0,0 +1,118 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import fr.leuwen.rhdemoAPI.config.TestDataLoader;
+import fr.leuwen.rhdemoAPI.springconfig.AdmissionLimiter.Outcome;
+import fr.leuwen.rhdemoAPI.springconfig.AdmissionLimiter.Permit;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tests d'intégration du contrôle d'admission (AdmissionControlFilter) : une seule place, sans file d'attente.
+ * La place est prise par le test lui-même pour simuler une requête /api en cours.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.yml", properties = {
+        "fr.leuwen.rhdemoAPI.admission.initial-limit=1",
+        "fr.leuwen.rhdemoAPI.admission.max-limit=1",
+        "fr.leuwen.rhdemoAPI.admission.queue-capacity=0",
+        "fr.leuwen.rhdemoAPI.admission.retry-after=2s",
+        "fr.leuwen.rhdemoAPI.admission.bulk-limit=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestDataLoader.class)
+@DirtiesContext
+class AdmissionControlIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdmissionLimiter limiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Permit held;
+
+    @BeforeEach
+    void holdPermit() throws Exception {
+        held = limiter.acquire();
+    }
+
+    @AfterEach
+    void releasePermit() {
+        held.release(Outcome.IGNORED);
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    void apiRequest_WhenSaturated_ShouldReturn429WithRetryAfter() throws Exception {
+        double rejected = meterRegistry.get("rhdemo.admission.rejected").tag("reason", "queue_full").counter().count();
+
+        mockMvc.perform(get("/api/employes/1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.message").value("Serveur saturé, réessayez dans 2 s"));
+
+        assertThat(meterRegistry.get("rhdemo.admission.rejected").tag("reason", "queue_full").counter().count())
+                .isEqualTo(rejected + 1);
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    void apiRequest_AfterPermitReleased_ShouldBeAdmitted() throws Exception {
+        held.release(Outcome.IGNORED);
+
+        mockMvc.perform(get("/api/employes/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.prenom").value("Laurent"));
+
+        assertThat(limiter.inFlight()).isZero();
+        held = limiter.acquire();
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    void streamedList_WhenSaturated_ShouldBeAdmittedOutsideAdaptiveLimit() throws Exception {
+        int limit = limiter.limit();
+
+        mockMvc.perform(get("/api/employes"))
+                .andExpect(status().isOk());
+
+        // Ni place prise ni échantillon de latence : la limite des requêtes interactives est inchangée
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        assertThat(limiter.limit()).isEqualTo(limit);
+    }
+
+    @Test
+    void nonApiRequest_WhenSaturated_ShouldNotBeLimited() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unauthenticatedApiRequest_WhenSaturated_ShouldBeRejectedBySecurityFirst() throws Exception {
+        mockMvc.perform(get("/api/employes/1"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,166 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import fr.leuwen.rhdemoAPI.springconfig.AdmissionLimiter.Outcome;
+import fr.leuwen.rhdemoAPI.springconfig.AdmissionLimiter.Permit;
+import fr.leuwen.rhdemoAPI.springconfig.AdmissionLimiter.RejectedException;
+import fr.leuwen.rhdemoAPI.springconfig.AdmissionLimiter.Rejection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitaires pour AdmissionLimiter : horloge simulée pour les latences, attentes réelles pour la file.
+ */
+@DisplayName("AdmissionLimiter")
+class AdmissionLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdmissionLimiter limiter(int initialLimit, int maxLimit, int queueCapacity, Duration maxWait) {
+        return new AdmissionLimiter(clock::get, meterRegistry, initialLimit, maxLimit, queueCapacity, maxWait);
+    }
+
+    @Test
+    @DisplayName("Limite atteinte et file pleine : refus immédiat")
+    void acquire_LimitReachedAndQueueFull_ShouldRejectQueueFull() throws Exception {
+        AdmissionLimiter limiter = limiter(2, 2, 0, Duration.ofSeconds(1));
+        limiter.acquire();
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(RejectedException.class)
+                .extracting(e -> ((RejectedException) e).getRejection())
+                .isEqualTo(Rejection.QUEUE_FULL);
+        assertThat(limiter.inFlight()).isEqualTo(2);
+        assertThat(meterRegistry.get("rhdemo.admission.rejected").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Requête en file admise dès qu'une place se libère")
+    void acquire_Queued_ShouldBeAdmittedWhenPermitReleased() throws Exception {
+        AdmissionLimiter limiter = limiter(1, 1, 1, Duration.ofSeconds(10));
+        Permit first = limiter.acquire();
+
+        CompletableFuture<Permit> queued = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                queued.complete(limiter.acquire());
+            } catch (Exception e) {
+                queued.completeExceptionally(e);
+            }
+        });
+        await().atMost(Duration.ofSeconds(5)).until(() -> limiter.waiting() == 1);
+        assertThat(meterRegistry.get("rhdemo.admission.queue").gauge().value()).isEqualTo(1);
+
+        // File pleine pour la requête suivante
+        assertThatThrownBy(limiter::acquire).isInstanceOf(RejectedException.class);
+
+        first.release(Outcome.SUCCESS);
+
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        assertThat(limiter.waiting()).isZero();
+    }
+
+    @Test
+    @DisplayName("Attente supérieure à max-wait : refus")
+    void acquire_WaitLongerThanMaxWait_ShouldRejectTimeout() throws Exception {
+        AdmissionLimiter limiter = limiter(1, 1, 10, Duration.ofMillis(50));
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(RejectedException.class)
+                .extracting(e -> ((RejectedException) e).getRejection())
+                .isEqualTo(Rejection.TIMEOUT);
+        assertThat(limiter.waiting()).isZero();
+        assertThat(meterRegistry.get("rhdemo.admission.rejected").tag("reason", "timeout").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Latence stable à pleine charge : la limite monte jusqu'à max-limit")
+    void limit_StableLatencyAtFullLoad_ShouldGrowToMaxLimit() throws Exception {
+        AdmissionLimiter limiter = limiter(4, 20, 0, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 200; i++) {
+            fullLoadRound(limiter, Duration.ofMillis(10));
+        }
+
+        assertThat(limiter.limit()).isEqualTo(20);
+        assertThat(meterRegistry.get("rhdemo.admission.limit").gauge().value()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Latence multipliée par 10 : la limite baisse")
+    void limit_LatencyIncrease_ShouldShrink() throws Exception {
+        AdmissionLimiter limiter = limiter(4, 20, 0, Duration.ofSeconds(1));
+        for (int i = 0; i < 200; i++) {
+            fullLoadRound(limiter, Duration.ofMillis(10));
+        }
+
+        fullLoadRound(limiter, Duration.ofMillis(100));
+        fullLoadRound(limiter, Duration.ofMillis(100));
+
+        assertThat(limiter.limit()).isLessThan(10);
+    }
+
+    @Test
+    @DisplayName("Requête en échec (5xx) : limite réduite de 10 %")
+    void release_Dropped_ShouldReduceLimit() throws Exception {
+        AdmissionLimiter limiter = limiter(10, 20, 0, Duration.ofSeconds(1));
+
+        limiter.acquire().release(Outcome.DROPPED);
+
+        assertThat(limiter.limit()).isEqualTo(9);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Charge faible ou requête asynchrone : limite inchangée")
+    void limit_LowLoadOrIgnored_ShouldNotChange() throws Exception {
+        AdmissionLimiter limiter = limiter(10, 20, 0, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 100; i++) {
+            Permit permit = limiter.acquire();
+            clock.addAndGet(Duration.ofMillis(10).toNanos());
+            permit.release(i % 2 == 0 ? Outcome.SUCCESS : Outcome.IGNORED);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Place rendue deux fois : comptée une seule fois")
+    void release_Twice_ShouldReleaseOnce() throws Exception {
+        AdmissionLimiter limiter = limiter(2, 2, 0, Duration.ofSeconds(1));
+        Permit permit = limiter.acquire();
+        limiter.acquire();
+
+        permit.release(Outcome.SUCCESS);
+        permit.release(Outcome.SUCCESS);
+
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    // Occupe toutes les places, puis les rend après la latence donnée
+    private void fullLoadRound(AdmissionLimiter limiter, Duration latency) throws Exception {
+        List<Permit> permits = new ArrayList<>();
+        for (int i = limiter.limit(); i > 0; i--) {
+            permits.add(limiter.acquire());
+        }
+        clock.addAndGet(latency.toNanos());
+        permits.forEach(permit -> permit.release(Outcome.SUCCESS));
+    }
+}
@@ -0,0 +1,114 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.sql.Statement;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import fr.leuwen.rhdemoAPI.config.TestDataLoader;
+import fr.leuwen.rhdemoAPI.model.Employe;
+import fr.leuwen.rhdemoAPI.service.EmployeService;
+
+/**
+ * Tests d'intégration du routage primaire / réplica (ReadReplicaConfig) avec deux bases H2 distinctes.
+ * Le « réplica » n'est pas alimenté par réplication : il ne contient qu'un employé qui lui est propre, ce qui
+ * permet de savoir quelle base a servi chaque lecture. Le primaire contient les 4 employés de TestDataLoader.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.yml", properties = {
+        "spring.datasource.url=jdbc:h2:mem:rr-primary",
+        "fr.leuwen.rhdemoAPI.datasource.replica.enabled=true",
+        "fr.leuwen.rhdemoAPI.datasource.replica.url=jdbc:h2:mem:rr-replica;DB_CLOSE_DELAY=-1",
+        "fr.leuwen.rhdemoAPI.datasource.replica.max-lag=500ms",
+        "fr.leuwen.rhdemoAPI.datasource.replica.hikari.minimum-idle=1"
+})
+@ActiveProfiles("test")
+@Import(TestDataLoader.class)
+@DirtiesContext
+class ReadReplicaConfigIT {
+
+    private static final long REPLICA_ONLY_ID = 1000L;
+
+    @Autowired
+    private EmployeService employeService;
+
+    @Autowired
+    private ReplicaLagGuard guard;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUpReplica() {
+        // Connexion en lecture seule par défaut (pool replica) : écriture explicite pour préparer la base
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute((ConnectionCallback<Void>) connection -> {
+            connection.setReadOnly(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        CREATE TABLE IF NOT EXISTS employes (id BIGINT PRIMARY KEY, prenom VARCHAR(50) NOT NULL,
+                            nom VARCHAR(50) NOT NULL, mail VARCHAR(100) NOT NULL UNIQUE, adresse VARCHAR(200),
+                            version BIGINT NOT NULL DEFAULT 0)""");
+                statement.execute("MERGE INTO employes KEY (id) VALUES (1000, 'Réplica', 'Seule', 'replica.seule@example.com', NULL, 0)");
+            } finally {
+                connection.setReadOnly(true);
+            }
+            return null;
+        });
+        awaitReplicaUsable();
+    }
+
+    @Test
+    void readOnlyMethods_ShouldReadReplica() {
+        Page<Employe> page = employeService.getEmployesPage(PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent().get(0).getNom()).isEqualTo("Seule");
+        assertThat(employeService.getEmploye(REPLICA_ONLY_ID).getMail()).isEqualTo("replica.seule@example.com");
+    }
+
+    @Test
+    @DirtiesContext
+    void write_ShouldGoToPrimaryAndBeReadFromPrimaryUntilMaxLag() {
+        Employe employe = new Employe();
+        employe.setPrenom("Paul");
+        employe.setNom("Primaire");
+        employe.setMail("paul.primaire@example.com");
+
+        employeService.createEmploye(employe);
+
+        // Lecture de ses propres écritures : primaire (4 employés de TestDataLoader + le nouveau)
+        assertThat(guard.replicaUsable()).isFalse();
+        assertThat(employeService.getEmployesPage(PageRequest.of(0, 10)).getTotalElements()).isEqualTo(5);
+        assertThat(replica.queryForObject("SELECT count(*) FROM employes WHERE mail = 'paul.primaire@example.com'", Long.class))
+                .isZero();
+
+        // max-lag écoulé : retour au réplica
+        awaitReplicaUsable();
+        assertThat(employeService.getEmployesPage(PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1);
+    }
+
+    private void awaitReplicaUsable() {
+        await().atMost(Duration.ofSeconds(5)).until(guard::replicaUsable);
+    }
+}
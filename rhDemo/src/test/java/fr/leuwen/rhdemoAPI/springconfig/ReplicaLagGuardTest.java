@@ -0,0 +1,107 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionExecution;
+
+/**
+ * Tests unitaires pour ReplicaLagGuard : horloge simulée, retard du réplica fourni directement (recordLag).
+ */
+@DisplayName("ReplicaLagGuard")
+class ReplicaLagGuardTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(2);
+    private static final Duration CHECK_INTERVAL = Duration.ofSeconds(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000_000L);
+    private ReplicaLagGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        guard = new ReplicaLagGuard(clock::get, MAX_LAG, CHECK_INTERVAL);
+    }
+
+    @Test
+    @DisplayName("Réplica inutilisable tant que son retard n'a pas été mesuré")
+    void replicaUsable_BeforeFirstMeasure_ShouldBeFalse() {
+        assertThat(guard.replicaUsable()).isFalse();
+
+        guard.recordLag(Duration.ofMillis(100).toNanos());
+
+        assertThat(guard.replicaUsable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Après une écriture, lectures sur le primaire pendant max-lag")
+    void replicaUsable_AfterWriteCommit_ShouldBeFalseDuringMaxLag() {
+        guard.recordLag(0);
+
+        guard.afterCommit(transaction(false), null);
+        advance(MAX_LAG.minusMillis(1));
+        guard.recordLag(0);
+        assertThat(guard.replicaUsable()).isFalse();
+
+        advance(Duration.ofMillis(1));
+        assertThat(guard.replicaUsable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Une transaction readOnly ou en échec ne compte pas comme écriture")
+    void afterCommit_ReadOnlyOrFailed_ShouldKeepReplicaUsable() {
+        guard.recordLag(0);
+
+        guard.afterCommit(transaction(true), null);
+        guard.afterCommit(transaction(false), new IllegalStateException("commit en échec"));
+
+        assertThat(guard.replicaUsable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Retard mesuré supérieur à max-lag : lectures sur le primaire")
+    void replicaUsable_WithLagAboveMax_ShouldBeFalse() {
+        guard.recordLag(MAX_LAG.plusMillis(1).toNanos());
+
+        assertThat(guard.replicaUsable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Mesure trop ancienne (trois intervalles) : lectures sur le primaire")
+    void replicaUsable_WithStaleMeasure_ShouldBeFalse() {
+        guard.recordLag(0);
+
+        advance(CHECK_INTERVAL.multipliedBy(3));
+        assertThat(guard.replicaUsable()).isTrue();
+        advance(Duration.ofMillis(1));
+        assertThat(guard.replicaUsable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Retard non mesurable (base autre que PostgreSQL) : considéré nul")
+    void replicaUsable_WithoutLagMeasure_ShouldOnlyDependOnWrites() {
+        guard.disableLagMeasure();
+        advance(Duration.ofHours(1));
+        assertThat(guard.replicaUsable()).isTrue();
+
+        guard.afterCommit(transaction(false), null);
+        assertThat(guard.replicaUsable()).isFalse();
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private static TransactionExecution transaction(boolean readOnly) {
+        return new TransactionExecution() {
+            @Override
+            public boolean isReadOnly() {
+                return readOnly;
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import fr.leuwen.rhdemoAPI.config.TestDataLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tests d'intégration de l'instrumentation SQL : étiquettes service / route des métriques, requêtes signalées
+ * sur /actuator/sqlrequests (seuil à 0 : toute requête HTTP exécutant du SQL est signalée).
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.yml", properties = {
+        "fr.leuwen.rhdemoAPI.sql.metrics.max-statements-per-request=0",
+        "management.endpoints.web.exposure.include=health,info,sqlrequests"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestDataLoader.class)
+class SqlMetricsIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult", "admin"})
+    void pageRequest_ShouldTagStatementsAndBeListedOnActuator() throws Exception {
+        // Filtre propre à ce test : page absente du cache des pages
+        mockMvc.perform(get("/api/employes/page").param("filterNom", "Dubo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nom").value("Dubois"));
+
+        assertThat(meterRegistry.get("rhdemo.sql.statement")
+                .tags("operation", "select", "service", "EmployeService.getEmployesPageProjected", "route", "GET /api/employes/page")
+                .timer().count()).isPositive();
+        assertThat(meterRegistry.get("rhdemo.sql.rows")
+                .tags("operation", "select", "service", "EmployeService.getEmployesPageProjected", "route", "GET /api/employes/page")
+                .summary().totalAmount()).isEqualTo(1);
+
+        mockMvc.perform(get("/actuator/sqlrequests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maxStatementsPerRequest").value(0))
+                .andExpect(jsonPath("$.recent[-1:].route").value("GET /api/employes/page"))
+                .andExpect(jsonPath("$.recent[-1:].uri").value("/api/employes/page"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"consult"})
+    void sqlRequests_WithoutAdminRole_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(get("/actuator/sqlrequests"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,154 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import fr.leuwen.rhdemoAPI.springconfig.SqlMetrics.FlaggedRequest;
+import fr.leuwen.rhdemoAPI.springconfig.SqlMetrics.RepeatedSql;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitaires pour SqlMetrics et SqlMetricsDataSource sur une base H2 en mémoire dédiée.
+ */
+@DisplayName("SqlMetrics")
+class SqlMetricsTest {
+
+    private static final String SELECT_BY_ID = "SELECT nom FROM personnes WHERE id = ?";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlMetrics metrics = new SqlMetrics(meterRegistry, 3, 10);
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-metrics;DB_CLOSE_DELAY=-1");
+        connection = new SqlMetricsDataSource(h2, metrics).getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE personnes (id BIGINT PRIMARY KEY, nom VARCHAR(50))");
+            statement.executeUpdate("INSERT INTO personnes VALUES (1, 'Martin'), (2, 'Dubois'), (3, 'Bernard')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE personnes");
+        }
+        connection.close();
+    }
+
+    private double rows(String operation) {
+        return meterRegistry.get("rhdemo.sql.rows").tag("operation", operation).summary().totalAmount();
+    }
+
+    @Test
+    @DisplayName("Durée et lignes lues / modifiées par requête SQL, étiquetées par opération")
+    void statements_ShouldRecordLatencyAndRows() throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT id FROM personnes ORDER BY id")) {
+            while (resultSet.next()) {
+                // lecture complète
+            }
+        }
+        try (PreparedStatement update = connection.prepareStatement("UPDATE personnes SET nom = upper(nom) WHERE id <= ?")) {
+            update.setLong(1, 2);
+            update.executeUpdate();
+        }
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM personnes WHERE id = ?")) {
+            delete.setLong(1, 1);
+            delete.addBatch();
+            delete.setLong(1, 2);
+            delete.addBatch();
+            delete.executeBatch();
+        }
+
+        assertThat(meterRegistry.get("rhdemo.sql.statement")
+                .tags("operation", "select", "service", SqlMetrics.NONE, "route", SqlMetrics.NONE).timer().count()).isEqualTo(1);
+        assertThat(rows("select")).isEqualTo(3);
+        assertThat(rows("update")).isEqualTo(2);
+        assertThat(rows("delete")).isEqualTo(2);
+        assertThat(meterRegistry.get("rhdemo.sql.statement").tag("operation", "delete").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Requête HTTP au-delà du seuil : signalée avec ses requêtes SQL répétées")
+    void endRequest_AboveThreshold_ShouldFlagRepeatedStatements() throws SQLException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employes/page");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employes/page");
+
+        metrics.beginRequest(request);
+        try (Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT count(*) FROM personnes").close();
+        }
+        for (long id = 1; id <= 3; id++) {
+            try (PreparedStatement select = connection.prepareStatement(SELECT_BY_ID)) {
+                select.setLong(1, id);
+                select.executeQuery().close();
+            }
+        }
+        metrics.endRequest();
+
+        FlaggedRequest flagged = metrics.report().recent().getFirst();
+        assertThat(flagged.route()).isEqualTo("GET /api/employes/page");
+        assertThat(flagged.uri()).isEqualTo("/api/employes/page");
+        assertThat(flagged.statements()).isEqualTo(4);
+        assertThat(flagged.repeated()).containsExactly(new RepeatedSql(SELECT_BY_ID, 3));
+        assertThat(meterRegistry.get("rhdemo.sql.request.flagged").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rhdemo.sql.statement").tag("route", "GET /api/employes/page").timers()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Requête HTTP sous le seuil : comptée, non signalée")
+    void endRequest_BelowThreshold_ShouldOnlyCount() throws SQLException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employes/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employes/{id}");
+
+        metrics.beginRequest(request);
+        try (PreparedStatement select = connection.prepareStatement(SELECT_BY_ID)) {
+            select.setLong(1, 1);
+            select.executeQuery().close();
+        }
+        metrics.endRequest();
+
+        assertThat(metrics.report().recent()).isEmpty();
+        assertThat(meterRegistry.get("rhdemo.sql.request.statements").tag("route", "GET /api/employes/{id}")
+                .summary().totalAmount()).isEqualTo(1);
+
+        metrics.reset();
+        assertThat(metrics.report().flaggedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("unwrap délégué à la connexion réelle (COPY PostgreSQL)")
+    void connection_ShouldUnwrapToDriverConnection() throws SQLException {
+        assertThat(connection.isWrapperFor(JdbcConnection.class)).isTrue();
+        assertThat(connection.unwrap(JdbcConnection.class)).isInstanceOf(JdbcConnection.class);
+        assertThat(connection).isEqualTo(connection).isNotEqualTo(connection.unwrap(JdbcConnection.class));
+    }
+
+    @Test
+    @DisplayName("Opération déduite du premier mot-clé")
+    void operation_ShouldUseFirstKeyword() {
+        assertThat(SqlMetrics.operation("  select 1")).isEqualTo("select");
+        assertThat(SqlMetrics.operation("WITH t AS (SELECT 1) SELECT * FROM t")).isEqualTo("select");
+        assertThat(SqlMetrics.operation("MERGE INTO employes e USING (VALUES 1) s")).isEqualTo("merge");
+        assertThat(SqlMetrics.operation("insert into employes values (1)")).isEqualTo("insert");
+        assertThat(SqlMetrics.operation("CREATE LOCAL TEMPORARY TABLE t (id INT)")).isEqualTo("other");
+        assertThat(SqlMetrics.operation("")).isEqualTo("other");
+    }
+}
@@ -0,0 +1,66 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Tests d'intégration de l'endpoint /actuator/virtualthreads (VirtualThreadPinningEndpoint).
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.yml",
+        properties = "management.endpoints.web.exposure.include=health,info,virtualthreads")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VirtualThreadPinningEndpointIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VirtualThreadPinningMonitor monitor;
+
+    @Test
+    @WithMockUser(roles = {"admin"})
+    void virtualThreads_WithAdminRole_ShouldReturnReportThenReset() throws Exception {
+        monitor.record(VirtualThreadPinningMonitor.PINNED, Instant.parse("2026-01-01T10:00:00Z"), Duration.ofMillis(40), "#42",
+                List.of("java.lang.VirtualThread.parkOnCarrierThread:675", "org.postgresql.core.v3.QueryExecutorImpl.execute:331"));
+
+        mockMvc.perform(get("/actuator/virtualthreads"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recording").value(true))
+                .andExpect(jsonPath("$.pinnedThresholdMs").value(20.0))
+                .andExpect(jsonPath("$.stacks[0].event").value("jdk.VirtualThreadPinned"))
+                .andExpect(jsonPath("$.stacks[0].stack[1]").value("org.postgresql.core.v3.QueryExecutorImpl.execute:331"))
+                .andExpect(jsonPath("$.recent[-1:].time").value("2026-01-01T10:00:00Z"))
+                .andExpect(jsonPath("$.recent[-1:].durationMs").value(40.0));
+
+        mockMvc.perform(delete("/actuator/virtualthreads"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/actuator/virtualthreads"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pinnedCount").value(0))
+                .andExpect(jsonPath("$.stacks").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(roles = {"consult"})
+    void virtualThreads_WithoutAdminRole_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(get("/actuator/virtualthreads"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,150 @@
+package fr.leuwen.rhdemoAPI.springconfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import fr.leuwen.rhdemoAPI.springconfig.VirtualThreadPinningMonitor.Report;
+import fr.leuwen.rhdemoAPI.springconfig.VirtualThreadPinningMonitor.StackReport;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitaires pour VirtualThreadPinningMonitor : événements fournis directement (record), puis un
+ * épinglage réel relevé par JFR.
+ */
+@DisplayName("VirtualThreadPinningMonitor")
+class VirtualThreadPinningMonitorTest {
+
+    private static final List<String> JDBC_STACK = List.of(
+            "java.lang.VirtualThread.parkOnCarrierThread:675",
+            "org.postgresql.core.v3.QueryExecutorImpl.execute:331",
+            "fr.leuwen.rhdemoAPI.service.EmployeService.getEmploye:120");
+    private static final List<String> LOG_STACK = List.of(
+            "java.lang.VirtualThread.parkOnCarrierThread:675",
+            "ch.qos.logback.core.OutputStreamAppender.writeBytes:200");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private VirtualThreadPinningMonitor monitor(int recentCapacity, int maxStacks) {
+        return new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(20), recentCapacity, maxStacks, 20);
+    }
+
+    private static void pinned(VirtualThreadPinningMonitor monitor, List<String> stack, long millis) {
+        monitor.record(VirtualThreadPinningMonitor.PINNED, Instant.now(), Duration.ofMillis(millis), "#42", stack);
+    }
+
+    @Test
+    @DisplayName("Événements agrégés par pile, par nombre décroissant")
+    void report_ShouldAggregateByStack() {
+        VirtualThreadPinningMonitor monitor = monitor(10, 10);
+        pinned(monitor, LOG_STACK, 25);
+        pinned(monitor, JDBC_STACK, 30);
+        pinned(monitor, JDBC_STACK, 50);
+
+        Report report = monitor.report();
+
+        assertThat(report.pinnedCount()).isEqualTo(3);
+        assertThat(report.stacks()).extracting(StackReport::stack).containsExactly(JDBC_STACK, LOG_STACK);
+        StackReport jdbc = report.stacks().getFirst();
+        assertThat(jdbc.count()).isEqualTo(2);
+        assertThat(jdbc.totalMs()).isEqualTo(80.0);
+        assertThat(jdbc.maxMs()).isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("Seuls les recent-capacity derniers événements sont conservés")
+    void report_ShouldKeepOnlyRecentSamples() {
+        VirtualThreadPinningMonitor monitor = monitor(3, 10);
+        for (int i = 1; i <= 5; i++) {
+            pinned(monitor, JDBC_STACK, i);
+        }
+
+        assertThat(monitor.report().recent()).extracting(VirtualThreadPinningMonitor.Sample::durationMs)
+                .containsExactly(3.0, 4.0, 5.0);
+    }
+
+    @Test
+    @DisplayName("Au-delà de max-stacks, piles regroupées dans une entrée commune")
+    void report_TooManyStacks_ShouldGroupInOther() {
+        VirtualThreadPinningMonitor monitor = monitor(10, 1);
+        pinned(monitor, JDBC_STACK, 30);
+        pinned(monitor, LOG_STACK, 30);
+        pinned(monitor, List.of("com.example.Autre.methode:1"), 30);
+
+        assertThat(monitor.report().stacks()).extracting(StackReport::stack, StackReport::count)
+                .containsExactlyInAnyOrder(
+                        tuple(JDBC_STACK, 1L),
+                        tuple(List.of(VirtualThreadPinningMonitor.OTHER), 2L));
+        assertThat(meterRegistry.find("rhdemo.virtualthread.pinned").timers()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Métriques par site : première frame hors JDK")
+    void record_ShouldPublishMetricsBySite() {
+        VirtualThreadPinningMonitor monitor = monitor(10, 10);
+        pinned(monitor, JDBC_STACK, 30);
+        pinned(monitor, JDBC_STACK, 50);
+        monitor.record(VirtualThreadPinningMonitor.SUBMIT_FAILED, Instant.now(), Duration.ZERO, "#43", LOG_STACK);
+
+        Timer timer = meterRegistry.get("rhdemo.virtualthread.pinned")
+                .tag("site", "org.postgresql.core.v3.QueryExecutorImpl.execute:331").timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(80.0);
+        assertThat(meterRegistry.get("rhdemo.virtualthread.submit.failed")
+                .tag("site", "ch.qos.logback.core.OutputStreamAppender.writeBytes:200").counter().count()).isEqualTo(1);
+        assertThat(VirtualThreadPinningMonitor.site(List.of("java.lang.Object.wait0"))).isEqualTo("java.lang.Object.wait0");
+    }
+
+    @Test
+    @DisplayName("Remise à zéro : compteurs, piles et événements récents vidés")
+    void reset_ShouldClearReport() {
+        VirtualThreadPinningMonitor monitor = monitor(10, 10);
+        pinned(monitor, JDBC_STACK, 30);
+
+        monitor.reset();
+
+        Report report = monitor.report();
+        assertThat(report.pinnedCount()).isZero();
+        assertThat(report.stacks()).isEmpty();
+        assertThat(report.recent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Épinglage réel (attente dans un bloc synchronized) relevé par le flux JFR")
+    void recordingStream_ShouldCapturePinnedVirtualThread() throws Exception {
+        // Depuis Java 24 (JEP 491), un bloc synchronized n'épingle plus le thread virtuel
+        assumeThat(Runtime.version().feature()).isLessThan(24);
+        VirtualThreadPinningMonitor monitor = monitor(10, 10);
+        monitor.afterPropertiesSet();
+        try {
+            assertThat(monitor.report().recording()).isTrue();
+            Object lock = new Object();
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).join();
+
+            await().atMost(Duration.ofSeconds(10)).until(() -> monitor.report().pinnedCount() > 0);
+            assertThat(monitor.report().stacks().getFirst().stack())
+                    .anyMatch(frame -> frame.startsWith(VirtualThreadPinningMonitorTest.class.getName()));
+        } finally {
+            monitor.destroy();
+        }
+        assertThat(monitor.report().recording()).isFalse();
+    }
+}